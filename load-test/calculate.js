@@ -0,0 +1,27 @@
+// Prueba de carga de /api/calculate con k6 (https://k6.io)
+//
+// Uso:
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e DURATION=60s load-test/calculate.js
+//
+// Ejecutar una vez con la aplicación en modo servlet y otra con
+// WEB_APPLICATION_TYPE=reactive para comparar ambos stacks.
+import http from 'k6/http';
+import { check } from 'k6';
+
+export const options = {
+    vus: Number(__ENV.VUS || 200),
+    duration: __ENV.DURATION || '60s',
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PARAMS = { headers: { 'Content-Type': 'application/json', 'Accept': 'application/json' } };
+
+export default function () {
+    const body = JSON.stringify({ num1: 100.5, num2: 200.75 });
+    const res = http.post(`${BASE_URL}/api/calculate`, body, PARAMS);
+    check(res, {
+        'status 200': (r) => r.status === 200,
+        'tiene finalResult': (r) => r.json('finalResult') !== undefined,
+    });
+}
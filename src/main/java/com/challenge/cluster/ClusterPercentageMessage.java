@@ -0,0 +1,14 @@
+package com.challenge.cluster;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Mensaje que el líder difunde por NOTIFY con cada porcentaje obtenido
+ */
+public record ClusterPercentageMessage(
+    BigDecimal value,
+    long epoch,
+    Instant fetchedAt
+) {
+}
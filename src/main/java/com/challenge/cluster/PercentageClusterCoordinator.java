@@ -0,0 +1,317 @@
+package com.challenge.cluster;
+
+import com.challenge.config.CacheConfig;
+import com.challenge.config.properties.ClusterProperties;
+import com.challenge.constants.PercentageSources;
+import com.challenge.event.ClusterLeadershipAcquiredEvent;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.challenge.service.PercentageSnapshot;
+import com.challenge.service.PercentageSnapshotHolder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Coordinación del porcentaje entre réplicas usando Postgres
+ *
+ * Cada nodo mantiene una conexión dedicada (fuera del pool) en la que escucha el canal
+ * configurado. El nodo que obtiene el advisory lock de sesión es el líder: solo él consulta
+ * el servicio externo y difunde cada valor con NOTIFY. Los seguidores actualizan su snapshot
+ * local sin llamadas HTTP e intentan tomar el lock cada intervalo de elección, de modo que
+ * si el líder cae (y Postgres cierra su sesión) otro nodo lo releva dentro de ese intervalo.
+ * Cada valor recibido se guarda también en el caché del porcentaje, que es el respaldo de un
+ * seguidor cuando el valor difundido deja de estar vigente.
+ *
+ * Con la coordinación deshabilitada todos los nodos se consideran líderes.
+ */
+@Component
+@Slf4j
+public class PercentageClusterCoordinator implements SmartLifecycle {
+
+    // LISTEN no admite parámetros: el canal se concatena, así que debe ser un identificador simple
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,62}");
+
+    private final ClusterProperties clusterProperties;
+    private final DataSourceProperties dataSourceProperties;
+    private final PercentageSnapshotHolder percentageSnapshotHolder;
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter notificationsSent;
+    private final Counter notificationsReceived;
+
+    private volatile boolean running;
+    private volatile boolean leader;
+    private Connection connection;
+    private Thread worker;
+
+    public PercentageClusterCoordinator(ClusterProperties clusterProperties,
+                                        DataSourceProperties dataSourceProperties,
+                                        PercentageSnapshotHolder percentageSnapshotHolder,
+                                        CacheManager cacheManager,
+                                        JdbcTemplate jdbcTemplate,
+                                        JdbcConcurrencyLimiter jdbcConcurrencyLimiter,
+                                        ObjectMapper objectMapper,
+                                        ApplicationEventPublisher eventPublisher,
+                                        MeterRegistry meterRegistry) {
+        if (clusterProperties.enabled() && (clusterProperties.channel() == null
+                || !CHANNEL_PATTERN.matcher(clusterProperties.channel()).matches())) {
+            throw new IllegalArgumentException("Canal de coordinación inválido: '" + clusterProperties.channel()
+                    + "'. Debe ser un identificador de Postgres (letras, dígitos y '_', hasta 63 caracteres)");
+        }
+        this.clusterProperties = clusterProperties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.percentageSnapshotHolder = percentageSnapshotHolder;
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcConcurrencyLimiter = jdbcConcurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.notificationsSent = Counter.builder("percentage.cluster.notifications.sent")
+                .description("Porcentajes difundidos a las demás réplicas")
+                .register(meterRegistry);
+        this.notificationsReceived = Counter.builder("percentage.cluster.notifications.received")
+                .description("Porcentajes recibidos del nodo líder")
+                .register(meterRegistry);
+        Gauge.builder("percentage.cluster.leader", this, coordinator -> coordinator.isLeader() ? 1 : 0)
+                .description("1 si este nodo consulta el servicio externo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si la coordinación entre réplicas está habilitada
+     */
+    public boolean isEnabled() {
+        return clusterProperties.enabled();
+    }
+
+    /**
+     * Indica si este nodo debe consultar el servicio externo
+     */
+    public boolean isLeader() {
+        return !clusterProperties.enabled() || leader;
+    }
+
+    /**
+     * Difunde un porcentaje obtenido a las demás réplicas. Solo tiene efecto en el líder.
+     */
+    public void broadcast(PercentageSnapshot snapshot) {
+        if (!clusterProperties.enabled() || !leader) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(
+                    new ClusterPercentageMessage(snapshot.value(), snapshot.epoch(), snapshot.fetchedAt()));
+        } catch (JsonProcessingException e) {
+            log.error("Error al serializar porcentaje para difundir: {}", e.getMessage());
+            return;
+        }
+
+        jdbcConcurrencyLimiter.execute(() -> jdbcTemplate.query(
+                "SELECT pg_notify(?, ?)", rs -> null, clusterProperties.channel(), payload));
+        notificationsSent.increment();
+        log.debug("Porcentaje difundido a las réplicas: {}% (época {})", snapshot.value(), snapshot.epoch());
+    }
+
+    /**
+     * Realiza la primera elección antes de que arranque el refresco programado,
+     * y luego continúa en un hilo dedicado
+     */
+    @Override
+    public void start() {
+        running = true;
+        if (!clusterProperties.enabled()) {
+            log.info("Coordinación del porcentaje entre réplicas deshabilitada");
+            return;
+        }
+
+        try {
+            elect();
+        } catch (SQLException e) {
+            log.warn("No se pudo participar en la elección de líder al arrancar: {}", e.getMessage());
+            closeConnection();
+        }
+
+        worker = Thread.ofPlatform()
+                .name("percentage-cluster")
+                .daemon()
+                .start(this::run);
+
+        log.info("Coordinación del porcentaje entre réplicas configurada - Canal: {}, Lock: {}, Elección cada: {}",
+                clusterProperties.channel(), clusterProperties.lockKey(), clusterProperties.electionInterval());
+    }
+
+    /**
+     * Cierra la conexión dedicada, lo que libera el lock y permite un relevo inmediato
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+
+        try {
+            worker.join(clusterProperties.electionInterval().multipliedBy(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Ciclo del hilo dedicado: elección y recepción de notificaciones
+     */
+    private void run() {
+        while (running) {
+            try {
+                elect();
+                receiveNotifications();
+
+            } catch (SQLException e) {
+                log.warn("Conexión de coordinación perdida, se reintentará: {}", e.getMessage());
+                closeConnection();
+                pause();
+            }
+        }
+        closeConnection();
+    }
+
+    /**
+     * Asegura la conexión dedicada e intenta tomar el lock si este nodo no es líder
+     */
+    private void elect() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connect();
+        }
+        if (leader) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, clusterProperties.lockKey());
+            try (ResultSet rs = statement.executeQuery()) {
+                leader = rs.next() && rs.getBoolean(1);
+            }
+        }
+
+        if (leader) {
+            log.info("Este nodo es ahora el líder que consulta el servicio de porcentajes");
+            eventPublisher.publishEvent(new ClusterLeadershipAcquiredEvent(Instant.now()));
+        }
+    }
+
+    /**
+     * Espera notificaciones hasta el intervalo de elección y, si este nodo es seguidor, las aplica
+     */
+    private void receiveNotifications() throws SQLException {
+        int timeoutMillis = Math.toIntExact(clusterProperties.electionInterval().toMillis());
+        PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(timeoutMillis);
+        if (notifications == null || leader) {
+            return;
+        }
+
+        for (PGNotification notification : notifications) {
+            apply(notification.getParameter());
+        }
+    }
+
+    /**
+     * Reemplaza el snapshot local por el difundido por el líder y lo guarda en el caché
+     */
+    void apply(String payload) {
+        try {
+            ClusterPercentageMessage message = objectMapper.readValue(payload, ClusterPercentageMessage.class);
+            percentageSnapshotHolder.replicate(PercentageSnapshot.of(
+                    message.value(), PercentageSources.EXTERNAL_SERVICE, message.fetchedAt(), message.epoch()));
+            updateCache(message.value());
+            notificationsReceived.increment();
+            log.debug("Porcentaje recibido del líder: {}% (época {})", message.value(), message.epoch());
+
+        } catch (JsonProcessingException e) {
+            log.warn("Notificación de porcentaje inválida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Equivalente al @CachePut del líder al consultar el servicio externo
+     */
+    private void updateCache(BigDecimal percentage) {
+        Cache cache = cacheManager.getCache(CacheConfig.PERCENTAGE_CACHE_NAME);
+        if (cache != null) {
+            cache.put(CacheConfig.CURRENT_PERCENTAGE_KEY, percentage);
+        }
+    }
+
+    private void connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("connectTimeout", String.valueOf(Math.max(1, clusterProperties.electionInterval().toSeconds())));
+        properties.setProperty("ApplicationName", "calculation-api-cluster");
+
+        connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + clusterProperties.channel() + "\"");
+        }
+    }
+
+    private void closeConnection() {
+        if (leader) {
+            log.info("Este nodo deja de ser el líder del servicio de porcentajes");
+        }
+        leader = false;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Error al cerrar la conexión de coordinación: {}", e.getMessage());
+        }
+        connection = null;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(clusterProperties.electionInterval());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
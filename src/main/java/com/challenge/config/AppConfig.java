@@ -1,42 +1,93 @@
 package com.challenge.config;
 
+import com.challenge.config.properties.BatchProperties;
+import com.challenge.config.properties.DeadlineProperties;
 import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.GridProperties;
+import com.challenge.config.properties.StreamProperties;
+import com.challenge.config.properties.SummationProperties;
+
+import io.netty.channel.ChannelOption;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuración para integraciones externas
  */
 @Configuration
-@EnableConfigurationProperties(ExternalServiceProperties.class)
+@EnableConfigurationProperties({ExternalServiceProperties.class, DeadlineProperties.class, BatchProperties.class,
+        StreamProperties.class, GridProperties.class, SummationProperties.class,
+        FormulaProperties.class})
 public class AppConfig {
 
+    private static final String PERCENTAGE_POOL_NAME = "percentage";
+
     private final ExternalServiceProperties externalServiceProperties;
 
     public AppConfig(ExternalServiceProperties externalServiceProperties) {
         this.externalServiceProperties = externalServiceProperties;
     }
 
+    /**
+     * Pool de conexiones dedicado al servicio externo de porcentajes
+     *
+     * Con métricas habilitadas publica en Micrometer los medidores
+     * reactor.netty.connection.provider.* con la etiqueta name=percentage
+     * (conexiones activas, inactivas, totales y adquisiciones pendientes).
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider percentageConnectionProvider() {
+        ExternalServiceProperties.Pool pool = externalServiceProperties.pool();
+        return ConnectionProvider.builder(PERCENTAGE_POOL_NAME)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(pool.metricsEnabled())
+                .build();
+    }
+
     /**
      * WebClient para llamadas al servicio externo de porcentajes
      *
      * Configurado con:
      * - Headers por defecto para JSON
-     * - URL base del servicio externo
      * - Límite de memoria para buffers
+     * - Pool de conexiones y parámetros de transporte propios
+     *
+     * Sin URL base: cada intento usa la instancia elegida por el balanceador.
      */
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider percentageConnectionProvider) {
         return WebClient.builder()
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .baseUrl(externalServiceProperties.percentageUrl())
+                .clientConnector(new ReactorClientHttpConnector(percentageHttpClient(percentageConnectionProvider)))
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
                 .build();
     }
+
+    /**
+     * Cliente HTTP de Netty con los parámetros de transporte configurados
+     */
+    private HttpClient percentageHttpClient(ConnectionProvider connectionProvider) {
+        ExternalServiceProperties.Transport transport = externalServiceProperties.transport();
+        return HttpClient.create(connectionProvider)
+                .protocol(transport.protocols().toArray(HttpProtocol[]::new))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(transport.connectTimeout().toMillis()))
+                .responseTimeout(transport.responseTimeout())
+                .keepAlive(transport.keepAlive());
+    }
 }
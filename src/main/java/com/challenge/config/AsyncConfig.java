@@ -2,11 +2,16 @@ package com.challenge.config;
 
 import com.challenge.config.properties.AsyncProperties;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -16,7 +21,8 @@ import java.util.concurrent.Executor;
  * Configuración para procesamiento asíncrono
  *
  * Configura:
- * - Thread Pool personalizado para tareas asíncronas
+ * - Thread Pool personalizado para tareas asíncronas, o hilos virtuales si
+ *   spring.threads.virtual.enabled=true
  * - Manejo de rechazo de tareas
  * - Métricas y logging de tasks
  */
@@ -27,16 +33,34 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     private final AsyncProperties asyncProperties;
+    private final Environment environment;
 
-    public AsyncConfig(AsyncProperties asyncProperties) {
+    public AsyncConfig(AsyncProperties asyncProperties, Environment environment) {
         this.asyncProperties = asyncProperties;
+        this.environment = environment;
     }
 
     /**
      * Executor personalizado para procesamiento asíncrono
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(MeterRegistry meterRegistry) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Un hilo virtual por tarea: no hay cola ni rechazo, la base de datos
+            // queda protegida por el JdbcConcurrencyLimiter
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("AsyncTask-");
+            executor.setVirtualThreads(true);
+
+            log.info("TaskExecutor configurado con hilos virtuales - Límite JDBC: {}",
+                    asyncProperties.jdbcConcurrencyLimit());
+
+            return executor;
+        }
+
+        Counter rejectedTasks = Counter.builder("async.tasks.rejected")
+                .description("Tareas asíncronas descartadas por cola llena o executor detenido")
+                .register(meterRegistry);
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(asyncProperties.corePoolSize());
         executor.setMaxPoolSize(asyncProperties.maxPoolSize());
@@ -45,7 +69,7 @@ public class AsyncConfig {
         executor.setRejectedExecutionHandler((r, executor1) -> {
             // Log del rechazo para monitoreo y alertas
             log.error("Task rejected - Queue full or executor shutdown: {}", r.toString());
-            // Aquí se podría enviar métricas o alertas
+            rejectedTasks.increment();
         });
         executor.initialize();
 
@@ -0,0 +1,42 @@
+package com.challenge.config;
+
+import com.challenge.config.properties.CalculationJobProperties;
+import com.challenge.service.CalculationJobService;
+import com.challenge.service.HistoryRecalculationJobService;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Configuración de los trabajos de cálculo sobre archivos
+ *
+ * Registra las tareas periódicas que eliminan los trabajos terminados (y sus archivos) pasado el
+ * tiempo de retención, incluidos los de recálculo del historial.
+ */
+@Configuration
+@EnableConfigurationProperties(CalculationJobProperties.class)
+public class CalculationJobConfig implements SchedulingConfigurer {
+
+    private final CalculationJobProperties jobProperties;
+    private final CalculationJobService calculationJobService;
+    private final HistoryRecalculationJobService historyRecalculationJobService;
+
+    public CalculationJobConfig(CalculationJobProperties jobProperties,
+                                CalculationJobService calculationJobService,
+                                HistoryRecalculationJobService historyRecalculationJobService) {
+        this.jobProperties = jobProperties;
+        this.calculationJobService = calculationJobService;
+        this.historyRecalculationJobService = historyRecalculationJobService;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(
+                calculationJobService::purgeExpired, jobProperties.purgeInterval(), jobProperties.purgeInterval()));
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(
+                historyRecalculationJobService::purgeExpired, jobProperties.purgeInterval(), jobProperties.purgeInterval()));
+    }
+}
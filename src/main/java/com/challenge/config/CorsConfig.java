@@ -1,22 +1,34 @@
 package com.challenge.config;
 
+import com.challenge.config.properties.CorsProperties;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Configuración centralizada de CORS para toda la aplicación
+ * Configuración centralizada de CORS para toda la aplicación, a partir de {@link CorsProperties}
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(CorsProperties.class)
 public class CorsConfig implements WebMvcConfigurer {
 
+    private final CorsProperties corsProperties;
+
+    public CorsConfig(CorsProperties corsProperties) {
+        this.corsProperties = corsProperties;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/api/**")
-                .allowedOriginPatterns("*") // TODO
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*")
-                .allowCredentials(true)
-                .maxAge(3600); // Cache preflight por 1 hora
+        registry.addMapping(corsProperties.pathPattern())
+                .allowedOriginPatterns(corsProperties.allowedOriginPatterns().toArray(String[]::new))
+                .allowedMethods(corsProperties.allowedMethods().toArray(String[]::new))
+                .allowedHeaders(corsProperties.allowedHeaders().toArray(String[]::new))
+                .allowCredentials(corsProperties.allowCredentials())
+                .maxAge(corsProperties.maxAge().toSeconds());
     }
 }
@@ -0,0 +1,47 @@
+package com.challenge.config;
+
+import com.challenge.config.properties.IdempotencyProperties;
+import com.challenge.service.IdempotencyService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Configuración de la idempotencia de /api/calculate
+ *
+ * Con la persistencia habilitada registra la tarea periódica que elimina de la base de datos
+ * las respuestas vencidas; las guardadas en memoria vencen solas.
+ */
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig implements SchedulingConfigurer {
+
+    private final IdempotencyProperties idempotencyProperties;
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyConfig(IdempotencyProperties idempotencyProperties,
+                             IdempotencyService idempotencyService) {
+        this.idempotencyProperties = idempotencyProperties;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (!idempotencyProperties.enabled() || !idempotencyProperties.persistenceEnabled()) {
+            return;
+        }
+
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(
+                idempotencyService::purgeExpired, idempotencyProperties.purgeInterval(),
+                idempotencyProperties.purgeInterval()));
+
+        log.info("Purga de respuestas idempotentes configurada - Intervalo: {}, TTL: {}",
+                idempotencyProperties.purgeInterval(), idempotencyProperties.ttl());
+    }
+}
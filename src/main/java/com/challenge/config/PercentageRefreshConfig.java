@@ -0,0 +1,59 @@
+package com.challenge.config;
+
+import com.challenge.config.properties.ClusterProperties;
+import com.challenge.config.properties.PercentagePersistenceProperties;
+import com.challenge.config.properties.PercentageRefreshProperties;
+import com.challenge.config.properties.PercentageTimelineProperties;
+import com.challenge.config.properties.SubscriptionProperties;
+import com.challenge.service.PercentageRefreshService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+/**
+ * Configuración del refresco anticipado del porcentaje
+ *
+ * Registra una tarea periódica que consulta el servicio externo en segundo plano,
+ * comenzando inmediatamente al arrancar para tener un valor local lo antes posible.
+ * Habilita además las propiedades del último valor persistido, que cubre el arranque en frío,
+ * las de la coordinación entre réplicas, las de la suscripción, con la que esta tarea solo actúa
+ * como respaldo mientras no haya conexión, y las de la línea de tiempo del porcentaje.
+ */
+@Configuration
+@Slf4j
+@EnableScheduling
+@EnableConfigurationProperties({PercentageRefreshProperties.class, PercentagePersistenceProperties.class,
+        ClusterProperties.class, SubscriptionProperties.class, PercentageTimelineProperties.class})
+public class PercentageRefreshConfig implements SchedulingConfigurer {
+
+    private final PercentageRefreshProperties refreshProperties;
+    private final PercentageRefreshService percentageRefreshService;
+
+    public PercentageRefreshConfig(PercentageRefreshProperties refreshProperties,
+                                   PercentageRefreshService percentageRefreshService) {
+        this.refreshProperties = refreshProperties;
+        this.percentageRefreshService = percentageRefreshService;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (!refreshProperties.enabled()) {
+            log.info("Refresco anticipado del porcentaje deshabilitado");
+            return;
+        }
+
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(
+                percentageRefreshService::refresh, refreshProperties.interval(), Duration.ZERO));
+
+        log.info("Refresco anticipado del porcentaje configurado - Intervalo: {}, Antigüedad máxima: {}",
+                refreshProperties.interval(), refreshProperties.maxStaleness());
+    }
+}
@@ -0,0 +1,75 @@
+package com.challenge.config;
+
+import com.challenge.config.properties.CorsProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Configuración del modo reactivo (spring.main.web-application-type=reactive)
+ *
+ * Configura:
+ * - Netty como servidor, aunque Tomcat también esté en el classpath
+ * - CORS con las mismas {@link CorsProperties} que {@link CorsConfig}
+ * - Codecs CBOR y Smile equivalentes a los de {@link ContentNegotiationConfig}
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(CorsProperties.class)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final CorsProperties corsProperties;
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public ReactiveWebConfig(CorsProperties corsProperties, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.corsProperties = corsProperties;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * Sin este bean Spring Boot elegiría Tomcat (adaptado a reactivo) por estar en el classpath
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping(corsProperties.pathPattern())
+                .allowedOriginPatterns(corsProperties.allowedOriginPatterns().toArray(String[]::new))
+                .allowedMethods(corsProperties.allowedMethods().toArray(String[]::new))
+                .allowedHeaders(corsProperties.allowedHeaders().toArray(String[]::new))
+                .allowCredentials(corsProperties.allowCredentials())
+                .maxAge(corsProperties.maxAge().toSeconds());
+    }
+
+    /**
+     * Smile reemplaza al codec por defecto y CBOR se agrega después de los por defecto, así que JSON
+     * sigue siendo el formato cuando el cliente acepta cualquiera
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+    }
+}
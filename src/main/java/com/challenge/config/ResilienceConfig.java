@@ -0,0 +1,167 @@
+package com.challenge.config;
+
+import com.challenge.config.properties.CircuitBreakerProperties;
+import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.config.properties.HedgingProperties;
+import com.challenge.config.properties.LoadBalancerProperties;
+import com.challenge.resilience.CircuitBreaker;
+import com.challenge.resilience.HedgingPolicy;
+import com.challenge.resilience.LatencyAwareLoadBalancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Configuración de resiliencia para el servicio externo de porcentajes
+ *
+ * Configura:
+ * - Circuit breaker alrededor de las llamadas al servicio externo
+ * - Gauges de Micrometer con el estado y las tasas de fallo/lentitud
+ * - Health indicator de Actuator con el estado del circuito
+ * - Política de peticiones de cobertura (hedging) con su espera y presupuesto como gauges
+ * - Balanceo entre las instancias del servicio externo, con métricas por instancia
+ */
+@Configuration
+@Slf4j
+@EnableConfigurationProperties({CircuitBreakerProperties.class, HedgingProperties.class, LoadBalancerProperties.class})
+public class ResilienceConfig {
+
+    public static final String PERCENTAGE_CIRCUIT_BREAKER_NAME = "percentageService";
+    private static final String PERCENTAGE_PATH = "/percentage";
+
+    @Bean
+    public CircuitBreaker percentageCircuitBreaker(CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(PERCENTAGE_CIRCUIT_BREAKER_NAME, properties);
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("percentage.circuit.state", circuitBreaker, cb -> cb.getState() == state ? 1 : 0)
+                    .description("Estado del circuit breaker (1 = estado actual)")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("percentage.circuit.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .description("Tasa de fallos de la ventana actual (-1 si no hay suficientes llamadas)")
+                .baseUnit("percent")
+                .register(meterRegistry);
+        Gauge.builder("percentage.circuit.slow.call.rate", circuitBreaker, CircuitBreaker::getSlowCallRate)
+                .description("Tasa de llamadas lentas de la ventana actual (-1 si no hay suficientes llamadas)")
+                .baseUnit("percent")
+                .register(meterRegistry);
+
+        log.info("Circuit breaker configurado - Habilitado: {}, Fallos: {}%, Lentas: {}% (>{}), Ventana: {}, Espera: {}",
+                properties.enabled(),
+                properties.failureRateThreshold(),
+                properties.slowCallRateThreshold(),
+                properties.slowCallDurationThreshold(),
+                properties.slidingWindowSize(),
+                properties.waitDurationInOpenState());
+
+        return circuitBreaker;
+    }
+
+    @Bean
+    public HedgingPolicy percentageHedgingPolicy(HedgingProperties properties, MeterRegistry meterRegistry) {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(properties);
+
+        Gauge.builder("percentage.hedge.delay", hedgingPolicy, hp -> hp.getHedgeDelay().toNanos() / 1e9)
+                .description("Espera actual antes de enviar una petición de cobertura")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("percentage.hedge.budget", hedgingPolicy, HedgingPolicy::getAvailableBudget)
+                .description("Peticiones de cobertura disponibles en el presupuesto")
+                .register(meterRegistry);
+
+        log.info("Hedging configurado - Habilitado: {}, Percentil: {}, Espera: {}-{}, Presupuesto: {} por petición (máx. {})",
+                properties.enabled(),
+                properties.percentile(),
+                properties.minDelay(),
+                properties.maxDelay(),
+                properties.budgetRatio(),
+                properties.maxBudget());
+
+        return hedgingPolicy;
+    }
+
+    /**
+     * Balanceador entre las instancias configuradas del servicio de porcentajes.
+     * Cada instancia publica sus medidores percentage.endpoint.* con la etiqueta endpoint.
+     */
+    @Bean
+    public LatencyAwareLoadBalancer percentageLoadBalancer(ExternalServiceProperties externalServiceProperties,
+                                                           LoadBalancerProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        List<URI> targets = externalServiceProperties.endpoints().stream()
+                .map(url -> UriComponentsBuilder.fromUriString(url).path(PERCENTAGE_PATH).build().toUri())
+                .toList();
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(properties, targets);
+
+        for (LatencyAwareLoadBalancer.Endpoint endpoint : loadBalancer.getEndpoints()) {
+            String tag = endpoint.getTarget().toString();
+            Gauge.builder("percentage.endpoint.latency.ewma", endpoint, e -> e.getLatencyEwma().toNanos() / 1e9)
+                    .description("Latencia estimada (EWMA) de la instancia")
+                    .baseUnit("seconds")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("percentage.endpoint.outstanding", endpoint, LatencyAwareLoadBalancer.Endpoint::getOutstanding)
+                    .description("Peticiones en curso hacia la instancia")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("percentage.endpoint.ejected", endpoint, e -> e.isEjected() ? 1 : 0)
+                    .description("1 si la instancia está expulsada por fallos")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("percentage.endpoint.weight", endpoint, LatencyAwareLoadBalancer.Endpoint::getWeight)
+                    .description("Peso de la instancia en la elección (menor que 1 durante el arranque lento)")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("percentage.endpoint.requests", endpoint, LatencyAwareLoadBalancer.Endpoint::getSuccesses)
+                    .description("Intentos completados contra la instancia")
+                    .tags("endpoint", tag, "outcome", "success")
+                    .register(meterRegistry);
+            FunctionCounter.builder("percentage.endpoint.requests", endpoint, LatencyAwareLoadBalancer.Endpoint::getFailures)
+                    .description("Intentos completados contra la instancia")
+                    .tags("endpoint", tag, "outcome", "error")
+                    .register(meterRegistry);
+            FunctionCounter.builder("percentage.endpoint.ejections", endpoint, LatencyAwareLoadBalancer.Endpoint::getEjections)
+                    .description("Veces que la instancia fue expulsada")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+        }
+
+        log.info("Balanceo del servicio de porcentajes configurado - Instancias: {}, Expulsión tras {} fallos ({}-{}, máx. {}%), Arranque lento: {}",
+                targets,
+                properties.consecutiveFailures(),
+                properties.baseEjectionTime(),
+                properties.maxEjectionTime(),
+                properties.maxEjectionPercent(),
+                properties.slowStart());
+
+        return loadBalancer;
+    }
+
+    /**
+     * Expone el estado del circuito en /actuator/health.
+     * El estado abierto no marca la aplicación como caída porque los cálculos siguen
+     * atendiéndose desde el caché.
+     */
+    @Bean
+    public HealthIndicator percentageCircuitBreakerHealthIndicator(CircuitBreaker percentageCircuitBreaker) {
+        return () -> Health.up()
+                .withDetail("state", percentageCircuitBreaker.getState())
+                .withDetail("failureRate", percentageCircuitBreaker.getFailureRate())
+                .withDetail("slowCallRate", percentageCircuitBreaker.getSlowCallRate())
+                .build();
+    }
+}
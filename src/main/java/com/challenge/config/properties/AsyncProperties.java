@@ -4,11 +4,17 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * Propiedades de configuración para procesamiento asíncrono
+ *
+ * @param corePoolSize         Hilos base del pool (solo con hilos de plataforma)
+ * @param maxPoolSize          Hilos máximos del pool (solo con hilos de plataforma)
+ * @param queueCapacity        Capacidad de la cola del pool (solo con hilos de plataforma)
+ * @param jdbcConcurrencyLimit Escrituras concurrentes máximas a la base de datos; no debe superar el pool de Hikari
  */
 @ConfigurationProperties(prefix = "async")
 public record AsyncProperties(
     int corePoolSize,
     int maxPoolSize,
-    int queueCapacity
+    int queueCapacity,
+    int jdbcConcurrencyLimit
 ) {
 }
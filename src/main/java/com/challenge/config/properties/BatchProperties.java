@@ -0,0 +1,16 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del cálculo por lotes
+ *
+ * @param maxSize           Máximo de cálculos aceptados por lote
+ * @param parallelThreshold Tamaño de lote a partir del cual los cálculos se reparten entre núcleos
+ */
+@ConfigurationProperties(prefix = "calculation.batch")
+public record BatchProperties(
+    int maxSize,
+    int parallelThreshold
+) {
+}
@@ -0,0 +1,25 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de los trabajos de cálculo sobre archivos
+ *
+ * @param directory     Directorio donde se guardan los archivos de entrada y de resultado
+ * @param chunkSize     Tamaño de cada porción del archivo que se calcula en paralelo
+ * @param parallelism   Hilos del pool fork-join de los trabajos (0 para usar todos los núcleos)
+ * @param retention     Tiempo que se conserva un trabajo terminado y su resultado
+ * @param purgeInterval Intervalo de eliminación de los trabajos vencidos
+ */
+@ConfigurationProperties(prefix = "calculation.jobs")
+public record CalculationJobProperties(
+    String directory,
+    DataSize chunkSize,
+    int parallelism,
+    Duration retention,
+    Duration purgeInterval
+) {
+}
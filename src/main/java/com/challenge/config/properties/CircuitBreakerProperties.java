@@ -0,0 +1,30 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del circuit breaker del servicio de porcentajes
+ *
+ * @param enabled                       Si está deshabilitado todas las llamadas se permiten
+ * @param failureRateThreshold          Porcentaje de fallos (0-100) a partir del cual se abre el circuito
+ * @param slowCallRateThreshold         Porcentaje de llamadas lentas (0-100) a partir del cual se abre el circuito
+ * @param slowCallDurationThreshold     Duración a partir de la cual una llamada se considera lenta
+ * @param slidingWindowSize             Cantidad de llamadas recientes evaluadas
+ * @param minimumNumberOfCalls          Llamadas mínimas en la ventana antes de evaluar los umbrales
+ * @param waitDurationInOpenState       Tiempo que permanece abierto antes de pasar a semi-abierto
+ * @param permittedCallsInHalfOpenState Llamadas de prueba permitidas en estado semi-abierto
+ */
+@ConfigurationProperties(prefix = "percentage.circuit-breaker")
+public record CircuitBreakerProperties(
+    boolean enabled,
+    float failureRateThreshold,
+    float slowCallRateThreshold,
+    Duration slowCallDurationThreshold,
+    int slidingWindowSize,
+    int minimumNumberOfCalls,
+    Duration waitDurationInOpenState,
+    int permittedCallsInHalfOpenState
+) {
+}
@@ -0,0 +1,23 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de la coordinación del porcentaje entre réplicas
+ *
+ * @param enabled          Si está activo, solo el nodo líder consulta el servicio externo
+ * @param lockKey          Clave del advisory lock de Postgres que determina el líder
+ * @param channel          Canal de LISTEN/NOTIFY por el que el líder difunde cada valor
+ * @param electionInterval Frecuencia con la que un seguidor intenta tomar el liderazgo;
+ *                         acota el tiempo de relevo cuando el líder cae
+ */
+@ConfigurationProperties(prefix = "percentage.cluster")
+public record ClusterProperties(
+    boolean enabled,
+    long lockKey,
+    String channel,
+    Duration electionInterval
+) {
+}
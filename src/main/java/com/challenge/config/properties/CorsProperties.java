@@ -0,0 +1,27 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Propiedades de configuración de CORS, comunes al modo servlet y al reactivo
+ *
+ * @param pathPattern           Rutas a las que se aplica
+ * @param allowedOriginPatterns Orígenes admitidos (patrones, por ejemplo https://*.empresa.com)
+ * @param allowedMethods        Métodos HTTP admitidos
+ * @param allowedHeaders        Headers admitidos en la petición
+ * @param allowCredentials      Si se admiten cookies y credenciales
+ * @param maxAge                Tiempo que el navegador guarda la respuesta del preflight
+ */
+@ConfigurationProperties(prefix = "cors")
+public record CorsProperties(
+    String pathPattern,
+    List<String> allowedOriginPatterns,
+    List<String> allowedMethods,
+    List<String> allowedHeaders,
+    boolean allowCredentials,
+    Duration maxAge
+) {
+}
@@ -0,0 +1,18 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del plazo de cada petición de cálculo
+ *
+ * @param defaultBudget  Presupuesto cuando el cliente no envía el header
+ * @param maxBudget      Presupuesto máximo aceptado desde el header
+ */
+@ConfigurationProperties(prefix = "calculation.deadline")
+public record DeadlineProperties(
+    Duration defaultBudget,
+    Duration maxBudget
+) {
+}
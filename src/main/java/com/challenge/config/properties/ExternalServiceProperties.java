@@ -1,16 +1,78 @@
 package com.challenge.config.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Propiedades de configuración para el servicio externo
+ *
+ * @param percentageUrl  URL base del servicio de porcentajes
+ * @param percentageUrls URLs base de varias instancias del servicio; si se indican reemplazan a percentageUrl
+ * @param timeout        Tiempo máximo por intento, incluyendo la espera de una conexión del pool
+ * @param retryAttempts  Reintentos tras un intento fallido
+ * @param minAttemptTime Tiempo mínimo restante del plazo de la petición para que valga la pena un intento
+ * @param pool           Pool de conexiones HTTP hacia el servicio externo
+ * @param transport      Parámetros de transporte HTTP
  */
 @ConfigurationProperties(prefix = "external-service")
 public record ExternalServiceProperties(
     String percentageUrl,
+    List<String> percentageUrls,
     Duration timeout,
-    int retryAttempts
+    int retryAttempts,
+    Duration minAttemptTime,
+    Pool pool,
+    Transport transport
 ) {
+
+    /**
+     * URLs base de las instancias a balancear
+     */
+    public List<String> endpoints() {
+        if (percentageUrls != null && !percentageUrls.isEmpty()) {
+            return percentageUrls;
+        }
+        return List.of(percentageUrl);
+    }
+
+    /**
+     * Pool de conexiones de Reactor Netty
+     *
+     * @param maxConnections         Conexiones simultáneas máximas
+     * @param pendingAcquireMaxCount Peticiones que pueden esperar una conexión libre (-1 sin límite)
+     * @param pendingAcquireTimeout  Tiempo máximo de espera por una conexión libre
+     * @param maxIdleTime            Tiempo que una conexión puede permanecer inactiva antes de cerrarse
+     * @param maxLifeTime            Vida máxima de una conexión, para repartir carga tras cambios de DNS
+     * @param evictionInterval       Frecuencia de la limpieza en segundo plano de conexiones vencidas
+     * @param metricsEnabled         Publica en Micrometer las métricas del pool (activas, inactivas, pendientes)
+     */
+    public record Pool(
+        int maxConnections,
+        int pendingAcquireMaxCount,
+        Duration pendingAcquireTimeout,
+        Duration maxIdleTime,
+        Duration maxLifeTime,
+        Duration evictionInterval,
+        boolean metricsEnabled
+    ) {
+    }
+
+    /**
+     * Parámetros de transporte HTTP
+     *
+     * @param protocols       Protocolos admitidos (HTTP11, H2C para HTTP/2 sin TLS, H2 requiere https)
+     * @param connectTimeout  Tiempo máximo para establecer la conexión TCP
+     * @param responseTimeout Tiempo máximo de espera de la respuesta en la capa de Netty
+     * @param keepAlive       Reutiliza las conexiones entre peticiones
+     */
+    public record Transport(
+        List<HttpProtocol> protocols,
+        Duration connectTimeout,
+        Duration responseTimeout,
+        boolean keepAlive
+    ) {
+    }
 }
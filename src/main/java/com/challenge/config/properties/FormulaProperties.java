@@ -0,0 +1,14 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la fórmula del resultado final
+ *
+ * @param expression Fórmula sobre {@code sum}, {@code percentage} y {@code multiplier}; vacía usa la del cálculo original
+ */
+@ConfigurationProperties(prefix = "calculation.formula")
+public record FormulaProperties(
+    String expression
+) {
+}
@@ -0,0 +1,20 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la grilla de sensibilidad del porcentaje
+ *
+ * @param maxPairs          Máximo de pares de números por grilla
+ * @param maxPercentages    Máximo de porcentajes por grilla (filas)
+ * @param blockSize         Filas que se calculan juntas y se envían en un mismo bloque
+ * @param parallelThreshold Celdas de un bloque a partir de las cuales sus filas se reparten entre núcleos
+ */
+@ConfigurationProperties(prefix = "calculation.grid")
+public record GridProperties(
+    int maxPairs,
+    int maxPercentages,
+    int blockSize,
+    int parallelThreshold
+) {
+}
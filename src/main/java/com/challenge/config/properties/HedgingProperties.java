@@ -0,0 +1,30 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de las peticiones de cobertura (hedging) al servicio de porcentajes
+ *
+ * @param enabled        Si está deshabilitado cada intento es una única petición
+ * @param percentile     Percentil de latencia (0-1) tras el cual se envía la petición de cobertura
+ * @param minDelay       Espera mínima antes de enviar la cobertura
+ * @param maxDelay       Espera máxima; también se usa mientras no hay suficientes muestras
+ * @param windowSize     Cantidad de latencias recientes consideradas
+ * @param minimumSamples Muestras mínimas antes de usar el percentil
+ * @param budgetRatio    Coberturas permitidas por cada petición principal (p. ej. 0.1 = 10% de carga extra)
+ * @param maxBudget      Coberturas acumulables como máximo, para absorber ráfagas
+ */
+@ConfigurationProperties(prefix = "percentage.hedging")
+public record HedgingProperties(
+    boolean enabled,
+    double percentile,
+    Duration minDelay,
+    Duration maxDelay,
+    int windowSize,
+    int minimumSamples,
+    double budgetRatio,
+    int maxBudget
+) {
+}
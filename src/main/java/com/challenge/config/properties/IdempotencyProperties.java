@@ -0,0 +1,26 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de la idempotencia de /api/calculate
+ *
+ * @param enabled            Si está activo, la cabecera Idempotency-Key devuelve la respuesta guardada en los reintentos
+ * @param maxEntries         Máximo de respuestas guardadas en memoria
+ * @param ttl                Tiempo durante el que se guarda cada respuesta
+ * @param waitTimeout        Espera máxima de un duplicado concurrente a que termine la petición original
+ * @param persistenceEnabled Si está activo, las respuestas también se guardan en base de datos
+ * @param purgeInterval      Intervalo de eliminación de las respuestas vencidas en base de datos
+ */
+@ConfigurationProperties(prefix = "calculation.idempotency")
+public record IdempotencyProperties(
+    boolean enabled,
+    int maxEntries,
+    Duration ttl,
+    Duration waitTimeout,
+    boolean persistenceEnabled,
+    Duration purgeInterval
+) {
+}
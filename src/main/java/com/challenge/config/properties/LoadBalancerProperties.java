@@ -0,0 +1,28 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del balanceo entre las instancias del servicio de porcentajes
+ *
+ * @param latencyDecay        Constante de tiempo de la media móvil (EWMA) de latencia: cuánto tarda en olvidarse una muestra
+ * @param failurePenalty      Latencia mínima que se registra por un intento fallido
+ * @param consecutiveFailures Fallos seguidos tras los que se expulsa una instancia
+ * @param baseEjectionTime    Expulsión inicial; se multiplica por cada expulsión consecutiva
+ * @param maxEjectionTime     Expulsión máxima
+ * @param maxEjectionPercent  Porcentaje máximo de instancias expulsadas a la vez
+ * @param slowStart           Tiempo en que una instancia readmitida recupera todo su peso
+ */
+@ConfigurationProperties(prefix = "percentage.load-balancer")
+public record LoadBalancerProperties(
+    Duration latencyDecay,
+    Duration failurePenalty,
+    int consecutiveFailures,
+    Duration baseEjectionTime,
+    Duration maxEjectionTime,
+    int maxEjectionPercent,
+    Duration slowStart
+) {
+}
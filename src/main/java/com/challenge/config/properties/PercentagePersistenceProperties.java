@@ -0,0 +1,18 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del último porcentaje válido persistido en base de datos
+ *
+ * @param enabled Si está activo, cada valor obtenido se persiste y se carga al arrancar
+ * @param maxAge  Antigüedad máxima con la que se sirve el valor persistido
+ */
+@ConfigurationProperties(prefix = "percentage.persistence")
+public record PercentagePersistenceProperties(
+    boolean enabled,
+    Duration maxAge
+) {
+}
@@ -0,0 +1,20 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración para el refresco anticipado del porcentaje
+ *
+ * @param enabled      Si está activo, los cálculos leen el valor local y no consultan el servicio externo en línea
+ * @param interval     Intervalo entre consultas en segundo plano al servicio externo
+ * @param maxStaleness Antigüedad máxima con la que se sigue sirviendo el valor local
+ */
+@ConfigurationProperties(prefix = "percentage.refresh")
+public record PercentageRefreshProperties(
+    boolean enabled,
+    Duration interval,
+    Duration maxStaleness
+) {
+}
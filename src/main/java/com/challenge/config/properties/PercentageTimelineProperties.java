@@ -0,0 +1,18 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la línea de tiempo del porcentaje
+ *
+ * @param enabled                Si está activo, cada cambio del porcentaje se registra con su instante de vigencia
+ * @param recalculationBatchSize Registros del historial leídos por consulta al recalcular
+ * @param maxDifferences         Máximo de diferencias detalladas en la respuesta del recálculo
+ */
+@ConfigurationProperties(prefix = "percentage.timeline")
+public record PercentageTimelineProperties(
+    boolean enabled,
+    int recalculationBatchSize,
+    int maxDifferences
+) {
+}
@@ -0,0 +1,14 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración del cálculo por streaming NDJSON
+ *
+ * @param flushInterval Líneas de resultado que se acumulan antes de enviarlas al cliente
+ */
+@ConfigurationProperties(prefix = "calculation.stream")
+public record StreamProperties(
+    int flushInterval
+) {
+}
@@ -0,0 +1,24 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la suscripción al servicio de porcentajes (Server-Sent Events)
+ *
+ * @param enabled        Mantiene una conexión de streaming y aplica cada valor recibido; el sondeo queda como respaldo
+ * @param path           Ruta del stream en cada instancia del servicio externo
+ * @param idleTimeout    Tiempo sin eventos (ni heartbeats) tras el que la conexión se da por perdida
+ * @param initialBackoff Espera antes del primer reintento de conexión
+ * @param maxBackoff     Espera máxima entre reintentos de conexión
+ */
+@ConfigurationProperties(prefix = "percentage.subscription")
+public record SubscriptionProperties(
+    boolean enabled,
+    String path,
+    Duration idleTimeout,
+    Duration initialBackoff,
+    Duration maxBackoff
+) {
+}
@@ -0,0 +1,18 @@
+package com.challenge.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la suma de N operandos
+ *
+ * @param maxOperands       Máximo de operandos por suma
+ * @param parallelThreshold Cantidad de operandos a partir de la cual la suma se reparte entre núcleos
+ * @param chunkSize         Operandos que cada tarea suma de forma secuencial en la suma en paralelo
+ */
+@ConfigurationProperties(prefix = "calculation.sum")
+public record SummationProperties(
+    int maxOperands,
+    int parallelThreshold,
+    int chunkSize
+) {
+}
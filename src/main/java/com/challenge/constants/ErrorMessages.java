@@ -29,6 +29,33 @@ public final class ErrorMessages {
     public static final String EXTERNAL_SERVICE_ERROR = "Error en el servicio externo";
     public static final String CACHE_FALLBACK_USED = "Usando datos del caché debido a falla del servicio externo";
 
+    // === MENSAJES DE IDEMPOTENCIA ===
+    public static final String IDEMPOTENCY_INVALID_KEY = "La clave de idempotencia debe tener entre 1 y 255 caracteres";
+    public static final String IDEMPOTENCY_KEY_REUSED = "La clave de idempotencia ya se usó con otros parámetros";
+    public static final String IDEMPOTENCY_IN_PROGRESS = "La petición original con esta clave de idempotencia sigue en curso";
+
+    // === MENSAJES DE TRABAJOS DE CÁLCULO ===
+    public static final String JOB_EMPTY_FILE = "El archivo de cálculos está vacío";
+    public static final String JOB_UNSUPPORTED_FORMAT = "El archivo debe ser text/csv o application/x-ndjson";
+    public static final String JOB_NOT_FOUND = "El trabajo de cálculo no existe o ya venció";
+    public static final String JOB_NOT_READY = "El trabajo de cálculo no terminó correctamente todavía";
+
+    // === MENSAJES DE LA GRILLA DE SENSIBILIDAD ===
+    public static final String GRID_EMPTY_PAIRS = "La grilla debe contener al menos un par de números";
+    public static final String GRID_TOO_MANY_PAIRS = "La grilla supera el máximo de %d pares";
+    public static final String GRID_PERCENTAGES_REQUIRED = "Se debe indicar una lista o un rango de porcentajes, no ambos";
+    public static final String GRID_NULL_PERCENTAGE = "Los porcentajes no pueden ser nulos";
+    public static final String GRID_INVALID_RANGE = "El rango de porcentajes requiere from, to y step, con from <= to y step > 0";
+    public static final String GRID_TOO_MANY_PERCENTAGES = "La grilla supera el máximo de %d porcentajes";
+
+    // === MENSAJES DE LA SUMA DE N OPERANDOS ===
+    public static final String SUM_EMPTY_OPERANDS = "La suma debe contener al menos un operando";
+    public static final String SUM_TOO_MANY_OPERANDS = "La suma supera el máximo de %d operandos";
+    public static final String SUM_NULL_OPERAND = "Los operandos no pueden ser nulos";
+
+    // === MENSAJES DE LA FÓRMULA DE CÁLCULO ===
+    public static final String FORMULA_INVALID = "Fórmula inválida en la posición %d: %s";
+
     // === CÓDIGOS DE ERROR ===
     public static final class ErrorCodes {
         private ErrorCodes() {}
@@ -40,5 +67,8 @@ public final class ErrorMessages {
         public static final String EXTERNAL_SERVICE_ERROR = "EXTERNAL_SERVICE_ERROR";
         public static final String INVALID_JSON = "INVALID_JSON";
         public static final String INVALID_ARGUMENT = "INVALID_ARGUMENT";
+        public static final String IDEMPOTENCY_CONFLICT = "IDEMPOTENCY_CONFLICT";
+        public static final String JOB_NOT_FOUND = "JOB_NOT_FOUND";
+        public static final String JOB_NOT_READY = "JOB_NOT_READY";
     }
 }
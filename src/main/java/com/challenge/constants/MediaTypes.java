@@ -0,0 +1,61 @@
+package com.challenge.constants;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Constantes para los formatos de contenido binarios que acepta la API además de JSON
+ */
+public final class MediaTypes {
+
+    // Constructor privado para evitar instanciación
+    private MediaTypes() {
+        throw new UnsupportedOperationException("Esta clase de constantes no debe ser instanciada");
+    }
+
+    /** CBOR (RFC 8949); los BigDecimal se codifican como fracción decimal exacta (tag 4) */
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    /** Smile, el JSON binario de Jackson; los BigDecimal se codifican con su escala y valor sin escala */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, CBOR, SMILE);
+
+    /**
+     * Indica si JSON es el formato preferido del cliente: sin cabecera Accept, o cuando el tipo de mayor
+     * calidad (y a igual calidad el más específico) que la API puede producir es JSON o un comodín
+     */
+    public static boolean prefersJson(List<MediaType> accept) {
+        List<MediaType> sorted = new ArrayList<>(accept);
+        MimeTypeUtils.sortBySpecificity(sorted);
+        sorted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        return sorted.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .filter(type -> PRODUCIBLE.stream().anyMatch(type::isCompatibleWith))
+                .findFirst()
+                .map(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON))
+                .orElse(true);
+    }
+
+    /**
+     * {@link #prefersJson(List)} sobre los valores sin procesar de la cabecera Accept; una cabecera mal
+     * formada se trata como JSON, el formato en que se guardan las respuestas, en lugar de fallar
+     */
+    public static boolean prefersJsonAccept(List<String> acceptHeaders) {
+        try {
+            return prefersJson(MediaType.parseMediaTypes(acceptHeaders));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.challenge.constants;
+
+/**
+ * Constantes para el origen del porcentaje reportado en las respuestas de cálculo
+ */
+public final class PercentageSources {
+
+    // Constructor privado para evitar instanciación
+    private PercentageSources() {
+        throw new UnsupportedOperationException("Esta clase de constantes no debe ser instanciada");
+    }
+
+    /** Consultado al servicio externo durante la petición */
+    public static final String EXTERNAL_SERVICE = "EXTERNAL_SERVICE";
+
+    /** Valor local refrescado en segundo plano dentro del intervalo configurado */
+    public static final String REFRESHED = "REFRESHED";
+
+    /** Valor local recibido por la suscripción al servicio externo, con la conexión activa */
+    public static final String STREAM = "STREAM";
+
+    /** Valor local que superó el intervalo de refresco pero no la antigüedad máxima */
+    public static final String STALE = "STALE";
+
+    /** Valor del caché usado tras una falla del servicio externo */
+    public static final String CACHE = "CACHE";
+
+    /** Último valor válido persistido, cargado al arrancar */
+    public static final String PERSISTED = "PERSISTED";
+
+    /** Valor indicado por el cliente para un escenario de la grilla de sensibilidad */
+    public static final String SCENARIO = "SCENARIO";
+}
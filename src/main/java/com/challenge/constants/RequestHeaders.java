@@ -0,0 +1,30 @@
+package com.challenge.constants;
+
+/**
+ * Constantes para los headers HTTP propios de la API
+ */
+public final class RequestHeaders {
+
+    // Constructor privado para evitar instanciación
+    private RequestHeaders() {
+        throw new UnsupportedOperationException("Esta clase de constantes no debe ser instanciada");
+    }
+
+    /** Presupuesto de tiempo del cliente para la petición, en milisegundos */
+    public static final String REQUEST_TIMEOUT_MS = "X-Request-Timeout-Ms";
+
+    /** Porcentaje fijado para todas las líneas de un stream de cálculos */
+    public static final String PERCENTAGE = "X-Percentage";
+
+    /** Origen del porcentaje fijado para el stream */
+    public static final String PERCENTAGE_SOURCE = "X-Percentage-Source";
+
+    /** Versión del porcentaje fijado para el stream */
+    public static final String PERCENTAGE_EPOCH = "X-Percentage-Epoch";
+
+    /** Clave del cliente para que los reintentos de un cálculo devuelvan la respuesta original */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /** Presente con valor true cuando la respuesta es la guardada para la clave de idempotencia */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+}
@@ -1,13 +1,30 @@
 package com.challenge.controller;
 
 import com.challenge.dto.BaseResponse;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.BatchCalculationResponse;
 import com.challenge.dto.CalculationRequest;
 import com.challenge.dto.CalculationResponse;
 import com.challenge.dto.ErrorResponse;
+import com.challenge.dto.SensitivityGridRequest;
+import com.challenge.dto.SensitivityGridRow;
+import com.challenge.dto.SensitivityGridSummary;
+import com.challenge.dto.StreamCalculationSummary;
+import com.challenge.dto.SummationRequest;
+import com.challenge.dto.SummationResponse;
 import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.MediaTypes;
+import com.challenge.constants.RequestHeaders;
+import com.challenge.exception.IdempotencyInProgressException;
+import com.challenge.exception.IdempotencyKeyReusedException;
 import com.challenge.exception.PercentageUnavailableException;
 import com.challenge.service.CalculationService;
 import com.challenge.service.CallHistoryService;
+import com.challenge.service.IdempotencyService;
+import com.challenge.service.SensitivityGridService;
+import com.challenge.service.StreamingCalculationService;
+import com.challenge.service.SummationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,19 +33,31 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Controlador para operaciones de cálculo
  */
 @RestController
 @RequestMapping("/api/calculate")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Calculation", description = "API para cálculos con porcentaje dinámico")
 @Slf4j
 @RequiredArgsConstructor
@@ -36,7 +65,12 @@ public class CalculationController {
 
 
     private final CalculationService calculationService;
+    private final StreamingCalculationService streamingCalculationService;
+    private final SensitivityGridService sensitivityGridService;
+    private final SummationService summationService;
     private final CallHistoryService callHistoryService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Suma dos números y aplica porcentaje dinámico
@@ -46,15 +80,22 @@ public class CalculationController {
                description = "Suma dos números y aplica un porcentaje adicional obtenido de un servicio externo. Flujo de porcentaje: " +
                            "\n1. Intenta obtener desde servicio externo, " +
                            "\n2. Si falla, usa valor en caché, " +
-                           "\n3. Si no hay caché, retorna error")
+                           "\n3. Si no hay caché, retorna error" +
+                           "\nCon la cabecera Idempotency-Key los reintentos devuelven la respuesta original sin recalcular.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cálculo realizado exitosamente", content = @Content(schema = @Schema(implementation = CalculationResponse.class))),
             @ApiResponse(responseCode = "400", description = "Parámetros de entrada inválidos", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "La petición original con la misma clave de idempotencia sigue en curso", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Clave de idempotencia ya usada con otros parámetros", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin caché", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<BaseResponse> calculate(
+    public ResponseEntity<?> calculate(
             @Parameter(description = "Números a calcular", required = true) @Valid @RequestBody CalculationRequest request,
+            @Parameter(description = "Presupuesto de tiempo de la petición en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            @Parameter(description = "Clave única del cálculo para reintentos seguros (1-255 caracteres)")
+            @RequestHeader(value = RequestHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             HttpServletRequest httpRequest) {
 
         long startTime = System.currentTimeMillis();
@@ -62,28 +103,294 @@ public class CalculationController {
         try {
             log.info("Recibida solicitud de cálculo: {}", request);
 
-            CalculationResponse response = calculationService.calculate(request);
+            if (idempotencyKey != null && idempotencyService.isEnabled()) {
+                // El formato se resuelve antes de tomar la clave: nada puede fallar tras registrar el cálculo
+                boolean replayAsJson = MediaTypes.prefersJsonAccept(
+                        Collections.list(httpRequest.getHeaders(HttpHeaders.ACCEPT)));
+                // Solo la primera petición con la clave calcula y se registra en el historial
+                IdempotencyService.Result result = idempotencyService.execute(idempotencyKey, request,
+                        () -> calculateAndLog(request, requestTimeoutMs, httpRequest, startTime));
+                return idempotentResponse(result, replayAsJson);
+            }
+
+            return ResponseEntity.ok(calculateAndLog(request, requestTimeoutMs, httpRequest, startTime));
+
+        } catch (IllegalArgumentException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                             HttpStatus.BAD_REQUEST, httpRequest, request, startTime);
+
+        } catch (IdempotencyKeyReusedException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.IDEMPOTENCY_CONFLICT, e.getMessage(),
+                             HttpStatus.UNPROCESSABLE_ENTITY, httpRequest, request, startTime);
+
+        } catch (IdempotencyInProgressException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.IDEMPOTENCY_CONFLICT, e.getMessage(),
+                             HttpStatus.CONFLICT, httpRequest, request, startTime);
+
+        } catch (PercentageUnavailableException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.CALCULATION_ERROR,
+                             ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                             HttpStatus.SERVICE_UNAVAILABLE, httpRequest, request, startTime);
+
+        } catch (Exception e) {
+            return handleError(e, ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                             HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, request, startTime);
+        }
+    }
+
+    /**
+     * Realiza varios cálculos con una sola consulta del porcentaje
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Realizar un lote de cálculos con porcentaje dinámico",
+               description = "Resuelve el porcentaje una sola vez y lo aplica a todos los cálculos del lote. " +
+                           "Cada elemento informa su resultado o su error sin afectar al resto. " +
+                           "El lote se registra en el historial como una única llamada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado, con el resultado o error de cada cálculo", content = @Content(schema = @Schema(implementation = BatchCalculationResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o mayor al máximo permitido", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin caché", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BaseResponse> calculateBatch(
+            @Parameter(description = "Cálculos a realizar", required = true) @RequestBody List<CalculationRequest> requests,
+            @Parameter(description = "Presupuesto de tiempo de la petición en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            HttpServletRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            log.info("Recibida solicitud de cálculo por lotes: {} elementos", requests.size());
+
+            BatchCalculationResponse response = calculationService.calculateBatch(requests, requestTimeoutMs);
             long executionTime = System.currentTimeMillis() - startTime;
 
-            callHistoryService.logCall(httpRequest, request, response,
+            callHistoryService.logCall(httpRequest, requests, response,
                     executionTime, HttpStatus.OK.value());
 
-            log.info("Calculo completado en {}ms", executionTime);
+            log.info("Calculo por lotes completado en {}ms", executionTime);
             return ResponseEntity.ok(response);
 
         } catch (IllegalArgumentException e) {
             return handleError(e, ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
-                             HttpStatus.BAD_REQUEST, httpRequest, request, startTime);
+                             HttpStatus.BAD_REQUEST, httpRequest, requests, startTime);
 
         } catch (PercentageUnavailableException e) {
             return handleError(e, ErrorMessages.ErrorCodes.CALCULATION_ERROR,
                              ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
-                             HttpStatus.SERVICE_UNAVAILABLE, httpRequest, request, startTime);
+                             HttpStatus.SERVICE_UNAVAILABLE, httpRequest, requests, startTime);
+
+        } catch (Exception e) {
+            return handleError(e, ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                             HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, requests, startTime);
+        }
+    }
+
+    /**
+     * Suma una lista de números de cualquier longitud y aplica el porcentaje dinámico a la suma
+     */
+    @PostMapping("/sum")
+    @Operation(summary = "Sumar N números con porcentaje dinámico",
+               description = "Suma exactamente todos los operandos (en paralelo para listas grandes) y aplica el porcentaje " +
+                           "una sola vez, con el mismo flujo de porcentaje que /api/calculate. " +
+                           "Los operandos no se guardan en el historial: la llamada registra su cantidad y su suma.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suma realizada exitosamente", content = @Content(schema = @Schema(implementation = SummationResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Sin operandos, con operandos nulos o más del máximo permitido", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin caché", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BaseResponse> calculateSum(
+            @Parameter(description = "Números a sumar", required = true) @RequestBody SummationRequest request,
+            @Parameter(description = "Presupuesto de tiempo de la petición en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            HttpServletRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            log.info("Recibida solicitud de suma: {}", request);
+
+            SummationResponse response = summationService.calculate(request, requestTimeoutMs);
+            long executionTime = System.currentTimeMillis() - startTime;
+
+            callHistoryService.logCall(httpRequest, null, response,
+                    executionTime, HttpStatus.OK.value());
+
+            log.info("Suma completada en {}ms", executionTime);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                             HttpStatus.BAD_REQUEST, httpRequest, null, startTime);
+
+        } catch (PercentageUnavailableException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.CALCULATION_ERROR,
+                             ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                             HttpStatus.SERVICE_UNAVAILABLE, httpRequest, null, startTime);
+
+        } catch (Exception e) {
+            return handleError(e, ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                             HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, null, startTime);
+        }
+    }
+
+    /**
+     * Calcula un stream NDJSON de tamaño arbitrario con un único porcentaje, escribiendo cada
+     * resultado a medida que se lee su línea
+     */
+    @PostMapping(path = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Realizar cálculos por streaming NDJSON",
+               description = "Cada línea de entrada es un cálculo ({\"num1\": 5, \"num2\": 5}) y produce una línea de resultado " +
+                           "en el mismo orden, con el porcentaje fijado al inicio e informado en las cabeceras X-Percentage*. " +
+                           "El consumo de memoria no depende del tamaño de la entrada. " +
+                           "El stream se registra en el historial como una única llamada con su throughput.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream de resultados, una línea BatchCalculationItem por cálculo", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BatchCalculationItem.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin caché", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BaseResponse> calculateStream(
+            @Parameter(description = "Presupuesto de tiempo para resolver el porcentaje en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de cálculo por streaming");
+
+        CalculationService.PercentageResult percentageResult;
+        try {
+            percentageResult = calculationService.pinPercentage(requestTimeoutMs);
+
+        } catch (PercentageUnavailableException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.CALCULATION_ERROR,
+                             ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                             HttpStatus.SERVICE_UNAVAILABLE, httpRequest, null, startTime);
+
+        } catch (Exception e) {
+            return handleError(e, ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                             HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, null, startTime);
+        }
+
+        httpResponse.setStatus(HttpStatus.OK.value());
+        httpResponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        httpResponse.setHeader(RequestHeaders.PERCENTAGE, percentageResult.snapshot().value().toPlainString());
+        httpResponse.setHeader(RequestHeaders.PERCENTAGE_SOURCE, percentageResult.source());
+        httpResponse.setHeader(RequestHeaders.PERCENTAGE_EPOCH, String.valueOf(percentageResult.snapshot().epoch()));
+
+        try {
+            BufferedReader input = new BufferedReader(
+                    new InputStreamReader(httpRequest.getInputStream(), StandardCharsets.UTF_8));
+            StreamCalculationSummary summary = streamingCalculationService.calculate(
+                    input, httpResponse.getOutputStream(), percentageResult);
+            long executionTime = System.currentTimeMillis() - startTime;
+
+            callHistoryService.logCall(httpRequest, null, summary,
+                    executionTime, HttpStatus.OK.value());
+
+        } catch (IOException e) {
+            // La respuesta ya está comprometida: solo queda registrar el corte
+            long executionTime = System.currentTimeMillis() - startTime;
+            log.warn("Stream de cálculos interrumpido tras {}ms: {}", executionTime, e.getMessage());
+            callHistoryService.logError(httpRequest, null, e.getMessage(),
+                    executionTime, HttpStatus.OK.value());
+        }
+
+        // Respuesta ya escrita directamente sobre HttpServletResponse
+        return null;
+    }
+
+    /**
+     * Aplica una lista o un rango de porcentajes a los mismos pares de números y envía la grilla
+     * de resultados por filas a medida que se calcula
+     */
+    @PostMapping(path = "/grid", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Calcular una grilla de sensibilidad del porcentaje",
+               description = "Recibe pares de números y una lista de porcentajes o un rango {from, to, step}, y responde " +
+                           "una línea NDJSON por porcentaje con el resultado final de cada par en el orden del request. " +
+                           "No consulta el servicio externo: los porcentajes son los del escenario. " +
+                           "La grilla se registra en el historial como una única llamada con su throughput.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Grilla de resultados, una línea SensitivityGridRow por porcentaje", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = SensitivityGridRow.class))),
+            @ApiResponse(responseCode = "400", description = "Sin pares o porcentajes, rango inválido o grilla mayor a la permitida", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BaseResponse> calculateGrid(
+            @Parameter(description = "Pares de números y porcentajes del escenario", required = true) @RequestBody SensitivityGridRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de grilla de sensibilidad: {}", request);
+
+        SensitivityGridService.Grid grid;
+        try {
+            grid = sensitivityGridService.prepare(request);
+
+        } catch (IllegalArgumentException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                             HttpStatus.BAD_REQUEST, httpRequest, request, startTime);
 
         } catch (Exception e) {
             return handleError(e, ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
                              HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, request, startTime);
         }
+
+        httpResponse.setStatus(HttpStatus.OK.value());
+        httpResponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try {
+            SensitivityGridSummary summary = sensitivityGridService.calculate(grid, httpResponse.getOutputStream());
+            long executionTime = System.currentTimeMillis() - startTime;
+
+            callHistoryService.logCall(httpRequest, request, summary,
+                    executionTime, HttpStatus.OK.value());
+
+        } catch (IOException e) {
+            // La respuesta ya está comprometida: solo queda registrar el corte
+            long executionTime = System.currentTimeMillis() - startTime;
+            log.warn("Grilla de sensibilidad interrumpida tras {}ms: {}", executionTime, e.getMessage());
+            callHistoryService.logError(httpRequest, request, e.getMessage(),
+                    executionTime, HttpStatus.OK.value());
+        }
+
+        // Respuesta ya escrita directamente sobre HttpServletResponse
+        return null;
+    }
+
+    private CalculationResponse calculateAndLog(CalculationRequest request, Long requestTimeoutMs,
+                                                HttpServletRequest httpRequest, long startTime) {
+        CalculationResponse response = calculationService.calculate(request, requestTimeoutMs);
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        callHistoryService.logCall(httpRequest, request, response,
+                executionTime, HttpStatus.OK.value());
+
+        log.info("Calculo completado en {}ms", executionTime);
+        return response;
+    }
+
+    /**
+     * Respuesta con el cuerpo guardado para la clave de idempotencia, sin volver a serializarlo;
+     * el cuerpo se guarda en JSON, así que solo se decodifica para los clientes que no lo aceptan
+     */
+    private ResponseEntity<?> idempotentResponse(IdempotencyService.Result result, boolean replayAsJson) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (result.replayed()) {
+            builder.header(RequestHeaders.IDEMPOTENT_REPLAYED, Boolean.TRUE.toString());
+        }
+        if (replayAsJson) {
+            return builder.contentType(MediaType.APPLICATION_JSON).body(result.body());
+        }
+        try {
+            return builder.body(objectMapper.readValue(result.body(), CalculationResponse.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta guardada", e);
+        }
     }
 
     /**
@@ -94,14 +401,14 @@ public class CalculationController {
      * @param userMessage Mensaje para el usuario final
      * @param httpStatus Status HTTP a retornar
      * @param httpRequest Request HTTP para logging
-     * @param calculationRequest Request del cálculo para logging
+     * @param parameters Request del cálculo o del lote para logging
      * @param startTime Tiempo de inicio para calcular duración
      * @return ResponseEntity con ErrorResponse apropiada
      */
     private ResponseEntity<BaseResponse> handleError(Exception exception, String errorCode,
                                                     String userMessage, HttpStatus httpStatus,
                                                     HttpServletRequest httpRequest,
-                                                    CalculationRequest calculationRequest,
+                                                    Object parameters,
                                                     long startTime) {
 
         long executionTime = System.currentTimeMillis() - startTime;
@@ -109,13 +416,14 @@ public class CalculationController {
         // Log segun el tipo de error
         switch (httpStatus) {
             case BAD_REQUEST -> log.warn("Error de validación: {}", exception.getMessage());
+            case CONFLICT, UNPROCESSABLE_ENTITY -> log.warn("Conflicto de idempotencia: {}", exception.getMessage());
             case SERVICE_UNAVAILABLE -> log.error("Error al realizar cálculo: {}", exception.getMessage(), exception);
             default -> log.error("Error inesperado: {}", exception.getMessage(), exception);
         }
 
         ErrorResponse errorResponse = new ErrorResponse(errorCode, userMessage, httpRequest.getRequestURI());
 
-        callHistoryService.logError(httpRequest, calculationRequest, exception.getMessage(),
+        callHistoryService.logError(httpRequest, parameters, exception.getMessage(),
                 executionTime, httpStatus.value());
 
         return ResponseEntity.status(httpStatus).body(errorResponse);
@@ -0,0 +1,191 @@
+package com.challenge.controller;
+
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.RequestHeaders;
+import com.challenge.dto.BaseResponse;
+import com.challenge.dto.CalculationFileFormat;
+import com.challenge.dto.CalculationJobResponse;
+import com.challenge.dto.ErrorResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+import com.challenge.exception.CalculationJobNotReadyException;
+import com.challenge.exception.PercentageUnavailableException;
+import com.challenge.service.CalculationJobService;
+import com.challenge.service.CalculationService;
+import com.challenge.service.CallHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+
+/**
+ * Controlador para trabajos de cálculo asíncronos sobre archivos
+ */
+@RestController
+@RequestMapping("/api/calculate/jobs")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Calculation Jobs", description = "API para cálculos asíncronos sobre archivos CSV o NDJSON")
+@Slf4j
+@RequiredArgsConstructor
+public class CalculationJobController {
+
+    private final CalculationService calculationService;
+    private final CalculationJobService calculationJobService;
+    private final CallHistoryService callHistoryService;
+
+    /**
+     * Recibe un archivo de cálculos y lo calcula en segundo plano
+     */
+    @PostMapping(consumes = {CalculationFileFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Crear un trabajo de cálculo sobre un archivo",
+               description = "Recibe un archivo text/csv (num1,num2 por línea, cabecera opcional) o application/x-ndjson " +
+                           "y responde de inmediato con el identificador del trabajo. El porcentaje se fija al recibirlo " +
+                           "y se aplica a todas las líneas. El progreso se consulta en GET /api/calculate/jobs/{id} " +
+                           "y el resultado, en el mismo formato y orden que la entrada, en GET /api/calculate/jobs/{id}/result.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Trabajo creado", content = @Content(schema = @Schema(implementation = CalculationJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Archivo vacío", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin caché", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BaseResponse> createJob(
+            @Parameter(description = "Presupuesto de tiempo para resolver el porcentaje en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            HttpServletRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de trabajo de cálculo: {} bytes {}",
+                httpRequest.getContentLengthLong(), httpRequest.getContentType());
+
+        try {
+            CalculationFileFormat format = CalculationFileFormat.from(MediaType.parseMediaType(httpRequest.getContentType()))
+                    .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.JOB_UNSUPPORTED_FORMAT));
+
+            // El porcentaje se resuelve antes de recibir el archivo: si no hay, no se lee
+            CalculationService.PercentageResult percentageResult = calculationService.pinPercentage(requestTimeoutMs);
+            CalculationJobResponse response = calculationJobService.submit(
+                    httpRequest.getInputStream(), format, percentageResult);
+            long executionTime = System.currentTimeMillis() - startTime;
+
+            callHistoryService.logCall(httpRequest, null, response,
+                    executionTime, HttpStatus.ACCEPTED.value());
+
+            return ResponseEntity.accepted()
+                    .location(URI.create(httpRequest.getRequestURI() + "/" + response.id()))
+                    .body(response);
+
+        } catch (IllegalArgumentException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                             HttpStatus.BAD_REQUEST, httpRequest, startTime);
+
+        } catch (PercentageUnavailableException e) {
+            return handleError(e, ErrorMessages.ErrorCodes.CALCULATION_ERROR,
+                             ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                             HttpStatus.SERVICE_UNAVAILABLE, httpRequest, startTime);
+
+        } catch (Exception e) {
+            return handleError(e, ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                             HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, startTime);
+        }
+    }
+
+    /**
+     * Consulta el estado y el progreso de un trabajo
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar un trabajo de cálculo",
+               description = "Estado, bytes calculados y progreso del trabajo; al terminar incluye líneas, errores y throughput")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del trabajo", content = @Content(schema = @Schema(implementation = CalculationJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "El trabajo no existe o ya venció", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BaseResponse> getJob(
+            @Parameter(description = "Identificador del trabajo", required = true) @PathVariable String id,
+            HttpServletRequest httpRequest) {
+
+        try {
+            return ResponseEntity.ok(calculationJobService.getJob(id));
+
+        } catch (CalculationJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                    ErrorMessages.ErrorCodes.JOB_NOT_FOUND, e.getMessage(), httpRequest.getRequestURI()));
+        }
+    }
+
+    /**
+     * Descarga el resultado de un trabajo completado
+     */
+    @GetMapping("/{id}/result")
+    @Operation(summary = "Descargar el resultado de un trabajo de cálculo",
+               description = "Archivo en el formato de la entrada con una línea de resultado por cálculo, en el mismo orden. " +
+                           "En CSV las columnas son num1,num2,sum,finalResult,error.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo de resultado"),
+            @ApiResponse(responseCode = "404", description = "El trabajo no existe o ya venció", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "El trabajo sigue en curso o falló", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<?> getResult(
+            @Parameter(description = "Identificador del trabajo", required = true) @PathVariable String id,
+            HttpServletRequest httpRequest) {
+
+        try {
+            CalculationJobService.ResultFile result = calculationJobService.getResult(id);
+            Resource resource = new FileSystemResource(result.path());
+            return ResponseEntity.ok()
+                    .contentType(result.format().mediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(result.path().getFileName().toString()).build().toString())
+                    .body(resource);
+
+        } catch (CalculationJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                    ErrorMessages.ErrorCodes.JOB_NOT_FOUND, e.getMessage(), httpRequest.getRequestURI()));
+
+        } catch (CalculationJobNotReadyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(
+                    ErrorMessages.ErrorCodes.JOB_NOT_READY, e.getMessage(), httpRequest.getRequestURI()));
+        }
+    }
+
+    /**
+     * Helper para manejar errores de la creación del trabajo, equivalente al de {@link CalculationController}
+     */
+    private ResponseEntity<BaseResponse> handleError(Exception exception, String errorCode,
+                                                    String userMessage, HttpStatus httpStatus,
+                                                    HttpServletRequest httpRequest,
+                                                    long startTime) {
+
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        // Log segun el tipo de error
+        switch (httpStatus) {
+            case BAD_REQUEST -> log.warn("Error de validación: {}", exception.getMessage());
+            case SERVICE_UNAVAILABLE -> log.error("Error al crear el trabajo de cálculo: {}", exception.getMessage(), exception);
+            default -> log.error("Error inesperado: {}", exception.getMessage(), exception);
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(errorCode, userMessage, httpRequest.getRequestURI());
+
+        callHistoryService.logError(httpRequest, null, exception.getMessage(),
+                executionTime, httpStatus.value());
+
+        return ResponseEntity.status(httpStatus).body(errorResponse);
+    }
+}
@@ -1,20 +1,30 @@
 package com.challenge.controller;
 
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.BaseResponse;
 import com.challenge.dto.CallHistoryResponse;
+import com.challenge.dto.ErrorResponse;
+import com.challenge.dto.RecalculationJobResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
 import com.challenge.service.CallHistoryService;
+import com.challenge.service.HistoryRecalculationJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 
 /**
@@ -22,11 +32,13 @@ import java.time.LocalDateTime;
  */
 @RestController
 @RequestMapping("/api/history")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Tag(name = "History", description = "API para consultar historial de llamadas")
 public class HistoryController {
 
     private final CallHistoryService callHistoryService;
+    private final HistoryRecalculationJobService historyRecalculationJobService;
 
     /**
      * Obtiene el historial de llamadas con paginación y filtros
@@ -74,4 +86,77 @@ public class HistoryController {
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * Inicia en segundo plano el recálculo de las llamadas históricas de cálculo con el porcentaje
+     * vigente en su momento
+     */
+    @PostMapping("/recalculate")
+    @Operation(
+        summary = "Recalcular historial con el porcentaje vigente en cada momento",
+        description = "Vuelve a calcular las llamadas exitosas a /api/calculate del rango indicado usando el " +
+                     "porcentaje que regía en el instante de cada llamada según la línea de tiempo del porcentaje. " +
+                     "Responde de inmediato con el identificador del trabajo; el avance y el resumen (cuántos " +
+                     "resultados cambian y el detalle de las primeras diferencias) se consultan en " +
+                     "GET /api/history/recalculate/{id}."
+    )
+    @ApiResponse(
+        responseCode = "202",
+        description = "Trabajo de recálculo creado",
+        content = @Content(schema = @Schema(implementation = RecalculationJobResponse.class))
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Rango de fechas inválido",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+    )
+    public ResponseEntity<RecalculationJobResponse> recalculate(
+            @Parameter(description = "Fecha de inicio (formato: yyyy-MM-dd'T'HH:mm:ss)",
+                      example = "2025-09-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "Fecha de fin (formato: yyyy-MM-dd'T'HH:mm:ss)",
+                      example = "2025-09-30T23:59:59")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+
+            HttpServletRequest httpRequest) {
+
+        RecalculationJobResponse response = historyRecalculationJobService.submit(startDate, endDate);
+        return ResponseEntity.accepted()
+                .location(URI.create(httpRequest.getRequestURI() + "/" + response.id()))
+                .body(response);
+    }
+
+    /**
+     * Consulta el estado y el resultado de un recálculo
+     */
+    @GetMapping("/recalculate/{id}")
+    @Operation(
+        summary = "Consultar un recálculo del historial",
+        description = "Estado y llamadas recorridas del trabajo; al terminar incluye el resumen del recálculo"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Estado del trabajo",
+        content = @Content(schema = @Schema(implementation = RecalculationJobResponse.class))
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "El trabajo no existe o ya venció",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+    )
+    public ResponseEntity<BaseResponse> getRecalculation(
+            @Parameter(description = "Identificador del trabajo", required = true) @PathVariable String id,
+            HttpServletRequest httpRequest) {
+
+        try {
+            return ResponseEntity.ok(historyRecalculationJobService.getJob(id));
+
+        } catch (CalculationJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                    ErrorMessages.ErrorCodes.JOB_NOT_FOUND, e.getMessage(), httpRequest.getRequestURI()));
+        }
+    }
+
 }
@@ -0,0 +1,318 @@
+package com.challenge.controller;
+
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.MediaTypes;
+import com.challenge.constants.RequestHeaders;
+import com.challenge.dto.BaseResponse;
+import com.challenge.dto.BatchCalculationResponse;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.CalculationResponse;
+import com.challenge.dto.ErrorResponse;
+import com.challenge.dto.SensitivityGridRequest;
+import com.challenge.dto.SummationRequest;
+import com.challenge.exception.IdempotencyInProgressException;
+import com.challenge.exception.IdempotencyKeyReusedException;
+import com.challenge.exception.PercentageUnavailableException;
+import com.challenge.service.CallHistoryService;
+import com.challenge.service.IdempotencyService;
+import com.challenge.service.ReactiveCalculationService;
+import com.challenge.service.SensitivityGridService;
+import com.challenge.service.StreamingCalculationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controlador reactivo para operaciones de cálculo
+ *
+ * Se activa en lugar de {@link CalculationController} cuando la aplicación arranca con
+ * spring.main.web-application-type=reactive (Netty). Mantiene los mismos contratos de
+ * respuesta y de registro en el historial.
+ */
+@RestController
+@RequestMapping("/api/calculate")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Calculation", description = "API para cálculos con porcentaje dinámico")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveCalculationController {
+
+    private final ReactiveCalculationService reactiveCalculationService;
+    private final StreamingCalculationService streamingCalculationService;
+    private final SensitivityGridService sensitivityGridService;
+    private final CallHistoryService callHistoryService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Suma dos números y aplica porcentaje dinámico sin bloquear el event loop
+     */
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaTypes.CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    @Operation(summary = "Realizar cálculo con porcentaje dinámico (reactivo)",
+               description = "Mismo contrato que la versión servlet, resuelto sobre el event loop de Netty")
+    public Mono<ResponseEntity<?>> calculate(
+            @Parameter(description = "Números a calcular", required = true) @Valid @RequestBody CalculationRequest request,
+            @Parameter(description = "Presupuesto de tiempo de la petición en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            @Parameter(description = "Clave única del cálculo para reintentos seguros (1-255 caracteres)")
+            @RequestHeader(value = RequestHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            ServerHttpRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de cálculo: {}", request);
+
+        Mono<ResponseEntity<?>> result;
+        if (idempotencyKey != null && idempotencyService.isEnabled()) {
+            // El formato se resuelve antes de tomar la clave: nada puede fallar tras registrar el cálculo
+            boolean replayAsJson = MediaTypes.prefersJsonAccept(
+                    httpRequest.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+            // Solo la primera petición con la clave calcula y se registra en el historial
+            result = idempotencyService.execute(idempotencyKey, request, reactiveCalculationService
+                            .calculate(request, requestTimeoutMs)
+                            .map(response -> success(response, request, httpRequest, startTime).getBody()))
+                    .map(stored -> idempotentResponse(stored, replayAsJson));
+        } else {
+            result = reactiveCalculationService.calculate(request, requestTimeoutMs)
+                    .map(response -> success(response, request, httpRequest, startTime));
+        }
+
+        return result
+                .onErrorResume(IllegalArgumentException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                        HttpStatus.BAD_REQUEST, httpRequest, request, startTime))
+                .onErrorResume(IdempotencyKeyReusedException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.IDEMPOTENCY_CONFLICT, e.getMessage(),
+                        HttpStatus.UNPROCESSABLE_ENTITY, httpRequest, request, startTime))
+                .onErrorResume(IdempotencyInProgressException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.IDEMPOTENCY_CONFLICT, e.getMessage(),
+                        HttpStatus.CONFLICT, httpRequest, request, startTime))
+                .onErrorResume(PercentageUnavailableException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.CALCULATION_ERROR, ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE, httpRequest, request, startTime))
+                .onErrorResume(e -> handleError(e,
+                        ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                        HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, request, startTime));
+    }
+
+    /**
+     * Realiza varios cálculos con una sola consulta del porcentaje
+     */
+    @PostMapping(path = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaTypes.CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    @Operation(summary = "Realizar un lote de cálculos con porcentaje dinámico (reactivo)",
+               description = "Mismo contrato que la versión servlet, resuelto sobre el event loop de Netty")
+    public Mono<ResponseEntity<BaseResponse>> calculateBatch(
+            @Parameter(description = "Cálculos a realizar", required = true) @RequestBody List<CalculationRequest> requests,
+            @Parameter(description = "Presupuesto de tiempo de la petición en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            ServerHttpRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de cálculo por lotes: {} elementos", requests.size());
+
+        return reactiveCalculationService.calculateBatch(requests, requestTimeoutMs)
+                .map(response -> success(response, requests, httpRequest, startTime))
+                .onErrorResume(IllegalArgumentException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                        HttpStatus.BAD_REQUEST, httpRequest, requests, startTime))
+                .onErrorResume(PercentageUnavailableException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.CALCULATION_ERROR, ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE, httpRequest, requests, startTime))
+                .onErrorResume(e -> handleError(e,
+                        ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                        HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, requests, startTime));
+    }
+
+    /**
+     * Suma una lista de números de cualquier longitud y aplica el porcentaje dinámico a la suma
+     */
+    @PostMapping(path = "/sum", produces = {MediaType.APPLICATION_JSON_VALUE, MediaTypes.CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    @Operation(summary = "Sumar N números con porcentaje dinámico (reactivo)",
+               description = "Mismo contrato que la versión servlet, resuelto sobre el event loop de Netty")
+    public Mono<ResponseEntity<BaseResponse>> calculateSum(
+            @Parameter(description = "Números a sumar", required = true) @RequestBody SummationRequest request,
+            @Parameter(description = "Presupuesto de tiempo de la petición en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            ServerHttpRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de suma: {}", request);
+
+        // Los operandos no se guardan en el historial, igual que en la versión servlet
+        return reactiveCalculationService.calculateSum(request, requestTimeoutMs)
+                .map(response -> success(response, null, httpRequest, startTime))
+                .onErrorResume(IllegalArgumentException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                        HttpStatus.BAD_REQUEST, httpRequest, null, startTime))
+                .onErrorResume(PercentageUnavailableException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.CALCULATION_ERROR, ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE, httpRequest, null, startTime))
+                .onErrorResume(e -> handleError(e,
+                        ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                        HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, null, startTime));
+    }
+
+    /**
+     * Calcula un stream NDJSON de tamaño arbitrario con un único porcentaje; cada bloque de
+     * resultados se calcula cuando el cliente lo demanda
+     */
+    @PostMapping(path = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Realizar cálculos por streaming NDJSON (reactivo)",
+               description = "Mismo contrato que la versión servlet, con control de flujo por la demanda del cliente")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> calculateStream(
+            @Parameter(description = "Cálculos a realizar, uno por línea", required = true) @RequestBody Flux<String> lines,
+            @Parameter(description = "Presupuesto de tiempo para resolver el porcentaje en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            ServerHttpRequest httpRequest,
+            ServerHttpResponse httpResponse) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de cálculo por streaming");
+
+        return reactiveCalculationService.pinPercentage(requestTimeoutMs)
+                .map(percentageResult -> {
+                    Flux<DataBuffer> results = streamingCalculationService.calculate(lines, percentageResult,
+                            httpResponse.bufferFactory(),
+                            summary -> callHistoryService.logReactiveCall(httpRequest, null, summary,
+                                    System.currentTimeMillis() - startTime, HttpStatus.OK.value()));
+
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .header(RequestHeaders.PERCENTAGE, percentageResult.snapshot().value().toPlainString())
+                            .header(RequestHeaders.PERCENTAGE_SOURCE, percentageResult.source())
+                            .header(RequestHeaders.PERCENTAGE_EPOCH, String.valueOf(percentageResult.snapshot().epoch()))
+                            .body(results);
+                })
+                .onErrorResume(PercentageUnavailableException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.CALCULATION_ERROR, ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE, httpRequest, null, startTime)
+                        .map(response -> streamError(response, httpResponse)))
+                .onErrorResume(e -> handleError(e,
+                        ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                        HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, null, startTime)
+                        .map(response -> streamError(response, httpResponse)));
+    }
+
+    /**
+     * Calcula una grilla de sensibilidad; cada bloque de filas se calcula cuando el cliente lo demanda
+     */
+    @PostMapping(path = "/grid", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Calcular una grilla de sensibilidad del porcentaje (reactivo)",
+               description = "Mismo contrato que la versión servlet, con control de flujo por la demanda del cliente")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> calculateGrid(
+            @Parameter(description = "Pares de números y porcentajes del escenario", required = true) @RequestBody SensitivityGridRequest request,
+            ServerHttpRequest httpRequest,
+            ServerHttpResponse httpResponse) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de grilla de sensibilidad: {}", request);
+
+        return Mono.fromCallable(() -> sensitivityGridService.prepare(request))
+                .map(grid -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(sensitivityGridService.calculate(grid, httpResponse.bufferFactory(),
+                                summary -> callHistoryService.logReactiveCall(httpRequest, request, summary,
+                                        System.currentTimeMillis() - startTime, HttpStatus.OK.value()))))
+                .onErrorResume(IllegalArgumentException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                        HttpStatus.BAD_REQUEST, httpRequest, request, startTime)
+                        .map(response -> streamError(response, httpResponse)))
+                .onErrorResume(e -> handleError(e,
+                        ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                        HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, request, startTime)
+                        .map(response -> streamError(response, httpResponse)));
+    }
+
+    /**
+     * Adapta la respuesta de error al tipo del stream: el cuerpo se serializa aquí porque los
+     * bloques NDJSON se escriben como buffers ya codificados
+     */
+    private ResponseEntity<Flux<DataBuffer>> streamError(ResponseEntity<BaseResponse> response,
+                                                         ServerHttpResponse httpResponse) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de error", e);
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(httpResponse.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Respuesta con el cuerpo guardado para la clave de idempotencia, sin volver a serializarlo;
+     * el cuerpo se guarda en JSON, así que solo se decodifica para los clientes que no lo aceptan
+     */
+    private ResponseEntity<?> idempotentResponse(IdempotencyService.Result result, boolean replayAsJson) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (result.replayed()) {
+            builder.header(RequestHeaders.IDEMPOTENT_REPLAYED, Boolean.TRUE.toString());
+        }
+        if (replayAsJson) {
+            return builder.contentType(MediaType.APPLICATION_JSON).body(result.body());
+        }
+        try {
+            return builder.body(objectMapper.readValue(result.body(), CalculationResponse.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta guardada", e);
+        }
+    }
+
+    private ResponseEntity<BaseResponse> success(BaseResponse response, Object request,
+                                                 ServerHttpRequest httpRequest, long startTime) {
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        callHistoryService.logReactiveCall(httpRequest, request, response,
+                executionTime, HttpStatus.OK.value());
+
+        log.info("Calculo completado en {}ms", executionTime);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Helper para manejar errores, equivalente al de {@link CalculationController}
+     */
+    private Mono<ResponseEntity<BaseResponse>> handleError(Throwable exception, String errorCode,
+                                                           String userMessage, HttpStatus httpStatus,
+                                                           ServerHttpRequest httpRequest,
+                                                           Object parameters,
+                                                           long startTime) {
+
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        // Log segun el tipo de error
+        switch (httpStatus) {
+            case BAD_REQUEST -> log.warn("Error de validación: {}", exception.getMessage());
+            case CONFLICT, UNPROCESSABLE_ENTITY -> log.warn("Conflicto de idempotencia: {}", exception.getMessage());
+            case SERVICE_UNAVAILABLE -> log.error("Error al realizar cálculo: {}", exception.getMessage(), exception);
+            default -> log.error("Error inesperado: {}", exception.getMessage(), exception);
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(errorCode, userMessage, httpRequest.getPath().value());
+
+        callHistoryService.logReactiveError(httpRequest, parameters, exception.getMessage(),
+                executionTime, httpStatus.value());
+
+        return Mono.just(ResponseEntity.status(httpStatus).body(errorResponse));
+    }
+}
@@ -0,0 +1,160 @@
+package com.challenge.controller;
+
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.RequestHeaders;
+import com.challenge.dto.BaseResponse;
+import com.challenge.dto.CalculationFileFormat;
+import com.challenge.dto.ErrorResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+import com.challenge.exception.CalculationJobNotReadyException;
+import com.challenge.exception.PercentageUnavailableException;
+import com.challenge.service.CalculationJobService;
+import com.challenge.service.CallHistoryService;
+import com.challenge.service.ReactiveCalculationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+
+/**
+ * Controlador reactivo para trabajos de cálculo asíncronos sobre archivos
+ *
+ * Se activa en lugar de {@link CalculationJobController} en modo reactivo, con los mismos
+ * contratos. El archivo se escribe en disco a medida que llega y el resultado se entrega con
+ * la transferencia de archivos de Netty.
+ */
+@RestController
+@RequestMapping("/api/calculate/jobs")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Calculation Jobs", description = "API para cálculos asíncronos sobre archivos CSV o NDJSON")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveCalculationJobController {
+
+    private final ReactiveCalculationService reactiveCalculationService;
+    private final CalculationJobService calculationJobService;
+    private final CallHistoryService callHistoryService;
+
+    /**
+     * Recibe un archivo de cálculos y lo calcula en segundo plano
+     */
+    @PostMapping(consumes = {CalculationFileFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Crear un trabajo de cálculo sobre un archivo (reactivo)",
+               description = "Mismo contrato que la versión servlet")
+    public Mono<ResponseEntity<BaseResponse>> createJob(
+            @Parameter(description = "Archivo de cálculos", required = true) @RequestBody(required = false) Flux<DataBuffer> body,
+            @Parameter(description = "Presupuesto de tiempo para resolver el porcentaje en milisegundos")
+            @RequestHeader(value = RequestHeaders.REQUEST_TIMEOUT_MS, required = false) Long requestTimeoutMs,
+            ServerHttpRequest httpRequest) {
+
+        long startTime = System.currentTimeMillis();
+        log.info("Recibida solicitud de trabajo de cálculo: {} bytes {}",
+                httpRequest.getHeaders().getContentLength(), httpRequest.getHeaders().getContentType());
+
+        return Mono.justOrEmpty(CalculationFileFormat.from(httpRequest.getHeaders().getContentType()))
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(ErrorMessages.JOB_UNSUPPORTED_FORMAT)))
+                // El porcentaje se resuelve antes de recibir el archivo: si no hay, no se lee
+                .flatMap(format -> reactiveCalculationService.pinPercentage(requestTimeoutMs)
+                        .flatMap(percentageResult -> calculationJobService.submit(body, format, percentageResult)))
+                .map(response -> {
+                    callHistoryService.logReactiveCall(httpRequest, null, response,
+                            System.currentTimeMillis() - startTime, HttpStatus.ACCEPTED.value());
+                    return ResponseEntity.accepted()
+                            .location(URI.create(httpRequest.getPath().value() + "/" + response.id()))
+                            .<BaseResponse>body(response);
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.VALIDATION_ERROR, e.getMessage(),
+                        HttpStatus.BAD_REQUEST, httpRequest, startTime))
+                .onErrorResume(PercentageUnavailableException.class, e -> handleError(e,
+                        ErrorMessages.ErrorCodes.CALCULATION_ERROR, ErrorMessages.CALCULATION_PERCENTAGE_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE, httpRequest, startTime))
+                .onErrorResume(e -> handleError(e,
+                        ErrorMessages.ErrorCodes.INTERNAL_ERROR, ErrorMessages.INTERNAL_SERVER_ERROR,
+                        HttpStatus.INTERNAL_SERVER_ERROR, httpRequest, startTime));
+    }
+
+    /**
+     * Consulta el estado y el progreso de un trabajo
+     */
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Consultar un trabajo de cálculo (reactivo)",
+               description = "Mismo contrato que la versión servlet")
+    public Mono<ResponseEntity<BaseResponse>> getJob(
+            @Parameter(description = "Identificador del trabajo", required = true) @PathVariable String id,
+            ServerHttpRequest httpRequest) {
+
+        return Mono.fromCallable(() -> ResponseEntity.<BaseResponse>ok(calculationJobService.getJob(id)))
+                .onErrorResume(CalculationJobNotFoundException.class, e -> Mono.just(ResponseEntity
+                        .status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                                ErrorMessages.ErrorCodes.JOB_NOT_FOUND, e.getMessage(), httpRequest.getPath().value()))));
+    }
+
+    /**
+     * Descarga el resultado de un trabajo completado
+     */
+    @GetMapping("/{id}/result")
+    @Operation(summary = "Descargar el resultado de un trabajo de cálculo (reactivo)",
+               description = "Mismo contrato que la versión servlet")
+    public Mono<ResponseEntity<?>> getResult(
+            @Parameter(description = "Identificador del trabajo", required = true) @PathVariable String id,
+            ServerHttpRequest httpRequest) {
+
+        return Mono.<ResponseEntity<?>>fromCallable(() -> {
+                    CalculationJobService.ResultFile result = calculationJobService.getResult(id);
+                    return ResponseEntity.ok()
+                            .contentType(result.format().mediaType())
+                            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                    .filename(result.path().getFileName().toString()).build().toString())
+                            .body(new FileSystemResource(result.path()));
+                })
+                .onErrorResume(CalculationJobNotFoundException.class, e -> Mono.just(ResponseEntity
+                        .status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                                ErrorMessages.ErrorCodes.JOB_NOT_FOUND, e.getMessage(), httpRequest.getPath().value()))))
+                .onErrorResume(CalculationJobNotReadyException.class, e -> Mono.just(ResponseEntity
+                        .status(HttpStatus.CONFLICT).body(new ErrorResponse(
+                                ErrorMessages.ErrorCodes.JOB_NOT_READY, e.getMessage(), httpRequest.getPath().value()))));
+    }
+
+    /**
+     * Helper para manejar errores de la creación del trabajo, equivalente al de {@link CalculationJobController}
+     */
+    private Mono<ResponseEntity<BaseResponse>> handleError(Throwable exception, String errorCode,
+                                                           String userMessage, HttpStatus httpStatus,
+                                                           ServerHttpRequest httpRequest,
+                                                           long startTime) {
+
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        // Log segun el tipo de error
+        switch (httpStatus) {
+            case BAD_REQUEST -> log.warn("Error de validación: {}", exception.getMessage());
+            case SERVICE_UNAVAILABLE -> log.error("Error al crear el trabajo de cálculo: {}", exception.getMessage(), exception);
+            default -> log.error("Error inesperado: {}", exception.getMessage(), exception);
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(errorCode, userMessage, httpRequest.getPath().value());
+
+        callHistoryService.logReactiveError(httpRequest, null, exception.getMessage(),
+                executionTime, httpStatus.value());
+
+        return Mono.just(ResponseEntity.status(httpStatus).body(errorResponse));
+    }
+}
@@ -0,0 +1,125 @@
+package com.challenge.controller;
+
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.BaseResponse;
+import com.challenge.dto.CallHistoryResponse;
+import com.challenge.dto.ErrorResponse;
+import com.challenge.dto.RecalculationJobResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+import com.challenge.service.CallHistoryService;
+import com.challenge.service.HistoryRecalculationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+
+/**
+ * Controlador reactivo para consultar el historial de llamadas
+ *
+ * Se activa en lugar de {@link HistoryController} en modo reactivo, con los mismos contratos.
+ * Las consultas usan JPA y el limitador JDBC, que bloquean, así que se ejecutan en el scheduler
+ * elástico y no en el event loop. El recálculo corre como trabajo en segundo plano.
+ */
+@RestController
+@RequestMapping("/api/history")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Tag(name = "History", description = "API para consultar historial de llamadas")
+public class ReactiveHistoryController {
+
+    private final CallHistoryService callHistoryService;
+    private final HistoryRecalculationJobService historyRecalculationJobService;
+
+    /**
+     * Obtiene el historial de llamadas con paginación y filtros
+     */
+    @GetMapping
+    @Operation(summary = "Obtener historial de llamadas (reactivo)",
+               description = "Mismo contrato que la versión servlet")
+    public Mono<ResponseEntity<Page<CallHistoryResponse>>> getHistory(
+            @Parameter(description = "Número de página (base 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Tamaño de página", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Filtro por endpoint (búsqueda parcial)", example = "calculate")
+            @RequestParam(required = false) String endpoint,
+
+            @Parameter(description = "Fecha de inicio (formato: yyyy-MM-dd'T'HH:mm:ss)",
+                      example = "2025-09-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "Fecha de fin (formato: yyyy-MM-dd'T'HH:mm:ss)",
+                      example = "2025-09-30T23:59:59")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        // Validación de parámetros, igual que en la versión servlet
+        int validPage = Math.max(page, 0);
+        int validSize = size < 1 || size > 100 ? 20 : size;
+
+        return Mono.fromCallable(() -> ResponseEntity.ok(
+                        callHistoryService.getHistory(validPage, validSize, endpoint, startDate, endDate)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Inicia en segundo plano el recálculo de las llamadas históricas de cálculo con el porcentaje
+     * vigente en su momento
+     */
+    @PostMapping("/recalculate")
+    @Operation(summary = "Recalcular historial con el porcentaje vigente en cada momento (reactivo)",
+               description = "Mismo contrato que la versión servlet")
+    public Mono<ResponseEntity<RecalculationJobResponse>> recalculate(
+            @Parameter(description = "Fecha de inicio (formato: yyyy-MM-dd'T'HH:mm:ss)",
+                      example = "2025-09-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "Fecha de fin (formato: yyyy-MM-dd'T'HH:mm:ss)",
+                      example = "2025-09-30T23:59:59")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+
+            ServerHttpRequest httpRequest) {
+
+        // Solo valida el rango y encola el trabajo, sin bloquear
+        return Mono.fromCallable(() -> {
+            RecalculationJobResponse response = historyRecalculationJobService.submit(startDate, endDate);
+            return ResponseEntity.accepted()
+                    .location(URI.create(httpRequest.getPath().value() + "/" + response.id()))
+                    .body(response);
+        });
+    }
+
+    /**
+     * Consulta el estado y el resultado de un recálculo
+     */
+    @GetMapping("/recalculate/{id}")
+    @Operation(summary = "Consultar un recálculo del historial (reactivo)",
+               description = "Mismo contrato que la versión servlet")
+    public Mono<ResponseEntity<BaseResponse>> getRecalculation(
+            @Parameter(description = "Identificador del trabajo", required = true) @PathVariable String id,
+            ServerHttpRequest httpRequest) {
+
+        return Mono.fromCallable(() -> ResponseEntity.<BaseResponse>ok(historyRecalculationJobService.getJob(id)))
+                .onErrorResume(CalculationJobNotFoundException.class, e -> Mono.just(ResponseEntity
+                        .status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                                ErrorMessages.ErrorCodes.JOB_NOT_FOUND, e.getMessage(), httpRequest.getPath().value()))));
+    }
+}
@@ -0,0 +1,30 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Record DTO para el resultado de un cálculo dentro de un lote o de una línea del stream NDJSON
+ */
+@Schema(description = "Resultado de un cálculo del lote; si falló solo informa el error")
+public record BatchCalculationItem(
+    @Schema(description = "Posición del cálculo en el lote o línea del stream (base 0)", example = "0")
+    long index,
+
+    @Schema(description = "Primer número utilizado", example = "100.50")
+    BigDecimal num1,
+
+    @Schema(description = "Segundo número utilizado", example = "200.75")
+    BigDecimal num2,
+
+    @Schema(description = "Suma de los dos números", example = "301.25")
+    BigDecimal sum,
+
+    @Schema(description = "Resultado final con porcentaje aplicado", example = "346.44")
+    BigDecimal finalResult,
+
+    @Schema(description = "Motivo por el que no se pudo calcular (nulo si se calculó)", example = "Los números no pueden ser nulos")
+    String error
+) {
+}
@@ -0,0 +1,45 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Record DTO para la respuesta del cálculo por lotes
+ */
+@Schema(description = "Respuesta del cálculo por lotes con un único porcentaje aplicado a todos los elementos")
+public record BatchCalculationResponse(
+    @Schema(description = "Cálculos recibidos", example = "3")
+    int total,
+
+    @Schema(description = "Cálculos realizados", example = "2")
+    int succeeded,
+
+    @Schema(description = "Cálculos con error", example = "1")
+    int failed,
+
+    @Schema(description = "Porcentaje aplicado a todo el lote", example = "15.5")
+    BigDecimal percentage,
+
+    @Schema(description = "Origen del porcentaje", example = "EXTERNAL_SERVICE", allowableValues = {"EXTERNAL_SERVICE", "REFRESHED", "STREAM", "STALE", "CACHE", "PERSISTED", "DEFAULT"})
+    String percentageSource,
+
+    @Schema(description = "Antigüedad del porcentaje en milisegundos (nulo si se desconoce)", example = "1250")
+    Long percentageAgeMs,
+
+    @Schema(description = "Versión del porcentaje aplicado; cambia cada vez que cambia su valor (0 si no fue publicado)", example = "3")
+    long percentageEpoch,
+
+    @Schema(description = "Presupuesto de tiempo de la petición en milisegundos", example = "2000")
+    Long budgetMs,
+
+    @Schema(description = "Tiempo consumido del presupuesto en milisegundos al construir la respuesta", example = "12")
+    Long budgetUsedMs,
+
+    @Schema(description = "Mensaje informativo sobre el cálculo")
+    String message,
+
+    @Schema(description = "Resultado de cada cálculo, en el orden recibido")
+    List<BatchCalculationItem> results
+) implements BaseResponse {}
@@ -0,0 +1,48 @@
+package com.challenge.dto;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formatos de archivo aceptados por los trabajos de cálculo; el resultado se entrega en el mismo formato
+ */
+public enum CalculationFileFormat {
+
+    /** Una línea num1,num2 por cálculo, con cabecera opcional */
+    CSV("text/csv", "csv"),
+
+    /** Un objeto {"num1": 5, "num2": 5} por línea */
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    CalculationFileFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Formato correspondiente al Content-Type recibido, ignorando sus parámetros (charset)
+     */
+    public static Optional<CalculationFileFormat> from(MediaType contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.isCompatibleWith(contentType))
+                .findFirst();
+    }
+}
@@ -0,0 +1,71 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Record DTO con el estado y el progreso de un trabajo de cálculo sobre un archivo
+ */
+@Schema(description = "Estado de un trabajo de cálculo sobre un archivo, con un único porcentaje aplicado a todas sus líneas")
+public record CalculationJobResponse(
+    @Schema(description = "Identificador del trabajo", example = "5b0c1f9e-2a57-4d0e-9a43-0f6d2d1c7e11")
+    String id,
+
+    @Schema(description = "Estado del trabajo", example = "RUNNING")
+    Status status,
+
+    @Schema(description = "Formato del archivo de entrada y del resultado", example = "CSV")
+    CalculationFileFormat format,
+
+    @Schema(description = "Tamaño del archivo de entrada en bytes", example = "1073741824")
+    long inputBytes,
+
+    @Schema(description = "Bytes de entrada ya calculados", example = "536870912")
+    long processedBytes,
+
+    @Schema(description = "Progreso del trabajo en porcentaje", example = "50")
+    int progress,
+
+    @Schema(description = "Líneas procesadas (al terminar)", example = "40000000")
+    long lines,
+
+    @Schema(description = "Líneas con error (al terminar)", example = "2")
+    long failed,
+
+    @Schema(description = "Porcentaje aplicado a todas las líneas", example = "15.5")
+    BigDecimal percentage,
+
+    @Schema(description = "Origen del porcentaje", example = "EXTERNAL_SERVICE")
+    String percentageSource,
+
+    @Schema(description = "Versión del porcentaje aplicado", example = "3")
+    long percentageEpoch,
+
+    @Schema(description = "Instante de creación del trabajo", example = "2025-09-02T10:30:00Z")
+    Instant createdAt,
+
+    @Schema(description = "Instante en que terminó el trabajo (nulo mientras está en curso)", example = "2025-09-02T10:30:42Z")
+    Instant completedAt,
+
+    @Schema(description = "Duración del cálculo en milisegundos (nulo mientras está en curso)", example = "42000")
+    Long executionTimeMs,
+
+    @Schema(description = "Líneas calculadas por segundo (nulo mientras está en curso)", example = "952380")
+    Long linesPerSecond,
+
+    @Schema(description = "Motivo del fallo del trabajo")
+    String error
+) implements BaseResponse {
+
+    /**
+     * Estados de un trabajo de cálculo
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
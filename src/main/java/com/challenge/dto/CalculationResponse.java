@@ -24,9 +24,21 @@ public record CalculationResponse(
     @Schema(description = "Resultado final con porcentaje aplicado", example = "346.44")
     BigDecimal finalResult,
 
-    @Schema(description = "Origen del porcentaje", example = "EXTERNAL_SERVICE", allowableValues = {"EXTERNAL_SERVICE", "CACHE", "DEFAULT"})
+    @Schema(description = "Origen del porcentaje", example = "EXTERNAL_SERVICE", allowableValues = {"EXTERNAL_SERVICE", "REFRESHED", "STREAM", "STALE", "CACHE", "PERSISTED", "DEFAULT"})
     String percentageSource,
 
+    @Schema(description = "Antigüedad del porcentaje en milisegundos (nulo si se desconoce)", example = "1250")
+    Long percentageAgeMs,
+
+    @Schema(description = "Versión del porcentaje aplicado; cambia cada vez que cambia su valor (0 si no fue publicado)", example = "3")
+    long percentageEpoch,
+
+    @Schema(description = "Presupuesto de tiempo de la petición en milisegundos", example = "2000")
+    Long budgetMs,
+
+    @Schema(description = "Tiempo consumido del presupuesto en milisegundos al construir la respuesta", example = "12")
+    Long budgetUsedMs,
+
     @Schema(description = "Mensaje informativo sobre el cálculo")
     String message
 ) implements BaseResponse {}
@@ -0,0 +1,31 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Record DTO para una llamada histórica cuyo resultado cambia al recalcularla
+ */
+@Schema(description = "Llamada cuyo resultado registrado difiere del recalculado")
+public record RecalculationDifference(
+    @Schema(description = "ID del registro del historial", example = "1042")
+    Long id,
+
+    @Schema(description = "Fecha y hora de la llamada", example = "2025-09-02T10:30:00")
+    LocalDateTime timestamp,
+
+    @Schema(description = "Porcentaje registrado en la respuesta", example = "10.0")
+    BigDecimal recordedPercentage,
+
+    @Schema(description = "Porcentaje vigente según la línea de tiempo", example = "12.5")
+    BigDecimal effectivePercentage,
+
+    @Schema(description = "Resultado registrado en la respuesta", example = "165.00")
+    BigDecimal recordedResult,
+
+    @Schema(description = "Resultado recalculado", example = "168.75")
+    BigDecimal recalculatedResult
+) {
+}
@@ -0,0 +1,40 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Record DTO con el estado de un trabajo de recálculo del historial
+ */
+@Schema(description = "Estado de un trabajo de recálculo de llamadas históricas con el porcentaje vigente en su momento")
+public record RecalculationJobResponse(
+    @Schema(description = "Identificador del trabajo", example = "9f1c2d3e-4b5a-4c6d-8e7f-0a1b2c3d4e5f")
+    String id,
+
+    @Schema(description = "Estado del trabajo", example = "RUNNING")
+    CalculationJobResponse.Status status,
+
+    @Schema(description = "Fecha de inicio del rango recalculado (nula para desde el comienzo)", example = "2025-09-01T00:00:00")
+    LocalDateTime startDate,
+
+    @Schema(description = "Fecha de fin del rango recalculado (nula para hasta el inicio del trabajo)", example = "2025-09-30T23:59:59")
+    LocalDateTime endDate,
+
+    @Schema(description = "Llamadas recorridas hasta el momento", example = "120000")
+    long processed,
+
+    @Schema(description = "Instante de creación del trabajo", example = "2025-09-02T10:30:00Z")
+    Instant createdAt,
+
+    @Schema(description = "Instante en que terminó el trabajo (nulo mientras está en curso)", example = "2025-09-02T10:30:03Z")
+    Instant completedAt,
+
+    @Schema(description = "Resumen del recálculo (nulo mientras está en curso o si falló)")
+    RecalculationResponse result,
+
+    @Schema(description = "Motivo del fallo del trabajo")
+    String error
+) implements BaseResponse {
+}
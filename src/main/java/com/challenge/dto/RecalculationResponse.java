@@ -0,0 +1,33 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Record DTO para el resumen del recálculo del historial
+ */
+@Schema(description = "Resumen del recálculo de llamadas históricas con el porcentaje vigente en su momento")
+public record RecalculationResponse(
+    @Schema(description = "Llamadas de cálculo exitosas recorridas", example = "250000")
+    long processed,
+
+    @Schema(description = "Llamadas recalculadas con el porcentaje de la línea de tiempo", example = "249990")
+    long recalculated,
+
+    @Schema(description = "Llamadas cuyo resultado recalculado difiere del registrado", example = "12")
+    long changed,
+
+    @Schema(description = "Llamadas omitidas por ser anteriores a la línea de tiempo o no poder leerse", example = "10")
+    long skipped,
+
+    @Schema(description = "Entradas de la línea de tiempo disponibles", example = "48")
+    int timelineEntries,
+
+    @Schema(description = "Tiempo de ejecución en milisegundos", example = "3200")
+    long executionTimeMs,
+
+    @Schema(description = "Detalle de las primeras diferencias encontradas")
+    List<RecalculationDifference> differences
+) implements BaseResponse {
+}
@@ -0,0 +1,44 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Record DTO para el request de la grilla de sensibilidad del porcentaje
+ */
+@Schema(description = "Pares de números y porcentajes a combinar; se indica una lista o un rango de porcentajes")
+public record SensitivityGridRequest(
+    @Schema(description = "Pares de números; cada fila de la grilla trae un resultado por par, en este orden", required = true)
+    List<CalculationRequest> pairs,
+
+    @Schema(description = "Porcentajes a evaluar, uno por fila", example = "[5, 10, 15.5]")
+    List<BigDecimal> percentages,
+
+    @Schema(description = "Rango de porcentajes a evaluar, alternativo a la lista")
+    PercentageRange range
+) {
+
+    /**
+     * Rango de porcentajes de {@code from} a {@code to} (inclusive) con paso {@code step}
+     */
+    @Schema(description = "Rango de porcentajes con paso fijo")
+    public record PercentageRange(
+        @Schema(description = "Primer porcentaje", example = "0")
+        BigDecimal from,
+
+        @Schema(description = "Último porcentaje (inclusive si lo alcanza el paso)", example = "20")
+        BigDecimal to,
+
+        @Schema(description = "Paso entre porcentajes", example = "0.5")
+        BigDecimal step
+    ) {
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SensitivityGridRequest{pairs=%d, percentages=%s, range=%s}",
+                pairs == null ? 0 : pairs.size(), percentages == null ? null : percentages.size(), range);
+    }
+}
@@ -0,0 +1,23 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Record DTO para una fila de la grilla de sensibilidad: los resultados de todos los pares con un porcentaje
+ */
+@Schema(description = "Fila de la grilla: resultado final de cada par con el porcentaje de la fila")
+public record SensitivityGridRow(
+    @Schema(description = "Posición del porcentaje en la grilla (base 0)", example = "0")
+    long index,
+
+    @Schema(description = "Porcentaje aplicado en la fila", example = "15.5")
+    BigDecimal percentage,
+
+    @Schema(description = "Resultado final de cada par en el orden del request; nulo si al par le falta un número",
+            example = "[346.44, 11.55]")
+    List<BigDecimal> finalResults
+) {
+}
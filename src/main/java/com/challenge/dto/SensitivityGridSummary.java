@@ -0,0 +1,28 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Record DTO con el resumen de una grilla de sensibilidad, registrado en el historial
+ */
+@Schema(description = "Resumen de una grilla de sensibilidad con su throughput")
+public record SensitivityGridSummary(
+    @Schema(description = "Pares de números", example = "1000")
+    int pairs,
+
+    @Schema(description = "Porcentajes evaluados (filas)", example = "41")
+    int percentages,
+
+    @Schema(description = "Celdas calculadas", example = "41000")
+    long cells,
+
+    @Schema(description = "Pares sin alguno de los números", example = "0")
+    int invalidPairs,
+
+    @Schema(description = "Duración del cálculo en milisegundos", example = "12")
+    long executionTimeMs,
+
+    @Schema(description = "Celdas calculadas por segundo", example = "3416666")
+    long cellsPerSecond
+) {
+}
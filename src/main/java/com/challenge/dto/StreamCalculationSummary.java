@@ -0,0 +1,36 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Record DTO con el resumen de un stream de cálculos, registrado en el historial
+ */
+@Schema(description = "Resumen de un stream de cálculos NDJSON con el porcentaje fijado y el throughput")
+public record StreamCalculationSummary(
+    @Schema(description = "Líneas procesadas", example = "1000000")
+    long lines,
+
+    @Schema(description = "Líneas calculadas", example = "999998")
+    long succeeded,
+
+    @Schema(description = "Líneas con error", example = "2")
+    long failed,
+
+    @Schema(description = "Porcentaje aplicado a todas las líneas", example = "15.5")
+    BigDecimal percentage,
+
+    @Schema(description = "Origen del porcentaje", example = "EXTERNAL_SERVICE")
+    String percentageSource,
+
+    @Schema(description = "Versión del porcentaje aplicado", example = "3")
+    long percentageEpoch,
+
+    @Schema(description = "Duración del stream en milisegundos", example = "2400")
+    long executionTimeMs,
+
+    @Schema(description = "Líneas procesadas por segundo", example = "416666")
+    long linesPerSecond
+) {
+}
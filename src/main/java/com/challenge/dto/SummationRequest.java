@@ -0,0 +1,21 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Record DTO para el request de suma de N operandos
+ */
+@Schema(description = "Request para sumar una lista de números y aplicar el porcentaje dinámico a la suma")
+public record SummationRequest(
+    @Schema(description = "Números a sumar, sin límite de dos", example = "[100.50, 200.75, 0.0001]", required = true)
+    List<BigDecimal> operands
+) {
+    @Override
+    public String toString() {
+        // Solo la cantidad: la lista puede tener cientos de miles de elementos
+        return String.format("SummationRequest{operands=%d}", operands == null ? 0 : operands.size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Record DTO para la respuesta de la suma de N operandos
+ */
+@Schema(description = "Respuesta de la suma de N operandos con porcentaje aplicado")
+public record SummationResponse(
+    @Schema(description = "Cantidad de operandos sumados", example = "3")
+    int operands,
+
+    @Schema(description = "Suma exacta de los operandos", example = "301.2501")
+    BigDecimal sum,
+
+    @Schema(description = "Porcentaje aplicado", example = "15.5")
+    BigDecimal percentage,
+
+    @Schema(description = "Resultado final con porcentaje aplicado", example = "346.44")
+    BigDecimal finalResult,
+
+    @Schema(description = "Origen del porcentaje", example = "EXTERNAL_SERVICE", allowableValues = {"EXTERNAL_SERVICE", "REFRESHED", "STREAM", "STALE", "CACHE", "PERSISTED", "DEFAULT"})
+    String percentageSource,
+
+    @Schema(description = "Antigüedad del porcentaje en milisegundos (nulo si se desconoce)", example = "1250")
+    Long percentageAgeMs,
+
+    @Schema(description = "Versión del porcentaje aplicado; cambia cada vez que cambia su valor (0 si no fue publicado)", example = "3")
+    long percentageEpoch,
+
+    @Schema(description = "Presupuesto de tiempo de la petición en milisegundos", example = "2000")
+    Long budgetMs,
+
+    @Schema(description = "Tiempo consumido del presupuesto en milisegundos al construir la respuesta", example = "12")
+    Long budgetUsedMs,
+
+    @Schema(description = "Tiempo de la suma en microsegundos", example = "850")
+    long sumMicros,
+
+    @Schema(description = "Mensaje informativo sobre el cálculo")
+    String message
+) implements BaseResponse {}
@@ -0,0 +1,48 @@
+package com.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entidad que registra cada valor del porcentaje con el instante desde el que estuvo vigente
+ */
+@Entity
+@Table(
+    name = "percentage_timeline",
+    indexes = {
+        @Index(name = "idx_percentage_timeline_effective_from", columnList = "effective_from")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PercentageTimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "effective_from", nullable = false)
+    private Instant effectiveFrom;
+
+    @Column(name = "percentage_value", nullable = false, columnDefinition = "NUMERIC")
+    private BigDecimal value;
+
+    @Column(name = "epoch", nullable = false)
+    private long epoch;
+
+    @Column(name = "source", length = 30)
+    private String source;
+
+    public PercentageTimelineEntry(Instant effectiveFrom, BigDecimal value, long epoch, String source) {
+        this.effectiveFrom = effectiveFrom;
+        this.value = value;
+        this.epoch = epoch;
+        this.source = source;
+    }
+}
@@ -0,0 +1,33 @@
+package com.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entidad que guarda el último porcentaje obtenido del servicio externo
+ */
+@Entity
+@Table(name = "persisted_percentage")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersistedPercentage {
+
+    @Id
+    @Column(name = "id", length = 50)
+    private String id;
+
+    @Column(name = "percentage_value", nullable = false, columnDefinition = "NUMERIC")
+    private BigDecimal value;
+
+    @Column(name = "epoch", nullable = false)
+    private long epoch;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+}
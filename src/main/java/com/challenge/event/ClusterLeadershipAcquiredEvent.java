@@ -0,0 +1,11 @@
+package com.challenge.event;
+
+import java.time.Instant;
+
+/**
+ * Evento emitido cuando este nodo pasa a ser el líder que consulta el servicio externo
+ */
+public record ClusterLeadershipAcquiredEvent(
+    Instant acquiredAt
+) {
+}
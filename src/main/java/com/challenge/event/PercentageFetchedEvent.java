@@ -0,0 +1,11 @@
+package com.challenge.event;
+
+import com.challenge.service.PercentageSnapshot;
+
+/**
+ * Evento emitido cada vez que se obtiene un porcentaje del servicio externo
+ */
+public record PercentageFetchedEvent(
+    PercentageSnapshot snapshot
+) {
+}
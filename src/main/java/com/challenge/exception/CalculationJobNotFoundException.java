@@ -0,0 +1,11 @@
+package com.challenge.exception;
+
+/**
+ * Excepción lanzada cuando se consulta un trabajo de cálculo que no existe o ya venció
+ */
+public class CalculationJobNotFoundException extends RuntimeException {
+
+    public CalculationJobNotFoundException(String message) {
+        super(message);
+    }
+}
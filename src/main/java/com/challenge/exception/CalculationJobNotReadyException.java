@@ -0,0 +1,11 @@
+package com.challenge.exception;
+
+/**
+ * Excepción lanzada cuando se pide el resultado de un trabajo de cálculo que no terminó correctamente
+ */
+public class CalculationJobNotReadyException extends RuntimeException {
+
+    public CalculationJobNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.challenge.exception;
+
+/**
+ * Excepción lanzada cuando el circuit breaker rechaza una llamada
+ * al servicio externo sin realizarla
+ */
+public class CircuitBreakerOpenException extends ServiceException {
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
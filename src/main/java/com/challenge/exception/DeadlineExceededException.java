@@ -0,0 +1,16 @@
+package com.challenge.exception;
+
+/**
+ * Excepción lanzada cuando el plazo de la petición no alcanza para
+ * consultar el servicio externo
+ */
+public class DeadlineExceededException extends ServiceException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
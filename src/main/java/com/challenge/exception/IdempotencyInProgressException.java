@@ -0,0 +1,12 @@
+package com.challenge.exception;
+
+/**
+ * Excepción lanzada cuando la petición original con la misma clave de idempotencia
+ * no termina dentro de la espera máxima
+ */
+public class IdempotencyInProgressException extends RuntimeException {
+
+    public IdempotencyInProgressException(String message) {
+        super(message);
+    }
+}
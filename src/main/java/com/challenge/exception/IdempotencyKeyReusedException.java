@@ -0,0 +1,11 @@
+package com.challenge.exception;
+
+/**
+ * Excepción lanzada cuando una clave de idempotencia se reutiliza con otros parámetros
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
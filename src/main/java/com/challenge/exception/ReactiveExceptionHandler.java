@@ -0,0 +1,131 @@
+package com.challenge.exception;
+
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manejador global de excepciones para el stack reactivo
+ *
+ * Produce las mismas respuestas que {@link GlobalExceptionHandler} para las excepciones
+ * equivalentes de WebFlux.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    /**
+     * Maneja errores de validación de entrada (Bean Validation)
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex,
+                                                                    ServerHttpRequest request) {
+        log.warn("Error de validación en {}: {}", request.getPath(), ex.getMessage());
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        String message = "Errores de validación: " + errors.toString();
+        ErrorResponse errorResponse = new ErrorResponse(
+            ErrorMessages.ErrorCodes.VALIDATION_ERROR,
+            message,
+            request.getPath().value()
+        );
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * Maneja errores de formato/parsing JSON (ej: BigDecimal inválido)
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidJson(ServerWebInputException ex,
+                                                           ServerHttpRequest request) {
+        log.warn("JSON invalido en {}: {}", request.getPath(), ex.getMessage());
+
+        String message = ErrorMessages.VALIDATION_INVALID_JSON;
+        if (ex.getMostSpecificCause() instanceof com.fasterxml.jackson.databind.exc.InvalidFormatException ife) {
+            message = String.format("El campo '%s' tiene un valor inválido",
+                    ife.getPath().get(0).getFieldName());
+        }
+
+        ErrorResponse error = new ErrorResponse(
+                ErrorMessages.ErrorCodes.INVALID_JSON,
+                message,
+                request.getPath().value()
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * Maneja argumentos ilegales
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex,
+                                                                        ServerHttpRequest request) {
+        log.warn("Argumento ilegal en {}: {}", request.getPath(), ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            ErrorMessages.ErrorCodes.INVALID_ARGUMENT,
+            ex.getMessage(),
+            request.getPath().value()
+        );
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * Respeta el status de las excepciones propias de WebFlux (ej: 404 de recurso inexistente)
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex,
+                                                                       ServerHttpRequest request) {
+        log.warn("Error {} en {}: {}", ex.getStatusCode(), request.getPath(), ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            ex.getStatusCode().is4xxClientError()
+                    ? ErrorMessages.ErrorCodes.INVALID_ARGUMENT
+                    : ErrorMessages.ErrorCodes.INTERNAL_ERROR,
+            ex.getReason(),
+            request.getPath().value()
+        );
+
+        return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
+    }
+
+    /**
+     * Maneja todas las demás excepciones no capturadas
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, ServerHttpRequest request) {
+        log.error("Error inesperado en {}: {}", request.getPath(), ex.getMessage(), ex);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            ErrorMessages.ErrorCodes.INTERNAL_ERROR,
+            ErrorMessages.UNEXPECTED_ERROR,
+            request.getPath().value()
+        );
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+}
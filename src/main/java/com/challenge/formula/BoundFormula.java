@@ -0,0 +1,15 @@
+package com.challenge.formula;
+
+import java.math.BigDecimal;
+
+/**
+ * Fórmula compilada para un porcentaje: solo depende de la suma
+ */
+@FunctionalInterface
+public interface BoundFormula {
+
+    /**
+     * Calcula el resultado final para la suma de los operandos
+     */
+    BigDecimal apply(BigDecimal sum);
+}
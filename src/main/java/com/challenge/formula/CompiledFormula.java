@@ -0,0 +1,201 @@
+package com.challenge.formula;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fórmula del resultado final analizada una sola vez
+ *
+ * Las variables son {@code sum} (suma de los operandos), {@code percentage} (porcentaje vigente) y
+ * {@code multiplier} (1 + percentage/100 redondeado a 4 decimales, el factor del cálculo original).
+ * {@link #bind(BigDecimal, BigDecimal)} compila el árbol para un porcentaje: evalúa de antemano todo
+ * lo que no depende de la suma y convierte el resto en una composición de lambdas especializadas por
+ * operación, sin recorrer el árbol ni buscar variables por nombre en cada evaluación. Con la fórmula
+ * estándar el resultado es {@code sum.multiply(multiplier).setScale(2, HALF_UP)}, igual que el cálculo
+ * escrito a mano.
+ */
+public final class CompiledFormula {
+
+    public static final String SUM = "sum";
+    public static final String PERCENTAGE = "percentage";
+    public static final String MULTIPLIER = "multiplier";
+
+    /**
+     * Fórmula del cálculo original: (num1 + num2) * (1 + p/100), redondeado a 2 decimales
+     */
+    public static final String STANDARD = "round(sum * multiplier, 2)";
+
+    private static final Expression STANDARD_EXPRESSION = FormulaParser.parse(STANDARD);
+    private static final BoundFormula IDENTITY = sum -> sum;
+
+    private final String source;
+    private final Expression expression;
+
+    private CompiledFormula(String source, Expression expression) {
+        this.source = source;
+        this.expression = expression;
+    }
+
+    /**
+     * Analiza la fórmula
+     *
+     * @throws IllegalArgumentException Si la fórmula no es válida, con la posición del error
+     */
+    public static CompiledFormula compile(String source) {
+        return new CompiledFormula(source.strip(), FormulaParser.parse(source));
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Indica si la fórmula es la del cálculo original, que admite los kernels en punto fijo
+     */
+    public boolean isStandard() {
+        return expression.equals(STANDARD_EXPRESSION);
+    }
+
+    /**
+     * Compila la fórmula para un porcentaje
+     *
+     * @param percentage El porcentaje
+     * @param multiplier Su multiplicador (1 + percentage/100 con 4 decimales)
+     * @return La fórmula como función de la suma
+     */
+    public BoundFormula bind(BigDecimal percentage, BigDecimal multiplier) {
+        return compile(expression, percentage, multiplier);
+    }
+
+    /**
+     * Evalúa la fórmula interpretando el árbol, sin compilarla; referencia para tests y benchmarks
+     */
+    public BigDecimal interpret(BigDecimal sum, BigDecimal percentage, BigDecimal multiplier) {
+        return expression.evaluate(Map.of(SUM, sum, PERCENTAGE, percentage, MULTIPLIER, multiplier));
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static BoundFormula compile(Expression expression, BigDecimal percentage, BigDecimal multiplier) {
+        return switch (expression) {
+            case Expression.Literal literal -> new Constant(literal.value());
+            case Expression.Variable variable -> switch (variable.name()) {
+                case SUM -> IDENTITY;
+                case PERCENTAGE -> new Constant(percentage);
+                default -> new Constant(multiplier);
+            };
+            case Expression.Negate negate -> {
+                BoundFormula operand = compile(negate.operand(), percentage, multiplier);
+                yield operand instanceof Constant constant
+                        ? new Constant(constant.value.negate())
+                        : sum -> operand.apply(sum).negate();
+            }
+            case Expression.Arithmetic arithmetic -> arithmetic(arithmetic.operator(),
+                    compile(arithmetic.left(), percentage, multiplier),
+                    compile(arithmetic.right(), percentage, multiplier));
+            case Expression.Round round -> {
+                BoundFormula operand = compile(round.operand(), percentage, multiplier);
+                int scale = round.scale();
+                yield operand instanceof Constant constant
+                        ? new Constant(constant.value.setScale(scale, RoundingMode.HALF_UP))
+                        : sum -> operand.apply(sum).setScale(scale, RoundingMode.HALF_UP);
+            }
+            case Expression.Extremum extremum -> extremum(extremum.max(), extremum.arguments().stream()
+                    .map(argument -> compile(argument, percentage, multiplier))
+                    .toList());
+            case Expression.Conditional conditional -> conditional(conditional.condition().comparator(),
+                    compile(conditional.condition().left(), percentage, multiplier),
+                    compile(conditional.condition().right(), percentage, multiplier),
+                    compile(conditional.whenTrue(), percentage, multiplier),
+                    compile(conditional.whenFalse(), percentage, multiplier));
+        };
+    }
+
+    /**
+     * Operación aritmética con lambdas distintas según qué lado es constante, para que cada una
+     * haga una sola llamada encadenada (o ninguna, si el otro lado es la suma)
+     */
+    private static BoundFormula arithmetic(Expression.Operator operator, BoundFormula left, BoundFormula right) {
+        if (left instanceof Constant l && right instanceof Constant r) {
+            return new Constant(operator.apply(l.value, r.value));
+        }
+        if (right instanceof Constant r) {
+            BigDecimal c = r.value;
+            if (left == IDENTITY) {
+                return switch (operator) {
+                    case ADD -> sum -> sum.add(c);
+                    case SUBTRACT -> sum -> sum.subtract(c);
+                    case MULTIPLY -> sum -> sum.multiply(c);
+                    case DIVIDE -> sum -> sum.divide(c, Expression.DIVISION_CONTEXT);
+                };
+            }
+            return switch (operator) {
+                case ADD -> sum -> left.apply(sum).add(c);
+                case SUBTRACT -> sum -> left.apply(sum).subtract(c);
+                case MULTIPLY -> sum -> left.apply(sum).multiply(c);
+                case DIVIDE -> sum -> left.apply(sum).divide(c, Expression.DIVISION_CONTEXT);
+            };
+        }
+        if (left instanceof Constant l) {
+            BigDecimal c = l.value;
+            return switch (operator) {
+                case ADD -> sum -> c.add(right.apply(sum));
+                case SUBTRACT -> sum -> c.subtract(right.apply(sum));
+                case MULTIPLY -> sum -> c.multiply(right.apply(sum));
+                case DIVIDE -> sum -> c.divide(right.apply(sum), Expression.DIVISION_CONTEXT);
+            };
+        }
+        return switch (operator) {
+            case ADD -> sum -> left.apply(sum).add(right.apply(sum));
+            case SUBTRACT -> sum -> left.apply(sum).subtract(right.apply(sum));
+            case MULTIPLY -> sum -> left.apply(sum).multiply(right.apply(sum));
+            case DIVIDE -> sum -> left.apply(sum).divide(right.apply(sum), Expression.DIVISION_CONTEXT);
+        };
+    }
+
+    private static BoundFormula extremum(boolean max, List<BoundFormula> arguments) {
+        if (arguments.stream().allMatch(Constant.class::isInstance)) {
+            BigDecimal result = ((Constant) arguments.get(0)).value;
+            for (int i = 1; i < arguments.size(); i++) {
+                result = Expression.Extremum.pick(max, result, ((Constant) arguments.get(i)).value);
+            }
+            return new Constant(result);
+        }
+        if (arguments.size() == 2) {
+            BoundFormula first = arguments.get(0);
+            BoundFormula second = arguments.get(1);
+            return sum -> Expression.Extremum.pick(max, first.apply(sum), second.apply(sum));
+        }
+        BoundFormula[] all = arguments.toArray(BoundFormula[]::new);
+        return sum -> {
+            BigDecimal result = all[0].apply(sum);
+            for (int i = 1; i < all.length; i++) {
+                result = Expression.Extremum.pick(max, result, all[i].apply(sum));
+            }
+            return result;
+        };
+    }
+
+    private static BoundFormula conditional(Expression.Comparator comparator, BoundFormula left, BoundFormula right,
+                                            BoundFormula whenTrue, BoundFormula whenFalse) {
+        if (left instanceof Constant l && right instanceof Constant r) {
+            return comparator.test(l.value, r.value) ? whenTrue : whenFalse;
+        }
+        return sum -> comparator.test(left.apply(sum), right.apply(sum)) ? whenTrue.apply(sum) : whenFalse.apply(sum);
+    }
+
+    /**
+     * Subexpresión que no depende de la suma, ya evaluada
+     */
+    private record Constant(BigDecimal value) implements BoundFormula {
+        @Override
+        public BigDecimal apply(BigDecimal sum) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.challenge.formula;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Árbol sintáctico de una fórmula
+ *
+ * {@link #evaluate(Map)} interpreta el árbol recorriéndolo en cada evaluación y buscando las
+ * variables por nombre; es la referencia de la semántica del lenguaje. Los cálculos usan la
+ * versión compilada ({@link CompiledFormula}), que debe dar exactamente el mismo resultado.
+ */
+sealed interface Expression {
+
+    /**
+     * Contexto de las divisiones: 34 dígitos significativos, suficiente para que p / 100 y los
+     * cocientes habituales sean exactos antes de un round()
+     */
+    MathContext DIVISION_CONTEXT = MathContext.DECIMAL128;
+
+    /**
+     * Evalúa la expresión interpretando el árbol
+     *
+     * @param variables Valor de cada variable por nombre
+     * @return El resultado
+     */
+    BigDecimal evaluate(Map<String, BigDecimal> variables);
+
+    record Literal(BigDecimal value) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            return value;
+        }
+    }
+
+    record Variable(String name) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            return variables.get(name);
+        }
+    }
+
+    record Negate(Expression operand) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            return operand.evaluate(variables).negate();
+        }
+    }
+
+    record Arithmetic(Operator operator, Expression left, Expression right) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            return operator.apply(left.evaluate(variables), right.evaluate(variables));
+        }
+    }
+
+    record Round(Expression operand, int scale) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            return operand.evaluate(variables).setScale(scale, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * min() o max() de dos o más argumentos; ante empates gana el primero
+     */
+    record Extremum(boolean max, List<Expression> arguments) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            BigDecimal result = arguments.get(0).evaluate(variables);
+            for (int i = 1; i < arguments.size(); i++) {
+                result = pick(max, result, arguments.get(i).evaluate(variables));
+            }
+            return result;
+        }
+
+        static BigDecimal pick(boolean max, BigDecimal current, BigDecimal candidate) {
+            int order = candidate.compareTo(current);
+            return (max ? order > 0 : order < 0) ? candidate : current;
+        }
+    }
+
+    record Conditional(Condition condition, Expression whenTrue, Expression whenFalse) implements Expression {
+        @Override
+        public BigDecimal evaluate(Map<String, BigDecimal> variables) {
+            return condition.comparator().test(condition.left().evaluate(variables), condition.right().evaluate(variables))
+                    ? whenTrue.evaluate(variables)
+                    : whenFalse.evaluate(variables);
+        }
+    }
+
+    /**
+     * Comparación entre dos expresiones, solo válida como primer argumento de if()
+     */
+    record Condition(Comparator comparator, Expression left, Expression right) {
+    }
+
+    enum Operator {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE;
+
+        BigDecimal apply(BigDecimal left, BigDecimal right) {
+            return switch (this) {
+                case ADD -> left.add(right);
+                case SUBTRACT -> left.subtract(right);
+                case MULTIPLY -> left.multiply(right);
+                case DIVIDE -> left.divide(right, DIVISION_CONTEXT);
+            };
+        }
+    }
+
+    enum Comparator {
+        LESS, LESS_OR_EQUAL, GREATER, GREATER_OR_EQUAL, EQUAL, NOT_EQUAL;
+
+        boolean test(BigDecimal left, BigDecimal right) {
+            int order = left.compareTo(right);
+            return switch (this) {
+                case LESS -> order < 0;
+                case LESS_OR_EQUAL -> order <= 0;
+                case GREATER -> order > 0;
+                case GREATER_OR_EQUAL -> order >= 0;
+                case EQUAL -> order == 0;
+                case NOT_EQUAL -> order != 0;
+            };
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.challenge.formula;
+
+import com.challenge.constants.ErrorMessages;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser descendente recursivo del lenguaje de fórmulas
+ *
+ * <pre>
+ * expresión   := término (('+' | '-') término)*
+ * término     := unario (('*' | '/') unario)*
+ * unario      := '-' unario | primario
+ * primario    := número | variable | función | '(' expresión ')'
+ * función     := round(expresión, entero) | min(expresión, expresión...) | max(expresión, expresión...)
+ *              | if(condición, expresión, expresión)
+ * condición   := expresión ('<' | '<=' | '>' | '>=' | '==' | '!=') expresión
+ * </pre>
+ */
+final class FormulaParser {
+
+    static final List<String> VARIABLES = List.of(CompiledFormula.SUM, CompiledFormula.PERCENTAGE, CompiledFormula.MULTIPLIER);
+    private static final int MAX_ROUND_SCALE = 10;
+
+    private final String source;
+    private int position;
+
+    private FormulaParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Analiza una fórmula completa
+     *
+     * @throws IllegalArgumentException Si la fórmula no es válida, con la posición del error
+     */
+    static Expression parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.FORMULA_INVALID, 1, "la fórmula está vacía"));
+        }
+        FormulaParser parser = new FormulaParser(source);
+        Expression expression = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("se esperaba un operador o el fin de la fórmula");
+        }
+        return expression;
+    }
+
+    private Expression expression() {
+        Expression result = term();
+        while (true) {
+            if (accept("+")) {
+                result = new Expression.Arithmetic(Expression.Operator.ADD, result, term());
+            } else if (accept("-")) {
+                result = new Expression.Arithmetic(Expression.Operator.SUBTRACT, result, term());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Expression term() {
+        Expression result = unary();
+        while (true) {
+            if (accept("*")) {
+                result = new Expression.Arithmetic(Expression.Operator.MULTIPLY, result, unary());
+            } else if (accept("/")) {
+                result = new Expression.Arithmetic(Expression.Operator.DIVIDE, result, unary());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Expression unary() {
+        if (accept("-")) {
+            return new Expression.Negate(unary());
+        }
+        return primary();
+    }
+
+    private Expression primary() {
+        skipWhitespace();
+        if (accept("(")) {
+            Expression inner = expression();
+            expect(")");
+            return inner;
+        }
+        if (position < source.length() && Character.isDigit(source.charAt(position))) {
+            return new Expression.Literal(number());
+        }
+
+        int start = position;
+        String name = identifier();
+        if (name.isEmpty()) {
+            throw error("se esperaba un número, una variable o una función");
+        }
+        if (!accept("(")) {
+            if (!VARIABLES.contains(name)) {
+                position = start;
+                throw error("variable desconocida '" + name + "' (se admiten " + String.join(", ", VARIABLES) + ")");
+            }
+            return new Expression.Variable(name);
+        }
+
+        return switch (name) {
+            case "round" -> round();
+            case "min", "max" -> extremum(name.equals("max"));
+            case "if" -> conditional();
+            default -> {
+                position = start;
+                throw error("función desconocida '" + name + "' (se admiten round, min, max e if)");
+            }
+        };
+    }
+
+    private Expression round() {
+        Expression operand = expression();
+        expect(",");
+        skipWhitespace();
+        int start = position;
+        BigDecimal scale = position < source.length() && Character.isDigit(source.charAt(position)) ? number() : null;
+        if (scale == null || scale.scale() > 0 || scale.intValue() > MAX_ROUND_SCALE) {
+            position = start;
+            throw error("round() requiere una cantidad de decimales entera entre 0 y " + MAX_ROUND_SCALE);
+        }
+        expect(")");
+        return new Expression.Round(operand, scale.intValue());
+    }
+
+    private Expression extremum(boolean max) {
+        List<Expression> arguments = new ArrayList<>();
+        arguments.add(expression());
+        expect(",");
+        do {
+            arguments.add(expression());
+        } while (accept(","));
+        expect(")");
+        return new Expression.Extremum(max, List.copyOf(arguments));
+    }
+
+    private Expression conditional() {
+        Expression left = expression();
+        Expression.Comparator comparator = comparator();
+        Expression.Condition condition = new Expression.Condition(comparator, left, expression());
+        expect(",");
+        Expression whenTrue = expression();
+        expect(",");
+        Expression whenFalse = expression();
+        expect(")");
+        return new Expression.Conditional(condition, whenTrue, whenFalse);
+    }
+
+    private Expression.Comparator comparator() {
+        // Los operadores de dos caracteres primero, para no confundir "<=" con "<"
+        if (accept("<=")) {
+            return Expression.Comparator.LESS_OR_EQUAL;
+        } else if (accept(">=")) {
+            return Expression.Comparator.GREATER_OR_EQUAL;
+        } else if (accept("==")) {
+            return Expression.Comparator.EQUAL;
+        } else if (accept("!=")) {
+            return Expression.Comparator.NOT_EQUAL;
+        } else if (accept("<")) {
+            return Expression.Comparator.LESS;
+        } else if (accept(">")) {
+            return Expression.Comparator.GREATER;
+        }
+        throw error("se esperaba una comparación (<, <=, >, >=, ==, !=)");
+    }
+
+    private BigDecimal number() {
+        int start = position;
+        while (position < source.length() && Character.isDigit(source.charAt(position))) {
+            position++;
+        }
+        if (position + 1 < source.length() && source.charAt(position) == '.'
+                && Character.isDigit(source.charAt(position + 1))) {
+            position++;
+            while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+        }
+        return new BigDecimal(source.substring(start, position));
+    }
+
+    private String identifier() {
+        int start = position;
+        while (position < source.length() && Character.isLetter(source.charAt(position))) {
+            position++;
+        }
+        return source.substring(start, position);
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (source.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("se esperaba '" + token + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String detail) {
+        return new IllegalArgumentException(String.format(ErrorMessages.FORMULA_INVALID, position + 1, detail));
+    }
+}
@@ -4,6 +4,7 @@ import com.challenge.entity.CallHistory;
 import com.challenge.event.ApiCallEvent;
 import com.challenge.event.ApiErrorEvent;
 import com.challenge.repository.CallHistoryRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -23,6 +24,7 @@ import org.springframework.stereotype.Component;
 public class ApiCallHistoryListener {
 
     private final CallHistoryRepository repository;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
     private final ObjectMapper objectMapper;
 
     /**
@@ -41,7 +43,7 @@ public class ApiCallHistoryListener {
             callHistory.setExecutionTimeMs(event.executionTime());
             callHistory.setStatusCode(event.statusCode());
 
-            repository.save(callHistory);
+            jdbcConcurrencyLimiter.execute(() -> repository.save(callHistory));
 
             log.debug("Llamada registrada exitosamente: {} {}", event.httpMethod(), event.endpoint());
 
@@ -66,7 +68,7 @@ public class ApiCallHistoryListener {
             callHistory.setExecutionTimeMs(event.executionTime());
             callHistory.setStatusCode(event.statusCode());
 
-            repository.save(callHistory);
+            jdbcConcurrencyLimiter.execute(() -> repository.save(callHistory));
 
             log.debug("Error registrado exitosamente: {} {}", event.httpMethod(), event.endpoint());
 
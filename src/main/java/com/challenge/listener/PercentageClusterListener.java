@@ -0,0 +1,50 @@
+package com.challenge.listener;
+
+import com.challenge.cluster.PercentageClusterCoordinator;
+import com.challenge.event.ClusterLeadershipAcquiredEvent;
+import com.challenge.event.PercentageFetchedEvent;
+import com.challenge.service.PercentageRefreshService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener que propaga el porcentaje entre réplicas
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PercentageClusterListener {
+
+    private final PercentageClusterCoordinator clusterCoordinator;
+    private final PercentageRefreshService percentageRefreshService;
+
+    /**
+     * Difunde cada porcentaje obtenido por el líder
+     */
+    @EventListener
+    @Async("taskExecutor")
+    public void handlePercentageFetched(PercentageFetchedEvent event) {
+        try {
+            clusterCoordinator.broadcast(event.snapshot());
+
+        } catch (Exception e) {
+            log.error("Error al difundir porcentaje: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Al tomar el liderazgo refresca de inmediato, sin esperar al siguiente ciclo programado
+     */
+    @EventListener
+    @Async("taskExecutor")
+    public void handleLeadershipAcquired(ClusterLeadershipAcquiredEvent event) {
+        if (percentageRefreshService.isEnabled()) {
+            percentageRefreshService.refresh();
+        }
+    }
+}
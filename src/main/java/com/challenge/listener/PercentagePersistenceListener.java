@@ -0,0 +1,36 @@
+package com.challenge.listener;
+
+import com.challenge.event.PercentageFetchedEvent;
+import com.challenge.service.PercentagePersistenceService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener que persiste cada porcentaje obtenido del servicio externo
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PercentagePersistenceListener {
+
+    private final PercentagePersistenceService percentagePersistenceService;
+
+    /**
+     * Maneja eventos de porcentajes obtenidos
+     */
+    @EventListener
+    @Async("taskExecutor")
+    public void handlePercentageFetched(PercentageFetchedEvent event) {
+        try {
+            percentagePersistenceService.save(event.snapshot());
+
+        } catch (Exception e) {
+            log.error("Error al persistir porcentaje: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.challenge.listener;
+
+import com.challenge.event.PercentageFetchedEvent;
+import com.challenge.service.PercentageTimelineService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener que registra cada cambio del porcentaje en la línea de tiempo
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PercentageTimelineListener {
+
+    private final PercentageTimelineService percentageTimelineService;
+
+    /**
+     * Maneja eventos de porcentajes obtenidos
+     */
+    @EventListener
+    @Async("taskExecutor")
+    public void handlePercentageFetched(PercentageFetchedEvent event) {
+        try {
+            percentageTimelineService.record(event.snapshot());
+
+        } catch (Exception e) {
+            log.error("Error al registrar porcentaje en la línea de tiempo: {}", e.getMessage(), e);
+        }
+    }
+}
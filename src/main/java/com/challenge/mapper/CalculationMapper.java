@@ -1,11 +1,17 @@
 package com.challenge.mapper;
 
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.BatchCalculationResponse;
 import com.challenge.dto.CalculationRequest;
 import com.challenge.dto.CalculationResponse;
+import com.challenge.dto.SummationResponse;
+import com.challenge.resilience.Deadline;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Mapper para crear respuestas de cálculo
@@ -22,12 +28,16 @@ public class CalculationMapper {
      * @param percentage El porcentaje aplicado
      * @param finalResult El resultado final
      * @param percentageSource La fuente del porcentaje
+     * @param percentageAgeMs La antigüedad del porcentaje en milisegundos
+     * @param percentageEpoch La versión del porcentaje aplicado
+     * @param deadline El plazo de la petición, del que se informa el presupuesto y lo consumido
      * @param message El mensaje informativo
      * @return DTO de respuesta del cálculo
      */
     public CalculationResponse createResponse(CalculationRequest request, BigDecimal sum,
                                            BigDecimal percentage, BigDecimal finalResult,
-                                           String percentageSource, String message) {
+                                           String percentageSource, Long percentageAgeMs,
+                                           long percentageEpoch, Deadline deadline, String message) {
         return new CalculationResponse(
             request.num1(),
             request.num2(),
@@ -35,6 +45,77 @@ public class CalculationMapper {
             percentage,
             finalResult,
             percentageSource,
+            percentageAgeMs,
+            percentageEpoch,
+            deadline.isBounded() ? deadline.budget().toMillis() : null,
+            deadline.isBounded() ? deadline.elapsed().toMillis() : null,
+            message
+        );
+    }
+
+    /**
+     * Crea la respuesta de un cálculo por lotes
+     *
+     * @param results Los resultados de cada cálculo, en el orden recibido
+     * @param percentage El porcentaje aplicado a todo el lote
+     * @param percentageSource La fuente del porcentaje
+     * @param percentageAgeMs La antigüedad del porcentaje en milisegundos
+     * @param percentageEpoch La versión del porcentaje aplicado
+     * @param deadline El plazo de la petición, del que se informa el presupuesto y lo consumido
+     * @param message El mensaje informativo
+     * @return DTO de respuesta del lote
+     */
+    public BatchCalculationResponse createBatchResponse(List<BatchCalculationItem> results,
+                                                        BigDecimal percentage, String percentageSource,
+                                                        Long percentageAgeMs, long percentageEpoch,
+                                                        Deadline deadline, String message) {
+        int failed = (int) results.stream().filter(item -> item.error() != null).count();
+        return new BatchCalculationResponse(
+            results.size(),
+            results.size() - failed,
+            failed,
+            percentage,
+            percentageSource,
+            percentageAgeMs,
+            percentageEpoch,
+            deadline.isBounded() ? deadline.budget().toMillis() : null,
+            deadline.isBounded() ? deadline.elapsed().toMillis() : null,
+            message,
+            results
+        );
+    }
+
+    /**
+     * Crea la respuesta de una suma de N operandos
+     *
+     * @param operands La cantidad de operandos sumados
+     * @param sum La suma exacta de los operandos
+     * @param percentage El porcentaje aplicado
+     * @param finalResult El resultado final
+     * @param percentageSource La fuente del porcentaje
+     * @param percentageAgeMs La antigüedad del porcentaje en milisegundos
+     * @param percentageEpoch La versión del porcentaje aplicado
+     * @param deadline El plazo de la petición, del que se informa el presupuesto y lo consumido
+     * @param sumMicros El tiempo de la suma en microsegundos
+     * @param message El mensaje informativo
+     * @return DTO de respuesta de la suma
+     */
+    public SummationResponse createSumResponse(int operands, BigDecimal sum,
+                                               BigDecimal percentage, BigDecimal finalResult,
+                                               String percentageSource, Long percentageAgeMs,
+                                               long percentageEpoch, Deadline deadline,
+                                               long sumMicros, String message) {
+        return new SummationResponse(
+            operands,
+            sum,
+            percentage,
+            finalResult,
+            percentageSource,
+            percentageAgeMs,
+            percentageEpoch,
+            deadline.isBounded() ? deadline.budget().toMillis() : null,
+            deadline.isBounded() ? deadline.elapsed().toMillis() : null,
+            sumMicros,
             message
         );
     }
@@ -47,8 +128,12 @@ public class CalculationMapper {
      */
     public String generateMessage(String source) {
         return switch (source) {
-            case "EXTERNAL_SERVICE" -> "Calculo realizado con porcentaje actualizado del servicio externo";
-            case "CACHE" -> "Calculo realizado con porcentaje desde caché (servicio externo no disponible)";
+            case PercentageSources.EXTERNAL_SERVICE -> "Calculo realizado con porcentaje actualizado del servicio externo";
+            case PercentageSources.REFRESHED -> "Calculo realizado con porcentaje refrescado en segundo plano";
+            case PercentageSources.STREAM -> "Calculo realizado con porcentaje recibido por suscripción al servicio externo";
+            case PercentageSources.STALE -> "Calculo realizado con porcentaje local pendiente de refresco";
+            case PercentageSources.CACHE -> "Calculo realizado con porcentaje desde caché (servicio externo no disponible)";
+            case PercentageSources.PERSISTED -> "Calculo realizado con el último porcentaje persistido";
             default -> "Calculo realizado con porcentaje por defecto";
         };
     }
@@ -0,0 +1,89 @@
+package com.challenge.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Monitor de hilos virtuales fijados (pinned) a su hilo portador
+ *
+ * Escucha el evento JFR jdk.VirtualThreadPinned, que la JVM emite cuando un hilo virtual
+ * bloquea dentro de un bloque synchronized o una llamada nativa y no puede liberar su
+ * hilo portador. Cada ocurrencia se publica como métrica para comprobar que el camino
+ * crítico no sufre pinning.
+ */
+@Component
+@Slf4j
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Counter pinnedEvents;
+    private final Timer pinnedDuration;
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${monitoring.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedEvents = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Veces que un hilo virtual quedó fijado a su hilo portador")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Duración de los episodios de pinning de hilos virtuales")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+
+        log.info("Monitor de pinning de hilos virtuales iniciado - Umbral: {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedDuration.record(event.getDuration());
+
+        if (event.getStackTrace() != null) {
+            event.getStackTrace().getFrames().stream()
+                    .filter(frame -> !isJdkFrame(frame))
+                    .findFirst()
+                    .ifPresent(frame -> log.warn("Hilo virtual fijado durante {}ms en {}.{}:{}",
+                            event.getDuration().toMillis(), frame.getMethod().getType().getName(),
+                            frame.getMethod().getName(), frame.getLineNumber()));
+        }
+    }
+
+    /**
+     * El frame superior siempre es interno del JDK (park); interesa el primer frame de la aplicación o librería
+     */
+    private boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
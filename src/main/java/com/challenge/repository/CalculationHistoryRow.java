@@ -0,0 +1,19 @@
+package com.challenge.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección del historial con lo necesario para recalcular una llamada de cálculo
+ *
+ * @param id           ID del registro
+ * @param timestamp    Fecha y hora de la llamada
+ * @param parameters   Request serializado
+ * @param responseData Respuesta serializada
+ */
+public record CalculationHistoryRow(
+    Long id,
+    LocalDateTime timestamp,
+    String parameters,
+    String responseData
+) {
+}
@@ -1,14 +1,46 @@
 package com.challenge.repository;
 
 import com.challenge.entity.CallHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Repositorio para el historial de llamadas con soporte para Specifications
  */
 @Repository
 public interface CallHistoryRepository extends JpaRepository<CallHistory, Long>,
                                               JpaSpecificationExecutor<CallHistory> {
+
+    /**
+     * Página de llamadas exitosas a un endpoint, paginada por ID (keyset) para recorrer tablas
+     * grandes sin OFFSET
+     *
+     * @param endpoint  Endpoint exacto
+     * @param afterId   Último ID ya procesado (0 para empezar)
+     * @param startDate Fecha de inicio
+     * @param endDate   Fecha de fin
+     * @param limit     Tamaño de la página
+     */
+    @Query("""
+            SELECT new com.challenge.repository.CalculationHistoryRow(c.id, c.timestamp, c.parameters, c.responseData)
+            FROM CallHistory c
+            WHERE c.endpoint = :endpoint
+              AND c.statusCode = 200
+              AND c.id > :afterId
+              AND c.timestamp >= :startDate
+              AND c.timestamp <= :endDate
+            ORDER BY c.id
+            """)
+    List<CalculationHistoryRow> findSuccessfulCallsAfter(@Param("endpoint") String endpoint,
+                                                         @Param("afterId") Long afterId,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate,
+                                                         Limit limit);
 }
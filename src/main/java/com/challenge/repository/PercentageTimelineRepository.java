@@ -0,0 +1,25 @@
+package com.challenge.repository;
+
+import com.challenge.entity.PercentageTimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repositorio para la línea de tiempo del porcentaje
+ */
+@Repository
+public interface PercentageTimelineRepository extends JpaRepository<PercentageTimelineEntry, Long> {
+
+    /**
+     * Entradas con vigencia posterior al instante indicado, en orden cronológico
+     */
+    List<PercentageTimelineEntry> findByEffectiveFromAfterOrderByEffectiveFromAsc(Instant effectiveFrom);
+
+    /**
+     * Todas las entradas en orden cronológico
+     */
+    List<PercentageTimelineEntry> findAllByOrderByEffectiveFromAsc();
+}
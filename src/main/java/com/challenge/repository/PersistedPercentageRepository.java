@@ -0,0 +1,12 @@
+package com.challenge.repository;
+
+import com.challenge.entity.PersistedPercentage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para el último porcentaje persistido
+ */
+@Repository
+public interface PersistedPercentageRepository extends JpaRepository<PersistedPercentage, String> {
+}
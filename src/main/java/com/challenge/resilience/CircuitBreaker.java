@@ -0,0 +1,198 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.CircuitBreakerProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker basado en una ventana deslizante de las últimas llamadas
+ *
+ * Estados:
+ * - CLOSED: todas las llamadas se permiten y se registra su resultado
+ * - OPEN: las llamadas se rechazan sin costo de red hasta que pase el tiempo de espera
+ * - HALF_OPEN: se permiten unas pocas llamadas de prueba que deciden si cerrar o volver a abrir
+ *
+ * Se abre cuando la tasa de fallos o la tasa de llamadas lentas supera su umbral.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final CircuitBreakerProperties properties;
+    private final LongSupplier nanoClock;
+    private final long slowCallThresholdNanos;
+    private final long waitInOpenStateNanos;
+
+    private volatile State state = State.CLOSED;
+    private byte[] outcomes;
+    private int recordedCalls;
+    private int nextSlot;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    public CircuitBreaker(String name, CircuitBreakerProperties properties) {
+        this(name, properties, System::nanoTime);
+    }
+
+    public CircuitBreaker(String name, CircuitBreakerProperties properties, LongSupplier nanoClock) {
+        this.name = name;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.slowCallThresholdNanos = properties.slowCallDurationThreshold().toNanos();
+        this.waitInOpenStateNanos = properties.waitDurationInOpenState().toNanos();
+        resetWindow(properties.slidingWindowSize());
+    }
+
+    /**
+     * Solicita permiso para realizar una llamada
+     *
+     * @return true si la llamada puede realizarse, false si el circuito la rechaza
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (!properties.enabled()) {
+            return true;
+        }
+
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < waitInOpenStateNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve un permiso obtenido para una llamada que se canceló sin resultado
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < properties.permittedCallsInHalfOpenState()) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * Registra una llamada exitosa con su duración
+     */
+    public void onSuccess(Duration duration) {
+        record(false, duration);
+    }
+
+    /**
+     * Registra una llamada fallida con su duración
+     */
+    public void onError(Duration duration) {
+        record(true, duration);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Tasa de fallos (0-100) de la ventana actual, o -1 si aún no hay suficientes llamadas
+     */
+    public synchronized float getFailureRate() {
+        return recordedCalls < minimumCalls() ? -1 : rate(failedCalls);
+    }
+
+    /**
+     * Tasa de llamadas lentas (0-100) de la ventana actual, o -1 si aún no hay suficientes llamadas
+     */
+    public synchronized float getSlowCallRate() {
+        return recordedCalls < minimumCalls() ? -1 : rate(slowCalls);
+    }
+
+    private synchronized void record(boolean failed, Duration duration) {
+        if (!properties.enabled() || state == State.OPEN) {
+            return;
+        }
+
+        byte outcome = (byte) ((failed ? FAILED : 0) | (duration.toNanos() >= slowCallThresholdNanos ? SLOW : 0));
+        if (recordedCalls == outcomes.length) {
+            forget(outcomes[nextSlot]);
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextSlot] = outcome;
+        nextSlot = (nextSlot + 1) % outcomes.length;
+        if ((outcome & FAILED) != 0) failedCalls++;
+        if ((outcome & SLOW) != 0) slowCalls++;
+
+        if (recordedCalls >= minimumCalls()) {
+            evaluate();
+        }
+    }
+
+    private void evaluate() {
+        boolean overThreshold = rate(failedCalls) >= properties.failureRateThreshold()
+                || rate(slowCalls) >= properties.slowCallRateThreshold();
+
+        if (overThreshold) {
+            log.warn("Circuit breaker '{}' abierto - Fallos: {}%, Lentas: {}%",
+                    name, rate(failedCalls), rate(slowCalls));
+            transitionTo(State.OPEN);
+        } else if (state == State.HALF_OPEN) {
+            log.info("Circuit breaker '{}' cerrado tras llamadas de prueba exitosas", name);
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        log.debug("Circuit breaker '{}': {} -> {}", name, state, newState);
+        state = newState;
+        switch (newState) {
+            case OPEN -> openedAt = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = properties.permittedCallsInHalfOpenState();
+                resetWindow(properties.permittedCallsInHalfOpenState());
+            }
+            case CLOSED -> resetWindow(properties.slidingWindowSize());
+        }
+    }
+
+    private void resetWindow(int size) {
+        outcomes = new byte[size];
+        recordedCalls = 0;
+        nextSlot = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+    }
+
+    private void forget(byte outcome) {
+        if ((outcome & FAILED) != 0) failedCalls--;
+        if ((outcome & SLOW) != 0) slowCalls--;
+    }
+
+    private int minimumCalls() {
+        // En semi-abierto se evalúa tras completar todas las llamadas de prueba
+        return state == State.HALF_OPEN
+                ? outcomes.length
+                : Math.min(properties.minimumNumberOfCalls(), outcomes.length);
+    }
+
+    private float rate(int calls) {
+        return recordedCalls == 0 ? 0 : calls * 100f / recordedCalls;
+    }
+}
@@ -0,0 +1,91 @@
+package com.challenge.resilience;
+
+import java.time.Duration;
+
+/**
+ * Plazo máximo de una petición, medido con el reloj monotónico
+ *
+ * Cada etapa (consulta externa, reintentos, fallback) consulta el tiempo restante en lugar de
+ * usar timeouts fijos, de modo que la petición completa nunca supera el presupuesto inicial.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(null, 0);
+
+    private final Duration budget;
+    private final long startNanos;
+
+    private Deadline(Duration budget, long startNanos) {
+        this.budget = budget;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Plazo que vence al transcurrir el presupuesto indicado desde ahora
+     */
+    public static Deadline after(Duration budget) {
+        return new Deadline(budget, System.nanoTime());
+    }
+
+    /**
+     * Sin plazo: solo aplican los timeouts configurados (p. ej. refrescos en segundo plano)
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Indica si hay un plazo que respetar
+     */
+    public boolean isBounded() {
+        return budget != null;
+    }
+
+    /**
+     * Presupuesto total, o null si no hay plazo
+     */
+    public Duration budget() {
+        return budget;
+    }
+
+    /**
+     * Tiempo transcurrido desde el inicio del plazo, o null si no hay plazo
+     */
+    public Duration elapsed() {
+        return isBounded() ? Duration.ofNanos(System.nanoTime() - startNanos) : null;
+    }
+
+    /**
+     * Tiempo restante (nunca negativo), o null si no hay plazo
+     */
+    public Duration remaining() {
+        if (!isBounded()) {
+            return null;
+        }
+        Duration remaining = budget.minus(elapsed());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * Limita un timeout al tiempo restante
+     */
+    public Duration cap(Duration timeout) {
+        if (!isBounded()) {
+            return timeout;
+        }
+        Duration remaining = remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Indica si queda al menos el tiempo indicado
+     */
+    public boolean hasAtLeast(Duration time) {
+        return !isBounded() || remaining().compareTo(time) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return isBounded() ? "Deadline[budget=" + budget.toMillis() + "ms, remaining=" + remaining().toMillis() + "ms]" : "Deadline[none]";
+    }
+}
@@ -0,0 +1,95 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.HedgingProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Política de peticiones de cobertura (hedging)
+ *
+ * Calcula la espera antes de enviar una segunda petición a partir del percentil configurado
+ * de las latencias recientes, y limita la carga extra con un presupuesto: cada petición
+ * principal deposita una fracción de cobertura y cada cobertura enviada consume una entera.
+ */
+public class HedgingPolicy {
+
+    private final HedgingProperties properties;
+    private final long[] latencies;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+
+    private int recordedSamples;
+    private int nextSlot;
+    private double budget;
+
+    public HedgingPolicy(HedgingProperties properties) {
+        this.properties = properties;
+        this.latencies = new long[properties.windowSize()];
+        this.minDelayNanos = properties.minDelay().toNanos();
+        this.maxDelayNanos = properties.maxDelay().toNanos();
+        this.budget = properties.maxBudget();
+    }
+
+    /**
+     * Indica si las coberturas están habilitadas
+     */
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Registra la latencia de un intento completado
+     */
+    public synchronized void recordLatency(Duration latency) {
+        latencies[nextSlot] = latency.toNanos();
+        nextSlot = (nextSlot + 1) % latencies.length;
+        if (recordedSamples < latencies.length) {
+            recordedSamples++;
+        }
+    }
+
+    /**
+     * Espera antes de enviar la cobertura: el percentil configurado de la ventana,
+     * acotado entre la espera mínima y la máxima
+     */
+    public synchronized Duration getHedgeDelay() {
+        if (recordedSamples < Math.max(1, properties.minimumSamples())) {
+            return properties.maxDelay();
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, recordedSamples);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(properties.percentile() * sorted.length) - 1;
+        long percentileNanos = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+
+        return Duration.ofNanos(Math.max(minDelayNanos, Math.min(maxDelayNanos, percentileNanos)));
+    }
+
+    /**
+     * Deposita en el presupuesto la fracción correspondiente a una petición principal
+     */
+    public synchronized void onPrimaryRequest() {
+        budget = Math.min(properties.maxBudget(), budget + properties.budgetRatio());
+    }
+
+    /**
+     * Consume una cobertura del presupuesto
+     *
+     * @return true si la cobertura puede enviarse, false si el presupuesto está agotado
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    /**
+     * Coberturas disponibles en el presupuesto
+     */
+    public synchronized double getAvailableBudget() {
+        return budget;
+    }
+}
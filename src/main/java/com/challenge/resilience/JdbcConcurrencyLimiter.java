@@ -0,0 +1,67 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.AsyncProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limitador explícito de accesos concurrentes a la base de datos
+ *
+ * Con hilos virtuales no hay pool que acote la concurrencia de las tareas asíncronas ni de
+ * las peticiones, así que miles de accesos podrían competir por las pocas conexiones de Hikari
+ * (y fallar por connection-timeout). El semáforo mantiene la espera fuera del pool, donde
+ * bloquear un hilo virtual es barato. Todo acceso JPA/JDBC pasa por aquí, tanto las escrituras
+ * asíncronas del historial como las lecturas del camino de la petición (historial, idempotencia).
+ */
+@Component
+public class JdbcConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final Timer waitTimer;
+
+    public JdbcConcurrencyLimiter(AsyncProperties asyncProperties, MeterRegistry meterRegistry) {
+        this.limit = asyncProperties.jdbcConcurrencyLimit();
+        this.permits = new Semaphore(limit, true);
+        this.waitTimer = Timer.builder("jdbc.limiter.wait")
+                .description("Tiempo de espera para obtener permiso de acceso a la base de datos")
+                .register(meterRegistry);
+        Gauge.builder("jdbc.limiter.active", permits, p -> limit - p.availablePermits())
+                .description("Accesos concurrentes a la base de datos en curso")
+                .register(meterRegistry);
+        Gauge.builder("jdbc.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Tareas esperando permiso de acceso a la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la operación cuando hay un permiso disponible
+     *
+     * @param operation Operación que usa una conexión JDBC
+     * @return El resultado de la operación
+     */
+    public <T> T execute(Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando acceso a la base de datos", e);
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            return operation.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
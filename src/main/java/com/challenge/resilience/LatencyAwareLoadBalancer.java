@@ -0,0 +1,309 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.LoadBalancerProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Balanceo entre instancias del servicio externo según su latencia y su carga actual
+ *
+ * Cada intento elige entre dos instancias al azar (power of two choices) la de menor costo:
+ * la media móvil exponencial de su latencia (EWMA, sensible a picos) multiplicada por las
+ * peticiones que tiene en curso más una. La media se olvida con el tiempo, de modo que una
+ * instancia lenta vuelve a probarse cuando lleva un rato sin recibir tráfico.
+ *
+ * Tras varios fallos seguidos la instancia se expulsa durante un tiempo que crece con cada
+ * expulsión consecutiva, sin superar el porcentaje máximo de instancias expulsadas. Al volver
+ * participa en la elección con una probabilidad que crece durante el arranque lento.
+ *
+ * Si todas las instancias están expulsadas se elige igualmente entre todas.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final double MIN_WEIGHT = 0.1;
+
+    private final LoadBalancerProperties properties;
+    private final LongSupplier nanoClock;
+    private final RandomGenerator random;
+    private final List<Endpoint> endpoints;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+
+    public LatencyAwareLoadBalancer(LoadBalancerProperties properties, List<URI> targets) {
+        this(properties, targets, System::nanoTime, RandomGenerator.getDefault());
+    }
+
+    public LatencyAwareLoadBalancer(LoadBalancerProperties properties, List<URI> targets,
+                                    LongSupplier nanoClock, RandomGenerator random) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una instancia del servicio externo");
+        }
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.random = random;
+        this.decayNanos = properties.latencyDecay().toNanos();
+        this.failurePenaltyNanos = properties.failurePenalty().toNanos();
+        this.endpoints = targets.stream().map(Endpoint::new).toList();
+    }
+
+    /**
+     * Instancias configuradas, en el orden de la configuración
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Elige la instancia para un intento y la cuenta como petición en curso.
+     * El llamador debe informar el resultado con onSuccess, onError u onCancel.
+     */
+    public synchronized Endpoint choose() {
+        long now = nanoClock.getAsLong();
+        List<Endpoint> candidates = candidates(now);
+
+        Endpoint chosen = candidates.get(0);
+        if (candidates.size() > 1) {
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            Endpoint a = candidates.get(first);
+            Endpoint b = candidates.get(second);
+            chosen = a.cost(now) <= b.cost(now) ? a : b;
+        }
+
+        chosen.outstanding++;
+        return chosen;
+    }
+
+    /**
+     * Instancias disponibles; las que están en arranque lento participan según su peso
+     */
+    private List<Endpoint> candidates(long now) {
+        List<Endpoint> available = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isEjectedAt(now)) {
+                continue;
+            }
+            double weight = endpoint.weightAt(now);
+            if (weight >= 1 || random.nextDouble() < weight) {
+                available.add(endpoint);
+            }
+        }
+
+        if (!available.isEmpty()) {
+            return available;
+        }
+        log.debug("Todas las instancias del servicio externo están expulsadas, se elige entre todas");
+        return endpoints;
+    }
+
+    private boolean canEject(long now) {
+        long ejected = endpoints.stream().filter(endpoint -> endpoint.isEjectedAt(now)).count();
+        return (ejected + 1) * 100 <= (long) properties.maxEjectionPercent() * endpoints.size();
+    }
+
+    /**
+     * Estado de una instancia del servicio externo
+     */
+    public final class Endpoint {
+
+        private final URI target;
+
+        private double latencyEwma;
+        private long lastObservation = NONE;
+        private int outstanding;
+        private int consecutiveFailures;
+        private int consecutiveEjections;
+        private long ejectedUntil = NONE;
+        private long reinstatedAt = NONE;
+        private long successes;
+        private long failures;
+        private long ejections;
+
+        private Endpoint(URI target) {
+            this.target = target;
+        }
+
+        public URI getTarget() {
+            return target;
+        }
+
+        /**
+         * Registra un intento exitoso con su latencia
+         */
+        public void onSuccess(Duration latency) {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                long now = nanoClock.getAsLong();
+                outstanding--;
+                successes++;
+                consecutiveFailures = 0;
+                observe(latency.toNanos(), now);
+                if (weightAt(now) >= 1) {
+                    consecutiveEjections = 0;
+                }
+            }
+        }
+
+        /**
+         * Registra un intento fallido; con suficientes fallos seguidos expulsa la instancia
+         */
+        public void onError(Duration latency) {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                long now = nanoClock.getAsLong();
+                outstanding--;
+                failures++;
+                consecutiveFailures++;
+                observe(Math.max(latency.toNanos(), failurePenaltyNanos), now);
+
+                if (consecutiveFailures >= properties.consecutiveFailures() && !isEjectedAt(now) && canEject(now)) {
+                    eject(now);
+                }
+            }
+        }
+
+        /**
+         * Registra un intento cancelado (p. ej. perdedor de una cobertura): su duración
+         * solo cuenta si supera la latencia estimada
+         */
+        public void onCancel(Duration latency) {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                long now = nanoClock.getAsLong();
+                outstanding--;
+                if (latency.toNanos() > decayedLatency(now)) {
+                    observe(latency.toNanos(), now);
+                }
+            }
+        }
+
+        /**
+         * Latencia estimada actual
+         */
+        public Duration getLatencyEwma() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                return Duration.ofNanos((long) decayedLatency(nanoClock.getAsLong()));
+            }
+        }
+
+        public int getOutstanding() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                return outstanding;
+            }
+        }
+
+        public boolean isEjected() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                return isEjectedAt(nanoClock.getAsLong());
+            }
+        }
+
+        /**
+         * Peso en la elección (0-1): menor que 1 durante el arranque lento tras una expulsión
+         */
+        public double getWeight() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                long now = nanoClock.getAsLong();
+                return isEjectedAt(now) ? 0 : weightAt(now);
+            }
+        }
+
+        public long getSuccesses() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                return successes;
+            }
+        }
+
+        public long getFailures() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                return failures;
+            }
+        }
+
+        public long getEjections() {
+            synchronized (LatencyAwareLoadBalancer.this) {
+                return ejections;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return target.toString();
+        }
+
+        private double cost(long now) {
+            // Una instancia sin muestras cuesta lo mínimo, para que se pruebe
+            return Math.max(decayedLatency(now), 1) * (outstanding + 1);
+        }
+
+        /**
+         * Media móvil por tiempo: cada muestra pesa según el tiempo transcurrido desde la anterior,
+         * y una muestra mayor que la media la reemplaza (picos)
+         */
+        private void observe(long latencyNanos, long now) {
+            double decayed = decayedLatency(now);
+            if (latencyNanos > decayed) {
+                latencyEwma = latencyNanos;
+            } else {
+                double weight = lastObservation == NONE ? 0 : Math.exp(-(now - lastObservation) / decayNanos);
+                latencyEwma = latencyEwma * weight + latencyNanos * (1 - weight);
+            }
+            lastObservation = now;
+        }
+
+        private double decayedLatency(long now) {
+            if (lastObservation == NONE) {
+                return 0;
+            }
+            return latencyEwma * Math.exp(-(now - lastObservation) / decayNanos);
+        }
+
+        private boolean isEjectedAt(long now) {
+            if (ejectedUntil == NONE) {
+                return false;
+            }
+            if (now - ejectedUntil < 0) {
+                return true;
+            }
+            ejectedUntil = NONE;
+            reinstatedAt = now;
+            log.info("Instancia {} readmitida, recupera tráfico durante {}", target, properties.slowStart());
+            return false;
+        }
+
+        private double weightAt(long now) {
+            if (reinstatedAt == NONE) {
+                return 1;
+            }
+            double progress = (double) (now - reinstatedAt) / properties.slowStart().toNanos();
+            if (progress >= 1) {
+                reinstatedAt = NONE;
+                return 1;
+            }
+            return Math.max(MIN_WEIGHT, progress);
+        }
+
+        private void eject(long now) {
+            consecutiveEjections++;
+            ejections++;
+            consecutiveFailures = 0;
+            reinstatedAt = NONE;
+            Duration ejectionTime = properties.baseEjectionTime().multipliedBy(consecutiveEjections);
+            if (ejectionTime.compareTo(properties.maxEjectionTime()) > 0) {
+                ejectionTime = properties.maxEjectionTime();
+            }
+            ejectedUntil = now + ejectionTime.toNanos();
+            log.warn("Instancia {} expulsada durante {} tras {} fallos seguidos",
+                    target, ejectionTime, properties.consecutiveFailures());
+        }
+    }
+}
@@ -0,0 +1,719 @@
+package com.challenge.service;
+
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.CalculationFileFormat;
+import com.challenge.formula.BoundFormula;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongConsumer;
+
+/**
+ * Cálculo de un archivo CSV o NDJSON completo con un único porcentaje
+ *
+ * El archivo se divide en porciones de {@code chunkSize} bytes alineadas a fin de línea, que se
+ * mapean en memoria y se calculan en paralelo como tareas fork-join del pool que ejecuta
+ * {@link #process(Path, Path)}. Cada línea se lee directamente de los bytes mapeados y su
+ * resultado se escribe en un buffer reutilizable, sin crear un request ni un DTO por línea.
+ * Cada porción escribe su propio archivo parcial, y al final se concatenan en orden con
+ * {@link FileChannel#transferTo}, de modo que el resultado respeta el orden de la entrada.
+ *
+ * Los números sencillos (hasta 11 dígitos enteros y 4 decimales, el caso habitual de montos) se
+ * leen directamente en punto fijo y se calculan por lotes con un {@link PercentageKernel}, sin
+ * crear un {@code BigDecimal} por operando; el resultado es idéntico al de {@code BigDecimal}.
+ * Con una fórmula distinta de la estándar todas las líneas se calculan con {@code BigDecimal} y
+ * la fórmula compilada.
+ */
+final class CalculationFileProcessor {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+    // Mismo límite de longitud de número que Jackson en /api/calculate
+    private static final int MAX_NUMBER_LENGTH = 1000;
+    private static final int BATCH_SIZE = 1024;
+    // Con 4 decimales, 11 dígitos enteros quedan por debajo de PercentageKernel.MAX_OPERAND
+    private static final int MAX_FIXED_INTEGER_DIGITS = 11;
+    private static final long[] TEN_POWERS = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] CSV_HEADER = "num1,num2,sum,finalResult,error\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NUM1_FIELD = "\"num1\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NUM2_FIELD = "\"num2\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final CalculationFileFormat format;
+    private final BoundFormula formula;
+    private final long chunkSize;
+    private final LongConsumer progress;
+    // Null si el multiplicador no cabe en punto fijo o la fórmula no es la estándar: todo se calcula con BigDecimal
+    private final PercentageKernel kernel;
+
+    /**
+     * @param format    Formato de la entrada y del resultado
+     * @param snapshot  Porcentaje fijado para todo el archivo
+     * @param formula   Fórmula del resultado final
+     * @param chunkSize Tamaño aproximado de cada porción en bytes
+     * @param progress  Recibe los bytes de entrada calculados a medida que avanza cada porción
+     */
+    CalculationFileProcessor(CalculationFileFormat format, PercentageSnapshot snapshot, CalculationFormula formula,
+                             long chunkSize, LongConsumer progress) {
+        this.format = format;
+        // El porcentaje del trabajo puede no ser el vigente: se compila sin desplazar la compilación reutilizada
+        this.formula = formula.compile(snapshot);
+        this.chunkSize = Math.min(chunkSize, Integer.MAX_VALUE / 2);
+        this.progress = progress;
+        this.kernel = formula.isStandard() ? PercentageKernel.forSnapshot(snapshot).orElse(null) : null;
+    }
+
+    /**
+     * Calcula el archivo de entrada y escribe el resultado; debe ejecutarse dentro de un
+     * {@link java.util.concurrent.ForkJoinPool}, donde se reparten las porciones
+     *
+     * @return Líneas procesadas y líneas con error
+     */
+    Tally process(Path input, Path output) throws IOException {
+        List<Path> parts = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = dataStart(channel, size);
+            progress.accept(start);
+
+            List<ForkJoinTask<Tally>> tasks = new ArrayList<>();
+            long position = start;
+            while (position < size) {
+                long end = Math.min(position + chunkSize, size);
+                if (end < size) {
+                    end = nextLineStart(channel, end, size);
+                }
+                if (end - position > Integer.MAX_VALUE) {
+                    throw new IOException("Línea demasiado larga en la posición " + position);
+                }
+
+                Path part = output.resolveSibling(output.getFileName() + ".part" + parts.size());
+                parts.add(part);
+                long chunkStart = position;
+                long chunkEnd = end;
+                tasks.add(ForkJoinTask.adapt(() -> processChunk(channel, chunkStart, chunkEnd, part)));
+                position = end;
+            }
+
+            ForkJoinTask.invokeAll(tasks);
+            Tally total = new Tally(0, 0);
+            for (ForkJoinTask<Tally> task : tasks) {
+                total = total.plus(task.join());
+            }
+
+            concatenate(parts, output);
+            return total;
+
+        } finally {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * Posición de la primera línea de datos: se omite el BOM y, en CSV, la cabecera si la hay
+     */
+    private long dataStart(FileChannel channel, long size) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(SCAN_BUFFER_SIZE, size));
+        channel.read(head, 0);
+        head.flip();
+
+        int start = 0;
+        if (head.remaining() >= UTF8_BOM.length && head.get(0) == UTF8_BOM[0]
+                && head.get(1) == UTF8_BOM[1] && head.get(2) == UTF8_BOM[2]) {
+            start = UTF8_BOM.length;
+        }
+        if (format != CalculationFileFormat.CSV) {
+            return start;
+        }
+
+        int first = start;
+        while (first < head.limit() && isWhitespace(head.get(first))) {
+            first++;
+        }
+        if (first == head.limit() || !Character.isLetter(head.get(first))) {
+            return start;
+        }
+        // La primera línea es una cabecera (num1,num2)
+        for (int i = first; i < head.limit(); i++) {
+            if (head.get(i) == LF) {
+                return i + 1;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Posición siguiente al primer fin de línea desde {@code from - 1}, o el final del archivo
+     */
+    private long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from - 1;
+        while (position < size) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == LF) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private Tally processChunk(FileChannel channel, long start, long end, Path part) throws IOException {
+        MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        try (FileChannel partChannel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChunkWriter writer = new ChunkWriter(partChannel);
+            int limit = data.limit();
+            int lineStart = 0;
+            int reported = 0;
+
+            for (int i = 0; i <= limit; i++) {
+                if (i < limit && data.get(i) != LF) {
+                    continue;
+                }
+                writer.calculateLine(data, lineStart, i);
+                lineStart = i + 1;
+
+                if (writer.flushed) {
+                    writer.flushed = false;
+                    progress.accept(Math.min(lineStart, limit) - reported);
+                    reported = Math.min(lineStart, limit);
+                }
+            }
+
+            writer.finish();
+            progress.accept(limit - reported);
+            return new Tally(writer.lines, writer.failed);
+        }
+    }
+
+    private void concatenate(List<Path> parts, Path output) throws IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (format == CalculationFileFormat.CSV) {
+                out.write(ByteBuffer.wrap(CSV_HEADER));
+            }
+            for (Path part : parts) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+                Files.delete(part);
+            }
+        }
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == CR || value == LF;
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    /**
+     * Valor del kernel (con {@link PercentageKernel#SCALE} decimales) como BigDecimal con la escala original
+     */
+    private static BigDecimal toDecimal(long value, int scale) {
+        return BigDecimal.valueOf(value / TEN_POWERS[PercentageKernel.SCALE - scale], scale);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Líneas procesadas y líneas con error
+     */
+    record Tally(long lines, long failed) {
+
+        Tally plus(Tally other) {
+            return new Tally(lines + other.lines, failed + other.failed);
+        }
+    }
+
+    /**
+     * Lee las líneas de una porción y escribe su resultado en el archivo parcial
+     *
+     * Las líneas se acumulan en lotes de {@link #BATCH_SIZE}: los operandos en punto fijo van en
+     * columnas que calcula el {@link PercentageKernel} de una vez, y los demás (notación
+     * científica, más decimales o dígitos de los admitidos, resultados fuera del rango del kernel)
+     * se calculan con {@code BigDecimal}. El lote se escribe en el orden de la entrada.
+     */
+    private final class ChunkWriter {
+
+        private static final int NUM1 = 0;
+        private static final int NUM2 = 1;
+
+        private final FileChannel channel;
+        private final ByteBuffer out = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+        private final char[] digits = new char[MAX_NUMBER_LENGTH];
+        private final byte[] number = new byte[20];
+        private final byte[] invalidFormat = utf8(ErrorMessages.VALIDATION_INVALID_FORMAT);
+        private final byte[] invalidJson = utf8(ErrorMessages.VALIDATION_INVALID_JSON);
+        private final byte[] requiredNumbers = utf8(ErrorMessages.VALIDATION_REQUIRED_NUMBERS);
+
+        private long lines;
+        private long failed;
+        private boolean flushed;
+
+        // Valores de la línea en curso: en punto fijo si fixedScale >= 0, si no como BigDecimal (o ausentes)
+        private final long[] fixed = new long[2];
+        private final int[] fixedScale = new int[2];
+        private final BigDecimal[] decimal = new BigDecimal[2];
+        private byte[] error;
+
+        // Lote pendiente: columnas del kernel y, por posición, los valores BigDecimal o el error si los hay
+        private final long[] batchNum1 = new long[BATCH_SIZE];
+        private final long[] batchNum2 = new long[BATCH_SIZE];
+        private final byte[] batchScale1 = new byte[BATCH_SIZE];
+        private final byte[] batchScale2 = new byte[BATCH_SIZE];
+        private final long[] sums = new long[BATCH_SIZE];
+        private final long[] results = new long[BATCH_SIZE];
+        private final BigDecimal[] decimal1 = new BigDecimal[BATCH_SIZE];
+        private final BigDecimal[] decimal2 = new BigDecimal[BATCH_SIZE];
+        private final BigDecimal[] decimalSums = new BigDecimal[BATCH_SIZE];
+        private final BigDecimal[] decimalResults = new BigDecimal[BATCH_SIZE];
+        private final byte[][] errors = new byte[BATCH_SIZE][];
+        private int batched;
+
+        ChunkWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void calculateLine(ByteBuffer data, int from, int to) throws IOException {
+            while (from < to && isWhitespace(data.get(from))) {
+                from++;
+            }
+            while (to > from && isWhitespace(data.get(to - 1))) {
+                to--;
+            }
+            if (from == to) {
+                return;
+            }
+
+            fixedScale[NUM1] = -1;
+            fixedScale[NUM2] = -1;
+            decimal[NUM1] = null;
+            decimal[NUM2] = null;
+            error = null;
+            if (format == CalculationFileFormat.CSV) {
+                readCsv(data, from, to);
+            } else {
+                readJson(data, from, to);
+            }
+            if (error == null && (!isPresent(NUM1) || !isPresent(NUM2))) {
+                error = requiredNumbers;
+            }
+
+            lines++;
+            int slot = batched++;
+            if (error != null) {
+                failed++;
+                errors[slot] = error;
+                decimal1[slot] = operand(NUM1);
+                decimal2[slot] = operand(NUM2);
+            } else if (fixedScale[NUM1] >= 0 && fixedScale[NUM2] >= 0) {
+                batchNum1[slot] = fixed[NUM1];
+                batchNum2[slot] = fixed[NUM2];
+                batchScale1[slot] = (byte) fixedScale[NUM1];
+                batchScale2[slot] = (byte) fixedScale[NUM2];
+            } else {
+                decimal1[slot] = operand(NUM1);
+                decimal2[slot] = operand(NUM2);
+            }
+            if (error != null || decimal1[slot] != null) {
+                batchNum1[slot] = 0;
+                batchNum2[slot] = 0;
+            }
+
+            if (batched == BATCH_SIZE) {
+                calculateBatch();
+            }
+        }
+
+        /**
+         * Calcula el lote pendiente y lo escribe
+         */
+        private void calculateBatch() throws IOException {
+            if (kernel != null) {
+                kernel.compute(batchNum1, batchNum2, sums, results, batched);
+            }
+
+            for (int slot = 0; slot < batched; slot++) {
+                if (errors[slot] != null) {
+                    writeError(slot);
+                } else {
+                    if (decimal1[slot] == null && results[slot] == PercentageKernel.OUT_OF_RANGE) {
+                        decimal1[slot] = toDecimal(batchNum1[slot], batchScale1[slot]);
+                        decimal2[slot] = toDecimal(batchNum2[slot], batchScale2[slot]);
+                    }
+                    if (decimal1[slot] != null) {
+                        decimalSums[slot] = decimal1[slot].add(decimal2[slot]);
+                        decimalResults[slot] = formula.apply(decimalSums[slot]);
+                    }
+                    writeResult(slot);
+                }
+                errors[slot] = null;
+                decimal1[slot] = null;
+                decimal2[slot] = null;
+                decimalSums[slot] = null;
+                decimalResults[slot] = null;
+            }
+            batched = 0;
+        }
+
+        private boolean isPresent(int operand) {
+            return fixedScale[operand] >= 0 || decimal[operand] != null;
+        }
+
+        /**
+         * Operando de la línea en curso como BigDecimal, o null si no está
+         */
+        private BigDecimal operand(int operand) {
+            return fixedScale[operand] >= 0 ? toDecimal(fixed[operand], fixedScale[operand]) : decimal[operand];
+        }
+
+        private void readCsv(ByteBuffer data, int from, int to) {
+            int comma = indexOf(data, COMMA, from, to);
+            try {
+                if (comma < 0) {
+                    parseNumber(data, from, to, NUM1);
+                    return;
+                }
+                int secondEnd = indexOf(data, COMMA, comma + 1, to);
+                parseNumber(data, from, comma, NUM1);
+                parseNumber(data, comma + 1, secondEnd < 0 ? to : secondEnd, NUM2);
+            } catch (NumberFormatException e) {
+                error = invalidFormat;
+            }
+        }
+
+        /**
+         * Lectura mínima de un objeto JSON plano: solo se buscan los campos num1 y num2
+         */
+        private void readJson(ByteBuffer data, int from, int to) {
+            if (data.get(from) != '{' || data.get(to - 1) != '}') {
+                error = invalidJson;
+                return;
+            }
+            try {
+                readJsonField(data, NUM1_FIELD, from + 1, to - 1, NUM1);
+                readJsonField(data, NUM2_FIELD, from + 1, to - 1, NUM2);
+            } catch (NumberFormatException e) {
+                error = invalidFormat;
+            } catch (IllegalArgumentException e) {
+                error = invalidJson;
+            }
+        }
+
+        private void readJsonField(ByteBuffer data, byte[] field, int from, int to, int operand) {
+            int position = indexOf(data, field, from, to);
+            if (position < 0) {
+                return;
+            }
+            position = skipWhitespace(data, position + field.length, to);
+            if (position == to || data.get(position) != ':') {
+                throw new IllegalArgumentException();
+            }
+            int valueStart = skipWhitespace(data, position + 1, to);
+            int valueEnd = valueStart;
+            if (valueStart < to && data.get(valueStart) == QUOTE) {
+                // Número como texto: Jackson lo acepta si su contenido es numérico
+                valueEnd = indexOf(data, QUOTE, valueStart + 1, to);
+                if (valueEnd < 0) {
+                    throw new IllegalArgumentException();
+                }
+                parseNumber(data, valueStart + 1, valueEnd, operand);
+                return;
+            }
+            while (valueEnd < to && data.get(valueEnd) != COMMA && data.get(valueEnd) != '}'
+                    && !isWhitespace(data.get(valueEnd))) {
+                valueEnd++;
+            }
+            if (valueEnd == valueStart) {
+                throw new IllegalArgumentException();
+            }
+            parseNumber(data, valueStart, valueEnd, operand);
+        }
+
+        /**
+         * Lee el número entre las posiciones indicadas en punto fijo o como BigDecimal; si el campo
+         * está vacío o es null el operando queda ausente
+         *
+         * @throws NumberFormatException si el contenido no es un número
+         */
+        private void parseNumber(ByteBuffer data, int from, int to, int operand) {
+            from = skipWhitespace(data, from, to);
+            while (to > from && isWhitespace(data.get(to - 1))) {
+                to--;
+            }
+            if (to - from >= 2 && data.get(from) == QUOTE && data.get(to - 1) == QUOTE) {
+                from++;
+                to--;
+            }
+            int length = to - from;
+            if (length == 0 || (length == 4 && data.get(from) == 'n' && data.get(from + 1) == 'u'
+                    && data.get(from + 2) == 'l' && data.get(from + 3) == 'l')) {
+                return;
+            }
+            if (length > MAX_NUMBER_LENGTH) {
+                throw new NumberFormatException();
+            }
+            if (kernel != null && parseFixed(data, from, to, operand)) {
+                return;
+            }
+            for (int i = 0; i < length; i++) {
+                byte value = data.get(from + i);
+                if (value < 0) {
+                    throw new NumberFormatException();
+                }
+                digits[i] = (char) value;
+            }
+            decimal[operand] = new BigDecimal(digits, 0, length);
+        }
+
+        /**
+         * Lee el número en punto fijo si tiene la forma -?d+(.d+)? con hasta {@link #MAX_FIXED_INTEGER_DIGITS}
+         * dígitos enteros y {@link PercentageKernel#SCALE} decimales; cualquier otra forma se deja a BigDecimal
+         */
+        private boolean parseFixed(ByteBuffer data, int from, int to, int operand) {
+            boolean negative = data.get(from) == '-';
+            int position = negative ? from + 1 : from;
+            long value = 0;
+
+            int integerDigits = 0;
+            while (position < to && isDigit(data.get(position))) {
+                if (++integerDigits > MAX_FIXED_INTEGER_DIGITS) {
+                    return false;
+                }
+                value = value * 10 + (data.get(position++) - '0');
+            }
+            if (integerDigits == 0) {
+                return false;
+            }
+
+            int scale = 0;
+            if (position < to) {
+                if (data.get(position++) != '.') {
+                    return false;
+                }
+                while (position < to && isDigit(data.get(position))) {
+                    if (++scale > PercentageKernel.SCALE) {
+                        return false;
+                    }
+                    value = value * 10 + (data.get(position++) - '0');
+                }
+                if (scale == 0 || position < to) {
+                    return false;
+                }
+            }
+
+            fixed[operand] = (negative ? -value : value) * TEN_POWERS[PercentageKernel.SCALE - scale];
+            fixedScale[operand] = scale;
+            return true;
+        }
+
+        private void writeResult(int slot) throws IOException {
+            if (format == CalculationFileFormat.CSV) {
+                putNum1(slot);
+                put(COMMA);
+                putNum2(slot);
+                put(COMMA);
+                putSum(slot);
+                put(COMMA);
+                putFinalResult(slot);
+                put(COMMA);
+            } else {
+                putAscii("{\"num1\":");
+                putNum1(slot);
+                putAscii(",\"num2\":");
+                putNum2(slot);
+                putAscii(",\"sum\":");
+                putSum(slot);
+                putAscii(",\"finalResult\":");
+                putFinalResult(slot);
+                put((byte) '}');
+            }
+            put(LF);
+        }
+
+        private void writeError(int slot) throws IOException {
+            if (format == CalculationFileFormat.CSV) {
+                if (decimal1[slot] != null) {
+                    putAscii(decimal1[slot].toString());
+                }
+                put(COMMA);
+                if (decimal2[slot] != null) {
+                    putAscii(decimal2[slot].toString());
+                }
+                putAscii(",,,\"");
+                put(errors[slot]);
+                put(QUOTE);
+            } else {
+                putAscii("{\"num1\":");
+                putAscii(decimal1[slot] == null ? "null" : decimal1[slot].toString());
+                putAscii(",\"num2\":");
+                putAscii(decimal2[slot] == null ? "null" : decimal2[slot].toString());
+                putAscii(",\"error\":\"");
+                put(errors[slot]);
+                putAscii("\"}");
+            }
+            put(LF);
+        }
+
+        private void putNum1(int slot) throws IOException {
+            if (decimal1[slot] != null) {
+                putAscii(decimal1[slot].toString());
+            } else {
+                putFixed(batchNum1[slot], batchScale1[slot]);
+            }
+        }
+
+        private void putNum2(int slot) throws IOException {
+            if (decimal2[slot] != null) {
+                putAscii(decimal2[slot].toString());
+            } else {
+                putFixed(batchNum2[slot], batchScale2[slot]);
+            }
+        }
+
+        private void putSum(int slot) throws IOException {
+            if (decimalSums[slot] != null) {
+                putAscii(decimalSums[slot].toString());
+            } else {
+                // Igual que BigDecimal.add: la suma tiene la mayor escala de los operandos
+                putFixed(sums[slot], Math.max(batchScale1[slot], batchScale2[slot]));
+            }
+        }
+
+        private void putFinalResult(int slot) throws IOException {
+            if (decimalResults[slot] != null) {
+                putAscii(decimalResults[slot].toString());
+            } else {
+                putPlain(results[slot], 2);
+            }
+        }
+
+        /**
+         * Escribe un valor del kernel (con {@link PercentageKernel#SCALE} decimales) con la escala indicada
+         */
+        private void putFixed(long value, int scale) throws IOException {
+            putPlain(value / TEN_POWERS[PercentageKernel.SCALE - scale], scale);
+        }
+
+        /**
+         * Escribe un valor sin escala como lo haría {@link BigDecimal#toString()}, que con hasta
+         * {@link PercentageKernel#SCALE} decimales nunca usa notación científica
+         */
+        private void putPlain(long unscaled, int scale) throws IOException {
+            if (unscaled < 0) {
+                put((byte) '-');
+                unscaled = -unscaled;
+            }
+            int length = 0;
+            do {
+                number[length++] = (byte) ('0' + unscaled % 10);
+                unscaled /= 10;
+            } while (unscaled != 0 || length <= scale);
+
+            for (int i = length - 1; i >= 0; i--) {
+                put(number[i]);
+                if (i == scale && scale > 0) {
+                    put((byte) '.');
+                }
+            }
+        }
+
+        private void putAscii(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                put((byte) value.charAt(i));
+            }
+        }
+
+        private void put(byte[] value) throws IOException {
+            for (byte b : value) {
+                put(b);
+            }
+        }
+
+        private void put(byte value) throws IOException {
+            if (!out.hasRemaining()) {
+                flush();
+            }
+            out.put(value);
+        }
+
+        /**
+         * Calcula el lote pendiente y escribe todo lo que queda en el buffer
+         */
+        void finish() throws IOException {
+            calculateBatch();
+            flush();
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            out.clear();
+            flushed = true;
+        }
+
+        private int skipWhitespace(ByteBuffer data, int from, int to) {
+            while (from < to && isWhitespace(data.get(from))) {
+                from++;
+            }
+            return from;
+        }
+
+        private int indexOf(ByteBuffer data, byte value, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (data.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int indexOf(ByteBuffer data, byte[] value, int from, int to) {
+            outer:
+            for (int i = from; i <= to - value.length; i++) {
+                for (int j = 0; j < value.length; j++) {
+                    if (data.get(i + j) != value[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.formula.BoundFormula;
+import com.challenge.formula.CompiledFormula;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Fórmula configurada para el resultado final de todos los cálculos
+ *
+ * Se analiza al arrancar, de modo que una fórmula inválida impide iniciar la aplicación con un
+ * mensaje que indica la posición del error. Cada porcentaje se compila una sola vez: la última
+ * compilación se reutiliza mientras el porcentaje no cambie, que es el caso de casi todas las
+ * peticiones entre dos actualizaciones.
+ */
+@Component
+@Slf4j
+public class CalculationFormula {
+
+    private final CompiledFormula formula;
+    private volatile Binding binding;
+
+    public CalculationFormula(FormulaProperties formulaProperties) {
+        String expression = formulaProperties.expression();
+        this.formula = CompiledFormula.compile(expression == null || expression.isBlank()
+                ? CompiledFormula.STANDARD : expression);
+        log.info("Fórmula del resultado final: {}{}", formula, formula.isStandard() ? " (estándar)" : "");
+    }
+
+    /**
+     * Indica si la fórmula es la del cálculo original, de modo que se pueden usar los kernels en punto fijo
+     */
+    public boolean isStandard() {
+        return formula.isStandard();
+    }
+
+    /**
+     * Aplica la fórmula a una suma con el porcentaje vigente del snapshot
+     */
+    public BigDecimal apply(BigDecimal sum, PercentageSnapshot snapshot) {
+        return bind(snapshot).apply(sum);
+    }
+
+    /**
+     * Fórmula compilada para el porcentaje vigente, reutilizada hasta que cambie. Los porcentajes
+     * históricos o simulados usan {@link #compile(PercentageSnapshot)} para no desplazarla.
+     */
+    public BoundFormula bind(PercentageSnapshot snapshot) {
+        Binding current = binding;
+        if (current != null && current.matches(snapshot)) {
+            return current.formula();
+        }
+
+        Binding next = new Binding(snapshot.value(), snapshot.multiplier(), compile(snapshot));
+        binding = next;
+        return next.formula();
+    }
+
+    /**
+     * Compila la fórmula para un porcentaje sin reemplazar la compilación reutilizada, para
+     * porcentajes simulados que no deben desplazar al vigente
+     */
+    public BoundFormula compile(PercentageSnapshot snapshot) {
+        return formula.bind(snapshot.value(), snapshot.multiplier());
+    }
+
+    /**
+     * Última compilación, por porcentaje y multiplicador
+     */
+    private record Binding(BigDecimal percentage, BigDecimal multiplier, BoundFormula formula) {
+
+        boolean matches(PercentageSnapshot snapshot) {
+            return percentage.equals(snapshot.value()) && multiplier.equals(snapshot.multiplier());
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.CalculationJobProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.CalculationFileFormat;
+import com.challenge.dto.CalculationJobResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+import com.challenge.exception.CalculationJobNotReadyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de trabajos de cálculo asíncronos sobre archivos CSV o NDJSON
+ *
+ * El archivo recibido se guarda en disco y se responde de inmediato con el identificador del
+ * trabajo, que se calcula en un pool fork-join propio con el porcentaje fijado al recibirlo (ver
+ * {@link CalculationFileProcessor}). Así ni la petición ni los hilos del servidor quedan ocupados
+ * durante el cálculo, y la memoria no depende del tamaño del archivo. El estado de los trabajos
+ * se mantiene en memoria: los trabajos terminados y sus archivos se eliminan pasado
+ * {@code calculation.jobs.retention}, y no sobreviven a un reinicio.
+ */
+@Service
+@Slf4j
+public class CalculationJobService {
+
+    private final CalculationJobProperties jobProperties;
+    private final CalculationFormula calculationFormula;
+    private final Path directory;
+    private final ForkJoinPool pool;
+    private final Map<String, CalculationJob> jobs = new ConcurrentHashMap<>();
+    private final Counter completedJobs;
+    private final Counter failedJobs;
+    private final DistributionSummary throughput;
+
+    public CalculationJobService(CalculationJobProperties jobProperties, CalculationFormula calculationFormula,
+                                 MeterRegistry meterRegistry) {
+        this.jobProperties = jobProperties;
+        this.calculationFormula = calculationFormula;
+        this.directory = Path.of(jobProperties.directory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de trabajos " + directory, e);
+        }
+
+        int parallelism = jobProperties.parallelism() > 0
+                ? jobProperties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("CalculationJob-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        this.completedJobs = Counter.builder("calculation.jobs")
+                .description("Trabajos de cálculo sobre archivos terminados")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedJobs = Counter.builder("calculation.jobs")
+                .description("Trabajos de cálculo sobre archivos terminados")
+                .tag("outcome", "error")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("calculation.jobs.throughput")
+                .description("Líneas por segundo de cada trabajo de cálculo completado")
+                .baseUnit("lines.per.second")
+                .register(meterRegistry);
+
+        log.info("Trabajos de cálculo configurados - Directorio: {}, Porción: {}, Paralelismo: {}, Kernel: {}",
+                directory, jobProperties.chunkSize(), parallelism,
+                PercentageKernel.vectorAvailable() ? "vectorial" : "escalar");
+    }
+
+    /**
+     * Guarda el archivo recibido e inicia su cálculo en segundo plano
+     *
+     * @param body       Contenido del archivo
+     * @param format     Formato del archivo
+     * @param percentage Porcentaje fijado para todas las líneas
+     * @return Estado inicial del trabajo
+     */
+    public CalculationJobResponse submit(InputStream body, CalculationFileFormat format,
+                                         CalculationService.PercentageResult percentage) throws IOException {
+        CalculationJob job = newJob(format, percentage);
+        try {
+            Files.copy(body, job.input);
+            return start(job);
+        } catch (IOException | RuntimeException e) {
+            deleteFiles(job);
+            throw e;
+        }
+    }
+
+    /**
+     * Versión reactiva de {@link #submit(InputStream, CalculationFileFormat, CalculationService.PercentageResult)}:
+     * el archivo se escribe en disco a medida que llegan sus buffers
+     */
+    public Mono<CalculationJobResponse> submit(Flux<DataBuffer> body, CalculationFileFormat format,
+                                               CalculationService.PercentageResult percentage) {
+        return Mono.defer(() -> {
+            CalculationJob job = newJob(format, percentage);
+            return DataBufferUtils.write(body, job.input)
+                    .then(Mono.fromCallable(() -> start(job)))
+                    .doOnError(e -> deleteFiles(job));
+        });
+    }
+
+    /**
+     * Estado y progreso de un trabajo
+     *
+     * @throws CalculationJobNotFoundException si el trabajo no existe o ya venció
+     */
+    public CalculationJobResponse getJob(String id) {
+        return findJob(id).toResponse();
+    }
+
+    /**
+     * Archivo de resultado de un trabajo completado
+     *
+     * @throws CalculationJobNotFoundException si el trabajo no existe o ya venció
+     * @throws CalculationJobNotReadyException si el trabajo sigue en curso o falló
+     */
+    public ResultFile getResult(String id) {
+        CalculationJob job = findJob(id);
+        if (job.status != CalculationJobResponse.Status.COMPLETED) {
+            throw new CalculationJobNotReadyException(ErrorMessages.JOB_NOT_READY);
+        }
+        return new ResultFile(job.output, job.format);
+    }
+
+    /**
+     * Elimina los trabajos terminados hace más de {@code retention} junto con sus archivos
+     */
+    public void purgeExpired() {
+        Instant limit = Instant.now().minus(jobProperties.retention());
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(limit)) {
+                return false;
+            }
+            deleteFiles(job);
+            log.info("Trabajo de cálculo {} eliminado por antigüedad", job.id);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private CalculationJob newJob(CalculationFileFormat format, CalculationService.PercentageResult percentage) {
+        String id = UUID.randomUUID().toString();
+        return new CalculationJob(id, format, percentage,
+                directory.resolve(id + ".in"), directory.resolve(id + "." + format.extension()));
+    }
+
+    private CalculationJobResponse start(CalculationJob job) throws IOException {
+        // Sin contenido, la escritura reactiva no llega a crear el archivo
+        long size = Files.exists(job.input) ? Files.size(job.input) : 0;
+        if (size == 0) {
+            throw new IllegalArgumentException(ErrorMessages.JOB_EMPTY_FILE);
+        }
+
+        job.inputBytes = size;
+        jobs.put(job.id, job);
+        pool.execute(() -> run(job));
+
+        log.info("Trabajo de cálculo {} creado: {} bytes {} con porcentaje {}% ({}, época {})", job.id, size,
+                job.format, job.percentage.snapshot().value(), job.percentage.source(),
+                job.percentage.snapshot().epoch());
+        return job.toResponse();
+    }
+
+    private void run(CalculationJob job) {
+        job.status = CalculationJobResponse.Status.RUNNING;
+        long startNanos = System.nanoTime();
+        try {
+            CalculationFileProcessor processor = new CalculationFileProcessor(job.format,
+                    job.percentage.snapshot(), calculationFormula, jobProperties.chunkSize().toBytes(),
+                    job.processedBytes::addAndGet);
+            CalculationFileProcessor.Tally tally = processor.process(job.input, job.output);
+
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+            job.lines = tally.lines();
+            job.failed = tally.failed();
+            job.executionTimeMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            job.linesPerSecond = tally.lines() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            job.completedAt = Instant.now();
+            job.status = CalculationJobResponse.Status.COMPLETED;
+
+            completedJobs.increment();
+            throughput.record(job.linesPerSecond);
+            log.info("Trabajo de cálculo {} completado en {}ms: {} líneas, {} con error ({} líneas/s)",
+                    job.id, job.executionTimeMs, job.lines, job.failed, job.linesPerSecond);
+
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.executionTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            deleteQuietly(job.output);
+            job.completedAt = Instant.now();
+            job.status = CalculationJobResponse.Status.FAILED;
+
+            failedJobs.increment();
+            log.error("Trabajo de cálculo {} fallido: {}", job.id, e.getMessage(), e);
+
+        } finally {
+            deleteQuietly(job.input);
+        }
+    }
+
+    private CalculationJob findJob(String id) {
+        CalculationJob job = jobs.get(id);
+        if (job == null) {
+            throw new CalculationJobNotFoundException(ErrorMessages.JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    private void deleteFiles(CalculationJob job) {
+        deleteQuietly(job.input);
+        deleteQuietly(job.output);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Archivo de resultado de un trabajo y su formato
+     */
+    public record ResultFile(Path path, CalculationFileFormat format) {
+    }
+
+    /**
+     * Estado mutable de un trabajo; solo lo modifica el hilo que lo calcula
+     */
+    private static final class CalculationJob {
+
+        private final String id;
+        private final CalculationFileFormat format;
+        private final CalculationService.PercentageResult percentage;
+        private final Path input;
+        private final Path output;
+        private final Instant createdAt = Instant.now();
+        private final AtomicLong processedBytes = new AtomicLong();
+
+        private volatile CalculationJobResponse.Status status = CalculationJobResponse.Status.PENDING;
+        private volatile long inputBytes;
+        private volatile long lines;
+        private volatile long failed;
+        private volatile Long executionTimeMs;
+        private volatile Long linesPerSecond;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private CalculationJob(String id, CalculationFileFormat format,
+                               CalculationService.PercentageResult percentage, Path input, Path output) {
+            this.id = id;
+            this.format = format;
+            this.percentage = percentage;
+            this.input = input;
+            this.output = output;
+        }
+
+        private CalculationJobResponse toResponse() {
+            long processed = Math.min(processedBytes.get(), inputBytes);
+            int progress = status == CalculationJobResponse.Status.COMPLETED ? 100
+                    : inputBytes == 0 ? 0 : (int) (processed * 100 / inputBytes);
+            return new CalculationJobResponse(id, status, format, inputBytes, processed, progress, lines, failed,
+                    percentage.snapshot().value(), percentage.source(), percentage.snapshot().epoch(),
+                    createdAt, completedAt, executionTimeMs, linesPerSecond, error);
+        }
+    }
+}
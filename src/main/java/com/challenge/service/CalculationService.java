@@ -1,10 +1,17 @@
 package com.challenge.service;
 
+import com.challenge.config.properties.BatchProperties;
+import com.challenge.config.properties.DeadlineProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.BatchCalculationResponse;
 import com.challenge.dto.CalculationRequest;
 import com.challenge.dto.CalculationResponse;
 import com.challenge.exception.PercentageUnavailableException;
 import com.challenge.exception.ServiceException;
 import com.challenge.mapper.CalculationMapper;
+import com.challenge.resilience.Deadline;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +19,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 /**
  * Servicio principal para realizar cálculos
@@ -23,82 +33,291 @@ import java.math.RoundingMode;
 public class CalculationService {
 
     private final PercentageService percentageService;
+    private final PercentageRefreshService percentageRefreshService;
+    private final PercentageSnapshotHolder percentageSnapshotHolder;
+    private final PercentagePersistenceService percentagePersistenceService;
     private final CalculationMapper calculationMapper;
+    private final DeadlineProperties deadlineProperties;
+    private final BatchProperties batchProperties;
+    private final CalculationFormula calculationFormula;
 
     /**
-     * Realiza el cálculo principal con porcentaje dinámico
+     * Realiza el cálculo principal con porcentaje dinámico y el plazo por defecto
      *
      * @param request Los números a calcular
      * @return El resultado del cálculo con información detallada
      */
     public CalculationResponse calculate(CalculationRequest request) {
-        log.info("Iniciando cálculo para: {}", request);
+        return calculate(request, null);
+    }
+
+    /**
+     * Realiza el cálculo principal con porcentaje dinámico
+     *
+     * @param request            Los números a calcular
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return El resultado del cálculo con información detallada
+     */
+    public CalculationResponse calculate(CalculationRequest request, Long requestedTimeoutMs) {
+        Deadline deadline = resolveDeadline(requestedTimeoutMs);
+        log.info("Iniciando cálculo para: {} ({})", request, deadline);
 
         // Validación de parámetros
+        validate(request);
+
+        // Obtención del porcentaje con manejo de errores
+        PercentageResult percentageResult = getPercentageWithSource(deadline);
+
+        return buildResponse(request, percentageResult, deadline);
+    }
+
+    /**
+     * Realiza un lote de cálculos con un único porcentaje para todos los elementos
+     *
+     * Un elemento inválido se informa como error sin afectar al resto; si no hay porcentaje
+     * disponible falla el lote completo, igual que un cálculo individual.
+     *
+     * @param requests           Los cálculos del lote
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return El resultado de cada cálculo con el porcentaje aplicado
+     */
+    public BatchCalculationResponse calculateBatch(List<CalculationRequest> requests, Long requestedTimeoutMs) {
+        Deadline deadline = resolveDeadline(requestedTimeoutMs);
+        validateBatch(requests);
+        log.info("Iniciando cálculo por lotes de {} elementos ({})", requests.size(), deadline);
+
+        PercentageResult percentageResult = getPercentageWithSource(deadline);
+
+        return buildBatchResponse(requests, percentageResult, deadline);
+    }
+
+    /**
+     * Resuelve el porcentaje una sola vez para aplicarlo a todas las líneas de un stream
+     *
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return El porcentaje fijado con su fuente
+     * @throws PercentageUnavailableException Si no hay porcentaje de ninguna fuente
+     */
+    public PercentageResult pinPercentage(Long requestedTimeoutMs) {
+        Deadline deadline = resolveDeadline(requestedTimeoutMs);
+        PercentageResult percentageResult = getPercentageWithSource(deadline);
+        log.info("Porcentaje fijado para el stream: {}% ({}, época {})", percentageResult.snapshot().value(),
+                percentageResult.source(), percentageResult.snapshot().epoch());
+        return percentageResult;
+    }
+
+    /**
+     * Calcula el plazo de la petición: el indicado por el cliente, acotado al máximo, o el por defecto
+     */
+    Deadline resolveDeadline(Long requestedTimeoutMs) {
+        if (requestedTimeoutMs == null || requestedTimeoutMs <= 0) {
+            return Deadline.after(deadlineProperties.defaultBudget());
+        }
+        Duration requested = Duration.ofMillis(requestedTimeoutMs);
+        return Deadline.after(requested.compareTo(deadlineProperties.maxBudget()) > 0 ? deadlineProperties.maxBudget() : requested);
+    }
+
+    /**
+     * Valida que los números del request estén presentes
+     */
+    void validate(CalculationRequest request) {
         if (request.num1() == null || request.num2() == null) {
             throw new IllegalArgumentException("Los números no pueden ser nulos");
         }
+    }
 
+    /**
+     * Valida que el lote no esté vacío ni supere el máximo configurado
+     */
+    void validateBatch(List<CalculationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("El lote debe contener al menos un cálculo");
+        }
+        if (requests.size() > batchProperties.maxSize()) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + batchProperties.maxSize() + " cálculos");
+        }
+    }
+
+    /**
+     * Aplica el porcentaje a la suma de los números y construye la respuesta
+     */
+    CalculationResponse buildResponse(CalculationRequest request, PercentageResult percentageResult, Deadline deadline) {
         // Cálculo básico usando BigDecimal para precisión
         BigDecimal sum = request.num1().add(request.num2());
         log.debug("Suma calculada: {}", sum);
 
-        // Obtención del porcentaje con manejo de errores
-        PercentageResult percentageResult = getPercentageWithSource();
-
-        // Aplicación del porcentaje
-        BigDecimal finalResult = applyPercentage(sum, percentageResult.percentage());
+        // Aplicación del porcentaje con la fórmula compilada para el snapshot
+        PercentageSnapshot snapshot = percentageResult.snapshot();
+        BigDecimal finalResult = calculationFormula.apply(sum, snapshot);
 
         // Construcción de la respuesta usando el mapper
         String message = calculationMapper.generateMessage(percentageResult.source());
         CalculationResponse response = calculationMapper.createResponse(
-                request, sum, percentageResult.percentage(), finalResult,
-                percentageResult.source(), message
+                request, sum, snapshot.value(), finalResult,
+                percentageResult.source(), percentageResult.ageMs(), snapshot.epoch(), deadline, message
         );
 
         log.info("Calculo completado exitosamente. Resultado: {}", finalResult);
         return response;
     }
 
+    /**
+     * Aplica el mismo porcentaje a cada elemento del lote y construye la respuesta.
+     * A partir del umbral configurado los cálculos se reparten entre núcleos, conservando el orden.
+     */
+    BatchCalculationResponse buildBatchResponse(List<CalculationRequest> requests, PercentageResult percentageResult,
+                                                Deadline deadline) {
+        PercentageSnapshot snapshot = percentageResult.snapshot();
+
+        IntStream indexes = IntStream.range(0, requests.size());
+        if (requests.size() >= batchProperties.parallelThreshold()) {
+            indexes = indexes.parallel();
+        }
+        List<BatchCalculationItem> results = indexes
+                .mapToObj(index -> calculateItem(index, requests.get(index), snapshot))
+                .toList();
+
+        String message = calculationMapper.generateMessage(percentageResult.source());
+        BatchCalculationResponse response = calculationMapper.createBatchResponse(
+                results, snapshot.value(), percentageResult.source(), percentageResult.ageMs(),
+                snapshot.epoch(), deadline, message
+        );
+
+        log.info("Calculo por lotes completado. Realizados: {}, Con error: {}", response.succeeded(), response.failed());
+        return response;
+    }
+
+    /**
+     * Calcula un elemento con el snapshot indicado; los números faltantes se informan como error
+     */
+    BatchCalculationItem calculateItem(long index, CalculationRequest request, PercentageSnapshot snapshot) {
+        if (request == null || request.num1() == null || request.num2() == null) {
+            return new BatchCalculationItem(index, request == null ? null : request.num1(),
+                    request == null ? null : request.num2(), null, null, ErrorMessages.VALIDATION_REQUIRED_NUMBERS);
+        }
+        BigDecimal sum = request.num1().add(request.num2());
+        return new BatchCalculationItem(index, request.num1(), request.num2(), sum,
+                calculationFormula.apply(sum, snapshot), null);
+    }
+
     /**
      * Obtiene el porcentaje con información de la fuente
      */
-    private PercentageResult getPercentageWithSource() {
+    PercentageResult getPercentageWithSource(Deadline deadline) {
+        Optional<PercentageResult> local = getLocalPercentage();
+        if (local.isPresent()) {
+            return local.get();
+        }
+
         try {
             // Intentar obtener del servicio externo (que actualiza el caché con @CachePut)
-            BigDecimal percentage = percentageService.getPercentage();
-            return new PercentageResult(percentage, "EXTERNAL_SERVICE");
+            BigDecimal percentage = percentageService.getPercentage(deadline);
+            return externalPercentage(percentage);
 
         } catch (ServiceException e) {
-            log.warn("Servicio externo falló ({}), intentando caché: {}", e.getClass().getSimpleName(), e.getMessage());
+            return getCachedPercentage(e);
+        }
+    }
 
-            // Intentar obtener del caché usando el método dedicado
-            BigDecimal cachedPercentage = percentageService.getPercentageFromCache();
-            if (cachedPercentage != null) {
-                log.info("Usando porcentaje desde caché: {}%", cachedPercentage);
-                return new PercentageResult(cachedPercentage, "CACHE");
-            }
+    /**
+     * Obtiene el valor local sin consultar el servicio externo en línea ni pasar por el proxy del caché.
+     * Sin refresco anticipado ni suscripción se usa el último valor publicado hasta que vence.
+     *
+     * Solo el nodo líder consulta el servicio externo: un seguidor sin valor difundido vigente
+     * recurre al caché (que se llena con cada valor difundido) y al valor persistido en lugar de
+     * consultar en línea.
+     *
+     * @return El porcentaje local o vacío si no hay valor vigente y este nodo puede consultar en línea
+     * @throws PercentageUnavailableException Si este nodo es seguidor y no hay porcentaje de ninguna fuente
+     */
+    Optional<PercentageResult> getLocalPercentage() {
+        Optional<PercentageResult> local = percentageRefreshService.isEnabled()
+                ? getRefreshedPercentage() : getPublishedPercentage();
+        if (local.isEmpty() && percentageRefreshService.isFollower()) {
+            return Optional.of(getCachedPercentage(new ServiceException("Nodo seguidor sin porcentaje difundido vigente")));
+        }
+        return local;
+    }
+
+    /**
+     * Último valor publicado por una consulta en línea o difundido por el líder
+     */
+    private Optional<PercentageResult> getPublishedPercentage() {
+        return percentageRefreshService.getPublished()
+                .map(snapshot -> new PercentageResult(snapshot, PercentageSources.EXTERNAL_SERVICE, snapshot.age().toMillis()));
+    }
 
-            // Si no hay valor en caché, lanzar excepción
-            log.error("No hay valor en caché y el servicio externo falló");
-            throw new PercentageUnavailableException("No se pudo obtener porcentaje de ninguna fuente", e);
+    /**
+     * Valor refrescado en segundo plano o recibido por la suscripción
+     */
+    private Optional<PercentageResult> getRefreshedPercentage() {
+        Optional<PercentageSnapshot> local = percentageRefreshService.getCurrent();
+        if (local.isEmpty()) {
+            // Tras un arranque en frío se sirve el valor persistido hasta el primer refresco
+            Optional<PercentageResult> persisted = getPersistedPercentage();
+            if (persisted.isEmpty()) {
+                log.warn("Sin porcentaje local vigente");
+            }
+            return persisted;
         }
+
+        PercentageSnapshot snapshot = local.get();
+        String source = percentageRefreshService.isLive() ? PercentageSources.STREAM
+                : percentageRefreshService.isOverdue(snapshot) ? PercentageSources.STALE : PercentageSources.REFRESHED;
+        return Optional.of(new PercentageResult(snapshot, source, snapshot.age().toMillis()));
     }
 
     /**
-     * Aplica el porcentaje al valor usando BigDecimal para precisión
+     * Resultado para un porcentaje recién obtenido del servicio externo
      */
-    private BigDecimal applyPercentage(BigDecimal value, BigDecimal percentage) {
-        BigDecimal bdPercentage = percentage.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        BigDecimal bdIncrease = value.multiply(bdPercentage);
-        BigDecimal bdResult = value.add(bdIncrease);
+    PercentageResult externalPercentage(BigDecimal percentage) {
+        PercentageSnapshot snapshot = percentageSnapshotHolder.snapshotFor(percentage, PercentageSources.EXTERNAL_SERVICE);
+        return new PercentageResult(snapshot, PercentageSources.EXTERNAL_SERVICE, 0L);
+    }
 
-        return bdResult.setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Recurre al caché tras una falla del servicio externo
+     *
+     * @param cause La falla del servicio externo
+     * @return El porcentaje desde caché
+     * @throws PercentageUnavailableException Si no hay valor en caché
+     */
+    PercentageResult getCachedPercentage(ServiceException cause) {
+        log.warn("Servicio externo falló ({}), intentando caché: {}", cause.getClass().getSimpleName(), cause.getMessage());
+
+        // Intentar obtener del caché usando el método dedicado
+        BigDecimal cachedPercentage = percentageService.getPercentageFromCache();
+        if (cachedPercentage != null) {
+            log.info("Usando porcentaje desde caché: {}%", cachedPercentage);
+            PercentageSnapshot snapshot = percentageSnapshotHolder.snapshotFor(cachedPercentage, PercentageSources.CACHE);
+            Duration age = snapshot.age();
+            return new PercentageResult(snapshot, PercentageSources.CACHE, age == null ? null : age.toMillis());
+        }
+
+        // Segundo nivel: último valor persistido
+        Optional<PercentageResult> persisted = getPersistedPercentage();
+        if (persisted.isPresent()) {
+            log.info("Usando porcentaje persistido: {}%", persisted.get().snapshot().value());
+            return persisted.get();
+        }
+
+        // Si no hay valor en caché, lanzar excepción
+        log.error("No hay valor en caché y el servicio externo falló");
+        throw new PercentageUnavailableException("No se pudo obtener porcentaje de ninguna fuente", cause);
+    }
+
+    /**
+     * Obtiene el último valor persistido si sigue dentro de la antigüedad máxima
+     */
+    private Optional<PercentageResult> getPersistedPercentage() {
+        return percentagePersistenceService.getPersisted()
+                .map(snapshot -> new PercentageResult(snapshot, PercentageSources.PERSISTED, snapshot.age().toMillis()));
     }
 
     /**
-     * Record para encapsular el resultado del porcentaje con su fuente
+     * Record para encapsular el snapshot del porcentaje con la fuente por la que se obtuvo
+     * en esta petición y su antigüedad (null si se desconoce)
      */
-    private record PercentageResult(BigDecimal percentage, String source) {
+    public record PercentageResult(PercentageSnapshot snapshot, String source, Long ageMs) {
     }
 }
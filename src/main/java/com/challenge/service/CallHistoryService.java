@@ -6,6 +6,7 @@ import com.challenge.event.ApiCallEvent;
 import com.challenge.event.ApiErrorEvent;
 import com.challenge.mapper.CallHistoryMapper;
 import com.challenge.repository.CallHistoryRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
 import com.challenge.specification.CallHistorySpecifications;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -33,6 +35,7 @@ public class CallHistoryService {
     private final CallHistoryRepository repository;
     private final CallHistoryMapper callHistoryMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
 
     /**
      * Publica un evento para registrar una llamada exitosa
@@ -49,15 +52,27 @@ public class CallHistoryService {
                        Long executionTime,
                        Integer statusCode) {
 
-        String endpoint = request.getRequestURI();
-        String httpMethod = request.getMethod();
-        String clientIp = getClientIpAddress(request);
-
-        ApiCallEvent event = new ApiCallEvent(endpoint, httpMethod, clientIp,
-                                             parameters, response, executionTime, statusCode);
-        eventPublisher.publishEvent(event);
+        publishCall(request.getRequestURI(), request.getMethod(), getClientIpAddress(request),
+                parameters, response, executionTime, statusCode);
+    }
 
-        log.debug("Evento de llamada publicado: {} {}", httpMethod, endpoint);
+    /**
+     * Publica un evento para registrar una llamada exitosa atendida por el stack reactivo
+     *
+     * @param request       ServerHttpRequest para extraer información
+     * @param parameters    Parámetros de la llamada
+     * @param response      Respuesta generada
+     * @param executionTime Tiempo de ejecución en milisegundos
+     * @param statusCode    Código de estado HTTP
+     */
+    public void logReactiveCall(ServerHttpRequest request,
+                                Object parameters,
+                                Object response,
+                                Long executionTime,
+                                Integer statusCode) {
+
+        publishCall(request.getPath().value(), request.getMethod().name(), getClientIpAddress(request),
+                parameters, response, executionTime, statusCode);
     }
 
     /**
@@ -75,10 +90,40 @@ public class CallHistoryService {
                         Long executionTime,
                         Integer statusCode) {
 
-        String endpoint = request.getRequestURI();
-        String httpMethod = request.getMethod();
-        String clientIp = getClientIpAddress(request);
+        publishError(request.getRequestURI(), request.getMethod(), getClientIpAddress(request),
+                parameters, errorMessage, executionTime, statusCode);
+    }
+
+    /**
+     * Publica un evento para registrar un error atendido por el stack reactivo
+     *
+     * @param request       ServerHttpRequest para extraer información
+     * @param parameters    Parámetros de la llamada
+     * @param errorMessage  Mensaje de error
+     * @param executionTime Tiempo de ejecución en milisegundos
+     * @param statusCode    Código de estado HTTP
+     */
+    public void logReactiveError(ServerHttpRequest request,
+                                 Object parameters,
+                                 String errorMessage,
+                                 Long executionTime,
+                                 Integer statusCode) {
+
+        publishError(request.getPath().value(), request.getMethod().name(), getClientIpAddress(request),
+                parameters, errorMessage, executionTime, statusCode);
+    }
+
+    private void publishCall(String endpoint, String httpMethod, String clientIp,
+                             Object parameters, Object response, Long executionTime, Integer statusCode) {
+        ApiCallEvent event = new ApiCallEvent(endpoint, httpMethod, clientIp,
+                                             parameters, response, executionTime, statusCode);
+        eventPublisher.publishEvent(event);
+
+        log.debug("Evento de llamada publicado: {} {}", httpMethod, endpoint);
+    }
 
+    private void publishError(String endpoint, String httpMethod, String clientIp,
+                              Object parameters, String errorMessage, Long executionTime, Integer statusCode) {
         ApiErrorEvent event = new ApiErrorEvent(endpoint, httpMethod, clientIp,
                                                parameters, errorMessage, executionTime, statusCode);
         eventPublisher.publishEvent(event);
@@ -109,8 +154,8 @@ public class CallHistoryService {
                 .and(CallHistorySpecifications.withStartDate(startDate))
                 .and(CallHistorySpecifications.withEndDate(endDate));
 
-        // Ejecución de la consulta con specifications
-        Page<CallHistory> historyPage = repository.findAll(spec, pageable);
+        // Ejecución de la consulta con specifications, con el mismo límite de accesos que las escrituras
+        Page<CallHistory> historyPage = jdbcConcurrencyLimiter.execute(() -> repository.findAll(spec, pageable));
 
         // Conversión a DTOs usando el mapper
         return historyPage.map(callHistoryMapper::toResponse);
@@ -120,17 +165,31 @@ public class CallHistoryService {
      * Obtiene la IP real del cliente considerando proxies
      */
     private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        return resolveClientIp(request.getHeader("X-Forwarded-For"), request.getHeader("X-Real-IP"),
+                request.getRemoteAddr());
+    }
+
+    /**
+     * Obtiene la IP real del cliente considerando proxies (stack reactivo)
+     */
+    private String getClientIpAddress(ServerHttpRequest request) {
+        String remoteAddress = request.getRemoteAddress() != null
+                ? request.getRemoteAddress().getAddress().getHostAddress()
+                : null;
+        return resolveClientIp(request.getHeaders().getFirst("X-Forwarded-For"),
+                request.getHeaders().getFirst("X-Real-IP"), remoteAddress);
+    }
+
+    private String resolveClientIp(String xForwardedFor, String xRealIp, String remoteAddress) {
         if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
             return xForwardedFor.split(",")[0].trim();
         }
 
-        String xRealIp = request.getHeader("X-Real-IP");
         if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
             return xRealIp;
         }
 
-        return request.getRemoteAddr();
+        return remoteAddress;
     }
 
 }
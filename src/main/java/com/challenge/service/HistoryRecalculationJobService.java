@@ -0,0 +1,159 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.CalculationJobProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.CalculationJobResponse;
+import com.challenge.dto.RecalculationJobResponse;
+import com.challenge.dto.RecalculationResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servicio de trabajos de recálculo del historial en segundo plano
+ *
+ * El recálculo recorre todo el rango pedido, así que la petición solo valida el rango y responde
+ * con el identificador del trabajo, que se ejecuta en un hilo propio. Los trabajos corren de a
+ * uno para no sumar recorridos completos del historial en paralelo sobre la base de datos. Como
+ * en {@link CalculationJobService}, el estado se mantiene en memoria y los trabajos terminados se
+ * eliminan pasado {@code calculation.jobs.retention}.
+ */
+@Service
+@Slf4j
+public class HistoryRecalculationJobService {
+
+    private final HistoryRecalculationService historyRecalculationService;
+    private final CalculationJobProperties jobProperties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("HistoryRecalculation-", 0).factory());
+    private final Map<String, RecalculationJob> jobs = new ConcurrentHashMap<>();
+    private final Counter completedJobs;
+    private final Counter failedJobs;
+
+    public HistoryRecalculationJobService(HistoryRecalculationService historyRecalculationService,
+                                          CalculationJobProperties jobProperties, MeterRegistry meterRegistry) {
+        this.historyRecalculationService = historyRecalculationService;
+        this.jobProperties = jobProperties;
+        this.completedJobs = Counter.builder("history.recalculation.jobs")
+                .description("Trabajos de recálculo del historial terminados")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedJobs = Counter.builder("history.recalculation.jobs")
+                .description("Trabajos de recálculo del historial terminados")
+                .tag("outcome", "error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valida el rango e inicia su recálculo en segundo plano
+     *
+     * @param startDate Fecha de inicio (opcional)
+     * @param endDate   Fecha de fin (opcional)
+     * @return Estado inicial del trabajo
+     * @throws IllegalArgumentException si la fecha de inicio es posterior a la de fin
+     */
+    public RecalculationJobResponse submit(LocalDateTime startDate, LocalDateTime endDate) {
+        historyRecalculationService.validateRange(startDate, endDate);
+
+        RecalculationJob job = new RecalculationJob(UUID.randomUUID().toString(), startDate, endDate);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+
+        log.info("Trabajo de recálculo {} creado para el rango {} - {}", job.id, startDate, endDate);
+        return job.toResponse();
+    }
+
+    /**
+     * Estado y resultado de un trabajo
+     *
+     * @throws CalculationJobNotFoundException si el trabajo no existe o ya venció
+     */
+    public RecalculationJobResponse getJob(String id) {
+        RecalculationJob job = jobs.get(id);
+        if (job == null) {
+            throw new CalculationJobNotFoundException(ErrorMessages.JOB_NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Elimina los trabajos terminados hace más de {@code retention}
+     */
+    public void purgeExpired() {
+        Instant limit = Instant.now().minus(jobProperties.retention());
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(limit)) {
+                return false;
+            }
+            log.info("Trabajo de recálculo {} eliminado por antigüedad", job.id);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(RecalculationJob job) {
+        job.status = CalculationJobResponse.Status.RUNNING;
+        try {
+            job.result = historyRecalculationService.recalculate(job.startDate, job.endDate,
+                    processed -> job.processed = processed);
+            job.processed = job.result.processed();
+            job.completedAt = Instant.now();
+            job.status = CalculationJobResponse.Status.COMPLETED;
+
+            completedJobs.increment();
+
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.completedAt = Instant.now();
+            job.status = CalculationJobResponse.Status.FAILED;
+
+            failedJobs.increment();
+            log.error("Trabajo de recálculo {} fallido: {}", job.id, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Estado mutable de un trabajo; solo lo modifica el hilo que lo ejecuta
+     */
+    private static final class RecalculationJob {
+
+        private final String id;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        private final Instant createdAt = Instant.now();
+
+        private volatile CalculationJobResponse.Status status = CalculationJobResponse.Status.PENDING;
+        private volatile long processed;
+        private volatile RecalculationResponse result;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private RecalculationJob(String id, LocalDateTime startDate, LocalDateTime endDate) {
+            this.id = id;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        private RecalculationJobResponse toResponse() {
+            return new RecalculationJobResponse(id, status, startDate, endDate, processed,
+                    createdAt, completedAt, result, error);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.PercentageTimelineProperties;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.CalculationResponse;
+import com.challenge.dto.RecalculationDifference;
+import com.challenge.dto.RecalculationResponse;
+import com.challenge.formula.BoundFormula;
+import com.challenge.repository.CalculationHistoryRow;
+import com.challenge.repository.CallHistoryRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Servicio que recalcula las llamadas históricas a /api/calculate con el porcentaje que estaba
+ * vigente en el momento de cada llamada
+ *
+ * Recorre el historial por páginas de ID (keyset) y resuelve el porcentaje de cada fila con
+ * {@link PercentageTimelineService} en memoria, sin consultas por fila. La única lectura de la
+ * línea de tiempo es la sincronización inicial del índice. Desde la API se ejecuta como trabajo en
+ * segundo plano (ver {@link HistoryRecalculationJobService}).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HistoryRecalculationService {
+
+    private static final String CALCULATE_ENDPOINT = "/api/calculate";
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CallHistoryRepository callHistoryRepository;
+    private final PercentageTimelineService percentageTimelineService;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
+    private final PercentageTimelineProperties timelineProperties;
+    private final ObjectMapper objectMapper;
+    private final CalculationFormula calculationFormula;
+
+    /**
+     * Recalcula las llamadas de cálculo exitosas del rango indicado
+     *
+     * @param startDate Fecha de inicio (opcional)
+     * @param endDate   Fecha de fin (opcional)
+     * @return Resumen del recálculo con las primeras diferencias encontradas
+     */
+    public RecalculationResponse recalculate(LocalDateTime startDate, LocalDateTime endDate) {
+        return recalculate(startDate, endDate, processed -> { });
+    }
+
+    /**
+     * Recalcula las llamadas de cálculo exitosas del rango indicado informando el avance
+     *
+     * @param startDate Fecha de inicio (opcional)
+     * @param endDate   Fecha de fin (opcional)
+     * @param progress  Recibe las filas procesadas hasta el momento al terminar cada página
+     * @return Resumen del recálculo con las primeras diferencias encontradas
+     */
+    public RecalculationResponse recalculate(LocalDateTime startDate, LocalDateTime endDate, LongConsumer progress) {
+        validateRange(startDate, endDate);
+        LocalDateTime from = startDate != null ? startDate : EARLIEST;
+        LocalDateTime to = endDate != null ? endDate : LocalDateTime.now();
+
+        long startTime = System.currentTimeMillis();
+        percentageTimelineService.synchronize();
+        log.info("Iniciando recálculo del historial entre {} y {} ({} entradas en la línea de tiempo)",
+                from, to, percentageTimelineService.size());
+
+        Tally tally = new Tally();
+        Limit limit = Limit.of(timelineProperties.recalculationBatchSize());
+        long afterId = 0;
+        List<CalculationHistoryRow> rows;
+        do {
+            long cursor = afterId;
+            rows = jdbcConcurrencyLimiter.execute(() ->
+                    callHistoryRepository.findSuccessfulCallsAfter(CALCULATE_ENDPOINT, cursor, from, to, limit));
+
+            for (CalculationHistoryRow row : rows) {
+                recalculateRow(row, tally);
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).id();
+            }
+            progress.accept(tally.processed);
+        } while (rows.size() == timelineProperties.recalculationBatchSize());
+
+        long executionTime = System.currentTimeMillis() - startTime;
+        log.info("Recálculo completado en {}ms - Procesadas: {}, Recalculadas: {}, Con cambios: {}, Omitidas: {}",
+                executionTime, tally.processed, tally.recalculated, tally.changed, tally.skipped);
+
+        return new RecalculationResponse(tally.processed, tally.recalculated, tally.changed, tally.skipped,
+                percentageTimelineService.size(), executionTime, tally.differences);
+    }
+
+    /**
+     * Valida el rango de fechas del recálculo
+     *
+     * @throws IllegalArgumentException si la fecha de inicio es posterior a la de fin
+     */
+    public void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime from = startDate != null ? startDate : EARLIEST;
+        LocalDateTime to = endDate != null ? endDate : LocalDateTime.now();
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+    }
+
+    /**
+     * Recalcula una fila y acumula el resultado
+     */
+    private void recalculateRow(CalculationHistoryRow row, Tally tally) {
+        tally.processed++;
+
+        Optional<PercentageSnapshot> effective = percentageTimelineService.percentageAt(
+                row.timestamp().atZone(ZoneId.systemDefault()).toInstant());
+        if (effective.isEmpty()) {
+            tally.skipped++;
+            return;
+        }
+
+        CalculationRequest request;
+        CalculationResponse recorded;
+        try {
+            request = objectMapper.readValue(row.parameters(), CalculationRequest.class);
+            recorded = row.responseData() == null ? null : objectMapper.readValue(row.responseData(), CalculationResponse.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.debug("Registro {} omitido, no se pudo leer: {}", row.id(), e.getMessage());
+            tally.skipped++;
+            return;
+        }
+        if (request == null || request.num1() == null || request.num2() == null) {
+            tally.skipped++;
+            return;
+        }
+
+        PercentageSnapshot snapshot = effective.get();
+        BigDecimal recalculated = formulaFor(snapshot, tally).apply(request.num1().add(request.num2()));
+        tally.recalculated++;
+
+        BigDecimal recordedResult = recorded == null ? null : recorded.finalResult();
+        if (recordedResult != null && recordedResult.compareTo(recalculated) == 0) {
+            return;
+        }
+
+        tally.changed++;
+        if (tally.differences.size() < timelineProperties.maxDifferences()) {
+            tally.differences.add(new RecalculationDifference(row.id(), row.timestamp(),
+                    recorded == null ? null : recorded.percentage(), snapshot.value(), recordedResult, recalculated));
+        }
+    }
+
+    /**
+     * Fórmula compilada para el porcentaje histórico de la fila. Se compila aparte de la del porcentaje
+     * vigente, para no desplazarla, y se reutiliza mientras las filas consecutivas compartan porcentaje.
+     */
+    private BoundFormula formulaFor(PercentageSnapshot snapshot, Tally tally) {
+        if (!snapshot.equals(tally.snapshot)) {
+            tally.snapshot = snapshot;
+            tally.formula = calculationFormula.compile(snapshot);
+        }
+        return tally.formula;
+    }
+
+    /**
+     * Contadores del recálculo en curso y la última fórmula compilada
+     */
+    private static final class Tally {
+        long processed;
+        long recalculated;
+        long changed;
+        long skipped;
+        final List<RecalculationDifference> differences = new ArrayList<>();
+        PercentageSnapshot snapshot;
+        BoundFormula formula;
+    }
+}
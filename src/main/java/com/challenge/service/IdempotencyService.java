@@ -0,0 +1,318 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.IdempotencyProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.entity.IdempotencyRecord;
+import com.challenge.exception.IdempotencyInProgressException;
+import com.challenge.exception.IdempotencyKeyReusedException;
+import com.challenge.repository.IdempotencyRecordRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de idempotencia de /api/calculate por la cabecera Idempotency-Key
+ *
+ * La primera petición con una clave la reclama en un caché Caffeine acotado en tamaño
+ * ({@code max-entries}) y en tiempo ({@code ttl}), calcula y guarda la respuesta serializada.
+ * Los reintentos con la misma clave y los mismos parámetros reciben esos bytes tal cual, sin
+ * recalcular ni registrar otra llamada en el historial; los duplicados concurrentes esperan a
+ * que la primera termine (hasta {@code wait-timeout}). Si la primera falla no se guarda nada y
+ * el siguiente intento calcula de nuevo.
+ *
+ * Con {@code persistence-enabled} la respuesta también se guarda en base de datos, así que los
+ * reintentos que llegan a otra réplica o después de un reinicio tampoco recalculan.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties idempotencyProperties;
+    private final IdempotencyRecordRepository repository;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> responses;
+    private final Counter replays;
+
+    public IdempotencyService(IdempotencyProperties idempotencyProperties,
+                              IdempotencyRecordRepository repository,
+                              JdbcConcurrencyLimiter jdbcConcurrencyLimiter,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.idempotencyProperties = idempotencyProperties;
+        this.repository = repository;
+        this.jdbcConcurrencyLimiter = jdbcConcurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(idempotencyProperties.maxEntries())
+                .expireAfterWrite(idempotencyProperties.ttl())
+                .build();
+        this.replays = Counter.builder("calculation.idempotency.replays")
+                .description("Respuestas devueltas desde el almacén de idempotencia sin recalcular")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si las claves de idempotencia se tienen en cuenta
+     */
+    public boolean isEnabled() {
+        return idempotencyProperties.enabled();
+    }
+
+    /**
+     * Ejecuta la acción una sola vez por clave y devuelve su respuesta serializada
+     *
+     * @param key     Clave de idempotencia enviada por el cliente
+     * @param request Parámetros de la petición, que deben coincidir en los reintentos
+     * @param action  Cálculo a realizar (incluido su registro en el historial) si la clave es nueva
+     * @return Respuesta serializada e indicador de si es una repetición
+     * @throws IdempotencyKeyReusedException   si la clave ya se usó con otros parámetros
+     * @throws IdempotencyInProgressException  si la petición original no termina a tiempo
+     */
+    public Result execute(String key, Object request, Supplier<?> action) {
+        validateKey(key);
+        String fingerprint = fingerprint(request);
+
+        while (true) {
+            Entry claim = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = responses.asMap().putIfAbsent(key, claim);
+            if (existing == null) {
+                return executeAsOwner(key, claim, action);
+            }
+
+            checkFingerprint(existing, fingerprint);
+            Optional<byte[]> stored = await(key, existing);
+            if (stored.isPresent()) {
+                return replay(key, stored.get());
+            }
+            // La petición original falló: se reclama la clave de nuevo
+        }
+    }
+
+    /**
+     * Versión reactiva de {@link #execute(String, Object, Supplier)}: la espera de los
+     * duplicados no bloquea el event loop
+     */
+    public Mono<Result> execute(String key, Object request, Mono<?> action) {
+        return Mono.defer(() -> {
+            validateKey(key);
+            String fingerprint = fingerprint(request);
+
+            Entry claim = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = responses.asMap().putIfAbsent(key, claim);
+            if (existing == null) {
+                return executeAsOwner(key, claim, action);
+            }
+
+            checkFingerprint(existing, fingerprint);
+            return Mono.fromFuture(existing.response(), true)
+                    .timeout(idempotencyProperties.waitTimeout())
+                    .map(body -> replay(key, body))
+                    .onErrorResume(TimeoutException.class, e -> Mono.error(inProgress(key)))
+                    .onErrorResume(e -> !(e instanceof IdempotencyInProgressException),
+                            e -> execute(key, request, action));
+        });
+    }
+
+    /**
+     * Elimina de la base de datos las respuestas vencidas
+     */
+    public void purgeExpired() {
+        try {
+            int deleted = jdbcConcurrencyLimiter.execute(() -> repository.deleteExpired(Instant.now()));
+            if (deleted > 0) {
+                log.info("Respuestas idempotentes vencidas eliminadas: {}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("No se pudieron eliminar las respuestas idempotentes vencidas: {}", e.getMessage());
+        }
+    }
+
+    private Result executeAsOwner(String key, Entry claim, Supplier<?> action) {
+        try {
+            byte[] persisted = findPersisted(key, claim.fingerprint());
+            if (persisted != null) {
+                claim.response().complete(persisted);
+                return replay(key, persisted);
+            }
+
+            byte[] body = serialize(action.get());
+            claim.response().complete(body);
+            persist(key, claim.fingerprint(), body);
+            return new Result(body, false);
+
+        } catch (RuntimeException e) {
+            release(key, claim, e);
+            throw e;
+        }
+    }
+
+    /**
+     * La consulta y el guardado en base de datos bloquean (JPA y el limitador JDBC), así que se
+     * ejecutan en el scheduler elástico y no en el event loop; sin persistencia no cambian de hilo
+     */
+    private Mono<Result> executeAsOwner(String key, Entry claim, Mono<?> action) {
+        Mono<Optional<byte[]>> lookup = idempotencyProperties.persistenceEnabled()
+                ? Mono.fromCallable(() -> Optional.ofNullable(findPersisted(key, claim.fingerprint())))
+                        .subscribeOn(Schedulers.boundedElastic())
+                : Mono.just(Optional.empty());
+
+        return lookup
+                .flatMap(persisted -> persisted
+                        .map(body -> Mono.just(replay(key, body)))
+                        .orElseGet(() -> action.map(response -> new Result(serialize(response), false))))
+                .flatMap(result -> {
+                    claim.response().complete(result.body());
+                    if (result.replayed() || !idempotencyProperties.persistenceEnabled()) {
+                        return Mono.just(result);
+                    }
+                    return Mono.fromRunnable(() -> persist(key, claim.fingerprint(), result.body()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .thenReturn(result);
+                })
+                .doOnError(e -> release(key, claim, e))
+                .doOnCancel(() -> release(key, claim, inProgress(key)));
+    }
+
+    /**
+     * Libera la clave tras un fallo para que el siguiente intento calcule de nuevo
+     */
+    private void release(String key, Entry claim, Throwable cause) {
+        responses.asMap().remove(key, claim);
+        claim.response().completeExceptionally(cause);
+    }
+
+    private Optional<byte[]> await(String key, Entry existing) {
+        try {
+            return Optional.of(existing.response()
+                    .get(idempotencyProperties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS));
+
+        } catch (ExecutionException e) {
+            return Optional.empty();
+
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private Result replay(String key, byte[] body) {
+        replays.increment();
+        log.info("Respuesta repetida para la clave de idempotencia {}", key);
+        return new Result(body, true);
+    }
+
+    /**
+     * Busca la respuesta de la clave en base de datos, si la persistencia está habilitada
+     *
+     * @return Respuesta guardada, o null si no hay una vigente
+     */
+    private byte[] findPersisted(String key, String fingerprint) {
+        if (!idempotencyProperties.persistenceEnabled()) {
+            return null;
+        }
+
+        Optional<IdempotencyRecord> stored = jdbcConcurrencyLimiter.execute(() -> repository.findById(key));
+        if (stored.isEmpty() || stored.get().getExpiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        if (!stored.get().getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(ErrorMessages.IDEMPOTENCY_KEY_REUSED);
+        }
+        return stored.get().getResponseBody().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void persist(String key, String fingerprint, byte[] body) {
+        if (!idempotencyProperties.persistenceEnabled()) {
+            return;
+        }
+
+        // La respuesta ya está en memoria: un fallo aquí solo pierde el respaldo entre réplicas
+        try {
+            Instant now = Instant.now();
+            IdempotencyRecord record = new IdempotencyRecord(key, fingerprint,
+                    new String(body, StandardCharsets.UTF_8), now, now.plus(idempotencyProperties.ttl()));
+            jdbcConcurrencyLimiter.execute(() -> repository.save(record));
+        } catch (Exception e) {
+            log.warn("No se pudo persistir la respuesta idempotente {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(ErrorMessages.IDEMPOTENCY_INVALID_KEY);
+        }
+    }
+
+    private void checkFingerprint(Entry existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(ErrorMessages.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    private IdempotencyInProgressException inProgress(String key) {
+        log.warn("La petición original con la clave de idempotencia {} sigue en curso", key);
+        return new IdempotencyInProgressException(ErrorMessages.IDEMPOTENCY_IN_PROGRESS);
+    }
+
+    /**
+     * Huella SHA-256 de los parámetros serializados, para detectar una clave reutilizada
+     */
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(serialize(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta idempotente", e);
+        }
+    }
+
+    /**
+     * Respuesta de una clave: la huella de sus parámetros y el cuerpo, cuando termina
+     */
+    private record Entry(String fingerprint, CompletableFuture<byte[]> response) {
+    }
+
+    /**
+     * Respuesta serializada de una petición idempotente
+     *
+     * @param body     Cuerpo JSON de la respuesta
+     * @param replayed true si es la respuesta guardada de una petición anterior
+     */
+    public record Result(byte[] body, boolean replayed) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.challenge.service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Kernel columnar del cálculo: suma y porcentaje sobre columnas de operandos en punto fijo
+ *
+ * Los operandos son {@code long} con {@link #SCALE} decimales (12.5 es 125000). Para cada
+ * posición calcula la suma, en la misma escala, y el resultado final con 2 decimales, igual que
+ * {@link PercentageSnapshot#apply(BigDecimal)} incluido el redondeo HALF_UP. El producto se
+ * calcula en {@code double}, que es exacto mientras no supere 2^53: las posiciones cuya suma
+ * supera {@link #maxAbsSum()} se marcan con {@link #OUT_OF_RANGE} para calcularlas con
+ * {@code BigDecimal}.
+ *
+ * Hay una implementación con la Vector API ({@code jdk.incubator.vector}), que se usa si la JVM
+ * se inició con {@code --add-modules jdk.incubator.vector}, y una escalar equivalente que se usa
+ * en caso contrario.
+ */
+interface PercentageKernel {
+
+    /**
+     * Decimales de los operandos y de las sumas
+     */
+    int SCALE = 4;
+
+    /**
+     * Valor absoluto máximo de cada operando; así la suma siempre es exacta en long y en double
+     */
+    long MAX_OPERAND = 1L << 51;
+
+    /**
+     * Marca de un resultado que no se puede calcular de forma exacta en el kernel
+     */
+    long OUT_OF_RANGE = Long.MIN_VALUE;
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Calcula {@code sums[i] = num1[i] + num2[i]} y {@code results[i]} (sums[i] por el multiplicador,
+     * redondeado HALF_UP a 2 decimales) para las primeras {@code length} posiciones
+     */
+    void compute(long[] num1, long[] num2, long[] sums, long[] results, int length);
+
+    /**
+     * Mayor suma, en valor absoluto, que el kernel calcula de forma exacta
+     */
+    long maxAbsSum();
+
+    /**
+     * Nombre de la implementación, para los logs
+     */
+    String name();
+
+    /**
+     * Kernel para el porcentaje indicado: vectorial si la Vector API está disponible, escalar si no
+     *
+     * @return vacío si el multiplicador no se puede representar en punto fijo
+     */
+    static Optional<PercentageKernel> forSnapshot(PercentageSnapshot snapshot) {
+        return Parameters.of(snapshot.multiplier()).map(parameters -> vectorAvailable()
+                ? new VectorPercentageKernel(parameters)
+                : new ScalarPercentageKernel(parameters));
+    }
+
+    /**
+     * Indica si la JVM tiene el módulo de la Vector API y la plataforma procesa más de un valor por instrucción
+     */
+    static boolean vectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent() && VectorPercentageKernel.isSupported();
+    }
+
+    /**
+     * Constantes del cálculo en punto fijo para un multiplicador
+     *
+     * El producto suma * multiplicador tiene {@code SCALE + scale(multiplicador)} decimales; para
+     * dejarlo en 2 se divide por {@code divisor} sumando antes {@code half} al valor absoluto, que
+     * equivale a HALF_UP (los empates se alejan del cero).
+     *
+     * @param multiplier Multiplicador sin escala
+     * @param divisor    10^(decimales del producto - 2)
+     * @param half       Mitad del divisor
+     * @param maxAbsSum  Mayor suma cuyo producto más {@code half} no supera 2^53
+     */
+    record Parameters(long multiplier, long divisor, long half, long maxAbsSum) {
+
+        private static final long EXACT_DOUBLE_LIMIT = 1L << 53;
+
+        static Optional<Parameters> of(BigDecimal multiplier) {
+            int productScale = SCALE + multiplier.scale();
+            if (productScale < 2 || productScale > 17 || multiplier.abs().unscaledValue().bitLength() > 52) {
+                return Optional.empty();
+            }
+            long unscaled = multiplier.unscaledValue().longValueExact();
+            long divisor = 1;
+            for (int i = 2; i < productScale; i++) {
+                divisor *= 10;
+            }
+            long half = divisor / 2;
+            long maxAbsSum = unscaled == 0 ? EXACT_DOUBLE_LIMIT : (EXACT_DOUBLE_LIMIT - 1 - half) / Math.abs(unscaled);
+            return Optional.of(new Parameters(unscaled, divisor, half, Math.min(maxAbsSum, 2 * MAX_OPERAND)));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.challenge.service;
+
+import com.challenge.config.CacheConfig;
+import com.challenge.config.properties.PercentagePersistenceProperties;
+import com.challenge.constants.PercentageSources;
+import com.challenge.entity.PersistedPercentage;
+import com.challenge.repository.PersistedPercentageRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Servicio del último porcentaje válido persistido (segundo nivel bajo el caché)
+ *
+ * Cada valor obtenido del servicio externo se guarda en base de datos, y al arrancar se carga
+ * en {@link PercentageSnapshotHolder} antes de atender peticiones. Así un arranque en frío puede
+ * responder de inmediato aunque el servicio externo no esté disponible, mientras el valor no
+ * supere la antigüedad máxima configurada.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PercentagePersistenceService implements SmartInitializingSingleton {
+
+    private static final String PERSISTED_ID = CacheConfig.CURRENT_PERCENTAGE_KEY;
+
+    private final PersistedPercentageRepository repository;
+    private final PercentageSnapshotHolder percentageSnapshotHolder;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
+    private final PercentagePersistenceProperties persistenceProperties;
+
+    /**
+     * Carga el valor persistido al terminar de crear los beans, antes de que arranquen
+     * el servidor web y el refresco programado
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!persistenceProperties.enabled()) {
+            log.info("Persistencia del porcentaje deshabilitada");
+            return;
+        }
+
+        try {
+            Optional<PersistedPercentage> persisted = jdbcConcurrencyLimiter.execute(() -> repository.findById(PERSISTED_ID));
+            if (persisted.isEmpty()) {
+                log.info("No hay porcentaje persistido");
+                return;
+            }
+
+            PersistedPercentage entity = persisted.get();
+            PercentageSnapshot snapshot = PercentageSnapshot.of(
+                    entity.getValue(), PercentageSources.PERSISTED, entity.getFetchedAt(), entity.getEpoch());
+            if (isExpired(snapshot)) {
+                log.warn("Porcentaje persistido descartado por antigüedad: {}ms", snapshot.age().toMillis());
+                return;
+            }
+
+            if (percentageSnapshotHolder.restore(snapshot)) {
+                log.info("Porcentaje persistido cargado: {}% (época {}, antigüedad {}ms)",
+                        snapshot.value(), snapshot.epoch(), snapshot.age().toMillis());
+            }
+
+        } catch (Exception e) {
+            log.warn("No se pudo cargar el porcentaje persistido: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Guarda el snapshot como último valor válido
+     */
+    public void save(PercentageSnapshot snapshot) {
+        if (!persistenceProperties.enabled()) {
+            return;
+        }
+
+        PersistedPercentage entity = new PersistedPercentage(
+                PERSISTED_ID, snapshot.value(), snapshot.epoch(), snapshot.fetchedAt());
+        jdbcConcurrencyLimiter.execute(() -> repository.save(entity));
+
+        log.debug("Porcentaje persistido: {}% (época {})", snapshot.value(), snapshot.epoch());
+    }
+
+    /**
+     * Obtiene el valor cargado al arrancar mientras no haya sido reemplazado por uno obtenido
+     * del servicio externo y no supere la antigüedad máxima
+     *
+     * @return El snapshot persistido o vacío si no hay uno utilizable
+     */
+    public Optional<PercentageSnapshot> getPersisted() {
+        PercentageSnapshot snapshot = percentageSnapshotHolder.current();
+        if (snapshot == null || !PercentageSources.PERSISTED.equals(snapshot.source()) || isExpired(snapshot)) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    private boolean isExpired(PercentageSnapshot snapshot) {
+        Duration age = snapshot.age();
+        return age.compareTo(persistenceProperties.maxAge()) > 0;
+    }
+}
@@ -0,0 +1,175 @@
+package com.challenge.service;
+
+import com.challenge.cluster.PercentageClusterCoordinator;
+import com.challenge.config.properties.PercentageRefreshProperties;
+import com.challenge.constants.PercentageSources;
+import com.challenge.exception.ServiceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio de refresco anticipado del porcentaje (refresh-ahead)
+ *
+ * Consulta periódicamente el servicio externo, que publica cada valor obtenido en
+ * {@link PercentageSnapshotHolder}, para que los cálculos lo lean localmente. Mientras un refresco está en curso se sigue sirviendo el valor anterior
+ * (stale-while-revalidate), siempre que no supere la antigüedad máxima configurada.
+ *
+ * Con coordinación entre réplicas solo refresca el nodo líder; los seguidores reciben el valor difundido.
+ *
+ * Con la suscripción activa ({@link PercentageSubscriptionService}) el valor local está al día por
+ * definición: no se sondea, no vence y se informa como STREAM. El sondeo vuelve al perderse la conexión.
+ */
+@Service
+@Slf4j
+public class PercentageRefreshService {
+
+    private final PercentageService percentageService;
+    private final PercentageSnapshotHolder percentageSnapshotHolder;
+    private final PercentageClusterCoordinator clusterCoordinator;
+    private final PercentageSubscriptionService percentageSubscriptionService;
+    private final PercentageRefreshProperties refreshProperties;
+    private final Executor taskExecutor;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public PercentageRefreshService(PercentageService percentageService,
+                                    PercentageSnapshotHolder percentageSnapshotHolder,
+                                    PercentageClusterCoordinator clusterCoordinator,
+                                    PercentageSubscriptionService percentageSubscriptionService,
+                                    PercentageRefreshProperties refreshProperties,
+                                    @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.percentageService = percentageService;
+        this.percentageSnapshotHolder = percentageSnapshotHolder;
+        this.clusterCoordinator = clusterCoordinator;
+        this.percentageSubscriptionService = percentageSubscriptionService;
+        this.refreshProperties = refreshProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Indica si los cálculos leen el valor local: con refresco anticipado o con suscripción
+     */
+    public boolean isEnabled() {
+        return refreshProperties.enabled() || percentageSubscriptionService.isEnabled();
+    }
+
+    /**
+     * Indica si el valor local llega por una suscripción activa
+     */
+    public boolean isLive() {
+        return percentageSubscriptionService.isConnected();
+    }
+
+    /**
+     * Indica si este nodo es seguidor: recibe el valor difundido por el líder y no consulta el servicio externo
+     */
+    public boolean isFollower() {
+        return !clusterCoordinator.isLeader();
+    }
+
+    /**
+     * Consulta el servicio externo y actualiza el valor local.
+     * Si ya hay un refresco en curso, la suscripción está activa o este nodo es seguidor no hace nada;
+     * si falla se conserva el valor anterior.
+     */
+    public void refresh() {
+        if (isLive()) {
+            log.debug("Suscripción activa, se omite el sondeo del porcentaje");
+            return;
+        }
+        if (!clusterCoordinator.isLeader()) {
+            log.debug("Nodo seguidor, el porcentaje lo difunde el líder");
+            return;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            log.debug("Refresco del porcentaje ya en curso, se omite");
+            return;
+        }
+
+        try {
+            // El servicio publica el valor obtenido en el holder de snapshots
+            log.debug("Porcentaje refrescado en segundo plano: {}%", percentageService.getPercentage());
+
+        } catch (ServiceException e) {
+            log.warn("No se pudo refrescar el porcentaje, se mantiene el valor anterior: {}", e.getMessage());
+
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Obtiene el valor local si no supera la antigüedad máxima.
+     * Si el valor ya superó el intervalo de refresco, dispara un refresco en segundo plano
+     * sin esperar su resultado.
+     *
+     * Un valor persistido cargado al arrancar no cuenta como refrescado.
+     *
+     * @return El porcentaje local vigente o vacío si no hay valor utilizable
+     */
+    public Optional<PercentageSnapshot> getCurrent() {
+        PercentageSnapshot snapshot = percentageSnapshotHolder.current();
+        if (snapshot == null || PercentageSources.PERSISTED.equals(snapshot.source())) {
+            return Optional.empty();
+        }
+        if (isLive()) {
+            return Optional.of(snapshot);
+        }
+
+        Duration age = snapshot.age();
+        if (isOverdue(snapshot)) {
+            triggerRefresh();
+        }
+        if (age.compareTo(refreshProperties.maxStaleness()) > 0) {
+            log.warn("Porcentaje local descartado por antigüedad: {}ms", age.toMillis());
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Obtiene el último valor publicado sin disparar refrescos, si no supera la antigüedad máxima.
+     * Sin refresco anticipado ni suscripción lo publica la última consulta en línea.
+     *
+     * @return El porcentaje publicado o vacío si no hay ninguno, es el persistido o ya venció
+     */
+    public Optional<PercentageSnapshot> getPublished() {
+        PercentageSnapshot snapshot = percentageSnapshotHolder.current();
+        if (snapshot == null || snapshot.fetchedAt() == null || PercentageSources.PERSISTED.equals(snapshot.source())) {
+            return Optional.empty();
+        }
+        if (snapshot.age().compareTo(refreshProperties.maxStaleness()) > 0) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Indica si el valor ya debería haber sido reemplazado por un refresco periódico
+     */
+    public boolean isOverdue(PercentageSnapshot snapshot) {
+        return !isLive() && snapshot.age().compareTo(refreshProperties.interval()) > 0;
+    }
+
+    /**
+     * Lanza un refresco asíncrono si no hay uno en curso
+     */
+    private void triggerRefresh() {
+        if (refreshing.get()) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::refresh);
+        } catch (RejectedExecutionException e) {
+            log.warn("No se pudo programar el refresco del porcentaje: {}", e.getMessage());
+        }
+    }
+}
@@ -2,31 +2,120 @@ package com.challenge.service;
 
 import com.challenge.config.CacheConfig;
 import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.constants.PercentageSources;
+import com.challenge.event.PercentageFetchedEvent;
+import com.challenge.exception.CircuitBreakerOpenException;
+import com.challenge.exception.DeadlineExceededException;
 import com.challenge.exception.ServiceException;
+import com.challenge.resilience.CircuitBreaker;
+import com.challenge.resilience.Deadline;
+import com.challenge.resilience.HedgingPolicy;
+import com.challenge.resilience.LatencyAwareLoadBalancer;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.util.retry.Retry;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Servicio para obtener porcentajes de un servicio externo
+ *
+ * Las llamadas concurrentes se agrupan (single-flight): mientras haya una consulta
+ * en curso al servicio externo, los demás llamadores esperan ese mismo resultado
+ * en lugar de lanzar una petición nueva.
+ *
+ * Cada intento pasa por un circuit breaker: mientras está abierto las llamadas fallan
+ * inmediatamente, sin costo de red, y el llamador recurre al caché.
+ *
+ * Con hedging habilitado, si un intento no responde dentro del percentil de latencia configurado
+ * se envía una segunda petición y se usa la primera respuesta, dentro de un presupuesto de carga extra.
+ *
+ * Cada intento (incluidas coberturas y reintentos) se dirige a la instancia que elige
+ * {@link LatencyAwareLoadBalancer} según su latencia y sus peticiones en curso, de modo que
+ * una cobertura tiende a ir a una instancia distinta de la principal.
+ *
+ * Con un plazo ({@link Deadline}) cada intento usa solo el tiempo restante y se omiten los reintentos
+ * que no alcanzarían a completarse. La consulta compartida respeta el plazo de quien la inició; cada
+ * llamador deja de esperar al vencer el suyo.
+ *
+ * Cada valor obtenido se publica una sola vez por consulta en {@link PercentageSnapshotHolder}
+ * y se notifica con {@link PercentageFetchedEvent} para persistirlo.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class PercentageService {
 
+    private static final String IN_FLIGHT_KEY = CacheConfig.CURRENT_PERCENTAGE_KEY;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(500);
+
     private final WebClient webClient;
     private final ExternalServiceProperties externalServiceProperties;
+    private final CircuitBreaker circuitBreaker;
+    private final HedgingPolicy hedgingPolicy;
+    private final LatencyAwareLoadBalancer loadBalancer;
+    private final PercentageSnapshotHolder percentageSnapshotHolder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentMap<String, InFlightFetch> inFlightFetches = new ConcurrentHashMap<>();
+    private final DistributionSummary callersPerFetch;
+    private final Counter callsNotPermitted;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesRejected;
+    private final Counter retriesSkippedByDeadline;
+
+    public PercentageService(WebClient webClient,
+                             ExternalServiceProperties externalServiceProperties,
+                             CircuitBreaker percentageCircuitBreaker,
+                             HedgingPolicy percentageHedgingPolicy,
+                             LatencyAwareLoadBalancer percentageLoadBalancer,
+                             PercentageSnapshotHolder percentageSnapshotHolder,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.externalServiceProperties = externalServiceProperties;
+        this.circuitBreaker = percentageCircuitBreaker;
+        this.hedgingPolicy = percentageHedgingPolicy;
+        this.loadBalancer = percentageLoadBalancer;
+        this.percentageSnapshotHolder = percentageSnapshotHolder;
+        this.eventPublisher = eventPublisher;
+        this.callersPerFetch = DistributionSummary.builder("percentage.fetch.callers")
+                .description("Cantidad de llamadores atendidos por cada consulta al servicio externo")
+                .baseUnit("callers")
+                .register(meterRegistry);
+        this.callsNotPermitted = Counter.builder("percentage.circuit.calls.not.permitted")
+                .description("Llamadas al servicio externo rechazadas por el circuit breaker")
+                .register(meterRegistry);
+        this.hedgesFired = Counter.builder("percentage.hedge.fired")
+                .description("Peticiones de cobertura enviadas al servicio externo")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("percentage.hedge.won")
+                .description("Peticiones de cobertura que respondieron antes que la principal")
+                .register(meterRegistry);
+        this.hedgesRejected = Counter.builder("percentage.hedge.rejected")
+                .description("Peticiones de cobertura omitidas por presupuesto agotado")
+                .register(meterRegistry);
+        this.retriesSkippedByDeadline = Counter.builder("percentage.retries.skipped.deadline")
+                .description("Reintentos omitidos porque no alcanzarían a completarse dentro del plazo")
+                .register(meterRegistry);
+    }
 
     /**
      * Obtiene el porcentaje del servicio externo y actualiza el caché
@@ -36,35 +125,52 @@ public class PercentageService {
      */
     @CachePut(value = CacheConfig.PERCENTAGE_CACHE_NAME, key = "'" + CacheConfig.CURRENT_PERCENTAGE_KEY + "'", unless = "#result == null")
     public BigDecimal getPercentage() {
+        return getPercentage(Deadline.none());
+    }
+
+    /**
+     * Obtiene el porcentaje del servicio externo dentro del plazo indicado y actualiza el caché
+     *
+     * @param deadline Plazo de la petición
+     * @return El porcentaje obtenido del servicio externo
+     * @throws DeadlineExceededException Si el plazo vence antes de obtenerlo
+     * @throws ServiceException Si no se puede obtener el porcentaje
+     */
+    @CachePut(value = CacheConfig.PERCENTAGE_CACHE_NAME, key = "'" + CacheConfig.CURRENT_PERCENTAGE_KEY + "'", unless = "#result == null")
+    public BigDecimal getPercentage(Deadline deadline) {
         log.info("Obteniendo porcentaje del servicio externo...");
 
         try {
-            BigDecimal percentage = webClient.get()
-                    .uri("/percentage")
-                    .retrieve()
-                    .bodyToMono(PercentageResponse.class)
-                    .timeout(externalServiceProperties.timeout())
-                    .retryWhen(Retry.backoff(externalServiceProperties.retryAttempts(), Duration.ofMillis(500)))
-                    .map(PercentageResponse::getValue)
-                    .onErrorMap(WebClientResponseException.class, ex -> {
-                        log.error("Error del servicio externo: {} - {}", ex.getStatusCode(), ex.getMessage());
-                        return new ServiceException("Servicio externo no disponible", ex);
-                    })
-                    .onErrorMap(Exception.class, ex -> {
-                        log.error("Error inesperado al obtener porcentaje", ex);
-                        return new ServiceException("Error al obtener porcentaje", ex);
-                    })
-                    .block();
+            BigDecimal percentage = joinInFlightFetch(deadline).block();
 
             log.info("Porcentaje obtenido exitosamente y guardado en caché: {}%", percentage);
             return percentage;
 
+        } catch (CircuitBreakerOpenException e) {
+            log.warn("Circuit breaker abierto, se omite la llamada al servicio externo");
+            throw e;
+
+        } catch (DeadlineExceededException e) {
+            log.warn("Plazo agotado al obtener porcentaje: {}", e.getMessage());
+            throw e;
+
         } catch (Exception e) {
             log.error("Error crítico al obtener porcentaje", e);
             throw new ServiceException("No se pudo obtener el porcentaje", e);
         }
     }
 
+    /**
+     * Versión no bloqueante de la consulta al servicio externo, compartiendo la consulta en curso.
+     * No actualiza el caché: el llamador es responsable de hacerlo.
+     *
+     * @param deadline Plazo de la petición
+     * @return Mono con el porcentaje o error ServiceException si no se puede obtener
+     */
+    public Mono<BigDecimal> fetchPercentage(Deadline deadline) {
+        return joinInFlightFetch(deadline);
+    }
+
     /**
      * Obtiene el porcentaje desde el caché únicamente
      *
@@ -76,6 +182,201 @@ public class PercentageService {
         return null;
     }
 
+    /**
+     * Se une a la consulta en curso o inicia una nueva si no hay ninguna pendiente.
+     * El llamador deja de esperar al vencer su plazo, sin cancelar la consulta compartida.
+     */
+    private Mono<BigDecimal> joinInFlightFetch(Deadline deadline) {
+        InFlightFetch fetch = inFlightFetches.computeIfAbsent(IN_FLIGHT_KEY, key -> new InFlightFetch(key, deadline));
+        int callers = fetch.callers.incrementAndGet();
+        if (callers > 1) {
+            log.debug("Reutilizando consulta en curso al servicio externo ({} llamadores)", callers);
+        }
+        if (!deadline.isBounded()) {
+            return fetch.result;
+        }
+        return fetch.result
+                .timeout(deadline.remaining())
+                .onErrorMap(TimeoutException.class,
+                        ex -> new DeadlineExceededException("Plazo agotado esperando el porcentaje: " + deadline, ex));
+    }
+
+    /**
+     * Consulta al servicio externo con timeout y reintentos, dentro del plazo indicado
+     */
+    private Mono<BigDecimal> fetchFromUpstream(Deadline deadline) {
+        return Mono.defer(() -> hedgedAttempt(deadline))
+                .retryWhen(retryWithinDeadline(deadline))
+                .map(PercentageResponse::getValue)
+                .doOnNext(value -> eventPublisher.publishEvent(new PercentageFetchedEvent(
+                        percentageSnapshotHolder.publish(value, PercentageSources.EXTERNAL_SERVICE))))
+                .onErrorMap(WebClientResponseException.class, ex -> {
+                    log.error("Error del servicio externo: {} - {}", ex.getStatusCode(), ex.getMessage());
+                    return new ServiceException("Servicio externo no disponible", ex);
+                })
+                .onErrorMap(ex -> !(ex instanceof ServiceException), ex -> {
+                    log.error("Error inesperado al obtener porcentaje", ex);
+                    return new ServiceException("Error al obtener porcentaje", ex);
+                });
+    }
+
+    /**
+     * Reintentos con backoff exponencial que se omiten si el error no es reintentable
+     * o si la espera más un intento mínimo ya no caben en el plazo restante
+     */
+    private Retry retryWithinDeadline(Deadline deadline) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retry = signal.totalRetries();
+            if (failure instanceof CircuitBreakerOpenException || failure instanceof DeadlineExceededException
+                    || retry >= externalServiceProperties.retryAttempts()) {
+                return Mono.error(failure);
+            }
+
+            Duration backoff = RETRY_BACKOFF.multipliedBy(1L << retry);
+            if (!deadline.hasAtLeast(backoff.plus(externalServiceProperties.minAttemptTime()))) {
+                retriesSkippedByDeadline.increment();
+                log.warn("Se omite el reintento {} al servicio externo: no alcanza el plazo ({})", retry + 1, deadline);
+                return Mono.error(failure);
+            }
+            return Mono.delay(backoff);
+        }));
+    }
+
+    /**
+     * Un intento con cobertura: si la petición principal no responde dentro de la espera
+     * calculada, y el presupuesto lo permite, se envía una segunda y gana la primera en responder.
+     * Los errores de la principal se propagan para que actúen los reintentos.
+     */
+    private Mono<PercentageResponse> hedgedAttempt(Deadline deadline) {
+        if (!hedgingPolicy.isEnabled()) {
+            return guardedAttempt(deadline);
+        }
+
+        hedgingPolicy.onPrimaryRequest();
+        Duration hedgeDelay = hedgingPolicy.getHedgeDelay();
+
+        Mono<HedgedResponse> primary = guardedAttempt(deadline)
+                .map(response -> new HedgedResponse(response, false));
+        Mono<HedgedResponse> hedge = Mono.delay(hedgeDelay)
+                .flatMap(tick -> {
+                    if (!hedgingPolicy.tryAcquireHedge()) {
+                        hedgesRejected.increment();
+                        return Mono.never();
+                    }
+                    hedgesFired.increment();
+                    log.debug("Sin respuesta tras {}ms, enviando petición de cobertura", hedgeDelay.toMillis());
+                    // Si la cobertura falla se sigue esperando a la principal, que decide el resultado
+                    return guardedAttempt(deadline).onErrorResume(ex -> {
+                        log.debug("Petición de cobertura fallida: {}", ex.getMessage());
+                        return Mono.never();
+                    });
+                })
+                .map(response -> new HedgedResponse(response, true));
+
+        return Mono.firstWithSignal(primary, hedge)
+                .doOnNext(result -> {
+                    if (result.hedge()) {
+                        hedgesWon.increment();
+                    }
+                })
+                .map(HedgedResponse::response);
+    }
+
+    /**
+     * Un único intento contra la instancia elegida por el balanceador, protegido por el
+     * circuit breaker y limitado al tiempo restante del plazo
+     */
+    private Mono<PercentageResponse> guardedAttempt(Deadline deadline) {
+        if (!deadline.hasAtLeast(externalServiceProperties.minAttemptTime())) {
+            return Mono.error(new DeadlineExceededException("Plazo insuficiente para consultar el servicio externo: " + deadline));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            callsNotPermitted.increment();
+            return Mono.error(new CircuitBreakerOpenException("Circuit breaker abierto para el servicio de porcentajes"));
+        }
+
+        Duration attemptTimeout = deadline.cap(externalServiceProperties.timeout());
+        boolean limitedByDeadline = attemptTimeout.compareTo(externalServiceProperties.timeout()) < 0;
+
+        LatencyAwareLoadBalancer.Endpoint endpoint = loadBalancer.choose();
+        // Tras la respuesta el intento aún puede recibir una cancelación: solo cuenta la primera señal
+        AtomicBoolean settled = new AtomicBoolean();
+        long start = System.nanoTime();
+        return webClient.get()
+                .uri(endpoint.getTarget())
+                .retrieve()
+                .bodyToMono(PercentageResponse.class)
+                .timeout(attemptTimeout)
+                .onErrorMap(TimeoutException.class, ex -> limitedByDeadline
+                        ? new DeadlineExceededException("Plazo agotado consultando " + endpoint + ": " + deadline, ex)
+                        : ex)
+                .doOnSuccess(response -> {
+                    if (!settled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                    circuitBreaker.onSuccess(latency);
+                    hedgingPolicy.recordLatency(latency);
+                    endpoint.onSuccess(latency);
+                })
+                .doOnError(ex -> {
+                    if (!settled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                    circuitBreaker.onError(latency);
+                    endpoint.onError(latency);
+                    log.debug("Intento fallido contra {}: {}", endpoint, ex.getMessage());
+                })
+                .doOnCancel(() -> {
+                    if (!settled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    circuitBreaker.releasePermission();
+                    endpoint.onCancel(Duration.ofNanos(System.nanoTime() - start));
+                });
+    }
+
+    /**
+     * Consulta pendiente compartida por todos los llamadores que llegan mientras está en curso.
+     * Se retira de la tabla al terminar, antes de entregar el resultado, para que la siguiente
+     * llamada consulte un valor fresco; una cancelación también la retira.
+     *
+     * La consulta compartida corre con el {@link Deadline} del primer llamador: uno que llega
+     * después con un presupuesto mayor recibe el mismo resultado, incluido el error si ese plazo
+     * se agota antes.
+     */
+    private final class InFlightFetch {
+
+        private final AtomicInteger callers = new AtomicInteger();
+        private final Mono<BigDecimal> result;
+
+        private InFlightFetch(String key, Deadline deadline) {
+            this.result = fetchFromUpstream(deadline)
+                    // Se retira antes de entregar el valor o el error: quien llegue después consulta de nuevo
+                    .doOnTerminate(() -> retire(key))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            retire(key);
+                        }
+                    })
+                    .cache();
+        }
+
+        private void retire(String key) {
+            if (inFlightFetches.remove(key, this)) {
+                callersPerFetch.record(callers.get());
+            }
+        }
+    }
+
+    /**
+     * Respuesta de un intento con cobertura, indicando si la ganó la petición de cobertura
+     */
+    private record HedgedResponse(PercentageResponse response, boolean hedge) {
+    }
+
     /**
      * DTO interno para la respuesta del servicio externo
      */
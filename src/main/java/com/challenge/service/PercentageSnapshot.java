@@ -0,0 +1,57 @@
+package com.challenge.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Versión inmutable del porcentaje vigente con su multiplicador precalculado
+ *
+ * El multiplicador es 1 + porcentaje/100 (redondeado a 4 decimales, igual que el cálculo original),
+ * de modo que aplicar el porcentaje es una sola multiplicación: sum * (1 + p) == sum + sum * p.
+ *
+ * @param value      El porcentaje
+ * @param multiplier Factor a aplicar sobre la suma
+ * @param source     Origen del valor
+ * @param fetchedAt  Instante en que se obtuvo (null si se desconoce)
+ * @param epoch      Versión del porcentaje; cambia cada vez que cambia el valor (0 si no fue publicado)
+ */
+public record PercentageSnapshot(
+    BigDecimal value,
+    BigDecimal multiplier,
+    String source,
+    Instant fetchedAt,
+    long epoch
+) {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Crea un snapshot calculando el multiplicador
+     */
+    public static PercentageSnapshot of(BigDecimal value, String source, Instant fetchedAt, long epoch) {
+        return new PercentageSnapshot(value, multiplierOf(value), source, fetchedAt, epoch);
+    }
+
+    /**
+     * Calcula el factor 1 + porcentaje/100 con la misma precisión que el cálculo original
+     */
+    public static BigDecimal multiplierOf(BigDecimal percentage) {
+        return BigDecimal.ONE.add(percentage.divide(ONE_HUNDRED, 4, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Aplica el porcentaje al valor, redondeando a 2 decimales
+     */
+    public BigDecimal apply(BigDecimal sum) {
+        return sum.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Antigüedad del valor, o null si se desconoce cuándo se obtuvo
+     */
+    public Duration age() {
+        return fetchedAt == null ? null : Duration.between(fetchedAt, Instant.now());
+    }
+}
@@ -0,0 +1,79 @@
+package com.challenge.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Punto único de publicación del porcentaje vigente
+ *
+ * Los cálculos leen el snapshot con una sola lectura volátil, sin pasar por proxies de caché.
+ * Cada publicación con un valor distinto incrementa la época; republicar el mismo valor solo
+ * actualiza el instante de obtención.
+ */
+@Component
+@Slf4j
+public class PercentageSnapshotHolder {
+
+    private final AtomicReference<PercentageSnapshot> current = new AtomicReference<>();
+
+    /**
+     * @return El snapshot vigente o null si aún no se publicó ningún valor
+     */
+    public PercentageSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Publica un nuevo valor del porcentaje
+     *
+     * @param value  El porcentaje obtenido
+     * @param source Origen del valor
+     * @return El snapshot publicado
+     */
+    public PercentageSnapshot publish(BigDecimal value, String source) {
+        Instant fetchedAt = Instant.now();
+        PercentageSnapshot published = current.updateAndGet(previous -> {
+            if (previous != null && previous.value().compareTo(value) == 0) {
+                return new PercentageSnapshot(previous.value(), previous.multiplier(), source, fetchedAt, previous.epoch());
+            }
+            long epoch = previous == null ? 1 : previous.epoch() + 1;
+            return PercentageSnapshot.of(value, source, fetchedAt, epoch);
+        });
+
+        log.debug("Porcentaje publicado: {}% (época {}, origen {})", published.value(), published.epoch(), source);
+        return published;
+    }
+
+    /**
+     * Restaura un snapshot persistido solo si todavía no se publicó ningún valor
+     *
+     * @return true si el snapshot quedó como vigente
+     */
+    public boolean restore(PercentageSnapshot snapshot) {
+        return current.compareAndSet(null, snapshot);
+    }
+
+    /**
+     * Reemplaza el snapshot vigente por uno difundido por el nodo líder, conservando su época
+     */
+    public void replicate(PercentageSnapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    /**
+     * Obtiene el snapshot correspondiente a un valor ya obtenido: el publicado si coincide,
+     * o uno no publicado (época 0) si el valor vigente cambió entretanto.
+     */
+    public PercentageSnapshot snapshotFor(BigDecimal value, String source) {
+        PercentageSnapshot snapshot = current.get();
+        if (snapshot != null && snapshot.value().compareTo(value) == 0) {
+            return snapshot;
+        }
+        return PercentageSnapshot.of(value, source, null, 0);
+    }
+}
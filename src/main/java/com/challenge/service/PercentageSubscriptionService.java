@@ -0,0 +1,223 @@
+package com.challenge.service;
+
+import com.challenge.config.CacheConfig;
+import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.config.properties.SubscriptionProperties;
+import com.challenge.constants.PercentageSources;
+import com.challenge.event.PercentageFetchedEvent;
+import com.challenge.exception.ServiceException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suscripción al servicio externo de porcentajes mediante Server-Sent Events
+ *
+ * Mantiene una única conexión de larga duración por réplica y publica cada valor recibido en
+ * {@link PercentageSnapshotHolder} y en el caché, de modo que los cálculos no hacen ninguna
+ * llamada de red ni dependen del sondeo. Los eventos sin datos se tratan como heartbeats.
+ *
+ * Si la conexión se cierra, falla o pasa el tiempo de inactividad sin eventos, se reconecta con
+ * backoff exponencial, rotando entre las instancias configuradas. Mientras no hay conexión activa
+ * el refresco periódico ({@link PercentageRefreshService}) vuelve a consultar el servicio externo.
+ */
+@Service
+@Slf4j
+public class PercentageSubscriptionService implements SmartLifecycle {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<PercentageService.PercentageResponse>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() { };
+
+    private final WebClient webClient;
+    private final SubscriptionProperties subscriptionProperties;
+    private final PercentageSnapshotHolder percentageSnapshotHolder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final List<URI> streamTargets;
+    private final AtomicInteger nextTarget = new AtomicInteger();
+    private final Counter valuesReceived;
+    private final Counter reconnects;
+
+    private volatile boolean connected;
+    private volatile Disposable subscription;
+
+    public PercentageSubscriptionService(WebClient webClient,
+                                         ExternalServiceProperties externalServiceProperties,
+                                         SubscriptionProperties subscriptionProperties,
+                                         PercentageSnapshotHolder percentageSnapshotHolder,
+                                         ApplicationEventPublisher eventPublisher,
+                                         CacheManager cacheManager,
+                                         MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.subscriptionProperties = subscriptionProperties;
+        this.percentageSnapshotHolder = percentageSnapshotHolder;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.streamTargets = externalServiceProperties.endpoints().stream()
+                .map(url -> UriComponentsBuilder.fromUriString(url).path(subscriptionProperties.path()).build().toUri())
+                .toList();
+        this.valuesReceived = Counter.builder("percentage.subscription.values")
+                .description("Porcentajes recibidos por la suscripción al servicio externo")
+                .register(meterRegistry);
+        this.reconnects = Counter.builder("percentage.subscription.reconnects")
+                .description("Reintentos de conexión al stream de porcentajes")
+                .register(meterRegistry);
+        Gauge.builder("percentage.subscription.connected", this, service -> service.isConnected() ? 1 : 0)
+                .description("1 si la suscripción al servicio externo está activa")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si la suscripción está habilitada
+     */
+    public boolean isEnabled() {
+        return subscriptionProperties.enabled();
+    }
+
+    /**
+     * Indica si hay una conexión activa que ya entregó el valor vigente
+     */
+    public boolean isConnected() {
+        return subscriptionProperties.enabled() && connected;
+    }
+
+    @Override
+    public void start() {
+        if (!subscriptionProperties.enabled()) {
+            log.info("Suscripción al servicio de porcentajes deshabilitada");
+            return;
+        }
+
+        subscription = stream().subscribe();
+        log.info("Suscripción al servicio de porcentajes configurada - Streams: {}, Inactividad máxima: {}, Backoff: {}-{}",
+                streamTargets,
+                subscriptionProperties.idleTimeout(),
+                subscriptionProperties.initialBackoff(),
+                subscriptionProperties.maxBackoff());
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        connected = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        Disposable current = subscription;
+        return current != null && !current.isDisposed();
+    }
+
+    /**
+     * Stream de eventos con reconexión: un cierre del servidor se trata como error para que
+     * también se reintente. El backoff vuelve al inicial tras recibir un evento.
+     */
+    private Flux<ServerSentEvent<PercentageService.PercentageResponse>> stream() {
+        return Flux.defer(this::connect)
+                .timeout(subscriptionProperties.idleTimeout())
+                .concatWith(Flux.error(StreamClosedException::new))
+                .doOnError(this::onDisconnected)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, subscriptionProperties.initialBackoff())
+                        .maxBackoff(subscriptionProperties.maxBackoff())
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> reconnects.increment()));
+    }
+
+    /**
+     * Abre el stream contra la siguiente instancia. El timeout de respuesta del cliente HTTP
+     * se extiende al de inactividad para que los intervalos entre eventos no corten la conexión.
+     */
+    private Flux<ServerSentEvent<PercentageService.PercentageResponse>> connect() {
+        URI target = streamTargets.get(Math.floorMod(nextTarget.getAndIncrement(), streamTargets.size()));
+        log.debug("Conectando al stream de porcentajes: {}", target);
+
+        return webClient.get()
+                .uri(target)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .httpRequest(request -> {
+                    if (request.getNativeRequest() instanceof HttpClientRequest nativeRequest) {
+                        nativeRequest.responseTimeout(subscriptionProperties.idleTimeout());
+                    }
+                })
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .doOnNext(event -> onEvent(target, event));
+    }
+
+    private void onEvent(URI target, ServerSentEvent<PercentageService.PercentageResponse> event) {
+        PercentageService.PercentageResponse data = event.data();
+        if (data == null || data.getValue() == null) {
+            log.trace("Heartbeat del stream de porcentajes");
+            return;
+        }
+
+        if (!connected) {
+            connected = true;
+            log.info("Suscripción al servicio de porcentajes activa: {}", target);
+        }
+        valuesReceived.increment();
+        apply(data.getValue());
+    }
+
+    /**
+     * Publica el valor recibido como lo haría una consulta al servicio externo
+     */
+    private void apply(BigDecimal value) {
+        PercentageSnapshot snapshot = percentageSnapshotHolder.publish(value, PercentageSources.STREAM);
+        eventPublisher.publishEvent(new PercentageFetchedEvent(snapshot));
+
+        Cache cache = cacheManager.getCache(CacheConfig.PERCENTAGE_CACHE_NAME);
+        if (cache != null) {
+            cache.put(CacheConfig.CURRENT_PERCENTAGE_KEY, value);
+        }
+        log.debug("Porcentaje recibido por suscripción: {}% (época {})", value, snapshot.epoch());
+    }
+
+    private void onDisconnected(Throwable cause) {
+        if (connected && cause instanceof StreamClosedException) {
+            connected = false;
+            log.info("El servicio externo cerró el stream de porcentajes, se reconectará");
+        } else if (connected) {
+            connected = false;
+            log.warn("Suscripción al servicio de porcentajes perdida, se reintentará y se sondea como respaldo: {}",
+                    cause.getMessage());
+        } else {
+            log.debug("No se pudo conectar al stream de porcentajes: {}", cause.getMessage());
+        }
+    }
+
+    /**
+     * Cierre normal del stream por parte del servidor, tratado como error para reconectar
+     */
+    private static final class StreamClosedException extends ServiceException {
+
+        private StreamClosedException() {
+            super("El servicio externo cerró el stream de porcentajes");
+        }
+    }
+}
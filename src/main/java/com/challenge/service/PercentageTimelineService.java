@@ -0,0 +1,125 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.PercentageTimelineProperties;
+import com.challenge.entity.PercentageTimelineEntry;
+import com.challenge.repository.PercentageTimelineRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Línea de tiempo del porcentaje: qué valor estuvo vigente en cada instante
+ *
+ * Cada cambio de valor se guarda en la tabla percentage_timeline con el instante desde el que
+ * rige; republicar el mismo valor no agrega entradas. Las entradas se mantienen además en un
+ * índice ordenado en memoria, de modo que "porcentaje vigente en T" es una búsqueda O(log n)
+ * sin consultar la base de datos.
+ *
+ * El índice se carga al arrancar y se completa con las entradas registradas por otras réplicas
+ * antes de cada recálculo. Las escrituras se serializan con un {@link ReentrantLock} y no con
+ * {@code synchronized}, que fijaría el hilo virtual a su portador durante la consulta JDBC.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PercentageTimelineService implements SmartInitializingSingleton {
+
+    private final PercentageTimelineRepository repository;
+    private final JdbcConcurrencyLimiter jdbcConcurrencyLimiter;
+    private final PercentageTimelineProperties timelineProperties;
+    private final ConcurrentSkipListMap<Instant, PercentageSnapshot> index = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Carga la línea de tiempo persistida al terminar de crear los beans
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            int loaded = synchronize();
+            log.info("Línea de tiempo del porcentaje cargada: {} entradas", loaded);
+
+        } catch (Exception e) {
+            log.warn("No se pudo cargar la línea de tiempo del porcentaje: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registra el snapshot si su valor difiere del vigente en su instante de obtención
+     */
+    public void record(PercentageSnapshot snapshot) {
+        if (!timelineProperties.enabled() || snapshot.fetchedAt() == null) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            Map.Entry<Instant, PercentageSnapshot> previous = index.floorEntry(snapshot.fetchedAt());
+            if (previous != null && previous.getValue().value().compareTo(snapshot.value()) == 0) {
+                return;
+            }
+
+            PercentageTimelineEntry entry = new PercentageTimelineEntry(
+                    snapshot.fetchedAt(), snapshot.value(), snapshot.epoch(), snapshot.source());
+            jdbcConcurrencyLimiter.execute(() -> repository.save(entry));
+            index.put(snapshot.fetchedAt(), snapshot);
+
+        } finally {
+            writeLock.unlock();
+        }
+
+        log.debug("Cambio de porcentaje registrado: {}% vigente desde {}", snapshot.value(), snapshot.fetchedAt());
+    }
+
+    /**
+     * Obtiene el porcentaje vigente en un instante
+     *
+     * @return El último valor registrado hasta ese instante, o vacío si es anterior al primer registro
+     */
+    public Optional<PercentageSnapshot> percentageAt(Instant instant) {
+        Map.Entry<Instant, PercentageSnapshot> entry = index.floorEntry(instant);
+        return entry == null ? Optional.empty() : Optional.of(entry.getValue());
+    }
+
+    /**
+     * Agrega al índice las entradas persistidas posteriores a la última conocida
+     *
+     * @return Cantidad de entradas agregadas
+     */
+    public int synchronize() {
+        writeLock.lock();
+        try {
+            Instant last = index.isEmpty() ? null : index.lastKey();
+            List<PercentageTimelineEntry> entries = jdbcConcurrencyLimiter.execute(() -> last == null
+                    ? repository.findAllByOrderByEffectiveFromAsc()
+                    : repository.findByEffectiveFromAfterOrderByEffectiveFromAsc(last));
+
+            for (PercentageTimelineEntry entry : entries) {
+                index.put(entry.getEffectiveFrom(), PercentageSnapshot.of(
+                        entry.getValue(), entry.getSource(), entry.getEffectiveFrom(), entry.getEpoch()));
+            }
+            return entries.size();
+
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Cantidad de entradas en el índice
+     */
+    public int size() {
+        return index.size();
+    }
+}
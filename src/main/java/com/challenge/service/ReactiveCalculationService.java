@@ -0,0 +1,130 @@
+package com.challenge.service;
+
+import com.challenge.config.CacheConfig;
+import com.challenge.dto.BatchCalculationResponse;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.CalculationResponse;
+import com.challenge.dto.SummationRequest;
+import com.challenge.dto.SummationResponse;
+import com.challenge.exception.ServiceException;
+import com.challenge.resilience.Deadline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Versión no bloqueante del servicio de cálculo
+ *
+ * Compone la obtención del porcentaje, el fallback al caché y el cálculo como un único Mono,
+ * sin bloquear el hilo del event loop. Reutiliza la validación y la aritmética de {@link CalculationService}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveCalculationService {
+
+    private final CalculationService calculationService;
+    private final SummationService summationService;
+    private final PercentageService percentageService;
+    private final CacheManager cacheManager;
+
+    /**
+     * Realiza el cálculo principal con porcentaje dinámico
+     *
+     * @param request            Los números a calcular
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return Mono con el resultado del cálculo o error si no hay porcentaje disponible
+     */
+    public Mono<CalculationResponse> calculate(CalculationRequest request, Long requestedTimeoutMs) {
+        return Mono.defer(() -> {
+            Deadline deadline = calculationService.resolveDeadline(requestedTimeoutMs);
+            return Mono.fromRunnable(() -> {
+                        log.info("Iniciando cálculo reactivo para: {} ({})", request, deadline);
+                        calculationService.validate(request);
+                    })
+                    .then(getPercentageWithSource(deadline))
+                    .map(percentageResult -> calculationService.buildResponse(request, percentageResult, deadline));
+        });
+    }
+
+    /**
+     * Realiza un lote de cálculos con un único porcentaje para todos los elementos
+     *
+     * @param requests           Los cálculos del lote
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return Mono con el resultado de cada cálculo o error si no hay porcentaje disponible
+     */
+    public Mono<BatchCalculationResponse> calculateBatch(List<CalculationRequest> requests, Long requestedTimeoutMs) {
+        return Mono.defer(() -> {
+            Deadline deadline = calculationService.resolveDeadline(requestedTimeoutMs);
+            return Mono.fromRunnable(() -> {
+                        calculationService.validateBatch(requests);
+                        log.info("Iniciando cálculo reactivo por lotes de {} elementos ({})", requests.size(), deadline);
+                    })
+                    .then(getPercentageWithSource(deadline))
+                    .map(percentageResult -> calculationService.buildBatchResponse(requests, percentageResult, deadline));
+        });
+    }
+
+    /**
+     * Suma N operandos y aplica el porcentaje dinámico una sola vez a la suma
+     *
+     * @param request            Los operandos a sumar
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return Mono con la suma y el resultado final o error si no hay porcentaje disponible
+     */
+    public Mono<SummationResponse> calculateSum(SummationRequest request, Long requestedTimeoutMs) {
+        return Mono.defer(() -> {
+            Deadline deadline = calculationService.resolveDeadline(requestedTimeoutMs);
+            return Mono.fromRunnable(() -> {
+                        summationService.validate(request);
+                        log.info("Iniciando suma reactiva de {} operandos ({})", request.operands().size(), deadline);
+                    })
+                    .then(getPercentageWithSource(deadline))
+                    .map(percentageResult -> summationService.buildResponse(request, percentageResult, deadline));
+        });
+    }
+
+    /**
+     * Resuelve el porcentaje una sola vez para aplicarlo a todas las líneas de un stream
+     *
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return Mono con el porcentaje fijado o error si no hay porcentaje disponible
+     */
+    public Mono<CalculationService.PercentageResult> pinPercentage(Long requestedTimeoutMs) {
+        return Mono.defer(() -> getPercentageWithSource(calculationService.resolveDeadline(requestedTimeoutMs)))
+                .doOnNext(percentageResult -> log.info("Porcentaje fijado para el stream reactivo: {}% ({}, época {})",
+                        percentageResult.snapshot().value(), percentageResult.source(), percentageResult.snapshot().epoch()));
+    }
+
+    /**
+     * Obtiene el porcentaje con información de la fuente
+     */
+    private Mono<CalculationService.PercentageResult> getPercentageWithSource(Deadline deadline) {
+        return Mono.defer(() -> calculationService.getLocalPercentage()
+                .map(Mono::just)
+                .orElseGet(() -> percentageService.fetchPercentage(deadline)
+                        .doOnNext(this::updateCache)
+                        .map(calculationService::externalPercentage)
+                        .onErrorResume(ServiceException.class,
+                                e -> Mono.fromCallable(() -> calculationService.getCachedPercentage(e)))));
+    }
+
+    /**
+     * Equivalente al @CachePut de la versión bloqueante
+     */
+    private void updateCache(BigDecimal percentage) {
+        Cache cache = cacheManager.getCache(CacheConfig.PERCENTAGE_CACHE_NAME);
+        if (cache != null) {
+            cache.put(CacheConfig.CURRENT_PERCENTAGE_KEY, percentage);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.challenge.service;
+
+/**
+ * Implementación escalar de {@link PercentageKernel}, para cuando la Vector API no está disponible
+ *
+ * Usa aritmética entera con los mismos límites que la versión vectorial, de modo que ambas
+ * devuelven exactamente los mismos valores.
+ */
+final class ScalarPercentageKernel implements PercentageKernel {
+
+    private final Parameters parameters;
+
+    ScalarPercentageKernel(Parameters parameters) {
+        this.parameters = parameters;
+    }
+
+    @Override
+    public void compute(long[] num1, long[] num2, long[] sums, long[] results, int length) {
+        compute(parameters, num1, num2, sums, results, 0, length);
+    }
+
+    @Override
+    public long maxAbsSum() {
+        return parameters.maxAbsSum();
+    }
+
+    @Override
+    public String name() {
+        return "escalar";
+    }
+
+    /**
+     * Calcula las posiciones de {@code from} a {@code to}; la versión vectorial lo usa para la cola
+     */
+    static void compute(Parameters parameters, long[] num1, long[] num2, long[] sums, long[] results,
+                        int from, int to) {
+        long multiplier = parameters.multiplier();
+        long divisor = parameters.divisor();
+        long half = parameters.half();
+        long maxAbsSum = parameters.maxAbsSum();
+
+        for (int i = from; i < to; i++) {
+            long sum = num1[i] + num2[i];
+            sums[i] = sum;
+            if (Math.abs(sum) > maxAbsSum) {
+                results[i] = OUT_OF_RANGE;
+                continue;
+            }
+            long product = sum * multiplier;
+            long rounded = (Math.abs(product) + half) / divisor;
+            results[i] = product < 0 ? -rounded : rounded;
+        }
+    }
+}
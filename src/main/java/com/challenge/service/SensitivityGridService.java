@@ -0,0 +1,318 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.GridProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.SensitivityGridRequest;
+import com.challenge.dto.SensitivityGridRow;
+import com.challenge.dto.SensitivityGridSummary;
+import com.challenge.formula.BoundFormula;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Servicio de la grilla de sensibilidad: aplica varios porcentajes a los mismos pares de números
+ *
+ * Reemplaza los bucles de llamadas a /api/calculate con porcentajes simulados. La suma de cada par
+ * se calcula una sola vez y el multiplicador de cada porcentaje también, al preparar la grilla;
+ * cada fila (un porcentaje) se calcula con un {@link PercentageKernel} sobre las sumas en punto
+ * fijo, con {@code BigDecimal} para las que no caben. Con una fórmula distinta de la estándar cada
+ * fila se calcula con la fórmula compilada para su porcentaje. Las filas se calculan por bloques de
+ * {@code calculation.grid.block-size}, repartidas entre núcleos si el bloque es grande, y cada
+ * bloque se envía como NDJSON en cuanto está listo: la memoria depende del bloque y no de la grilla.
+ */
+@Service
+@Slf4j
+public class SensitivityGridService {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final GridProperties gridProperties;
+    private final CalculationFormula calculationFormula;
+    private final ObjectWriter rowWriter;
+    private final Counter calculatedCells;
+    private final DistributionSummary throughput;
+
+    public SensitivityGridService(GridProperties gridProperties, CalculationFormula calculationFormula,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.gridProperties = gridProperties;
+        this.calculationFormula = calculationFormula;
+        this.rowWriter = objectMapper.writerFor(SensitivityGridRow.class);
+        this.calculatedCells = Counter.builder("calculation.grid.cells")
+                .description("Celdas calculadas en grillas de sensibilidad")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("calculation.grid.throughput")
+                .description("Celdas por segundo de cada grilla de sensibilidad completada")
+                .baseUnit("cells.per.second")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valida el request y prepara la grilla: expande los porcentajes, precalcula sus
+     * multiplicadores y calcula la suma de cada par
+     *
+     * @throws IllegalArgumentException si faltan pares o porcentajes o se superan los máximos
+     */
+    public Grid prepare(SensitivityGridRequest request) {
+        List<CalculationRequest> pairs = request.pairs();
+        if (pairs == null || pairs.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessages.GRID_EMPTY_PAIRS);
+        }
+        if (pairs.size() > gridProperties.maxPairs()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.GRID_TOO_MANY_PAIRS, gridProperties.maxPairs()));
+        }
+
+        Grid grid = new Grid(pairs, expandPercentages(request), calculationFormula);
+        log.info("Grilla de sensibilidad preparada: {} pares x {} porcentajes ({} celdas)",
+                grid.pairs(), grid.rows(), grid.cells());
+        return grid;
+    }
+
+    /**
+     * Calcula la grilla escribiendo cada bloque de filas a medida que se completa
+     *
+     * @param grid   Grilla preparada
+     * @param output Salida NDJSON; no se cierra
+     * @return Resumen de la grilla con el throughput
+     * @throws IOException Si se corta la escritura, normalmente porque el cliente se desconectó
+     */
+    public SensitivityGridSummary calculate(Grid grid, OutputStream output) throws IOException {
+        long startNanos = System.nanoTime();
+        OutputStream buffered = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+
+        for (int block = 0; block < grid.blocks(gridProperties.blockSize()); block++) {
+            for (byte[] row : calculateBlock(grid, block)) {
+                buffered.write(row);
+            }
+            buffered.flush();
+        }
+
+        return complete(grid, startNanos);
+    }
+
+    /**
+     * Versión reactiva: cada bloque se calcula fuera del event loop cuando el cliente lo demanda
+     *
+     * @param grid          Grilla preparada
+     * @param bufferFactory Fábrica de buffers de la respuesta
+     * @param onComplete    Recibe el resumen cuando se envió el último bloque
+     * @return Bloques de filas NDJSON
+     */
+    public Flux<DataBuffer> calculate(Grid grid, DataBufferFactory bufferFactory,
+                                      Consumer<SensitivityGridSummary> onComplete) {
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            return Flux.range(0, grid.blocks(gridProperties.blockSize()))
+                    .publishOn(Schedulers.parallel(), 1)
+                    .map(block -> encode(calculateBlock(grid, block), bufferFactory))
+                    .doOnComplete(() -> onComplete.accept(complete(grid, startNanos)));
+        });
+    }
+
+    private List<BigDecimal> expandPercentages(SensitivityGridRequest request) {
+        boolean hasList = request.percentages() != null && !request.percentages().isEmpty();
+        if (hasList == (request.range() != null)) {
+            throw new IllegalArgumentException(ErrorMessages.GRID_PERCENTAGES_REQUIRED);
+        }
+
+        if (hasList) {
+            if (request.percentages().stream().anyMatch(Objects::isNull)) {
+                throw new IllegalArgumentException(ErrorMessages.GRID_NULL_PERCENTAGE);
+            }
+            if (request.percentages().size() > gridProperties.maxPercentages()) {
+                throw tooManyPercentages();
+            }
+            return request.percentages();
+        }
+
+        SensitivityGridRequest.PercentageRange range = request.range();
+        if (range.from() == null || range.to() == null || range.step() == null
+                || range.step().signum() <= 0 || range.from().compareTo(range.to()) > 0) {
+            throw new IllegalArgumentException(ErrorMessages.GRID_INVALID_RANGE);
+        }
+        BigDecimal count = range.to().subtract(range.from()).divide(range.step(), 0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+        if (count.compareTo(BigDecimal.valueOf(gridProperties.maxPercentages())) > 0) {
+            throw tooManyPercentages();
+        }
+
+        List<BigDecimal> percentages = new ArrayList<>(count.intValue());
+        for (int i = 0; i < count.intValue(); i++) {
+            percentages.add(range.from().add(range.step().multiply(BigDecimal.valueOf(i))));
+        }
+        return percentages;
+    }
+
+    private IllegalArgumentException tooManyPercentages() {
+        return new IllegalArgumentException(String.format(ErrorMessages.GRID_TOO_MANY_PERCENTAGES,
+                gridProperties.maxPercentages()));
+    }
+
+    /**
+     * Calcula y serializa las filas de un bloque, en paralelo si el bloque tiene suficientes celdas
+     */
+    private List<byte[]> calculateBlock(Grid grid, int block) {
+        int from = block * gridProperties.blockSize();
+        int to = Math.min(from + gridProperties.blockSize(), grid.rows());
+
+        IntStream rows = IntStream.range(from, to);
+        if ((long) (to - from) * grid.pairs() >= gridProperties.parallelThreshold()) {
+            rows = rows.parallel();
+        }
+        return rows.mapToObj(row -> encodeRow(grid.calculateRow(row))).toList();
+    }
+
+    private byte[] encodeRow(SensitivityGridRow row) {
+        try {
+            byte[] json = rowWriter.writeValueAsBytes(row);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = LINE_SEPARATOR;
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la fila de la grilla", e);
+        }
+    }
+
+    private DataBuffer encode(List<byte[]> rows, DataBufferFactory bufferFactory) {
+        int size = rows.stream().mapToInt(row -> row.length).sum();
+        DataBuffer buffer = bufferFactory.allocateBuffer(size);
+        rows.forEach(buffer::write);
+        return buffer;
+    }
+
+    /**
+     * Construye el resumen de la grilla y registra su throughput
+     */
+    private SensitivityGridSummary complete(Grid grid, long startNanos) {
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        long cellsPerSecond = grid.cells() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        long executionTimeMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        calculatedCells.increment(grid.cells());
+        throughput.record(cellsPerSecond);
+
+        log.info("Grilla de sensibilidad completada: {} pares x {} porcentajes en {}ms - {} celdas/s",
+                grid.pairs(), grid.rows(), executionTimeMs, cellsPerSecond);
+
+        return new SensitivityGridSummary(grid.pairs(), grid.rows(), grid.cells(), grid.invalidPairs,
+                executionTimeMs, cellsPerSecond);
+    }
+
+    /**
+     * Grilla preparada: sumas de los pares y multiplicadores de los porcentajes, calculados una sola vez
+     */
+    public static final class Grid {
+
+        private final List<BigDecimal> percentages;
+        private final BoundFormula[] formulas;
+        // Null en las filas cuyo multiplicador no cabe en punto fijo o si la fórmula no es la estándar
+        private final PercentageKernel[] kernels;
+        // Null en los pares a los que les falta un número
+        private final BigDecimal[] sums;
+        // Sumas en punto fijo; 0 en las que no caben, que se calculan con BigDecimal
+        private final long[] fixedSums;
+        private final boolean[] fixed;
+        private final long[] zeros;
+        private final int invalidPairs;
+
+        private Grid(List<CalculationRequest> pairs, List<BigDecimal> percentages, CalculationFormula calculationFormula) {
+            this.percentages = percentages;
+            this.formulas = new BoundFormula[percentages.size()];
+            this.kernels = new PercentageKernel[percentages.size()];
+            for (int row = 0; row < formulas.length; row++) {
+                PercentageSnapshot snapshot = PercentageSnapshot.of(percentages.get(row), PercentageSources.SCENARIO, null, 0);
+                formulas[row] = calculationFormula.compile(snapshot);
+                if (calculationFormula.isStandard()) {
+                    kernels[row] = PercentageKernel.forSnapshot(snapshot).orElse(null);
+                }
+            }
+
+            this.sums = new BigDecimal[pairs.size()];
+            this.fixedSums = new long[pairs.size()];
+            this.fixed = new boolean[pairs.size()];
+            this.zeros = new long[pairs.size()];
+            int invalid = 0;
+            for (int i = 0; i < sums.length; i++) {
+                CalculationRequest pair = pairs.get(i);
+                if (pair == null || pair.num1() == null || pair.num2() == null) {
+                    invalid++;
+                    continue;
+                }
+                sums[i] = pair.num1().add(pair.num2());
+                if (sums[i].scale() <= PercentageKernel.SCALE) {
+                    BigDecimal scaled = sums[i].setScale(PercentageKernel.SCALE);
+                    if (scaled.unscaledValue().bitLength() < 51) {
+                        fixedSums[i] = scaled.unscaledValue().longValue();
+                        fixed[i] = true;
+                    }
+                }
+            }
+            this.invalidPairs = invalid;
+        }
+
+        public int pairs() {
+            return sums.length;
+        }
+
+        public int rows() {
+            return formulas.length;
+        }
+
+        public long cells() {
+            return (long) rows() * pairs();
+        }
+
+        int blocks(int blockSize) {
+            return (rows() + blockSize - 1) / blockSize;
+        }
+
+        /**
+         * Resultados de todos los pares con el porcentaje de la fila
+         */
+        SensitivityGridRow calculateRow(int row) {
+            BoundFormula formula = formulas[row];
+            PercentageKernel kernel = kernels[row];
+            long[] results = null;
+            if (kernel != null) {
+                results = new long[sums.length];
+                kernel.compute(fixedSums, zeros, new long[sums.length], results, sums.length);
+            }
+
+            BigDecimal[] finalResults = new BigDecimal[sums.length];
+            for (int i = 0; i < sums.length; i++) {
+                if (sums[i] == null) {
+                    continue;
+                }
+                finalResults[i] = results != null && fixed[i] && results[i] != PercentageKernel.OUT_OF_RANGE
+                        ? BigDecimal.valueOf(results[i], 2)
+                        : formula.apply(sums[i]);
+            }
+            return new SensitivityGridRow(row, percentages.get(row), Arrays.asList(finalResults));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.StreamProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.StreamCalculationSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Servicio de cálculo por streaming NDJSON para entradas de cualquier tamaño
+ *
+ * Cada línea de entrada es un {@link CalculationRequest} y produce una línea de salida
+ * {@link BatchCalculationItem}, calculada con el porcentaje fijado al inicio del stream. Solo se
+ * mantiene en memoria la línea en curso y el bloque de salida pendiente de enviar
+ * ({@code calculation.stream.flush-interval} líneas), por lo que el consumo no depende del
+ * tamaño de la entrada. El control de flujo lo dan la escritura bloqueante en modo servlet y la
+ * demanda del cliente en modo reactivo: no se lee una línea más de la que se puede escribir.
+ */
+@Service
+@Slf4j
+public class StreamingCalculationService {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final CalculationService calculationService;
+    private final StreamProperties streamProperties;
+    private final ObjectReader requestReader;
+    private final ObjectWriter itemWriter;
+    private final Counter succeededLines;
+    private final Counter failedLines;
+    private final DistributionSummary throughput;
+
+    public StreamingCalculationService(CalculationService calculationService,
+                                       StreamProperties streamProperties,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry) {
+        this.calculationService = calculationService;
+        this.streamProperties = streamProperties;
+        this.requestReader = objectMapper.readerFor(CalculationRequest.class);
+        this.itemWriter = objectMapper.writerFor(BatchCalculationItem.class);
+        this.succeededLines = Counter.builder("calculation.stream.lines")
+                .description("Líneas calculadas por streaming NDJSON")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedLines = Counter.builder("calculation.stream.lines")
+                .description("Líneas calculadas por streaming NDJSON")
+                .tag("outcome", "error")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("calculation.stream.throughput")
+                .description("Líneas por segundo de cada stream de cálculos completado")
+                .baseUnit("lines.per.second")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calcula un stream bloqueante: lee una línea, la calcula y la escribe, enviando al cliente
+     * cada {@code flush-interval} líneas. Las líneas en blanco se ignoran.
+     *
+     * @param input            Entrada NDJSON
+     * @param output           Salida NDJSON; no se cierra
+     * @param percentageResult Porcentaje fijado para todo el stream
+     * @return Resumen del stream con el throughput
+     * @throws IOException Si se corta la lectura o la escritura, normalmente porque el cliente se desconectó
+     */
+    public StreamCalculationSummary calculate(BufferedReader input, OutputStream output,
+                                              CalculationService.PercentageResult percentageResult) throws IOException {
+        StreamTally tally = new StreamTally();
+        PercentageSnapshot snapshot = percentageResult.snapshot();
+        OutputStream buffered = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            writeLine(buffered, calculateLine(line, snapshot, tally));
+            if (tally.lines % streamProperties.flushInterval() == 0) {
+                buffered.flush();
+            }
+        }
+        buffered.flush();
+
+        return complete(tally, percentageResult);
+    }
+
+    /**
+     * Calcula un stream reactivo. La salida se agrupa en bloques de {@code flush-interval} líneas
+     * y cada bloque solo se calcula cuando el cliente lo demanda.
+     *
+     * @param lines            Líneas NDJSON de entrada
+     * @param percentageResult Porcentaje fijado para todo el stream
+     * @param bufferFactory    Fábrica de buffers de la respuesta
+     * @param onComplete       Recibe el resumen cuando se completa la entrada
+     * @return Bloques de líneas NDJSON de salida
+     */
+    public Flux<DataBuffer> calculate(Flux<String> lines, CalculationService.PercentageResult percentageResult,
+                                      DataBufferFactory bufferFactory, Consumer<StreamCalculationSummary> onComplete) {
+        PercentageSnapshot snapshot = percentageResult.snapshot();
+
+        return Flux.defer(() -> {
+            StreamTally tally = new StreamTally();
+            return lines
+                    .filter(line -> !line.isBlank())
+                    .map(line -> calculateLine(line, snapshot, tally))
+                    .buffer(streamProperties.flushInterval())
+                    .map(items -> encode(items, bufferFactory))
+                    .doOnComplete(() -> onComplete.accept(complete(tally, percentageResult)));
+        });
+    }
+
+    /**
+     * Calcula una línea; si no es un cálculo válido se informa el error en su lugar
+     */
+    private BatchCalculationItem calculateLine(String line, PercentageSnapshot snapshot, StreamTally tally) {
+        long index = tally.lines++;
+        BatchCalculationItem item;
+        try {
+            item = calculationService.calculateItem(index, requestReader.readValue(line), snapshot);
+        } catch (InvalidFormatException e) {
+            item = new BatchCalculationItem(index, null, null, null, null, ErrorMessages.VALIDATION_INVALID_FORMAT);
+        } catch (JsonProcessingException e) {
+            item = new BatchCalculationItem(index, null, null, null, null, ErrorMessages.VALIDATION_INVALID_JSON);
+        }
+
+        if (item.error() == null) {
+            succeededLines.increment();
+        } else {
+            tally.failed++;
+            failedLines.increment();
+        }
+        return item;
+    }
+
+    private void writeLine(OutputStream output, BatchCalculationItem item) throws IOException {
+        output.write(itemWriter.writeValueAsBytes(item));
+        output.write(LINE_SEPARATOR);
+    }
+
+    private DataBuffer encode(List<BatchCalculationItem> items, DataBufferFactory bufferFactory) {
+        ByteArrayOutputStream block = new ByteArrayOutputStream(items.size() * 96);
+        try {
+            for (BatchCalculationItem item : items) {
+                writeLine(block, item);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo serializar el resultado del stream", e);
+        }
+        return bufferFactory.wrap(block.toByteArray());
+    }
+
+    /**
+     * Construye el resumen del stream y registra su throughput
+     */
+    private StreamCalculationSummary complete(StreamTally tally, CalculationService.PercentageResult percentageResult) {
+        long elapsedNanos = Math.max(System.nanoTime() - tally.startNanos, 1);
+        long linesPerSecond = tally.lines * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        long executionTimeMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        throughput.record(linesPerSecond);
+
+        log.info("Stream de cálculos completado: {} líneas ({} con error) en {}ms - {} líneas/s",
+                tally.lines, tally.failed, executionTimeMs, linesPerSecond);
+
+        PercentageSnapshot snapshot = percentageResult.snapshot();
+        return new StreamCalculationSummary(tally.lines, tally.lines - tally.failed, tally.failed,
+                snapshot.value(), percentageResult.source(), snapshot.epoch(), executionTimeMs, linesPerSecond);
+    }
+
+    /**
+     * Contadores del stream en curso; cada stream se procesa secuencialmente
+     */
+    private static final class StreamTally {
+        final long startNanos = System.nanoTime();
+        long lines;
+        long failed;
+    }
+}
@@ -0,0 +1,199 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.SummationProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.dto.SummationRequest;
+import com.challenge.dto.SummationResponse;
+import com.challenge.mapper.CalculationMapper;
+import com.challenge.resilience.Deadline;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de suma de N operandos con el porcentaje aplicado una sola vez a la suma
+ *
+ * La suma es exacta con BigDecimal. Desde {@code calculation.sum.parallel-threshold} operandos se
+ * reparte en el pool fork-join común: la lista se divide por mitades hasta porciones de
+ * {@code chunk-size} operandos, cada porción se suma en secuencia y las sumas parciales se unen al
+ * terminar las tareas. Como la suma de BigDecimal es exacta, el resultado (valor y escala) no depende
+ * del reparto y es idéntico al de la suma secuencial.
+ */
+@Service
+@Slf4j
+public class SummationService {
+
+    private final CalculationService calculationService;
+    private final SummationProperties summationProperties;
+    private final CalculationMapper calculationMapper;
+    private final CalculationFormula calculationFormula;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary operandsPerSum;
+    private final Map<String, Timer> latencyBySize = new ConcurrentHashMap<>();
+
+    public SummationService(CalculationService calculationService,
+                            SummationProperties summationProperties,
+                            CalculationMapper calculationMapper,
+                            CalculationFormula calculationFormula,
+                            MeterRegistry meterRegistry) {
+        this.calculationService = calculationService;
+        this.summationProperties = summationProperties;
+        this.calculationMapper = calculationMapper;
+        this.calculationFormula = calculationFormula;
+        this.meterRegistry = meterRegistry;
+        this.operandsPerSum = DistributionSummary.builder("calculation.sum.operands")
+                .description("Operandos de cada suma de N operandos")
+                .baseUnit("operands")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Suma los operandos y aplica el porcentaje dinámico
+     *
+     * @param request            Los operandos a sumar
+     * @param requestedTimeoutMs Presupuesto indicado por el cliente en milisegundos (null para el por defecto)
+     * @return La suma y el resultado final con información del porcentaje
+     */
+    public SummationResponse calculate(SummationRequest request, Long requestedTimeoutMs) {
+        Deadline deadline = calculationService.resolveDeadline(requestedTimeoutMs);
+        validate(request);
+        log.info("Iniciando suma de {} operandos ({})", request.operands().size(), deadline);
+
+        CalculationService.PercentageResult percentageResult = calculationService.getPercentageWithSource(deadline);
+
+        return buildResponse(request, percentageResult, deadline);
+    }
+
+    /**
+     * Valida que haya operandos, que no superen el máximo configurado y que ninguno sea nulo
+     */
+    public void validate(SummationRequest request) {
+        List<BigDecimal> operands = request == null ? null : request.operands();
+        if (operands == null || operands.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessages.SUM_EMPTY_OPERANDS);
+        }
+        if (operands.size() > summationProperties.maxOperands()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.SUM_TOO_MANY_OPERANDS,
+                    summationProperties.maxOperands()));
+        }
+        for (BigDecimal operand : operands) {
+            if (operand == null) {
+                throw new IllegalArgumentException(ErrorMessages.SUM_NULL_OPERAND);
+            }
+        }
+    }
+
+    /**
+     * Suma los operandos, aplica el porcentaje y construye la respuesta
+     */
+    public SummationResponse buildResponse(SummationRequest request, CalculationService.PercentageResult percentageResult,
+                                           Deadline deadline) {
+        int operands = request.operands().size();
+
+        long startNanos = System.nanoTime();
+        BigDecimal sum = sum(request.operands());
+        long sumNanos = System.nanoTime() - startNanos;
+        record(operands, sumNanos);
+        log.debug("Suma de {} operandos calculada en {}us: {}", operands, TimeUnit.NANOSECONDS.toMicros(sumNanos), sum);
+
+        PercentageSnapshot snapshot = percentageResult.snapshot();
+        BigDecimal finalResult = calculationFormula.apply(sum, snapshot);
+
+        String message = calculationMapper.generateMessage(percentageResult.source());
+        SummationResponse response = calculationMapper.createSumResponse(
+                operands, sum, snapshot.value(), finalResult,
+                percentageResult.source(), percentageResult.ageMs(), snapshot.epoch(), deadline,
+                TimeUnit.NANOSECONDS.toMicros(sumNanos), message
+        );
+
+        log.info("Suma de {} operandos completada. Resultado: {}", operands, finalResult);
+        return response;
+    }
+
+    /**
+     * Suma exacta de los operandos, en paralelo desde el umbral configurado
+     */
+    BigDecimal sum(List<BigDecimal> operands) {
+        // Copia a un arreglo para que el reparto no dependa del tipo de lista
+        BigDecimal[] values = operands.toArray(BigDecimal[]::new);
+        if (values.length < summationProperties.parallelThreshold()) {
+            return sumRange(values, 0, values.length);
+        }
+        return ForkJoinPool.commonPool().invoke(
+                new SumTask(values, 0, values.length, Math.max(1, summationProperties.chunkSize())));
+    }
+
+    private static BigDecimal sumRange(BigDecimal[] values, int from, int to) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = from; i < to; i++) {
+            sum = sum.add(values[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Registra la cantidad de operandos y la latencia de la suma, agrupada por orden de magnitud
+     * de la cantidad de operandos para poder comparar la latencia según el tamaño de la lista
+     */
+    private void record(int operands, long sumNanos) {
+        operandsPerSum.record(operands);
+        latencyBySize.computeIfAbsent(sizeClass(operands), size -> Timer.builder("calculation.sum.latency")
+                        .description("Tiempo de la suma de N operandos según la cantidad de operandos")
+                        .tag("operands", size)
+                        .register(meterRegistry))
+                .record(sumNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Menor potencia de 10 mayor o igual a la cantidad de operandos ("10", "100", "1000"...)
+     */
+    static String sizeClass(int operands) {
+        long bound = 10;
+        while (bound < operands) {
+            bound *= 10;
+        }
+        return String.valueOf(bound);
+    }
+
+    /**
+     * Tarea fork-join que divide el rango por mitades hasta porciones de {@code chunkSize} operandos
+     */
+    private static final class SumTask extends RecursiveTask<BigDecimal> {
+
+        private final BigDecimal[] values;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        SumTask(BigDecimal[] values, int from, int to, int chunkSize) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected BigDecimal compute() {
+            if (to - from <= chunkSize) {
+                return sumRange(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(values, from, middle, chunkSize);
+            left.fork();
+            BigDecimal right = new SumTask(values, middle, to, chunkSize).compute();
+            return left.join().add(right);
+        }
+    }
+}
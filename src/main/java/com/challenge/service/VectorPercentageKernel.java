@@ -0,0 +1,73 @@
+package com.challenge.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación de {@link PercentageKernel} con la Vector API
+ *
+ * Procesa tantas posiciones por instrucción como quepan en el registro vectorial más ancho de la
+ * plataforma (8 con AVX-512, 4 con AVX2). La suma se hace sobre long y el producto y el redondeo
+ * sobre double, porque las instrucciones vectoriales no dividen enteros; el resultado es exacto
+ * dentro de {@link #maxAbsSum()}. Solo se carga si el módulo {@code jdk.incubator.vector} está
+ * presente (ver {@link PercentageKernel#forSnapshot(PercentageSnapshot)}).
+ */
+final class VectorPercentageKernel implements PercentageKernel {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = VectorSpecies.of(double.class, LONGS.vectorShape());
+
+    private final Parameters parameters;
+    private final double multiplier;
+    private final double divisor;
+    private final double half;
+
+    VectorPercentageKernel(Parameters parameters) {
+        this.parameters = parameters;
+        this.multiplier = parameters.multiplier();
+        this.divisor = parameters.divisor();
+        this.half = parameters.half();
+    }
+
+    /**
+     * Con un solo valor por registro la Vector API se ejecuta sin intrínsecos y es más lenta que la versión escalar
+     */
+    static boolean isSupported() {
+        return LONGS.length() > 1;
+    }
+
+    @Override
+    public void compute(long[] num1, long[] num2, long[] sums, long[] results, int length) {
+        long maxAbsSum = parameters.maxAbsSum();
+        int bound = LONGS.loopBound(length);
+        int i = 0;
+
+        for (; i < bound; i += LONGS.length()) {
+            LongVector sum = LongVector.fromArray(LONGS, num1, i).add(LongVector.fromArray(LONGS, num2, i));
+            sum.intoArray(sums, i);
+
+            // HALF_UP: se suma la mitad del divisor alejándose del cero y la conversión a long trunca hacia el cero
+            DoubleVector product = ((DoubleVector) sum.convert(VectorOperators.L2D, 0)).mul(multiplier);
+            DoubleVector offset = DoubleVector.broadcast(DOUBLES, half).blend(-half, product.lt(0));
+            LongVector rounded = (LongVector) product.add(offset).div(divisor).convert(VectorOperators.D2L, 0);
+            VectorMask<Long> outOfRange = sum.abs().compare(VectorOperators.GT, maxAbsSum);
+
+            rounded.blend(OUT_OF_RANGE, outOfRange).intoArray(results, i);
+        }
+
+        ScalarPercentageKernel.compute(parameters, num1, num2, sums, results, i, length);
+    }
+
+    @Override
+    public long maxAbsSum() {
+        return parameters.maxAbsSum();
+    }
+
+    @Override
+    public String name() {
+        return "vectorial (" + LONGS.length() + " x " + DOUBLES.elementSize() + " bits)";
+    }
+}
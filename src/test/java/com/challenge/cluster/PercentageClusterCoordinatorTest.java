@@ -0,0 +1,72 @@
+package com.challenge.cluster;
+
+import com.challenge.config.CacheConfig;
+import com.challenge.config.properties.AsyncProperties;
+import com.challenge.config.properties.ClusterProperties;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.challenge.service.PercentageSnapshotHolder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PercentageClusterCoordinator
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PercentageClusterCoordinator Tests")
+class PercentageClusterCoordinatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final PercentageSnapshotHolder percentageSnapshotHolder = new PercentageSnapshotHolder();
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PERCENTAGE_CACHE_NAME);
+
+    @Test
+    @DisplayName("Un seguidor debe guardar en el caché cada porcentaje difundido por el líder")
+    void shouldFillCacheWithReplicatedPercentage() {
+        PercentageClusterCoordinator coordinator = coordinator("percentage_updates");
+
+        coordinator.apply("{\"value\":12.5,\"epoch\":4,\"fetchedAt\":\"2025-09-01T10:00:00Z\"}");
+
+        assertEquals(new BigDecimal("12.5"), percentageSnapshotHolder.current().value());
+        assertEquals(new BigDecimal("12.5"), cacheManager.getCache(CacheConfig.PERCENTAGE_CACHE_NAME)
+                .get(CacheConfig.CURRENT_PERCENTAGE_KEY, BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar al arrancar un canal que no es un identificador simple")
+    void shouldRejectInvalidChannel() {
+        assertThrows(IllegalArgumentException.class, () -> coordinator("updates\"; DROP TABLE call_history; --"));
+        assertThrows(IllegalArgumentException.class, () -> coordinator("1updates"));
+        assertThrows(IllegalArgumentException.class, () -> coordinator("a".repeat(64)));
+        assertThrows(IllegalArgumentException.class, () -> coordinator(null));
+        assertDoesNotThrow(() -> coordinator("Percentage_Updates_2"));
+    }
+
+    private PercentageClusterCoordinator coordinator(String channel) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new PercentageClusterCoordinator(
+                new ClusterProperties(true, 7301001, channel, Duration.ofSeconds(5)),
+                new DataSourceProperties(), percentageSnapshotHolder, cacheManager, jdbcTemplate,
+                new JdbcConcurrencyLimiter(new AsyncProperties(1, 1, 1, 1), meterRegistry),
+                new ObjectMapper().findAndRegisterModules(), eventPublisher, meterRegistry);
+    }
+}
@@ -1,22 +1,47 @@
 package com.challenge.controller;
 
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.MediaTypes;
+import com.challenge.constants.RequestHeaders;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.BatchCalculationResponse;
 import com.challenge.dto.CalculationRequest;
 import com.challenge.dto.CalculationResponse;
+import com.challenge.dto.StreamCalculationSummary;
+import com.challenge.dto.SummationRequest;
+import com.challenge.dto.SummationResponse;
+import com.challenge.exception.IdempotencyKeyReusedException;
 import com.challenge.exception.PercentageUnavailableException;
 import com.challenge.service.CalculationService;
 import com.challenge.service.CallHistoryService;
+import com.challenge.service.IdempotencyService;
+import com.challenge.service.SensitivityGridService;
+import com.challenge.service.PercentageSnapshot;
+import com.challenge.service.StreamingCalculationService;
+import com.challenge.service.SummationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,9 +63,21 @@ class CalculationControllerTest {
     @MockBean
     private CalculationService calculationService;
 
+    @MockBean
+    private StreamingCalculationService streamingCalculationService;
+
     @MockBean
     private CallHistoryService callHistoryService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private SensitivityGridService sensitivityGridService;
+
+    @MockBean
+    private SummationService summationService;
+
     private CalculationRequest validRequest;
 
     @BeforeEach
@@ -54,11 +91,11 @@ class CalculationControllerTest {
         // Given
         CalculationResponse mockResponse = new CalculationResponse(
             new BigDecimal("100.0"), new BigDecimal("50.0"), new BigDecimal("150.0"),
-            new BigDecimal("15.0"), new BigDecimal("172.5"), "EXTERNAL_SERVICE",
+            new BigDecimal("15.0"), new BigDecimal("172.5"), "EXTERNAL_SERVICE", 0L, 1L, 2000L, 3L,
             "Calculo realizado exitosamente"
         );
 
-        when(calculationService.calculate(any(CalculationRequest.class)))
+        when(calculationService.calculate(any(CalculationRequest.class), any()))
             .thenReturn(mockResponse);
 
         // When & Then
@@ -75,10 +112,26 @@ class CalculationControllerTest {
                 .andExpect(jsonPath("$.percentageSource").value("EXTERNAL_SERVICE"))
                 .andExpect(jsonPath("$.message").exists());
 
-        verify(calculationService).calculate(any(CalculationRequest.class));
+        verify(calculationService).calculate(any(CalculationRequest.class), any());
         verify(callHistoryService).logCall(any(), any(), any(), anyLong(), eq(200));
     }
 
+    @Test
+    @DisplayName("El preflight CORS debe admitir solo los orígenes configurados")
+    void shouldApplyConfiguredCorsPolicy() throws Exception {
+        mockMvc.perform(options("/api/calculate")
+                .header("Origin", "http://localhost:3000")
+                .header("Access-Control-Request-Method", "POST"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:3000"))
+                .andExpect(header().string("Access-Control-Allow-Credentials", "true"));
+
+        mockMvc.perform(options("/api/calculate")
+                .header("Origin", "https://otro-sitio.example")
+                .header("Access-Control-Request-Method", "POST"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("POST /calculate debe retornar error de validación para números nulos")
     void shouldReturnValidationErrorForNullNumbers() throws Exception {
@@ -95,7 +148,7 @@ class CalculationControllerTest {
                 .andExpect(jsonPath("$.message").value("Errores de validación: {num2=El número 2 es obligatorio}"));
 
         // Los errores de validación se manejan en GlobalExceptionHandler, no en el controlador
-        verify(calculationService, never()).calculate(any(CalculationRequest.class));
+        verify(calculationService, never()).calculate(any(CalculationRequest.class), any());
         verify(callHistoryService, never()).logError(any(), any(), anyString(), anyLong(), anyInt());
     }
 
@@ -115,7 +168,7 @@ class CalculationControllerTest {
                 .andExpect(jsonPath("$.message").value("Errores de validación: {num1=El número 1 es obligatorio, num2=El número 2 es obligatorio}"));
 
         // Los errores de validación se manejan en GlobalExceptionHandler, no en el controlador
-        verify(calculationService, never()).calculate(any(CalculationRequest.class));
+        verify(calculationService, never()).calculate(any(CalculationRequest.class), any());
         verify(callHistoryService, never()).logError(any(), any(), anyString(), anyLong(), anyInt());
     }
 
@@ -123,7 +176,7 @@ class CalculationControllerTest {
     @DisplayName("POST /calculate debe manejar PercentageUnavailableException específicamente")
     void shouldHandlePercentageUnavailableExceptionSpecifically() throws Exception {
         // Given
-        when(calculationService.calculate(any(CalculationRequest.class)))
+        when(calculationService.calculate(any(CalculationRequest.class), any()))
             .thenThrow(new PercentageUnavailableException("Servicio externo y caché no disponibles"));
 
         // When & Then
@@ -147,7 +200,7 @@ class CalculationControllerTest {
                 .content("{\"invalid\": json}"))
                 .andExpect(status().isBadRequest());
 
-        verify(calculationService, never()).calculate(any());
+        verify(calculationService, never()).calculate(any(), any());
     }
 
 
@@ -158,11 +211,11 @@ class CalculationControllerTest {
         CalculationRequest precisionRequest = new CalculationRequest(new BigDecimal("100.123456789"), new BigDecimal("50.987654321"));
         CalculationResponse precisionResponse = new CalculationResponse(
             new BigDecimal("100.123456789"), new BigDecimal("50.987654321"), new BigDecimal("151.11111111"),
-            new BigDecimal("15.0"), new BigDecimal("173.78"), "EXTERNAL_SERVICE",
+            new BigDecimal("15.0"), new BigDecimal("173.78"), "EXTERNAL_SERVICE", 0L, 1L, 2000L, 3L,
             "Calculo realizado exitosamente"
         );
 
-        when(calculationService.calculate(any(CalculationRequest.class)))
+        when(calculationService.calculate(any(CalculationRequest.class), any()))
             .thenReturn(precisionResponse);
 
         // When & Then
@@ -173,6 +226,317 @@ class CalculationControllerTest {
                 .andExpect(jsonPath("$.num1").value(100.123456789))
                 .andExpect(jsonPath("$.num2").value(50.987654321));
 
-        verify(calculationService).calculate(any(CalculationRequest.class));
+        verify(calculationService).calculate(any(CalculationRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe propagar el presupuesto de latencia del cliente")
+    void shouldPropagateRequestTimeoutHeader() throws Exception {
+        // Given
+        CalculationResponse mockResponse = new CalculationResponse(
+            new BigDecimal("100.0"), new BigDecimal("50.0"), new BigDecimal("150.0"),
+            new BigDecimal("15.0"), new BigDecimal("172.5"), "EXTERNAL_SERVICE", 0L, 1L, 500L, 12L,
+            "Calculo realizado exitosamente"
+        );
+
+        when(calculationService.calculate(any(CalculationRequest.class), eq(500L)))
+            .thenReturn(mockResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate")
+                .header(RequestHeaders.REQUEST_TIMEOUT_MS, "500")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budgetMs").value(500))
+                .andExpect(jsonPath("$.budgetUsedMs").value(12));
+
+        verify(calculationService).calculate(any(CalculationRequest.class), eq(500L));
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe repetir la respuesta guardada para la clave de idempotencia")
+    void shouldReplayStoredResponseForIdempotencyKey() throws Exception {
+        // Given
+        byte[] stored = "{\"finalResult\":172.5}".getBytes(StandardCharsets.UTF_8);
+        when(idempotencyService.isEnabled()).thenReturn(true);
+        when(idempotencyService.execute(eq("clave-1"), any(CalculationRequest.class), any(Supplier.class)))
+            .thenReturn(new IdempotencyService.Result(stored, true));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate")
+                .header(RequestHeaders.IDEMPOTENCY_KEY, "clave-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(RequestHeaders.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(content().bytes(stored));
+
+        verify(calculationService, never()).calculate(any(), any());
+        verify(callHistoryService, never()).logCall(any(), any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe aceptar y responder CBOR sin perder la escala de los BigDecimal")
+    void shouldNegotiateCborWithExactDecimals() throws Exception {
+        // Given
+        CBORMapper cborMapper = new CBORMapper();
+        CalculationRequest request = new CalculationRequest(new BigDecimal("100.50"), new BigDecimal("200.75"));
+        CalculationResponse response = new CalculationResponse(
+            request.num1(), request.num2(), new BigDecimal("301.25"),
+            new BigDecimal("10"), new BigDecimal("331.38"), "EXTERNAL_SERVICE", 0L, 1L, null, null,
+            "Calculo realizado exitosamente"
+        );
+        when(calculationService.calculate(eq(request), any())).thenReturn(response);
+
+        // When & Then
+        byte[] body = mockMvc.perform(post("/api/calculate")
+                .contentType(MediaTypes.CBOR)
+                .accept(MediaTypes.CBOR)
+                .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(response, cborMapper.readValue(body, CalculationResponse.class));
+        assertTrue(body.length < objectMapper.writeValueAsBytes(response).length);
+
+        // Con cualquier formato aceptable JSON sigue siendo el predeterminado
+        mockMvc.perform(post("/api/calculate")
+                .contentType(MediaTypes.CBOR)
+                .accept(MediaType.ALL)
+                .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.finalResult").value(331.38));
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe repetir la respuesta guardada en Smile si el cliente no acepta JSON")
+    void shouldReplayStoredResponseAsSmile() throws Exception {
+        // Given
+        CalculationResponse response = new CalculationResponse(
+            new BigDecimal("100.0"), new BigDecimal("50.0"), new BigDecimal("150.0"),
+            new BigDecimal("15.0"), new BigDecimal("172.50"), "EXTERNAL_SERVICE", 0L, 1L, null, null,
+            "Calculo realizado exitosamente"
+        );
+        when(idempotencyService.isEnabled()).thenReturn(true);
+        when(idempotencyService.execute(eq("clave-1"), any(CalculationRequest.class), any(Supplier.class)))
+            .thenReturn(new IdempotencyService.Result(objectMapper.writeValueAsBytes(response), true));
+
+        // When & Then
+        byte[] body = mockMvc.perform(post("/api/calculate")
+                .header(RequestHeaders.IDEMPOTENCY_KEY, "clave-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.SMILE)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.SMILE))
+                .andExpect(header().string(RequestHeaders.IDEMPOTENT_REPLAYED, "true"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(response, new SmileMapper().readValue(body, CalculationResponse.class));
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe repetir la respuesta guardada en el formato de mayor calidad del Accept")
+    void shouldReplayStoredResponseInPreferredFormat() throws Exception {
+        // Given
+        CalculationResponse response = new CalculationResponse(
+            new BigDecimal("100.0"), new BigDecimal("50.0"), new BigDecimal("150.0"),
+            new BigDecimal("15.0"), new BigDecimal("172.50"), "EXTERNAL_SERVICE", 0L, 1L, null, null,
+            "Calculo realizado exitosamente"
+        );
+        when(idempotencyService.isEnabled()).thenReturn(true);
+        when(idempotencyService.execute(eq("clave-1"), any(CalculationRequest.class), any(Supplier.class)))
+            .thenReturn(new IdempotencyService.Result(objectMapper.writeValueAsBytes(response), true));
+
+        // When & Then: JSON se acepta, pero con menor calidad que CBOR
+        byte[] body = mockMvc.perform(post("/api/calculate")
+                .header(RequestHeaders.IDEMPOTENCY_KEY, "clave-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.1")
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.CBOR))
+                .andExpect(header().string(RequestHeaders.IDEMPOTENT_REPLAYED, "true"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(response, new CBORMapper().readValue(body, CalculationResponse.class));
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe responder en JSON y no fallar tras calcular si el Accept está mal formado")
+    void shouldReplayAsJsonForMalformedAccept() throws Exception {
+        // Given
+        byte[] stored = "{\"finalResult\":172.5}".getBytes(StandardCharsets.UTF_8);
+        when(idempotencyService.isEnabled()).thenReturn(true);
+        when(idempotencyService.execute(eq("clave-1"), any(CalculationRequest.class), any(Supplier.class)))
+            .thenReturn(new IdempotencyService.Result(stored, false));
+
+        // When & Then: la clave ya quedó guardada, un 400 haría que el reintento registre otro cálculo
+        mockMvc.perform(post("/api/calculate")
+                .header(RequestHeaders.IDEMPOTENCY_KEY, "clave-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, "application/json;q=")
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(stored));
+    }
+
+    @Test
+    @DisplayName("POST /calculate debe retornar 422 si la clave de idempotencia se reutiliza con otros parámetros")
+    void shouldReturnUnprocessableEntityForReusedIdempotencyKey() throws Exception {
+        // Given
+        when(idempotencyService.isEnabled()).thenReturn(true);
+        when(idempotencyService.execute(eq("clave-1"), any(CalculationRequest.class), any(Supplier.class)))
+            .thenThrow(new IdempotencyKeyReusedException("La clave de idempotencia ya se usó con otros parámetros"));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate")
+                .header(RequestHeaders.IDEMPOTENCY_KEY, "clave-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("IDEMPOTENCY_CONFLICT"));
+
+        verify(callHistoryService).logError(any(), any(), anyString(), anyLong(), eq(422));
+    }
+
+    @Test
+    @DisplayName("POST /calculate/batch debe retornar el resultado de cada cálculo y registrar una sola llamada")
+    void shouldReturnBatchResults() throws Exception {
+        // Given
+        BatchCalculationResponse mockResponse = new BatchCalculationResponse(
+            2, 1, 1, new BigDecimal("10.0"), "EXTERNAL_SERVICE", 0L, 1L, 2000L, 3L,
+            "Calculo realizado exitosamente",
+            List.of(
+                new BatchCalculationItem(0, new BigDecimal("100.0"), new BigDecimal("50.0"),
+                    new BigDecimal("150.0"), new BigDecimal("165.00"), null),
+                new BatchCalculationItem(1, new BigDecimal("1.0"), null, null, null, "Los números no pueden ser nulos"))
+        );
+
+        when(calculationService.calculateBatch(anyList(), any())).thenReturn(mockResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"num1\": 100.0, \"num2\": 50.0}, {\"num1\": 1.0}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].finalResult").value(165.0))
+                .andExpect(jsonPath("$.results[1].error").value("Los números no pueden ser nulos"));
+
+        verify(calculationService).calculateBatch(argThat(requests -> requests.size() == 2), any());
+        verify(callHistoryService, times(1)).logCall(any(), anyList(), any(), anyLong(), eq(200));
+    }
+
+    @Test
+    @DisplayName("POST /calculate/batch debe retornar 400 si el lote es inválido")
+    void shouldReturnBadRequestForInvalidBatch() throws Exception {
+        // Given
+        when(calculationService.calculateBatch(anyList(), any()))
+            .thenThrow(new IllegalArgumentException("El lote debe contener al menos un cálculo"));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El lote debe contener al menos un cálculo"));
+
+        verify(callHistoryService).logError(any(), anyList(), any(), anyLong(), eq(400));
+    }
+
+    @Test
+    @DisplayName("POST /calculate/grid debe retornar 400 si la grilla es inválida")
+    void shouldReturnBadRequestForInvalidGrid() throws Exception {
+        // Given
+        when(sensitivityGridService.prepare(any()))
+            .thenThrow(new IllegalArgumentException(ErrorMessages.GRID_PERCENTAGES_REQUIRED));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate/grid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"pairs\": [{\"num1\": 1, \"num2\": 2}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ErrorMessages.GRID_PERCENTAGES_REQUIRED));
+
+        verify(callHistoryService).logError(any(), any(), any(), anyLong(), eq(400));
+        verify(sensitivityGridService, never()).calculate(any(), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("POST /calculate/sum debe retornar la suma sin guardar los operandos en el historial")
+    void shouldReturnSumWithoutLoggingOperands() throws Exception {
+        // Given
+        SummationResponse mockResponse = new SummationResponse(3, new BigDecimal("150.25"),
+            new BigDecimal("15.0"), new BigDecimal("172.79"), "EXTERNAL_SERVICE", 0L, 1L, 2000L, 3L, 12L,
+            "Calculo realizado exitosamente");
+        when(summationService.calculate(any(SummationRequest.class), any())).thenReturn(mockResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operands\": [100.0, 50.0, 0.25]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operands").value(3))
+                .andExpect(jsonPath("$.sum").value(150.25))
+                .andExpect(jsonPath("$.finalResult").value(172.79));
+
+        verify(summationService).calculate(argThat(request -> request.operands().size() == 3), any());
+        verify(callHistoryService).logCall(any(), isNull(), eq(mockResponse), anyLong(), eq(200));
+    }
+
+    @Test
+    @DisplayName("POST /calculate/stream debe escribir los resultados con el porcentaje fijado en las cabeceras")
+    void shouldStreamResultsWithPinnedPercentage() throws Exception {
+        // Given
+        CalculationService.PercentageResult pinned = new CalculationService.PercentageResult(
+            PercentageSnapshot.of(new BigDecimal("10.0"), "EXTERNAL_SERVICE", Instant.now(), 4L), "EXTERNAL_SERVICE", 0L);
+        when(calculationService.pinPercentage(any())).thenReturn(pinned);
+        when(streamingCalculationService.calculate(any(BufferedReader.class), any(OutputStream.class), eq(pinned)))
+            .thenAnswer(invocation -> {
+                BufferedReader input = invocation.getArgument(0);
+                OutputStream output = invocation.getArgument(1);
+                long lines = input.lines().count();
+                output.write("{\"index\":0}\n".getBytes(StandardCharsets.UTF_8));
+                return new StreamCalculationSummary(lines, lines, 0, new BigDecimal("10.0"), "EXTERNAL_SERVICE", 4L, 1L, lines * 1000);
+            });
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"num1\": 1, \"num2\": 2}\n{\"num1\": 3, \"num2\": 4}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(RequestHeaders.PERCENTAGE, "10.0"))
+                .andExpect(header().string(RequestHeaders.PERCENTAGE_SOURCE, "EXTERNAL_SERVICE"))
+                .andExpect(header().string(RequestHeaders.PERCENTAGE_EPOCH, "4"))
+                .andExpect(content().string("{\"index\":0}\n"));
+
+        verify(callHistoryService, times(1)).logCall(any(),
+            isNull(), argThat(summary -> ((StreamCalculationSummary) summary).lines() == 2), anyLong(), eq(200));
+    }
+
+    @Test
+    @DisplayName("POST /calculate/stream debe retornar 503 sin leer la entrada si no hay porcentaje")
+    void shouldReturnServiceUnavailableWhenStreamCannotPinPercentage() throws Exception {
+        // Given
+        when(calculationService.pinPercentage(any()))
+            .thenThrow(new PercentageUnavailableException("Sin porcentaje"));
+
+        // When & Then
+        mockMvc.perform(post("/api/calculate/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"num1\": 1, \"num2\": 2}\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("CALCULATION_ERROR"));
+
+        verifyNoInteractions(streamingCalculationService);
+        verify(callHistoryService).logError(any(), isNull(), any(), anyLong(), eq(503));
     }
 }
@@ -0,0 +1,102 @@
+package com.challenge.dto;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la codificación de las respuestas en JSON, CBOR y Smile
+ *
+ * Mide escribir y leer una {@link CalculationResponse} y una página de 20 {@link CallHistoryResponse}
+ * con la misma configuración de Jackson en los tres formatos. El tamaño de cada cuerpo se imprime al
+ * iniciar. No forma parte de los tests. Se ejecuta con:
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.challenge.dto.ContentFormatBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private JavaType historyType;
+    private CalculationResponse calculation;
+    private List<CallHistoryResponse> history;
+    private byte[] calculationBytes;
+    private byte[] historyBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        historyType = mapper.getTypeFactory().constructCollectionType(List.class, CallHistoryResponse.class);
+
+        calculation = new CalculationResponse(new BigDecimal("100.50"), new BigDecimal("200.75"),
+                new BigDecimal("301.25"), new BigDecimal("10"), new BigDecimal("331.38"), "EXTERNAL_SERVICE",
+                1250L, 7L, 2000L, 3L, "Calculo realizado exitosamente");
+        history = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            history.add(new CallHistoryResponse((long) i, LocalDateTime.of(2025, 9, 2, 10, 30).plusSeconds(i),
+                    "/api/calculate", "POST", "{\"num1\":100.50,\"num2\":" + i + "}",
+                    "{\"finalResult\":331.38}", 200, 15L,
+                    "192.168.1.100"));
+        }
+        calculationBytes = mapper.writeValueAsBytes(calculation);
+        historyBytes = mapper.writerFor(historyType).writeValueAsBytes(history);
+        System.out.printf("%n%s: cálculo %d bytes, página de historial %d bytes%n",
+                format, calculationBytes.length, historyBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeCalculation() throws IOException {
+        return mapper.writeValueAsBytes(calculation);
+    }
+
+    @Benchmark
+    public CalculationResponse readCalculation() throws IOException {
+        return mapper.readValue(calculationBytes, CalculationResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeHistory() throws IOException {
+        return mapper.writerFor(historyType).writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public List<CallHistoryResponse> readHistory() throws IOException {
+        return mapper.readValue(historyBytes, historyType);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContentFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.challenge.formula;
+
+import com.challenge.constants.ErrorMessages;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CompiledFormula
+ */
+@DisplayName("CompiledFormula Tests")
+class CompiledFormulaTest {
+
+    private static final List<String> FORMULAS = List.of(
+            CompiledFormula.STANDARD,
+            "round(sum * round(1 + percentage / 100, 4), 2)",
+            "if(sum > 10000, round(sum * (multiplier - 0.02), 2), round(sum * multiplier, 2))",
+            "round(min(sum * multiplier, sum + 500), 2)",
+            "max(round(sum * multiplier, 2), sum + 1, 25)",
+            "-(-sum) / 3 + percentage * 2 - (1 - sum)",
+            "if(percentage >= 10, sum, if(sum != 0, 100 / sum, 0))");
+
+    @Test
+    @DisplayName("La fórmula compilada debe dar lo mismo que el árbol interpretado, en valor y en escala")
+    void compiledFormulaShouldMatchInterpreter() {
+        Random random = new Random(42);
+        for (String source : FORMULAS) {
+            CompiledFormula formula = CompiledFormula.compile(source);
+            for (String percentage : List.of("0", "10", "15.5", "-3.25", "33.33333")) {
+                BigDecimal value = new BigDecimal(percentage);
+                BigDecimal multiplier = BigDecimal.ONE.add(value.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP));
+                BoundFormula bound = formula.bind(value, multiplier);
+                for (int i = 0; i < 200; i++) {
+                    BigDecimal sum = BigDecimal.valueOf(random.nextLong(-5_000_000, 5_000_000), random.nextInt(5));
+                    assertEquals(formula.interpret(sum, value, multiplier), bound.apply(sum),
+                            source + " con p=" + percentage + " y sum=" + sum);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reconocer la fórmula estándar y aplicar topes, mínimos y tramos")
+    void shouldRecognizeStandardFormulaAndApplyRules() {
+        assertTrue(CompiledFormula.compile(" round( sum*multiplier ,2 ) ").isStandard());
+        assertFalse(CompiledFormula.compile("round(sum * multiplier, 3)").isStandard());
+
+        BigDecimal multiplier = new BigDecimal("1.1000");
+        BoundFormula standard = CompiledFormula.compile(CompiledFormula.STANDARD).bind(BigDecimal.TEN, multiplier);
+        assertEquals(new BigDecimal("331.38"), standard.apply(new BigDecimal("301.25")));
+
+        BoundFormula cap = CompiledFormula.compile("round(min(sum * multiplier, sum + 500), 2)").bind(BigDecimal.TEN, multiplier);
+        assertEquals(new BigDecimal("110.00"), cap.apply(new BigDecimal("100")));
+        assertEquals(new BigDecimal("10500.00"), cap.apply(new BigDecimal("10000")));
+
+        BoundFormula minimum = CompiledFormula.compile("max(round(sum * multiplier, 2), 25)").bind(BigDecimal.TEN, multiplier);
+        assertEquals(new BigDecimal("25"), minimum.apply(BigDecimal.ONE));
+        assertEquals(new BigDecimal("110.00"), minimum.apply(new BigDecimal("100")));
+
+        BoundFormula tiers = CompiledFormula.compile(
+                "if(sum > 10000, round(sum * (multiplier - 0.02), 2), round(sum * multiplier, 2))").bind(BigDecimal.TEN, multiplier);
+        assertEquals(new BigDecimal("11000.00"), tiers.apply(new BigDecimal("10000")));
+        assertEquals(new BigDecimal("21600.00"), tiers.apply(new BigDecimal("20000")));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar fórmulas inválidas indicando la posición del error")
+    void shouldRejectInvalidFormulasWithPosition() {
+        assertInvalid("round(sum * multiplier, 2", 26);
+        assertInvalid("sum * tax", 7);
+        assertInvalid("round(sum, 11)", 12);
+        assertInvalid("min(sum)", 8);
+        assertInvalid("sum +", 6);
+        assertInvalid("sum 2", 5);
+        assertInvalid("", 1);
+        assertInvalid("if(sum, 1, 2)", 7);
+    }
+
+    private void assertInvalid(String source, int position) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CompiledFormula.compile(source));
+        String prefix = String.format(ErrorMessages.FORMULA_INVALID, position, "");
+        assertTrue(exception.getMessage().startsWith(prefix), source + ": " + exception.getMessage());
+    }
+}
@@ -0,0 +1,109 @@
+package com.challenge.formula;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la fórmula del resultado final
+ *
+ * Compara el cálculo escrito a mano ({@code sum.multiply(multiplier).setScale(2, HALF_UP)}) con la
+ * fórmula estándar compilada, con la misma fórmula escrita calculando el multiplicador, con una
+ * fórmula por tramos y con el árbol interpretado. El tiempo es por suma. No forma parte de los
+ * tests. Se ejecuta con:
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.challenge.formula.FormulaBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(FormulaBenchmark.INPUTS)
+public class FormulaBenchmark {
+
+    static final int INPUTS = 1024;
+
+    private static final BigDecimal PERCENTAGE = new BigDecimal("15.5");
+    private static final BigDecimal MULTIPLIER = new BigDecimal("1.1550");
+
+    private final BigDecimal[] sums = new BigDecimal[INPUTS];
+    private final BigDecimal[] results = new BigDecimal[INPUTS];
+    private CompiledFormula standard;
+    private BoundFormula compiledStandard;
+    private BoundFormula compiledExplicit;
+    private BoundFormula compiledTiers;
+
+    @Setup
+    public void setup() {
+        // Sumas con centavos como las de /api/calculate
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            sums[i] = BigDecimal.valueOf(random.nextInt(200_000_000), 2);
+        }
+        standard = CompiledFormula.compile(CompiledFormula.STANDARD);
+        compiledStandard = standard.bind(PERCENTAGE, MULTIPLIER);
+        compiledExplicit = CompiledFormula.compile("round(sum * round(1 + percentage / 100, 4), 2)")
+                .bind(PERCENTAGE, MULTIPLIER);
+        compiledTiers = CompiledFormula.compile(
+                "if(sum > 1000000, round(sum * (multiplier - 0.02), 2), round(sum * multiplier, 2))")
+                .bind(PERCENTAGE, MULTIPLIER);
+    }
+
+    @Benchmark
+    public BigDecimal[] handWritten() {
+        for (int i = 0; i < INPUTS; i++) {
+            results[i] = sums[i].multiply(MULTIPLIER).setScale(2, RoundingMode.HALF_UP);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public BigDecimal[] compiledStandard() {
+        for (int i = 0; i < INPUTS; i++) {
+            results[i] = compiledStandard.apply(sums[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public BigDecimal[] compiledExplicitMultiplier() {
+        for (int i = 0; i < INPUTS; i++) {
+            results[i] = compiledExplicit.apply(sums[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public BigDecimal[] compiledTiers() {
+        for (int i = 0; i < INPUTS; i++) {
+            results[i] = compiledTiers.apply(sums[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public BigDecimal[] interpretedStandard() {
+        for (int i = 0; i < INPUTS; i++) {
+            results[i] = standard.interpret(sums[i], PERCENTAGE, MULTIPLIER);
+        }
+        return results;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FormulaBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
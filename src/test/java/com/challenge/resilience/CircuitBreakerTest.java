@@ -0,0 +1,114 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.CircuitBreakerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CircuitBreaker
+ */
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(50);
+    private static final Duration SLOW = Duration.ofMillis(900);
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties(
+            true, 50, 80, Duration.ofMillis(500), 10, 4, Duration.ofSeconds(10), 2);
+        circuitBreaker = new CircuitBreaker("test", properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("Debe permanecer cerrado mientras no se alcanza el mínimo de llamadas")
+    void shouldStayClosedBelowMinimumNumberOfCalls() {
+        recordFailures(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(-1, circuitBreaker.getFailureRate());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Debe abrirse al superar la tasa de fallos y rechazar llamadas")
+    void shouldOpenWhenFailureRateExceeded() {
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+        recordFailures(2);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Debe abrirse al superar la tasa de llamadas lentas")
+    void shouldOpenWhenSlowCallRateExceeded() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess(SLOW);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Debe pasar a semi-abierto tras la espera y cerrarse si las pruebas son exitosas")
+    void shouldCloseAfterSuccessfulHalfOpenProbes() {
+        recordFailures(4);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission(), "Solo se permiten las llamadas de prueba configuradas");
+
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Debe volver a abrirse si las llamadas de prueba fallan")
+    void shouldReopenAfterFailedHalfOpenProbes() {
+        recordFailures(4);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onError(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Debe devolver el permiso de una llamada de prueba cancelada")
+    void shouldReleasePermissionOfCancelledProbe() {
+        recordFailures(4);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.releasePermission();
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void recordFailures(int count) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.onError(FAST);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.HedgingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para HedgingPolicy
+ */
+@DisplayName("HedgingPolicy Tests")
+class HedgingPolicyTest {
+
+    private final HedgingPolicy hedgingPolicy = new HedgingPolicy(
+        new HedgingProperties(true, 0.9, Duration.ofMillis(20), Duration.ofMillis(500), 10, 5, 0.5, 2));
+
+    @Test
+    @DisplayName("Debe usar la espera máxima mientras no hay suficientes muestras")
+    void shouldUseMaxDelayBelowMinimumSamples() {
+        recordLatencies(10, 20, 30, 40);
+
+        assertEquals(Duration.ofMillis(500), hedgingPolicy.getHedgeDelay());
+    }
+
+    @Test
+    @DisplayName("Debe calcular el percentil sobre la ventana de latencias recientes")
+    void shouldUsePercentileOfRecentLatencies() {
+        recordLatencies(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+        assertEquals(Duration.ofMillis(90), hedgingPolicy.getHedgeDelay());
+
+        // Las muestras nuevas reemplazan a las más antiguas
+        recordLatencies(1, 1, 1, 1, 1, 1, 1, 1, 1);
+        assertEquals(Duration.ofMillis(20), hedgingPolicy.getHedgeDelay(), "Debe respetar la espera mínima");
+    }
+
+    @Test
+    @DisplayName("Debe limitar las coberturas al presupuesto acumulado")
+    void shouldLimitHedgesToBudget() {
+        assertTrue(hedgingPolicy.tryAcquireHedge());
+        assertTrue(hedgingPolicy.tryAcquireHedge());
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+
+        hedgingPolicy.onPrimaryRequest();
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+        hedgingPolicy.onPrimaryRequest();
+        assertTrue(hedgingPolicy.tryAcquireHedge());
+    }
+
+    private void recordLatencies(long... millis) {
+        for (long latency : millis) {
+            hedgingPolicy.recordLatency(Duration.ofMillis(latency));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.challenge.resilience;
+
+import com.challenge.config.properties.LoadBalancerProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para LatencyAwareLoadBalancer
+ */
+@DisplayName("LatencyAwareLoadBalancer Tests")
+class LatencyAwareLoadBalancerTest {
+
+    private static final URI FIRST = URI.create("http://first/percentage");
+    private static final URI SECOND = URI.create("http://second/percentage");
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+        new LoadBalancerProperties(Duration.ofSeconds(10), Duration.ZERO, 2,
+            Duration.ofSeconds(5), Duration.ofSeconds(15), 50, Duration.ofSeconds(10)),
+        List.of(FIRST, SECOND), clock::get, new Random(42));
+
+    @Test
+    @DisplayName("Debe preferir la instancia con menor latencia estimada")
+    void shouldPreferLowerLatency() {
+        Map<URI, Integer> calls = run(20, Map.of(FIRST, 300L, SECOND, 20L), Set.of());
+
+        assertTrue(calls.getOrDefault(FIRST, 0) <= 1, "La instancia lenta solo se prueba una vez: " + calls);
+    }
+
+    @Test
+    @DisplayName("Debe repartir según las peticiones en curso y olvidar latencias antiguas")
+    void shouldWeighOutstandingRequestsAndDecay() {
+        run(2, Map.of(FIRST, 30L, SECOND, 20L), Set.of());
+
+        // Con una petición en curso la instancia rápida (2 x 20ms) cuesta más que la lenta ociosa (30ms)
+        assertEquals(SECOND, loadBalancer.choose().getTarget());
+        assertEquals(FIRST, loadBalancer.choose().getTarget());
+
+        // La media se olvida con el tiempo
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(endpoint(FIRST).getLatencyEwma().toMillis() < 12);
+    }
+
+    @Test
+    @DisplayName("Debe expulsar la instancia con fallos seguidos y readmitirla gradualmente")
+    void shouldEjectAndGraduallyReinstate() {
+        // La instancia que falla responde antes: sin expulsión seguiría recibiendo tráfico
+        Map<URI, Integer> calls = run(10, Map.of(FIRST, 1L, SECOND, 20L), Set.of(FIRST));
+
+        LatencyAwareLoadBalancer.Endpoint failing = endpoint(FIRST);
+        assertEquals(2, calls.get(FIRST));
+        assertTrue(failing.isEjected());
+        assertEquals(1, failing.getEjections());
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertFalse(failing.isEjected());
+        assertEquals(0.1, failing.getWeight(), 1e-9);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(0.5, failing.getWeight(), 1e-9);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(1.0, failing.getWeight(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe prolongar la expulsión si la instancia vuelve a fallar durante el arranque lento")
+    void shouldExtendEjectionOnRepeatedFailures() {
+        run(10, Map.of(FIRST, 1L, SECOND, 20L), Set.of(FIRST));
+        LatencyAwareLoadBalancer.Endpoint failing = endpoint(FIRST);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertFalse(failing.isEjected());
+        for (int i = 0; i < 1000 && !failing.isEjected(); i++) {
+            run(1, Map.of(FIRST, 1L, SECOND, 20L), Set.of(FIRST));
+        }
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertTrue(failing.isEjected(), "La segunda expulsión dura el doble");
+        assertEquals(2, failing.getEjections());
+    }
+
+    @Test
+    @DisplayName("No debe expulsar más instancias que el porcentaje máximo")
+    void shouldRespectMaxEjectionPercent() {
+        run(10, Map.of(FIRST, 1L, SECOND, 20L), Set.of(FIRST, SECOND));
+
+        assertEquals(1, endpoint(FIRST).getEjections() + endpoint(SECOND).getEjections());
+        assertFalse(endpoint(FIRST).isEjected() && endpoint(SECOND).isEjected());
+    }
+
+    /**
+     * Simula intentos secuenciales con la latencia (ms) y el resultado de cada instancia
+     *
+     * @return Intentos recibidos por cada instancia
+     */
+    private Map<URI, Integer> run(int attempts, Map<URI, Long> latencies, Set<URI> failing) {
+        Map<URI, Integer> calls = new HashMap<>();
+        for (int i = 0; i < attempts; i++) {
+            LatencyAwareLoadBalancer.Endpoint chosen = loadBalancer.choose();
+            URI target = chosen.getTarget();
+            calls.merge(target, 1, Integer::sum);
+
+            Duration latency = Duration.ofMillis(latencies.get(target));
+            if (failing.contains(target)) {
+                chosen.onError(latency);
+            } else {
+                chosen.onSuccess(latency);
+            }
+        }
+        return calls;
+    }
+
+    private LatencyAwareLoadBalancer.Endpoint endpoint(URI target) {
+        return loadBalancer.getEndpoints().stream()
+            .filter(endpoint -> endpoint.getTarget().equals(target))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,194 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.CalculationJobProperties;
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.CalculationFileFormat;
+import com.challenge.dto.CalculationJobResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+import com.challenge.formula.CompiledFormula;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CalculationJobService
+ */
+@DisplayName("CalculationJobService Tests")
+class CalculationJobServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final PercentageSnapshot snapshot =
+            PercentageSnapshot.of(BigDecimal.valueOf(10), PercentageSources.EXTERNAL_SERVICE, Instant.now(), 3L);
+    private final CalculationService.PercentageResult percentageResult =
+            new CalculationService.PercentageResult(snapshot, PercentageSources.EXTERNAL_SERVICE, 0L);
+
+    private SimpleMeterRegistry meterRegistry;
+    private CalculationJobService calculationJobService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Porciones de 64 bytes para repartir incluso archivos pequeños entre varias tareas
+        calculationJobService = new CalculationJobService(new CalculationJobProperties(directory.toString(),
+                DataSize.ofBytes(64), 4, Duration.ofHours(1), Duration.ofMinutes(10)),
+                new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculationJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe calcular un CSV por porciones en paralelo conservando el orden de la entrada")
+    void shouldCalculateCsvInOrderAcrossChunks() throws Exception {
+        String input = "num1,num2\r\n" + IntStream.range(0, 500)
+                .mapToObj(i -> i + "." + (i % 100) + "," + (i * 3) + "\r\n")
+                .collect(Collectors.joining());
+
+        CalculationJobResponse created = calculationJobService.submit(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), CalculationFileFormat.CSV, percentageResult);
+        CalculationJobResponse completed = awaitCompletion(created.id());
+
+        assertEquals(CalculationJobResponse.Status.COMPLETED, completed.status());
+        assertEquals(500, completed.lines());
+        assertEquals(0, completed.failed());
+        assertEquals(100, completed.progress());
+        assertEquals(completed.inputBytes(), completed.processedBytes());
+        assertEquals(3L, completed.percentageEpoch());
+
+        List<String> lines = readResult(created.id());
+        assertEquals("num1,num2,sum,finalResult,error", lines.get(0));
+        for (int i = 0; i < 500; i++) {
+            BigDecimal num1 = new BigDecimal(i + "." + (i % 100));
+            BigDecimal sum = num1.add(BigDecimal.valueOf(i * 3L));
+            assertEquals(num1 + "," + (i * 3) + "," + sum + "," + snapshot.apply(sum) + ",", lines.get(i + 1));
+        }
+        assertEquals(1.0, meterRegistry.get("calculation.jobs").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe escribir lo mismo que BigDecimal tanto en punto fijo como fuera de su rango")
+    void shouldMatchBigDecimalInsideAndOutsideFixedPoint() throws Exception {
+        List<String> operands = List.of("0", "-0.00", "007.50", "-7.125", "0.0001", "-0.005", "12345678901.9999",
+                "99999999999", "123456789012.5", "1.23456", "1e3", "+5", ".5", "5.", "-12.3400", "78000000.01");
+        StringBuilder input = new StringBuilder();
+        for (String first : operands) {
+            for (String second : operands) {
+                input.append(first).append(',').append(second).append('\n');
+            }
+        }
+
+        CalculationJobResponse created = calculationJobService.submit(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)),
+                CalculationFileFormat.CSV, percentageResult);
+        CalculationJobResponse completed = awaitCompletion(created.id());
+        assertEquals(0, completed.failed());
+
+        List<String> lines = readResult(created.id());
+        int line = 1;
+        for (String first : operands) {
+            for (String second : operands) {
+                BigDecimal num1 = new BigDecimal(first);
+                BigDecimal num2 = new BigDecimal(second);
+                BigDecimal sum = num1.add(num2);
+                assertEquals(num1 + "," + num2 + "," + sum + "," + snapshot.apply(sum) + ",", lines.get(line++));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe informar las líneas NDJSON inválidas sin detener el trabajo")
+    void shouldReportInvalidNdjsonLines() throws Exception {
+        String input = """
+                {"num1": 5, "num2": 5}
+
+                {"num1": "abc", "num2": 1}
+                no es json
+                {"num1": 1}
+                {"num2": 200.75, "num1": "100.5"}""";
+
+        CalculationJobResponse created = calculationJobService.submit(
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(input.getBytes(StandardCharsets.UTF_8)))
+                        .cast(DataBuffer.class),
+                CalculationFileFormat.NDJSON, percentageResult).block();
+        assertNotNull(created);
+        CalculationJobResponse completed = awaitCompletion(created.id());
+
+        assertEquals(5, completed.lines());
+        assertEquals(3, completed.failed());
+        assertEquals(List.of(
+                "{\"num1\":5,\"num2\":5,\"sum\":10,\"finalResult\":11.00}",
+                "{\"num1\":null,\"num2\":null,\"error\":\"" + ErrorMessages.VALIDATION_INVALID_FORMAT + "\"}",
+                "{\"num1\":null,\"num2\":null,\"error\":\"" + ErrorMessages.VALIDATION_INVALID_JSON + "\"}",
+                "{\"num1\":1,\"num2\":null,\"error\":\"" + ErrorMessages.VALIDATION_REQUIRED_NUMBERS + "\"}",
+                "{\"num1\":100.5,\"num2\":200.75,\"sum\":301.25,\"finalResult\":331.38}"
+        ), readResult(created.id()));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un archivo vacío y eliminar los trabajos vencidos")
+    void shouldRejectEmptyFileAndPurgeExpiredJobs() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> calculationJobService.submit(
+                new ByteArrayInputStream(new byte[0]), CalculationFileFormat.CSV, percentageResult));
+
+        CalculationJobService expiring = new CalculationJobService(new CalculationJobProperties(directory.toString(),
+                DataSize.ofMegabytes(1), 1, Duration.ZERO, Duration.ofMinutes(10)),
+                new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)), meterRegistry);
+        try {
+            CalculationJobResponse created = expiring.submit(
+                    new ByteArrayInputStream("1,2\n".getBytes(StandardCharsets.UTF_8)), CalculationFileFormat.CSV, percentageResult);
+            while (expiring.getJob(created.id()).completedAt() == null) {
+                Thread.sleep(10);
+            }
+
+            expiring.purgeExpired();
+
+            assertThrows(CalculationJobNotFoundException.class, () -> expiring.getJob(created.id()));
+            try (var files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            expiring.shutdown();
+        }
+    }
+
+    private CalculationJobResponse awaitCompletion(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        CalculationJobResponse job = calculationJobService.getJob(id);
+        while (job.completedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = calculationJobService.getJob(id);
+        }
+        return job;
+    }
+
+    private List<String> readResult(String id) throws IOException {
+        return Files.readAllLines(calculationJobService.getResult(id).path(), StandardCharsets.UTF_8);
+    }
+}
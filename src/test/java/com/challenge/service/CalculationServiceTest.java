@@ -1,19 +1,33 @@
 package com.challenge.service;
 
+import com.challenge.config.properties.BatchProperties;
+import com.challenge.config.properties.DeadlineProperties;
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.BatchCalculationResponse;
 import com.challenge.dto.CalculationRequest;
 import com.challenge.dto.CalculationResponse;
 import com.challenge.exception.PercentageUnavailableException;
 import com.challenge.exception.ServiceException;
+import com.challenge.formula.CompiledFormula;
 import com.challenge.mapper.CalculationMapper;
+import com.challenge.resilience.Deadline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,9 +43,27 @@ class CalculationServiceTest {
     @Mock
     private PercentageService percentageService;
 
+    @Mock
+    private PercentageRefreshService percentageRefreshService;
+
+    @Mock
+    private PercentagePersistenceService percentagePersistenceService;
+
+    @Spy
+    private PercentageSnapshotHolder percentageSnapshotHolder = new PercentageSnapshotHolder();
+
     @Mock
     private CalculationMapper calculationMapper;
 
+    @Spy
+    private DeadlineProperties deadlineProperties = new DeadlineProperties(Duration.ofSeconds(2), Duration.ofSeconds(10));
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties(1000, 4);
+
+    @Spy
+    private CalculationFormula calculationFormula = new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD));
+
     @InjectMocks
     private CalculationService calculationService;
 
@@ -43,18 +75,24 @@ class CalculationServiceTest {
 
         lenient().when(calculationMapper.generateMessage(any(String.class))).thenReturn("Mensaje genérico");
 
-        lenient().when(calculationMapper.createResponse(any(), any(), any(), any(), any(), any()))
+        lenient().when(calculationMapper.createResponse(any(), any(), any(), any(), any(), any(), anyLong(), any(), any()))
             .thenAnswer(invocation -> {
                 CalculationRequest request = invocation.getArgument(0);
                 BigDecimal sum = invocation.getArgument(1);
                 BigDecimal percentage = invocation.getArgument(2);
                 BigDecimal finalResult = invocation.getArgument(3);
                 String source = invocation.getArgument(4);
-                String message = invocation.getArgument(5);
+                Long ageMs = invocation.getArgument(5);
+                long epoch = invocation.getArgument(6);
+                Deadline deadline = invocation.getArgument(7);
+                String message = invocation.getArgument(8);
 
                 return new CalculationResponse(
                     request.num1(), request.num2(), sum, percentage,
-                    finalResult, source, message
+                    finalResult, source, ageMs, epoch,
+                    deadline.isBounded() ? deadline.budget().toMillis() : null,
+                    deadline.isBounded() ? deadline.elapsed().toMillis() : null,
+                    message
                 );
             });
     }
@@ -64,7 +102,7 @@ class CalculationServiceTest {
     void shouldCalculateWithExternalServicePercentage() {
         // Given
         BigDecimal expectedPercentage = BigDecimal.valueOf(15.0);
-        when(percentageService.getPercentage()).thenReturn(expectedPercentage);
+        when(percentageService.getPercentage(any())).thenReturn(expectedPercentage);
         when(calculationMapper.generateMessage("EXTERNAL_SERVICE"))
             .thenReturn("Calculo realizado con porcentaje actualizado del servicio externo");
 
@@ -82,7 +120,7 @@ class CalculationServiceTest {
         assertNotNull(response.message());
         assertTrue(response.message().contains("servicio externo"));
 
-        verify(percentageService).getPercentage();
+        verify(percentageService).getPercentage(any());
     }
 
     @Test
@@ -90,7 +128,7 @@ class CalculationServiceTest {
     void shouldUseCacheWhenExternalServiceFails() {
         // Given
         BigDecimal cachedPercentage = BigDecimal.valueOf(12.0);
-        when(percentageService.getPercentage())
+        when(percentageService.getPercentage(any()))
             .thenThrow(new ServiceException("External service failed"));
         when(percentageService.getPercentageFromCache()).thenReturn(cachedPercentage);
         when(calculationMapper.generateMessage("CACHE"))
@@ -107,15 +145,54 @@ class CalculationServiceTest {
         assertEquals("CACHE", response.percentageSource());
         assertTrue(response.message().contains("caché"));
 
-        verify(percentageService).getPercentage();
+        verify(percentageService).getPercentage(any());
         verify(percentageService).getPercentageFromCache();
     }
 
+    @Test
+    @DisplayName("Debe usar el porcentaje persistido cuando el servicio externo falla y el caché está vacío")
+    void shouldUsePersistedPercentageWhenServiceFailsAndCacheIsEmpty() {
+        // Given
+        PercentageSnapshot persisted =
+            PercentageSnapshot.of(BigDecimal.valueOf(20.0), "PERSISTED", Instant.now().minusSeconds(3600), 4);
+        when(percentageService.getPercentage(any())).thenThrow(new ServiceException("Servicio no disponible"));
+        when(percentageService.getPercentageFromCache()).thenReturn(null);
+        when(percentagePersistenceService.getPersisted()).thenReturn(Optional.of(persisted));
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals(new BigDecimal("180.00"), response.finalResult());
+        assertEquals("PERSISTED", response.percentageSource());
+        assertEquals(4L, response.percentageEpoch());
+        assertTrue(response.percentageAgeMs() >= 3_600_000);
+    }
+
+    @Test
+    @DisplayName("Debe servir el porcentaje persistido tras un arranque en frío sin consultar en línea")
+    void shouldServePersistedPercentageOnColdStart() {
+        // Given
+        PercentageSnapshot persisted =
+            PercentageSnapshot.of(BigDecimal.valueOf(10.0), "PERSISTED", Instant.now().minusSeconds(60), 2);
+        when(percentageRefreshService.isEnabled()).thenReturn(true);
+        when(percentageRefreshService.getCurrent()).thenReturn(Optional.empty());
+        when(percentagePersistenceService.getPersisted()).thenReturn(Optional.of(persisted));
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals(new BigDecimal("165.00"), response.finalResult());
+        assertEquals("PERSISTED", response.percentageSource());
+        verify(percentageService, never()).getPercentage(any());
+    }
+
     @Test
     @DisplayName("Debe fallar cuando no hay caché disponible")
     void shouldFailWhenNoCacheAvailable() {
         // Given
-        when(percentageService.getPercentage())
+        when(percentageService.getPercentage(any()))
             .thenThrow(new ServiceException("External service failed"));
         when(percentageService.getPercentageFromCache()).thenReturn(null);
 
@@ -125,10 +202,103 @@ class CalculationServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("No se pudo obtener porcentaje"));
-        verify(percentageService).getPercentage();
+        verify(percentageService).getPercentage(any());
         verify(percentageService).getPercentageFromCache();
     }
 
+    @Test
+    @DisplayName("Debe usar el porcentaje refrescado sin consultar el servicio externo")
+    void shouldUseRefreshedPercentageWithoutCallingExternalService() {
+        // Given
+        PercentageSnapshot refreshed =
+            PercentageSnapshot.of(BigDecimal.valueOf(10.0), "EXTERNAL_SERVICE", Instant.now().minusSeconds(5), 7);
+        when(percentageRefreshService.isEnabled()).thenReturn(true);
+        when(percentageRefreshService.getCurrent()).thenReturn(Optional.of(refreshed));
+        when(percentageRefreshService.isOverdue(refreshed)).thenReturn(false);
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals(new BigDecimal("165.00"), response.finalResult());
+        assertEquals("REFRESHED", response.percentageSource());
+        assertTrue(response.percentageAgeMs() >= 5000);
+        assertEquals(7L, response.percentageEpoch());
+        verify(percentageService, never()).getPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Debe usar el porcentaje publicado sin refresco ni consulta en línea")
+    void shouldUsePublishedPercentageWhenRefreshIsDisabled() {
+        // Given
+        PercentageSnapshot published =
+            PercentageSnapshot.of(BigDecimal.valueOf(10.0), "EXTERNAL_SERVICE", Instant.now().minusSeconds(5), 2);
+        when(percentageRefreshService.getPublished()).thenReturn(Optional.of(published));
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals(new BigDecimal("165.00"), response.finalResult());
+        assertEquals("EXTERNAL_SERVICE", response.percentageSource());
+        assertTrue(response.percentageAgeMs() >= 5000);
+        assertEquals(2L, response.percentageEpoch());
+        verify(percentageService, never()).getPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Un nodo seguidor sin refresco no debe consultar el servicio externo en línea")
+    void shouldNotFetchInlineOnFollowerWhenRefreshIsDisabled() {
+        // Given
+        when(percentageRefreshService.isFollower()).thenReturn(true);
+        when(percentageService.getPercentageFromCache()).thenReturn(BigDecimal.valueOf(12.0));
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals(new BigDecimal("168.00"), response.finalResult());
+        assertEquals("CACHE", response.percentageSource());
+        verify(percentageService, never()).getPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Debe informar el porcentaje recibido por la suscripción activa")
+    void shouldReportStreamedPercentageWhenSubscriptionIsLive() {
+        // Given
+        PercentageSnapshot streamed =
+            PercentageSnapshot.of(BigDecimal.valueOf(10.0), "STREAM", Instant.now().minusSeconds(120), 3);
+        when(percentageRefreshService.isEnabled()).thenReturn(true);
+        when(percentageRefreshService.isLive()).thenReturn(true);
+        when(percentageRefreshService.getCurrent()).thenReturn(Optional.of(streamed));
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals(new BigDecimal("165.00"), response.finalResult());
+        assertEquals("STREAM", response.percentageSource());
+        assertEquals(3L, response.percentageEpoch());
+        verify(percentageService, never()).getPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Debe consultar en línea cuando no hay porcentaje local vigente")
+    void shouldFetchInlineWhenRefreshedPercentageIsMissing() {
+        // Given
+        when(percentageRefreshService.isEnabled()).thenReturn(true);
+        when(percentageRefreshService.getCurrent()).thenReturn(Optional.empty());
+        when(percentageService.getPercentage(any())).thenReturn(BigDecimal.valueOf(15.0));
+
+        // When
+        CalculationResponse response = calculationService.calculate(validRequest);
+
+        // Then
+        assertEquals("EXTERNAL_SERVICE", response.percentageSource());
+        assertEquals(0L, response.percentageAgeMs());
+        verify(percentageService).getPercentage(any());
+    }
+
     @Test
     @DisplayName("Debe validar números nulos")
     void shouldValidateNullNumbers() {
@@ -148,7 +318,7 @@ class CalculationServiceTest {
     void shouldHandleDecimalPrecision() {
         // Given
         CalculationRequest decimalRequest = new CalculationRequest(new BigDecimal("100.33"), new BigDecimal("200.67"));
-        when(percentageService.getPercentage()).thenReturn(BigDecimal.valueOf(10.5));
+        when(percentageService.getPercentage(any())).thenReturn(BigDecimal.valueOf(10.5));
 
         // When
         CalculationResponse response = calculationService.calculate(decimalRequest);
@@ -164,7 +334,7 @@ class CalculationServiceTest {
     void shouldHandleNegativeNumbers() {
         // Given
         CalculationRequest negativeRequest = new CalculationRequest(new BigDecimal("-50.0"), new BigDecimal("30.0"));
-        when(percentageService.getPercentage()).thenReturn(BigDecimal.valueOf(20.0));
+        when(percentageService.getPercentage(any())).thenReturn(BigDecimal.valueOf(20.0));
 
         // When
         CalculationResponse response = calculationService.calculate(negativeRequest);
@@ -179,7 +349,7 @@ class CalculationServiceTest {
     @DisplayName("Debe manejar porcentaje cero")
     void shouldHandleZeroPercentage() {
         // Given
-        when(percentageService.getPercentage()).thenReturn(BigDecimal.valueOf(0.0));
+        when(percentageService.getPercentage(any())).thenReturn(BigDecimal.valueOf(0.0));
 
         // When
         CalculationResponse response = calculationService.calculate(validRequest);
@@ -189,4 +359,69 @@ class CalculationServiceTest {
         assertEquals(new BigDecimal("0.0"), response.percentage());
         assertEquals(new BigDecimal("150.00"), response.finalResult());
     }
+
+    @Test
+    @DisplayName("Debe calcular un lote con una sola consulta del porcentaje")
+    void shouldCalculateBatchWithSinglePercentageLookup() {
+        // Given
+        List<CalculationRequest> requests = Arrays.asList(
+            validRequest,
+            new CalculationRequest(new BigDecimal("10.0"), null),
+            new CalculationRequest(new BigDecimal("1.0"), new BigDecimal("2.0")));
+        when(percentageService.getPercentage(any())).thenReturn(BigDecimal.valueOf(10.0));
+        when(calculationMapper.createBatchResponse(any(), any(), any(), any(), anyLong(), any(), any())).thenCallRealMethod();
+
+        // When
+        BatchCalculationResponse response = calculationService.calculateBatch(requests, null);
+
+        // Then
+        assertEquals(3, response.total());
+        assertEquals(2, response.succeeded());
+        assertEquals(1, response.failed());
+        assertEquals("EXTERNAL_SERVICE", response.percentageSource());
+        assertEquals(new BigDecimal("165.00"), response.results().get(0).finalResult());
+        assertEquals("Los números no pueden ser nulos", response.results().get(1).error());
+        assertNull(response.results().get(1).finalResult());
+        assertEquals(new BigDecimal("3.30"), response.results().get(2).finalResult());
+        verify(percentageService, times(1)).getPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Debe conservar el orden al calcular un lote en paralelo")
+    void shouldPreserveOrderWhenCalculatingBatchInParallel() {
+        // Given
+        List<CalculationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requests.add(new CalculationRequest(BigDecimal.valueOf(i), BigDecimal.valueOf(i)));
+        }
+        when(percentageService.getPercentage(any())).thenReturn(BigDecimal.valueOf(50.0));
+        when(calculationMapper.createBatchResponse(any(), any(), any(), any(), anyLong(), any(), any())).thenCallRealMethod();
+
+        // When
+        BatchCalculationResponse response = calculationService.calculateBatch(requests, null);
+
+        // Then
+        assertEquals(1000, response.succeeded());
+        for (int i = 0; i < 1000; i++) {
+            BatchCalculationItem item = response.results().get(i);
+            assertEquals(i, item.index());
+            assertEquals(BigDecimal.valueOf(i * 3L).setScale(2), item.finalResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar lotes vacíos o mayores al máximo")
+    void shouldRejectEmptyOrOversizedBatch() {
+        List<CalculationRequest> oversized = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            oversized.add(validRequest);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> calculationService.calculateBatch(List.of(), null));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> calculationService.calculateBatch(oversized, null));
+
+        assertEquals("El lote supera el máximo de 1000 cálculos", exception.getMessage());
+        verifyNoInteractions(percentageService);
+    }
 }
@@ -0,0 +1,148 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.AsyncProperties;
+import com.challenge.config.properties.CalculationJobProperties;
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.PercentageTimelineProperties;
+import com.challenge.dto.CalculationJobResponse;
+import com.challenge.dto.RecalculationJobResponse;
+import com.challenge.exception.CalculationJobNotFoundException;
+import com.challenge.formula.CompiledFormula;
+import com.challenge.repository.CalculationHistoryRow;
+import com.challenge.repository.CallHistoryRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para HistoryRecalculationJobService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HistoryRecalculationJobService Tests")
+class HistoryRecalculationJobServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 9, 1, 10, 0);
+
+    @Mock
+    private CallHistoryRepository callHistoryRepository;
+
+    @Mock
+    private PercentageTimelineService percentageTimelineService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HistoryRecalculationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobService = jobService(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe responder antes de recorrer el historial y publicar el resumen al terminar")
+    void shouldRecalculateInBackground() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(percentageTimelineService.percentageAt(any()))
+            .thenReturn(Optional.of(PercentageSnapshot.of(new BigDecimal("10.0"), "EXTERNAL_SERVICE", null, 1)));
+        when(callHistoryRepository.findSuccessfulCallsAfter(eq("/api/calculate"), eq(0L), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                release.await();
+                return List.of(new CalculationHistoryRow(1L, T0, "{\"num1\":100,\"num2\":50}",
+                    "{\"num1\":100,\"num2\":50,\"sum\":150,\"percentage\":10.0,\"finalResult\":165.00}"));
+            });
+
+        RecalculationJobResponse created = jobService.submit(null, null);
+
+        // El recorrido sigue bloqueado: la creación no lo espera
+        assertNull(created.completedAt());
+        assertNull(created.result());
+        release.countDown();
+
+        RecalculationJobResponse completed = awaitCompletion(created.id());
+        assertEquals(CalculationJobResponse.Status.COMPLETED, completed.status());
+        assertEquals(1, completed.processed());
+        assertEquals(1, completed.result().recalculated());
+        assertEquals(0, completed.result().changed());
+        assertEquals(1.0, meterRegistry.get("history.recalculation.jobs").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe marcar el trabajo como fallido si el recorrido falla")
+    void shouldFailJobWhenScanFails() throws Exception {
+        when(callHistoryRepository.findSuccessfulCallsAfter(any(), anyLong(), any(), any(), any()))
+            .thenThrow(new IllegalStateException("base de datos no disponible"));
+
+        RecalculationJobResponse failed = awaitCompletion(jobService.submit(T0, T0.plusDays(1)).id());
+
+        assertEquals(CalculationJobResponse.Status.FAILED, failed.status());
+        assertEquals("base de datos no disponible", failed.error());
+        assertNull(failed.result());
+        assertEquals(1.0, meterRegistry.get("history.recalculation.jobs").tag("outcome", "error").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango invertido sin crear el trabajo y eliminar los trabajos vencidos")
+    void shouldRejectInvertedRangeAndPurgeExpiredJobs() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(T0, T0.minusDays(1)));
+        verifyNoInteractions(callHistoryRepository);
+
+        HistoryRecalculationJobService expiring = jobService(Duration.ZERO);
+        try {
+            RecalculationJobResponse created = expiring.submit(T0, T0.plusDays(1));
+            while (expiring.getJob(created.id()).completedAt() == null) {
+                Thread.sleep(10);
+            }
+
+            expiring.purgeExpired();
+
+            assertThrows(CalculationJobNotFoundException.class, () -> expiring.getJob(created.id()));
+        } finally {
+            expiring.shutdown();
+        }
+    }
+
+    private HistoryRecalculationJobService jobService(Duration retention) {
+        HistoryRecalculationService recalculationService = new HistoryRecalculationService(callHistoryRepository,
+            percentageTimelineService, new JdbcConcurrencyLimiter(new AsyncProperties(1, 1, 1, 1), meterRegistry),
+            new PercentageTimelineProperties(true, 100, 100), new ObjectMapper(),
+            new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)));
+        return new HistoryRecalculationJobService(recalculationService, new CalculationJobProperties(
+            "unused", DataSize.ofMegabytes(1), 1, retention, Duration.ofMinutes(10)), meterRegistry);
+    }
+
+    private RecalculationJobResponse awaitCompletion(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        RecalculationJobResponse job = jobService.getJob(id);
+        while (job.completedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = jobService.getJob(id);
+        }
+        return job;
+    }
+}
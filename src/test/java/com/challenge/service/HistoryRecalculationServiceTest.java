@@ -0,0 +1,109 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.AsyncProperties;
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.PercentageTimelineProperties;
+import com.challenge.dto.RecalculationResponse;
+import com.challenge.formula.CompiledFormula;
+import com.challenge.repository.CalculationHistoryRow;
+import com.challenge.repository.CallHistoryRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para HistoryRecalculationService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HistoryRecalculationService Tests")
+class HistoryRecalculationServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 9, 1, 10, 0);
+
+    @Mock
+    private CallHistoryRepository callHistoryRepository;
+
+    @Mock
+    private PercentageTimelineService percentageTimelineService;
+
+    private CalculationFormula calculationFormula;
+    private HistoryRecalculationService recalculationService;
+
+    @BeforeEach
+    void setUp() {
+        calculationFormula = spy(new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)));
+        recalculationService = new HistoryRecalculationService(callHistoryRepository, percentageTimelineService,
+            new JdbcConcurrencyLimiter(new AsyncProperties(1, 1, 1, 1), new SimpleMeterRegistry()),
+            new PercentageTimelineProperties(true, 2, 100), new ObjectMapper(), calculationFormula);
+    }
+
+    @Test
+    @DisplayName("Debe recalcular cada llamada con el porcentaje vigente en su momento, por páginas")
+    void shouldRecalculateWithPercentageInEffect() {
+        when(percentageTimelineService.percentageAt(any())).thenReturn(Optional.empty());
+        when(percentageTimelineService.percentageAt(instant(T0)))
+            .thenReturn(Optional.of(PercentageSnapshot.of(new BigDecimal("10.0"), "EXTERNAL_SERVICE", null, 1)));
+        when(percentageTimelineService.percentageAt(instant(T0.plusMinutes(1))))
+            .thenReturn(Optional.of(PercentageSnapshot.of(new BigDecimal("12.5"), "EXTERNAL_SERVICE", null, 2)));
+
+        when(callHistoryRepository.findSuccessfulCallsAfter(eq("/api/calculate"), eq(0L), any(), any(), eq(Limit.of(2))))
+            .thenReturn(List.of(
+                row(1L, T0, "10.0", "165.00"),
+                // Registrado con un valor del caché que ya no regía
+                row(2L, T0.plusMinutes(1), "10.0", "165.00")));
+        when(callHistoryRepository.findSuccessfulCallsAfter(eq("/api/calculate"), eq(2L), any(), any(), eq(Limit.of(2))))
+            .thenReturn(List.of(row(3L, T0.minusDays(1), "10.0", "165.00")));
+
+        RecalculationResponse response = recalculationService.recalculate(null, null);
+
+        assertEquals(3, response.processed());
+        assertEquals(2, response.recalculated());
+        assertEquals(1, response.changed());
+        assertEquals(1, response.skipped());
+        assertEquals(1, response.differences().size());
+        assertEquals(2L, response.differences().get(0).id());
+        assertEquals(new BigDecimal("12.5"), response.differences().get(0).effectivePercentage());
+        assertEquals(new BigDecimal("168.75"), response.differences().get(0).recalculatedResult());
+        verify(percentageTimelineService).synchronize();
+        verify(callHistoryRepository, times(2)).findSuccessfulCallsAfter(any(), anyLong(), any(), any(), any());
+        // Los porcentajes históricos no desplazan la compilación del vigente
+        verify(calculationFormula, never()).bind(any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de fechas invertido")
+    void shouldRejectInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> recalculationService.recalculate(T0, T0.minusDays(1)));
+        verifyNoInteractions(callHistoryRepository);
+    }
+
+    private static CalculationHistoryRow row(Long id, LocalDateTime timestamp, String percentage, String finalResult) {
+        return new CalculationHistoryRow(id, timestamp,
+            "{\"num1\":100,\"num2\":50}",
+            "{\"num1\":100,\"num2\":50,\"sum\":150,\"percentage\":" + percentage + ",\"finalResult\":" + finalResult + "}");
+    }
+
+    private static Instant instant(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
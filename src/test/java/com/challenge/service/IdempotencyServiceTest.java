@@ -0,0 +1,219 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.AsyncProperties;
+import com.challenge.config.properties.IdempotencyProperties;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.entity.IdempotencyRecord;
+import com.challenge.exception.IdempotencyInProgressException;
+import com.challenge.exception.IdempotencyKeyReusedException;
+import com.challenge.repository.IdempotencyRecordRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para IdempotencyService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CalculationRequest request = new CalculationRequest(new BigDecimal("5"), new BigDecimal("5"));
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Debe repetir la respuesta original byte a byte sin volver a ejecutar la acción")
+    void shouldReplayStoredResponseWithoutExecutingAgain() {
+        IdempotencyService service = service(false, Duration.ofSeconds(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyService.Result first = service.execute("clave-1", request,
+                () -> Map.of("finalResult", executions.incrementAndGet()));
+        IdempotencyService.Result retry = service.execute("clave-1", request,
+                () -> Map.of("finalResult", executions.incrementAndGet()));
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertArrayEquals(first.body(), retry.body());
+        assertEquals(1, executions.get());
+        assertEquals(1.0, meterRegistry.get("calculation.idempotency.replays").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la clave reutilizada con otros parámetros")
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        IdempotencyService service = service(false, Duration.ofSeconds(1));
+        service.execute("clave-1", request, () -> "ok");
+
+        CalculationRequest other = new CalculationRequest(new BigDecimal("5"), new BigDecimal("6"));
+        assertThrows(IdempotencyKeyReusedException.class, () -> service.execute("clave-1", other, () -> "ok"));
+        assertThrows(IllegalArgumentException.class, () -> service.execute(" ", request, () -> "ok"));
+    }
+
+    @Test
+    @DisplayName("Debe liberar la clave si la acción falla para que el reintento calcule de nuevo")
+    void shouldReleaseKeyWhenActionFails() {
+        IdempotencyService service = service(false, Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> service.execute("clave-1", request, () -> {
+            throw new IllegalStateException("falla");
+        }));
+        IdempotencyService.Result retry = service.execute("clave-1", request, () -> "ok");
+
+        assertFalse(retry.replayed());
+        assertEquals("\"ok\"", new String(retry.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Un duplicado concurrente debe esperar a la petición original y recibir su respuesta")
+    void shouldMakeConcurrentDuplicateWaitForOriginal() throws Exception {
+        IdempotencyService service = service(false, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<IdempotencyService.Result> original = CompletableFuture.supplyAsync(() ->
+                service.execute("clave-1", request, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    awaitQuietly(release);
+                    return "ok";
+                }));
+        started.await();
+        CompletableFuture<IdempotencyService.Result> duplicate = CompletableFuture.supplyAsync(() ->
+                service.execute("clave-1", request, () -> {
+                    executions.incrementAndGet();
+                    return "duplicado";
+                }));
+        release.countDown();
+
+        assertArrayEquals(original.get().body(), duplicate.get().body());
+        assertTrue(duplicate.get().replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Debe responder en curso si la petición original no termina dentro de la espera máxima")
+    void shouldFailWhenOriginalDoesNotFinishInTime() throws Exception {
+        IdempotencyService service = service(false, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> service.execute("clave-1", request, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return "ok";
+        }));
+
+        // Duplicado reactivo mientras la original sigue en curso
+        started.await();
+        Mono<IdempotencyService.Result> duplicate = service.execute("clave-1", request, Mono.just("duplicado"));
+
+        assertThrows(IdempotencyInProgressException.class, duplicate::block);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Debe persistir la respuesta y repetirla desde la base de datos tras perder la memoria")
+    void shouldPersistAndReplayFromDatabase() {
+        IdempotencyService service = service(true, Duration.ofSeconds(1));
+        IdempotencyService.Result first = service.execute("clave-1", request, () -> "ok");
+
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).save(saved.capture());
+        assertEquals("\"ok\"", saved.getValue().getResponseBody());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(Instant.now()));
+
+        // Otra réplica (caché vacío) recibe el mismo reintento
+        when(repository.findById("clave-1")).thenReturn(Optional.of(saved.getValue()));
+        IdempotencyService.Result retry = service(true, Duration.ofSeconds(1))
+                .execute("clave-1", request, Mono.just("otro")).block();
+
+        assertNotNull(retry);
+        assertTrue(retry.replayed());
+        assertArrayEquals(first.body(), retry.body());
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("La versión reactiva no debe consultar ni persistir en el event loop")
+    void shouldKeepDatabaseAccessOffEventLoop() {
+        IdempotencyService service = service(true, Duration.ofSeconds(1));
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(repository.findById("clave-1")).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+        when(repository.save(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        // Hilo con el mismo nombre que los del event loop de Reactor Netty
+        Scheduler eventLoop = Schedulers.newSingle("reactor-http-nio");
+        try {
+            IdempotencyService.Result result = service.execute("clave-1", request, Mono.just("ok"))
+                    .subscribeOn(eventLoop)
+                    .block();
+
+            assertNotNull(result);
+            assertFalse(result.replayed());
+        } finally {
+            eventLoop.dispose();
+        }
+
+        assertEquals(2, threads.size());
+        assertTrue(threads.stream().noneMatch(thread -> thread.startsWith("reactor-http-nio")), threads::toString);
+    }
+
+    private IdempotencyService service(boolean persistenceEnabled, Duration waitTimeout) {
+        return new IdempotencyService(
+                new IdempotencyProperties(true, 100, Duration.ofHours(1), waitTimeout,
+                        persistenceEnabled, Duration.ofMinutes(10)),
+                repository,
+                new JdbcConcurrencyLimiter(new AsyncProperties(1, 1, 1, 1), meterRegistry),
+                objectMapper, meterRegistry);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
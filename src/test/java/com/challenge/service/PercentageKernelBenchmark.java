@@ -0,0 +1,88 @@
+package com.challenge.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del cálculo por lotes de los trabajos sobre archivos
+ *
+ * Compara {@link PercentageSnapshot#apply(BigDecimal)} línea a línea con las implementaciones
+ * escalar y vectorial de {@link PercentageKernel} sobre columnas de 1024 operandos en punto fijo.
+ * El tiempo es por cálculo (suma y porcentaje). No forma parte de los tests. Se ejecuta con:
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.challenge.service.PercentageKernelBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@OperationsPerInvocation(PercentageKernelBenchmark.INPUTS)
+public class PercentageKernelBenchmark {
+
+    static final int INPUTS = 1024;
+
+    private final BigDecimal[] decimal1 = new BigDecimal[INPUTS];
+    private final BigDecimal[] decimal2 = new BigDecimal[INPUTS];
+    private final BigDecimal[] decimalResults = new BigDecimal[INPUTS];
+    private final long[] num1 = new long[INPUTS];
+    private final long[] num2 = new long[INPUTS];
+    private final long[] sums = new long[INPUTS];
+    private final long[] results = new long[INPUTS];
+    private PercentageSnapshot snapshot;
+    private PercentageKernel scalar;
+    private PercentageKernel vector;
+
+    @Setup
+    public void setup() {
+        // Montos con centavos como los de un archivo de cálculos
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            decimal1[i] = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+            decimal2[i] = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+            num1[i] = decimal1[i].movePointRight(PercentageKernel.SCALE).longValueExact();
+            num2[i] = decimal2[i].movePointRight(PercentageKernel.SCALE).longValueExact();
+        }
+        snapshot = PercentageSnapshot.of(new BigDecimal("15.5"), "BENCHMARK", null, 1);
+        PercentageKernel.Parameters parameters = PercentageKernel.Parameters.of(snapshot.multiplier()).orElseThrow();
+        scalar = new ScalarPercentageKernel(parameters);
+        vector = PercentageKernel.vectorAvailable() ? new VectorPercentageKernel(parameters) : scalar;
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimal() {
+        for (int i = 0; i < INPUTS; i++) {
+            decimalResults[i] = snapshot.apply(decimal1[i].add(decimal2[i]));
+        }
+        return decimalResults;
+    }
+
+    @Benchmark
+    public long[] scalarKernel() {
+        scalar.compute(num1, num2, sums, results, INPUTS);
+        return results;
+    }
+
+    @Benchmark
+    public long[] vectorKernel() {
+        vector.compute(num1, num2, sums, results, INPUTS);
+        return results;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PercentageKernelBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.challenge.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests unitarios para las implementaciones de PercentageKernel
+ */
+@DisplayName("PercentageKernel Tests")
+class PercentageKernelTest {
+
+    // Longitud que no es múltiplo del número de valores por registro, para cubrir la cola escalar
+    private static final int LENGTH = 1027;
+
+    @Test
+    @DisplayName("La versión escalar debe dar el mismo resultado que BigDecimal")
+    void scalarKernelShouldMatchBigDecimal() {
+        assertMatchesBigDecimal(ScalarPercentageKernel::new);
+    }
+
+    @Test
+    @DisplayName("La versión vectorial debe dar el mismo resultado que BigDecimal")
+    void vectorKernelShouldMatchBigDecimal() {
+        assumeTrue(PercentageKernel.vectorAvailable(), "Vector API no disponible");
+        assertMatchesBigDecimal(VectorPercentageKernel::new);
+    }
+
+    @Test
+    @DisplayName("No debe crear un kernel si el multiplicador no cabe en punto fijo")
+    void shouldNotCreateKernelForHugeMultiplier() {
+        PercentageSnapshot huge = PercentageSnapshot.of(new BigDecimal("1E+20"), "TEST", null, 0);
+        PercentageSnapshot regular = PercentageSnapshot.of(new BigDecimal("15.5"), "TEST", null, 0);
+
+        assertTrue(PercentageKernel.forSnapshot(huge).isEmpty());
+        assertTrue(PercentageKernel.forSnapshot(regular).isPresent());
+    }
+
+    private void assertMatchesBigDecimal(Function<PercentageKernel.Parameters, PercentageKernel> factory) {
+        Random random = new Random(2025);
+        long[] num1 = new long[LENGTH];
+        long[] num2 = new long[LENGTH];
+        long[] sums = new long[LENGTH];
+        long[] results = new long[LENGTH];
+
+        for (int round = 0; round < 200; round++) {
+            BigDecimal percentage = switch (round % 4) {
+                // Sin porcentaje el multiplicador es 1: los empates son sumas terminadas en 50 diezmilésimas
+                case 0 -> BigDecimal.ZERO;
+                case 1 -> new BigDecimal("15.5");
+                // Porcentajes menores que -100 dan un multiplicador negativo
+                case 2 -> BigDecimal.valueOf(random.nextInt(200_000) - 150_000, random.nextInt(4));
+                default -> BigDecimal.valueOf(random.nextInt(2_000_000) - 100_000, random.nextInt(6));
+            };
+            PercentageSnapshot snapshot = PercentageSnapshot.of(percentage, "TEST", null, 0);
+            PercentageKernel kernel = factory.apply(PercentageKernel.Parameters.of(snapshot.multiplier()).orElseThrow());
+
+            for (int i = 0; i < LENGTH; i++) {
+                long magnitude = switch (i % 4) {
+                    case 0 -> 10_000L;
+                    case 1 -> 100_000_000L;
+                    case 2 -> 10_000_000_000_000L;
+                    default -> PercentageKernel.MAX_OPERAND;
+                };
+                num1[i] = random.nextLong() % magnitude;
+                num2[i] = i % 8 == 0 ? 50 - num1[i] % 100 : random.nextLong() % magnitude;
+            }
+
+            kernel.compute(num1, num2, sums, results, LENGTH);
+
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals(num1[i] + num2[i], sums[i]);
+                if (Math.abs(sums[i]) > kernel.maxAbsSum()) {
+                    assertEquals(PercentageKernel.OUT_OF_RANGE, results[i]);
+                    continue;
+                }
+                BigDecimal sum = BigDecimal.valueOf(sums[i], PercentageKernel.SCALE);
+                long result = results[i];
+                assertEquals(snapshot.apply(sum), BigDecimal.valueOf(result, 2),
+                        () -> "sum=" + sum + " percentage=" + percentage + " kernel=" + kernel.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.CircuitBreakerProperties;
+import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.config.properties.HedgingProperties;
+import com.challenge.config.properties.LoadBalancerProperties;
+import com.challenge.resilience.CircuitBreaker;
+import com.challenge.resilience.HedgingPolicy;
+import com.challenge.resilience.LatencyAwareLoadBalancer;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Balanceo entre varias instancias del servicio de porcentajes, simuladas con
+ * servidores WireMock con distintos perfiles de latencia y fallos
+ */
+@DisplayName("Percentage Load Balancing Integration Tests")
+class PercentageLoadBalancingIT {
+
+    private static final String PERCENTAGE_ENDPOINT = "/percentage";
+
+    private static WireMockServer fast;
+    private static WireMockServer slow;
+    private static WireMockServer flaky;
+    private static final WebClient webClient = WebClient.create();
+
+    @BeforeAll
+    static void startWireMocks() {
+        fast = new WireMockServer(options().dynamicPort());
+        slow = new WireMockServer(options().dynamicPort());
+        flaky = new WireMockServer(options().dynamicPort());
+        fast.start();
+        slow.start();
+        flaky.start();
+    }
+
+    @AfterAll
+    static void stopWireMocks() {
+        fast.stop();
+        slow.stop();
+        flaky.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        fast.resetAll();
+        slow.resetAll();
+        flaky.resetAll();
+        fast.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT)).willReturn(percentage(10.0).withFixedDelay(10)));
+        slow.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT)).willReturn(percentage(10.0).withFixedDelay(300)));
+
+        // Calentamiento: la primera petición a cada instancia incluye la conexión y no representa su latencia
+        for (WireMockServer server : List.of(fast, slow, flaky)) {
+            webClient.get().uri(server.baseUrl() + PERCENTAGE_ENDPOINT).retrieve().toBodilessEntity()
+                    .onErrorResume(ex -> Mono.empty())
+                    .block();
+            server.resetRequests();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe enviar casi todo el tráfico a la instancia más rápida")
+    void shouldPreferFastestEndpoint() {
+        LatencyAwareLoadBalancer loadBalancer = loadBalancer(Duration.ofSeconds(1), fast, slow);
+        PercentageService service = percentageService(loadBalancer);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(BigDecimal.valueOf(10.0), service.getPercentage());
+        }
+
+        int slowCalls = slow.getAllServeEvents().size();
+        // Un reparto equitativo le daría 10; solo recibe las pruebas tras olvidarse su latencia
+        assertTrue(slowCalls <= 4, "La instancia lenta solo debe probarse: " + slowCalls + " llamadas");
+        assertEquals(20 - slowCalls, fast.getAllServeEvents().size());
+    }
+
+    @Test
+    @DisplayName("Debe expulsar la instancia que falla y readmitirla al recuperarse")
+    void shouldEjectFailingEndpointAndReinstateIt() throws InterruptedException {
+        // La instancia que falla responde antes que la sana: solo la expulsión la aparta
+        flaky.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT)).willReturn(aResponse().withStatus(503)));
+        LatencyAwareLoadBalancer loadBalancer = loadBalancer(Duration.ZERO, fast, flaky);
+        PercentageService service = percentageService(loadBalancer);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(BigDecimal.valueOf(10.0), service.getPercentage());
+        }
+
+        LatencyAwareLoadBalancer.Endpoint flakyEndpoint = loadBalancer.getEndpoints().get(1);
+        assertEquals(2, flaky.getAllServeEvents().size());
+        assertTrue(flakyEndpoint.isEjected());
+        assertEquals(1, flakyEndpoint.getEjections());
+
+        // Recuperada y vencida la expulsión, vuelve a recibir tráfico durante el arranque lento
+        flaky.resetAll();
+        flaky.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT)).willReturn(percentage(10.0)));
+        Thread.sleep(2100);
+        for (int i = 0; i < 100 && flaky.getAllServeEvents().isEmpty(); i++) {
+            service.getPercentage();
+            Thread.sleep(20);
+        }
+
+        assertFalse(flakyEndpoint.isEjected());
+        assertFalse(flaky.getAllServeEvents().isEmpty(), "La instancia recuperada debe volver a recibir tráfico");
+    }
+
+    private static ResponseDefinitionBuilder percentage(double value) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"value\": " + value + "}");
+    }
+
+    private static LatencyAwareLoadBalancer loadBalancer(Duration failurePenalty, WireMockServer... servers) {
+        List<URI> targets = Arrays.stream(servers)
+                .map(server -> URI.create(server.baseUrl() + PERCENTAGE_ENDPOINT))
+                .toList();
+        return new LatencyAwareLoadBalancer(
+                new LoadBalancerProperties(Duration.ofSeconds(1), failurePenalty, 2,
+                        Duration.ofSeconds(2), Duration.ofSeconds(5), 50, Duration.ofSeconds(1)),
+                targets);
+    }
+
+    private static PercentageService percentageService(LatencyAwareLoadBalancer loadBalancer) {
+        ExternalServiceProperties properties = new ExternalServiceProperties(
+                fast.baseUrl(), null, Duration.ofSeconds(3), 2, Duration.ofMillis(100), null, null);
+        return new PercentageService(webClient, properties,
+                new CircuitBreaker("it", new CircuitBreakerProperties(false, 50, 100, Duration.ofSeconds(5), 4, 2, Duration.ofMinutes(1), 1)),
+                new HedgingPolicy(new HedgingProperties(false, 0.95, Duration.ofMillis(50), Duration.ofMillis(200), 100, 20, 0.1, 1)),
+                loadBalancer, new PercentageSnapshotHolder(), event -> { }, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,87 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.AsyncProperties;
+import com.challenge.config.properties.PercentagePersistenceProperties;
+import com.challenge.entity.PersistedPercentage;
+import com.challenge.repository.PersistedPercentageRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PercentagePersistenceService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PercentagePersistenceService Tests")
+class PercentagePersistenceServiceTest {
+
+    @Mock
+    private PersistedPercentageRepository repository;
+
+    private PercentageSnapshotHolder holder;
+    private PercentagePersistenceService persistenceService;
+
+    @BeforeEach
+    void setUp() {
+        holder = new PercentageSnapshotHolder();
+        persistenceService = new PercentagePersistenceService(
+            repository, holder,
+            new JdbcConcurrencyLimiter(new AsyncProperties(1, 1, 1, 1), new SimpleMeterRegistry()),
+            new PercentagePersistenceProperties(true, Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("Debe cargar al arrancar el porcentaje persistido conservando su época y antigüedad")
+    void shouldRestorePersistedPercentageAtStartup() {
+        Instant fetchedAt = Instant.now().minusSeconds(600);
+        when(repository.findById("current_percentage"))
+            .thenReturn(Optional.of(new PersistedPercentage("current_percentage", new BigDecimal("12.5"), 5, fetchedAt)));
+
+        persistenceService.afterSingletonsInstantiated();
+
+        PercentageSnapshot persisted = persistenceService.getPersisted().orElseThrow();
+        assertEquals(new BigDecimal("12.5"), persisted.value());
+        assertEquals(5, persisted.epoch());
+        assertEquals(fetchedAt, persisted.fetchedAt());
+
+        // Un valor nuevo del servicio externo reemplaza al persistido y continúa la numeración de épocas
+        assertEquals(6, holder.publish(new BigDecimal("13.0"), "EXTERNAL_SERVICE").epoch());
+        assertTrue(persistenceService.getPersisted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe descartar el porcentaje persistido que supera la antigüedad máxima")
+    void shouldDiscardExpiredPersistedPercentage() {
+        when(repository.findById("current_percentage"))
+            .thenReturn(Optional.of(new PersistedPercentage(
+                "current_percentage", new BigDecimal("12.5"), 5, Instant.now().minus(Duration.ofHours(2)))));
+
+        persistenceService.afterSingletonsInstantiated();
+
+        assertNull(holder.current());
+        assertTrue(persistenceService.getPersisted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe guardar cada porcentaje obtenido")
+    void shouldSaveFetchedPercentage() {
+        PercentageSnapshot snapshot = holder.publish(new BigDecimal("15.0"), "EXTERNAL_SERVICE");
+
+        persistenceService.save(snapshot);
+
+        verify(repository).save(new PersistedPercentage("current_percentage", new BigDecimal("15.0"), 1, snapshot.fetchedAt()));
+    }
+}
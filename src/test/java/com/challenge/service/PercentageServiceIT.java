@@ -1,19 +1,39 @@
 package com.challenge.service;
 
+import com.challenge.config.properties.CircuitBreakerProperties;
+import com.challenge.config.properties.HedgingProperties;
+import com.challenge.config.properties.LoadBalancerProperties;
+import com.challenge.exception.CircuitBreakerOpenException;
+import com.challenge.exception.DeadlineExceededException;
 import com.challenge.exception.ServiceException;
+import com.challenge.resilience.CircuitBreaker;
+import com.challenge.resilience.Deadline;
+import com.challenge.resilience.HedgingPolicy;
+import com.challenge.resilience.LatencyAwareLoadBalancer;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +53,15 @@ class PercentageServiceIT {
     @Autowired
     private PercentageService percentageService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private com.challenge.config.properties.ExternalServiceProperties externalServiceProperties;
+
     @TestConfiguration
     @EnableCaching
     @EnableAspectJAutoProxy
@@ -47,8 +76,12 @@ class PercentageServiceIT {
         public com.challenge.config.properties.ExternalServiceProperties externalServiceProperties() {
             return new com.challenge.config.properties.ExternalServiceProperties(
                 "http://localhost:9999",
+                null,
                 java.time.Duration.ofSeconds(3),
-                2
+                2,
+                java.time.Duration.ofMillis(100),
+                null,
+                null
             );
         }
 
@@ -59,13 +92,61 @@ class PercentageServiceIT {
                     .build();
         }
 
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public CircuitBreaker percentageCircuitBreaker() {
+            // Deshabilitado para que los tests de reintentos no abran el circuito entre sí
+            return new CircuitBreaker("test", circuitBreakerProperties(false));
+        }
+
+        @Bean
+        public HedgingPolicy percentageHedgingPolicy() {
+            return new HedgingPolicy(hedgingProperties(false));
+        }
+
+        @Bean
+        public LatencyAwareLoadBalancer percentageLoadBalancer() {
+            return singleEndpointLoadBalancer();
+        }
+
+        @Bean
+        public PercentageSnapshotHolder percentageSnapshotHolder() {
+            return new PercentageSnapshotHolder();
+        }
+
         @Bean
         public PercentageService percentageService(WebClient webClient,
-                                                   com.challenge.config.properties.ExternalServiceProperties props) {
-            return new PercentageService(webClient, props);
+                                                   com.challenge.config.properties.ExternalServiceProperties props,
+                                                   CircuitBreaker percentageCircuitBreaker,
+                                                   HedgingPolicy percentageHedgingPolicy,
+                                                   LatencyAwareLoadBalancer percentageLoadBalancer,
+                                                   PercentageSnapshotHolder percentageSnapshotHolder,
+                                                   ApplicationEventPublisher eventPublisher,
+                                                   MeterRegistry meterRegistry) {
+            return new PercentageService(webClient, props, percentageCircuitBreaker, percentageHedgingPolicy,
+                    percentageLoadBalancer, percentageSnapshotHolder, eventPublisher, meterRegistry);
         }
     }
 
+    private static CircuitBreakerProperties circuitBreakerProperties(boolean enabled) {
+        return new CircuitBreakerProperties(enabled, 50, 100, Duration.ofSeconds(5), 4, 2, Duration.ofMinutes(1), 1);
+    }
+
+    private static LatencyAwareLoadBalancer singleEndpointLoadBalancer() {
+        return new LatencyAwareLoadBalancer(
+                new LoadBalancerProperties(Duration.ofSeconds(10), Duration.ofSeconds(1), 3,
+                        Duration.ofSeconds(10), Duration.ofMinutes(2), 50, Duration.ofSeconds(30)),
+                List.of(URI.create("http://localhost:9999" + PERCENTAGE_ENDPOINT)));
+    }
+
+    private static HedgingProperties hedgingProperties(boolean enabled) {
+        return new HedgingProperties(enabled, 0.95, Duration.ofMillis(50), Duration.ofMillis(200), 100, 20, 0.1, 1);
+    }
+
     @BeforeAll
     static void startWireMock() {
         wireMockServer = new WireMockServer(9999);
@@ -246,4 +327,142 @@ class PercentageServiceIT {
         assertNotNull(cachedValue, "El valor en caché debería existir después de refrescar");
         assertEquals(BigDecimal.valueOf(30.0), cachedValue);
     }
+
+    @Test
+    @DisplayName("Debe compartir una sola consulta externa entre llamadas concurrentes")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": 18.0}")
+                        .withFixedDelay(500)));
+
+        double callersBefore = meterRegistry.get("percentage.fetch.callers").summary().totalAmount();
+        int concurrentCallers = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrentCallers);
+        try {
+            List<Future<BigDecimal>> results = new ArrayList<>();
+            for (int i = 0; i < concurrentCallers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return percentageService.getPercentage();
+                }));
+            }
+            start.countDown();
+
+            for (Future<BigDecimal> result : results) {
+                assertEquals(BigDecimal.valueOf(18.0), result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo(PERCENTAGE_ENDPOINT)));
+        assertEquals(concurrentCallers,
+                meterRegistry.get("percentage.fetch.callers").summary().totalAmount() - callersBefore);
+    }
+
+    @Test
+    @DisplayName("Debe dejar de llamar al servicio externo cuando el circuito está abierto")
+    void shouldSkipExternalServiceWhenCircuitIsOpen() {
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(503)
+                        .withBody("{\"error\": \"Service down\"}")));
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("it", circuitBreakerProperties(true));
+        PercentageService service = new PercentageService(webClient, externalServiceProperties, circuitBreaker,
+                new HedgingPolicy(hedgingProperties(false)), singleEndpointLoadBalancer(),
+                new PercentageSnapshotHolder(), event -> { }, new SimpleMeterRegistry());
+
+        // Los dos primeros intentos fallan y abren el circuito; el reintento restante se rechaza
+        assertThrows(CircuitBreakerOpenException.class, service::getPercentage);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo(PERCENTAGE_ENDPOINT)));
+
+        assertThrows(CircuitBreakerOpenException.class, service::getPercentage);
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo(PERCENTAGE_ENDPOINT)));
+    }
+
+    @Test
+    @DisplayName("Debe enviar una petición de cobertura y usarla cuando la principal se demora")
+    void shouldHedgeSlowRequest() {
+        // La primera petición se demora; la cobertura responde de inmediato
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT))
+                .inScenario("hedging")
+                .whenScenarioStateIs(com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED)
+                .willSetStateTo("fast")
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": 10.0}")
+                        .withFixedDelay(2000)));
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT))
+                .inScenario("hedging")
+                .whenScenarioStateIs("fast")
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": 12.0}")));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PercentageService service = new PercentageService(webClient, externalServiceProperties,
+                new CircuitBreaker("it", circuitBreakerProperties(false)),
+                new HedgingPolicy(hedgingProperties(true)), singleEndpointLoadBalancer(),
+                new PercentageSnapshotHolder(), event -> { }, registry);
+
+        long start = System.nanoTime();
+        BigDecimal result = service.getPercentage();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(BigDecimal.valueOf(12.0), result);
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "La cobertura debe evitar esperar a la principal: " + elapsed);
+        assertEquals(1, registry.get("percentage.hedge.fired").counter().count());
+        assertEquals(1, registry.get("percentage.hedge.won").counter().count());
+
+        // El presupuesto (máximo 1) quedó agotado: la siguiente petición lenta no se cubre
+        wireMockServer.setScenarioState("hedging", com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED);
+        assertEquals(BigDecimal.valueOf(10.0), service.getPercentage());
+        assertEquals(1, registry.get("percentage.hedge.fired").counter().count());
+        assertEquals(1, registry.get("percentage.hedge.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe omitir el reintento cuando no cabe en el presupuesto de la petición")
+    void shouldSkipRetryThatDoesNotFitInDeadline() {
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(503)
+                        .withBody("{\"error\": \"Service down\"}")));
+
+        long start = System.nanoTime();
+        assertThrows(ServiceException.class,
+                () -> percentageService.getPercentage(Deadline.after(Duration.ofMillis(300))));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // El backoff de 500ms no cabe en 300ms: un único intento y falla sin esperar
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo(PERCENTAGE_ENDPOINT)));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(400)) < 0, "Debe fallar dentro del presupuesto: " + elapsed);
+    }
+
+    @Test
+    @DisplayName("Debe cortar la consulta lenta al agotarse el presupuesto de la petición")
+    void shouldAbortSlowCallWhenDeadlineExpires() {
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"value\": 10.0}")
+                        .withFixedDelay(2000)));
+
+        long start = System.nanoTime();
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> percentageService.getPercentage(Deadline.after(Duration.ofMillis(300))));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertInstanceOf(DeadlineExceededException.class, exception);
+        assertTrue(elapsed.compareTo(Duration.ofMillis(800)) < 0, "No debe esperar al servicio lento: " + elapsed);
+    }
 }
@@ -0,0 +1,87 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.CircuitBreakerProperties;
+import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.config.properties.HedgingProperties;
+import com.challenge.config.properties.LoadBalancerProperties;
+import com.challenge.resilience.CircuitBreaker;
+import com.challenge.resilience.Deadline;
+import com.challenge.resilience.HedgingPolicy;
+import com.challenge.resilience.LatencyAwareLoadBalancer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PercentageService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PercentageService Tests")
+class PercentageServiceTest {
+
+    private static final int CALLS = 20;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private PercentageService percentageService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Cada consulta responde un valor distinto en otro hilo, como el event loop del cliente HTTP
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.delay(Duration.ofMillis(1))
+                        .map(tick -> ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"value\": " + (10 + upstreamCalls.incrementAndGet()) + "}")
+                                .build()))
+                .build();
+
+        percentageService = new PercentageService(webClient,
+                new ExternalServiceProperties("http://percentage", null, Duration.ofSeconds(1), 0,
+                        Duration.ofMillis(10), null, null),
+                new CircuitBreaker("test", new CircuitBreakerProperties(false, 50, 100, Duration.ofSeconds(5), 4, 2,
+                        Duration.ofMinutes(1), 1)),
+                new HedgingPolicy(new HedgingProperties(false, 0.95, Duration.ofMillis(50), Duration.ofMillis(200),
+                        100, 20, 0.1, 1)),
+                new LatencyAwareLoadBalancer(
+                        new LoadBalancerProperties(Duration.ofSeconds(10), Duration.ofSeconds(1), 3,
+                                Duration.ofSeconds(10), Duration.ofMinutes(2), 50, Duration.ofSeconds(30)),
+                        List.of(URI.create("http://percentage/percentage"))),
+                new PercentageSnapshotHolder(), eventPublisher, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Las llamadas sucesivas deben consultar cada una el servicio externo")
+    void shouldFetchAgainAfterPreviousFetchCompleted() {
+        for (int call = 1; call <= CALLS; call++) {
+            // Una llamada que llega tras la anterior no debe recibir el valor ya entregado
+            assertEquals(BigDecimal.valueOf(10 + call), percentageService.getPercentage(Deadline.none()));
+        }
+
+        assertEquals(CALLS, upstreamCalls.get());
+        assertEquals(CALLS, meterRegistry.get("percentage.fetch.callers").summary().count());
+    }
+}
@@ -0,0 +1,113 @@
+package com.challenge.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la aritmética del cálculo (suma y porcentaje)
+ *
+ * Compara la fórmula original por petición, {@link PercentageSnapshot#apply(BigDecimal)} con el
+ * multiplicador precalculado y una variante en punto fijo sobre long que lee el valor sin escala
+ * de cada operando. No forma parte de los tests. Se ejecuta con:
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.challenge.service.PercentageSnapshotBenchmark"
+ * </pre>
+ * La columna gc.alloc.rate.norm indica los bytes reservados por cálculo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PercentageSnapshotBenchmark {
+
+    private static final int INPUTS = 1024;
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final long[] LONG_TEN_POWERS = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L};
+
+    private final BigDecimal[] num1 = new BigDecimal[INPUTS];
+    private final BigDecimal[] num2 = new BigDecimal[INPUTS];
+    private final BigDecimal percentage = new BigDecimal("15.5");
+    private PercentageSnapshot snapshot;
+    private int next;
+
+    @Setup
+    public void setup() {
+        // Montos con centavos como los que llegan en /api/calculate
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            num1[i] = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+            num2[i] = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+        }
+        snapshot = PercentageSnapshot.of(percentage, "BENCHMARK", null, 1);
+    }
+
+    /**
+     * Fórmula original: división a escala 4, multiplicación, suma y redondeo en cada petición
+     */
+    @Benchmark
+    public BigDecimal original() {
+        int index = next++ & (INPUTS - 1);
+        BigDecimal sum = num1[index].add(num2[index]);
+        return sum.add(sum.multiply(percentage.divide(ONE_HUNDRED, 4, RoundingMode.HALF_UP)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal snapshot() {
+        int index = next++ & (INPUTS - 1);
+        return snapshot.apply(num1[index].add(num2[index]));
+    }
+
+    @Benchmark
+    public BigDecimal scaledLong() {
+        int index = next++ & (INPUTS - 1);
+        BigDecimal sum = num1[index].add(num2[index]);
+        BigDecimal result = multiplyScaled(sum, snapshot.multiplier());
+        return result != null ? result : snapshot.apply(sum);
+    }
+
+    /**
+     * Producto redondeado HALF_UP a 2 decimales en punto fijo, o null si los operandos no caben.
+     * BigDecimal no expone su valor sin escala sin reservar un BigInteger; con hasta 15 dígitos
+     * se recupera exacto desde doubleValue(), que no reserva memoria.
+     */
+    private static BigDecimal multiplyScaled(BigDecimal a, BigDecimal b) {
+        int scale = a.scale() + b.scale();
+        if (a.scale() < 0 || b.scale() < 0 || a.scale() >= LONG_TEN_POWERS.length || b.scale() >= LONG_TEN_POWERS.length
+                || scale < 2 || scale - 2 >= LONG_TEN_POWERS.length || a.precision() > 15 || b.precision() > 15) {
+            return null;
+        }
+        long unscaledA = Math.round(a.doubleValue() * LONG_TEN_POWERS[a.scale()]);
+        long unscaledB = Math.round(b.doubleValue() * LONG_TEN_POWERS[b.scale()]);
+        long product = unscaledA * unscaledB;
+        if (Math.multiplyHigh(unscaledA, unscaledB) != (product >> 63)) {
+            return null;
+        }
+        long divisor = LONG_TEN_POWERS[scale - 2];
+        long quotient = product / divisor;
+        long remainder = Math.abs(product % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(product);
+        }
+        return BigDecimal.valueOf(quotient, 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PercentageSnapshotBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
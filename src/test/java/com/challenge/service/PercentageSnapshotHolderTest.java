@@ -0,0 +1,84 @@
+package com.challenge.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PercentageSnapshotHolder y PercentageSnapshot
+ */
+@DisplayName("PercentageSnapshotHolder Tests")
+class PercentageSnapshotHolderTest {
+
+    private final PercentageSnapshotHolder holder = new PercentageSnapshotHolder();
+
+    @Test
+    @DisplayName("Debe incrementar la época solo cuando cambia el valor")
+    void shouldIncrementEpochOnlyWhenValueChanges() {
+        assertNull(holder.current());
+
+        assertEquals(1, holder.publish(new BigDecimal("10.0"), "EXTERNAL_SERVICE").epoch());
+        assertEquals(1, holder.publish(new BigDecimal("10.00"), "EXTERNAL_SERVICE").epoch());
+        assertEquals(2, holder.publish(new BigDecimal("12.5"), "EXTERNAL_SERVICE").epoch());
+        assertEquals(new BigDecimal("12.5"), holder.current().value());
+    }
+
+    @Test
+    @DisplayName("Debe devolver un snapshot no publicado si el valor no coincide con el vigente")
+    void shouldReturnUnpublishedSnapshotForDifferentValue() {
+        holder.publish(new BigDecimal("10.0"), "EXTERNAL_SERVICE");
+
+        assertEquals(1, holder.snapshotFor(new BigDecimal("10.0"), "CACHE").epoch());
+
+        PercentageSnapshot other = holder.snapshotFor(new BigDecimal("20.0"), "CACHE");
+        assertEquals(0, other.epoch());
+        assertNull(other.age());
+    }
+
+    @Test
+    @DisplayName("El multiplicador precalculado debe dar el mismo resultado que el cálculo original")
+    void shouldMatchOriginalCalculation() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal sum = BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(9));
+            BigDecimal percentage = BigDecimal.valueOf(random.nextInt(200_000) - 100_000, random.nextInt(5));
+
+            BigDecimal expected = sum.add(sum.multiply(percentage.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP)))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(expected, PercentageSnapshot.of(percentage, "TEST", null, 0).apply(sum),
+                    () -> "sum=" + sum + " percentage=" + percentage);
+        }
+    }
+
+    @Test
+    @DisplayName("El multiplicador precalculado debe coincidir en empates, signos y magnitudes extremas")
+    void shouldMatchOriginalCalculationOnEdgeCases() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal sum = switch (i % 3) {
+                // Exactamente a mitad de camino entre dos centavos
+                case 0 -> BigDecimal.valueOf(random.nextLong() % 1_000_000_000L * 10 + (random.nextBoolean() ? 5 : -5), 3);
+                // Magnitudes que no caben en long
+                case 1 -> new BigDecimal(new BigInteger(96, random).negate().add(new BigInteger(95, random)), random.nextInt(20));
+                // Escalas negativas (1E+3)
+                default -> BigDecimal.valueOf(random.nextInt(), -random.nextInt(6));
+            };
+            BigDecimal percentage = i % 3 == 0 && random.nextBoolean()
+                    ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(random.nextInt(200_000) - 100_000, random.nextInt(6));
+
+            BigDecimal expected = sum.add(sum.multiply(percentage.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP)))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(expected, PercentageSnapshot.of(percentage, "TEST", null, 0).apply(sum),
+                    () -> "sum=" + sum + " percentage=" + percentage);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.challenge.service;
+
+import com.challenge.cluster.PercentageClusterCoordinator;
+import com.challenge.config.CacheConfig;
+import com.challenge.config.properties.CircuitBreakerProperties;
+import com.challenge.config.properties.ExternalServiceProperties;
+import com.challenge.config.properties.HedgingProperties;
+import com.challenge.config.properties.LoadBalancerProperties;
+import com.challenge.config.properties.PercentageRefreshProperties;
+import com.challenge.config.properties.SubscriptionProperties;
+import com.challenge.constants.PercentageSources;
+import com.challenge.resilience.CircuitBreaker;
+import com.challenge.resilience.HedgingPolicy;
+import com.challenge.resilience.LatencyAwareLoadBalancer;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Suscripción al servicio de porcentajes por Server-Sent Events contra WireMock
+ */
+@DisplayName("Percentage Subscription Integration Tests")
+class PercentageSubscriptionIT {
+
+    private static final String PERCENTAGE_ENDPOINT = "/percentage";
+    private static final String STREAM_ENDPOINT = "/percentage/stream";
+
+    private static WireMockServer wireMockServer;
+    private static final WebClient webClient = WebClient.create();
+
+    private PercentageSnapshotHolder holder;
+    private CaffeineCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private PercentageSubscriptionService subscriptionService;
+
+    @BeforeAll
+    static void startWireMock() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+
+        // Calentamiento: la primera conexión del cliente incluye la inicialización de Netty
+        webClient.get().uri(wireMockServer.baseUrl() + PERCENTAGE_ENDPOINT).retrieve().toBodilessEntity()
+                .onErrorResume(ex -> Mono.empty())
+                .block();
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(get(urlEqualTo(PERCENTAGE_ENDPOINT)).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"value\": 30.0}")));
+
+        holder = new PercentageSnapshotHolder();
+        cacheManager = new CaffeineCacheManager(CacheConfig.PERCENTAGE_CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionService = new PercentageSubscriptionService(webClient, externalServiceProperties(),
+                new SubscriptionProperties(true, STREAM_ENDPOINT, Duration.ofSeconds(5), Duration.ofMillis(100), Duration.ofSeconds(1)),
+                holder, event -> { }, cacheManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriptionService.stop();
+    }
+
+    @Test
+    @DisplayName("Debe aplicar los valores recibidos sin sondear el servicio externo")
+    void shouldApplyPushedValuesWithoutPolling() {
+        wireMockServer.stubFor(get(urlEqualTo(STREAM_ENDPOINT))
+                .willReturn(openStream(12.5, 15.0)));
+        PercentageRefreshService refreshService = refreshService();
+
+        subscriptionService.start();
+        awaitTrue(() -> holder.current() != null && BigDecimal.valueOf(15.0).equals(holder.current().value()));
+
+        assertTrue(subscriptionService.isConnected());
+        assertTrue(refreshService.isLive());
+        assertEquals(PercentageSources.STREAM, holder.current().source());
+        assertEquals(2, holder.current().epoch());
+        assertEquals(BigDecimal.valueOf(15.0), cacheManager.getCache(CacheConfig.PERCENTAGE_CACHE_NAME)
+                .get(CacheConfig.CURRENT_PERCENTAGE_KEY, BigDecimal.class));
+        assertEquals(2.0, meterRegistry.get("percentage.subscription.values").counter().count());
+
+        // Con la suscripción activa el refresco periódico no consulta el servicio externo
+        refreshService.refresh();
+        assertTrue(refreshService.getCurrent().isPresent());
+        wireMockServer.verify(0, getRequestedFor(urlEqualTo(PERCENTAGE_ENDPOINT)));
+    }
+
+    @Test
+    @DisplayName("Debe reconectarse cuando el servidor cierra el stream")
+    void shouldReconnectAfterStreamCloses() {
+        wireMockServer.stubFor(get(urlEqualTo(STREAM_ENDPOINT)).inScenario("reconnect")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(stream(10.0))
+                .willSetStateTo("closed"));
+        wireMockServer.stubFor(get(urlEqualTo(STREAM_ENDPOINT)).inScenario("reconnect")
+                .whenScenarioStateIs("closed")
+                .willReturn(openStream(12.0)));
+
+        subscriptionService.start();
+        awaitTrue(() -> holder.current() != null && BigDecimal.valueOf(12.0).equals(holder.current().value()));
+
+        assertTrue(subscriptionService.isConnected());
+        assertTrue(meterRegistry.get("percentage.subscription.reconnects").counter().count() >= 1);
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo(STREAM_ENDPOINT)));
+    }
+
+    @Test
+    @DisplayName("Debe volver al sondeo mientras no se puede conectar al stream")
+    void shouldFallBackToPollingWhileDisconnected() throws InterruptedException {
+        wireMockServer.stubFor(get(urlEqualTo(STREAM_ENDPOINT)).willReturn(aResponse().withStatus(503)));
+        PercentageRefreshService refreshService = refreshService();
+
+        subscriptionService.start();
+        awaitTrue(() -> !wireMockServer.findAll(getRequestedFor(urlEqualTo(STREAM_ENDPOINT))).isEmpty());
+        Thread.sleep(200);
+
+        assertFalse(subscriptionService.isConnected());
+        assertFalse(refreshService.isLive());
+
+        refreshService.refresh();
+        assertEquals(BigDecimal.valueOf(30.0), holder.current().value());
+        assertEquals(PercentageSources.EXTERNAL_SERVICE, holder.current().source());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo(PERCENTAGE_ENDPOINT)));
+    }
+
+    /**
+     * Respuesta SSE con un evento por valor
+     */
+    private static ResponseDefinitionBuilder stream(double... values) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/event-stream")
+                .withBody(eventsBody(values));
+    }
+
+    private static String eventsBody(double... values) {
+        StringBuilder body = new StringBuilder();
+        for (double value : values) {
+            body.append("event: percentage\ndata: {\"value\": ").append(value).append("}\n\n");
+        }
+        return body.toString();
+    }
+
+    /**
+     * Stream que entrega un evento cada 1.5s y se mantiene abierto con un heartbeat antes de cerrarse.
+     * Los valores deben tener el mismo largo para que cada fragmento lleve exactamente un evento.
+     */
+    private static ResponseDefinitionBuilder openStream(double... values) {
+        String event = "event: percentage\ndata: {\"value\": " + values[0] + "}\n\n";
+        String heartbeat = ":" + " ".repeat(event.length() - 3) + "\n\n";
+        return stream(values)
+                .withBody(eventsBody(values) + heartbeat)
+                .withChunkedDribbleDelay(values.length + 1, (values.length + 1) * 1500);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("La condición no se cumplió a tiempo");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Espera interrumpida");
+            }
+        }
+    }
+
+    private static ExternalServiceProperties externalServiceProperties() {
+        return new ExternalServiceProperties(
+                wireMockServer.baseUrl(), null, Duration.ofSeconds(3), 2, Duration.ofMillis(100), null, null);
+    }
+
+    private PercentageRefreshService refreshService() {
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+                new LoadBalancerProperties(Duration.ofSeconds(1), Duration.ZERO, 2,
+                        Duration.ofSeconds(2), Duration.ofSeconds(5), 50, Duration.ofSeconds(1)),
+                List.of(URI.create(wireMockServer.baseUrl() + PERCENTAGE_ENDPOINT)));
+        PercentageService percentageService = new PercentageService(webClient, externalServiceProperties(),
+                new CircuitBreaker("it", new CircuitBreakerProperties(false, 50, 100, Duration.ofSeconds(5), 4, 2, Duration.ofMinutes(1), 1)),
+                new HedgingPolicy(new HedgingProperties(false, 0.95, Duration.ofMillis(50), Duration.ofMillis(200), 100, 20, 0.1, 1)),
+                loadBalancer, holder, event -> { }, new SimpleMeterRegistry());
+
+        PercentageClusterCoordinator clusterCoordinator = mock(PercentageClusterCoordinator.class);
+        when(clusterCoordinator.isLeader()).thenReturn(true);
+
+        return new PercentageRefreshService(percentageService, holder, clusterCoordinator, subscriptionService,
+                new PercentageRefreshProperties(true, Duration.ofSeconds(30), Duration.ofMinutes(5)),
+                Runnable::run);
+    }
+}
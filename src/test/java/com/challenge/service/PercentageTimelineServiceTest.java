@@ -0,0 +1,85 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.AsyncProperties;
+import com.challenge.config.properties.PercentageTimelineProperties;
+import com.challenge.entity.PercentageTimelineEntry;
+import com.challenge.repository.PercentageTimelineRepository;
+import com.challenge.resilience.JdbcConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PercentageTimelineService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PercentageTimelineService Tests")
+class PercentageTimelineServiceTest {
+
+    private static final Instant T0 = Instant.parse("2025-09-01T10:00:00Z");
+
+    @Mock
+    private PercentageTimelineRepository repository;
+
+    private PercentageTimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        timelineService = new PercentageTimelineService(repository,
+            new JdbcConcurrencyLimiter(new AsyncProperties(1, 1, 1, 1), new SimpleMeterRegistry()),
+            new PercentageTimelineProperties(true, 1000, 100));
+    }
+
+    @Test
+    @DisplayName("Debe resolver el porcentaje vigente en cada instante")
+    void shouldResolvePercentageInEffectAtInstant() {
+        when(repository.findAllByOrderByEffectiveFromAsc()).thenReturn(List.of(
+            new PercentageTimelineEntry(T0, new BigDecimal("10.0"), 1, "EXTERNAL_SERVICE"),
+            new PercentageTimelineEntry(T0.plusSeconds(60), new BigDecimal("12.5"), 2, "EXTERNAL_SERVICE")));
+
+        timelineService.afterSingletonsInstantiated();
+
+        assertTrue(timelineService.percentageAt(T0.minusMillis(1)).isEmpty());
+        assertEquals(new BigDecimal("10.0"), timelineService.percentageAt(T0).orElseThrow().value());
+        assertEquals(new BigDecimal("10.0"), timelineService.percentageAt(T0.plusSeconds(59)).orElseThrow().value());
+        assertEquals(new BigDecimal("12.5"), timelineService.percentageAt(T0.plusSeconds(60)).orElseThrow().value());
+        assertEquals(new BigDecimal("12.5"), timelineService.percentageAt(T0.plusSeconds(3600)).orElseThrow().value());
+    }
+
+    @Test
+    @DisplayName("Debe registrar solo los cambios de valor")
+    void shouldRecordOnlyValueChanges() {
+        timelineService.record(PercentageSnapshot.of(new BigDecimal("10.0"), "EXTERNAL_SERVICE", T0, 1));
+        timelineService.record(PercentageSnapshot.of(new BigDecimal("10.00"), "EXTERNAL_SERVICE", T0.plusSeconds(30), 1));
+        timelineService.record(PercentageSnapshot.of(new BigDecimal("12.5"), "STREAM", T0.plusSeconds(60), 2));
+
+        verify(repository, times(2)).save(any(PercentageTimelineEntry.class));
+        assertEquals(2, timelineService.size());
+        assertEquals(new BigDecimal("10.0"), timelineService.percentageAt(T0.plusSeconds(45)).orElseThrow().value());
+    }
+
+    @Test
+    @DisplayName("Debe completar el índice solo con las entradas posteriores a la última conocida")
+    void shouldSynchronizeOnlyNewerEntries() {
+        timelineService.record(PercentageSnapshot.of(new BigDecimal("10.0"), "EXTERNAL_SERVICE", T0, 1));
+        when(repository.findByEffectiveFromAfterOrderByEffectiveFromAsc(T0)).thenReturn(List.of(
+            new PercentageTimelineEntry(T0.plusSeconds(60), new BigDecimal("15.0"), 2, "EXTERNAL_SERVICE")));
+
+        assertEquals(1, timelineService.synchronize());
+
+        assertEquals(new BigDecimal("15.0"), timelineService.percentageAt(T0.plusSeconds(61)).orElseThrow().value());
+        verify(repository, never()).findAllByOrderByEffectiveFromAsc();
+    }
+}
@@ -0,0 +1,148 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.BatchProperties;
+import com.challenge.config.properties.DeadlineProperties;
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.SummationProperties;
+import com.challenge.dto.BatchCalculationResponse;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.CalculationResponse;
+import com.challenge.dto.SummationRequest;
+import com.challenge.dto.SummationResponse;
+import com.challenge.exception.PercentageUnavailableException;
+import com.challenge.exception.ServiceException;
+import com.challenge.formula.CompiledFormula;
+import com.challenge.mapper.CalculationMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ReactiveCalculationService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveCalculationService Tests")
+class ReactiveCalculationServiceTest {
+
+    @Mock
+    private PercentageService percentageService;
+
+    @Mock
+    private PercentageRefreshService percentageRefreshService;
+
+    @Mock
+    private PercentagePersistenceService percentagePersistenceService;
+
+    private CacheManager cacheManager;
+    private ReactiveCalculationService reactiveCalculationService;
+
+    private final CalculationRequest validRequest = new CalculationRequest(new BigDecimal("100.0"), new BigDecimal("50.0"));
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager("percentageCache");
+        PercentageSnapshotHolder percentageSnapshotHolder = new PercentageSnapshotHolder();
+        CalculationFormula calculationFormula = new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD));
+        CalculationService calculationService =
+            new CalculationService(percentageService, percentageRefreshService, percentageSnapshotHolder,
+                percentagePersistenceService, new CalculationMapper(),
+                new DeadlineProperties(Duration.ofSeconds(2), Duration.ofSeconds(10)), new BatchProperties(1000, 256),
+                calculationFormula);
+        SummationService summationService = new SummationService(calculationService,
+                new SummationProperties(1000, 256, 64), new CalculationMapper(), calculationFormula,
+                new SimpleMeterRegistry());
+        reactiveCalculationService = new ReactiveCalculationService(calculationService, summationService,
+                percentageService, cacheManager);
+    }
+
+    @Test
+    @DisplayName("Debe calcular con el porcentaje del servicio externo y actualizar el caché")
+    void shouldCalculateWithExternalPercentageAndUpdateCache() {
+        when(percentageService.fetchPercentage(any())).thenReturn(Mono.just(BigDecimal.valueOf(15.0)));
+
+        CalculationResponse response = reactiveCalculationService.calculate(validRequest, null).block();
+
+        assertNotNull(response);
+        assertEquals(new BigDecimal("172.50"), response.finalResult());
+        assertEquals("EXTERNAL_SERVICE", response.percentageSource());
+        assertEquals(BigDecimal.valueOf(15.0),
+            cacheManager.getCache("percentageCache").get("current_percentage", BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("Debe usar caché cuando el servicio externo falla")
+    void shouldFallBackToCacheWhenExternalServiceFails() {
+        when(percentageService.fetchPercentage(any())).thenReturn(Mono.error(new ServiceException("External service failed")));
+        when(percentageService.getPercentageFromCache()).thenReturn(BigDecimal.valueOf(12.0));
+
+        CalculationResponse response = reactiveCalculationService.calculate(validRequest, null).block();
+
+        assertNotNull(response);
+        assertEquals(new BigDecimal("168.00"), response.finalResult());
+        assertEquals("CACHE", response.percentageSource());
+    }
+
+    @Test
+    @DisplayName("Debe fallar cuando no hay caché disponible")
+    void shouldFailWhenNoCacheAvailable() {
+        when(percentageService.fetchPercentage(any())).thenReturn(Mono.error(new ServiceException("External service failed")));
+        when(percentageService.getPercentageFromCache()).thenReturn(null);
+
+        Mono<CalculationResponse> result = reactiveCalculationService.calculate(validRequest, null);
+
+        assertThrows(PercentageUnavailableException.class, result::block);
+    }
+
+    @Test
+    @DisplayName("Debe validar números nulos sin consultar el porcentaje")
+    void shouldValidateNullNumbers() {
+        Mono<CalculationResponse> result = reactiveCalculationService.calculate(new CalculationRequest(null, BigDecimal.ONE), null);
+
+        assertThrows(IllegalArgumentException.class, result::block);
+        verify(percentageService, never()).fetchPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Debe calcular un lote con una sola consulta del porcentaje")
+    void shouldCalculateBatchWithSinglePercentageLookup() {
+        when(percentageService.fetchPercentage(any())).thenReturn(Mono.just(BigDecimal.valueOf(15.0)));
+
+        BatchCalculationResponse response = reactiveCalculationService
+            .calculateBatch(List.of(validRequest, validRequest), null).block();
+
+        assertNotNull(response);
+        assertEquals(2, response.succeeded());
+        assertEquals(new BigDecimal("172.50"), response.results().get(1).finalResult());
+        verify(percentageService, times(1)).fetchPercentage(any());
+    }
+
+    @Test
+    @DisplayName("Debe sumar N operandos y aplicar el porcentaje una sola vez")
+    void shouldCalculateSumWithSinglePercentageLookup() {
+        when(percentageService.fetchPercentage(any())).thenReturn(Mono.just(BigDecimal.valueOf(15.0)));
+
+        SummationResponse response = reactiveCalculationService.calculateSum(new SummationRequest(
+            List.of(new BigDecimal("100.0"), new BigDecimal("50.0"), new BigDecimal("0.25"))), null).block();
+
+        assertNotNull(response);
+        assertEquals(3, response.operands());
+        assertEquals(new BigDecimal("150.25"), response.sum());
+        assertEquals(new BigDecimal("172.79"), response.finalResult());
+        verify(percentageService, times(1)).fetchPercentage(any());
+    }
+}
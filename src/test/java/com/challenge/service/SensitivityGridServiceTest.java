@@ -0,0 +1,173 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.GridProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.CalculationRequest;
+import com.challenge.dto.SensitivityGridRequest;
+import com.challenge.dto.SensitivityGridRow;
+import com.challenge.dto.SensitivityGridSummary;
+import com.challenge.formula.CompiledFormula;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SensitivityGridService
+ */
+@DisplayName("SensitivityGridService Tests")
+class SensitivityGridServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SimpleMeterRegistry meterRegistry;
+    private SensitivityGridService sensitivityGridService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Bloques de 3 filas y umbral mínimo para calcular en paralelo incluso grillas pequeñas
+        sensitivityGridService = new SensitivityGridService(new GridProperties(10, 50, 3, 1),
+                new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)), objectMapper, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe calcular cada celda como /api/calculate, en el orden de los porcentajes y de los pares")
+    void shouldCalculateEveryCellInOrder() throws IOException {
+        List<CalculationRequest> pairs = Arrays.asList(
+                new CalculationRequest(new BigDecimal("100.50"), new BigDecimal("200.75")),
+                new CalculationRequest(new BigDecimal("5"), null),
+                new CalculationRequest(new BigDecimal("-0.005"), new BigDecimal("0.0001")),
+                // Más decimales de los que admite el punto fijo: se calcula con BigDecimal
+                new CalculationRequest(new BigDecimal("1.123456789"), new BigDecimal("2")),
+                new CalculationRequest(new BigDecimal("123456789012345.67"), new BigDecimal("1")));
+        SensitivityGridRequest request = new SensitivityGridRequest(pairs, null,
+                new SensitivityGridRequest.PercentageRange(new BigDecimal("-150"), new BigDecimal("40"), new BigDecimal("12.5")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        SensitivityGridSummary summary = sensitivityGridService.calculate(sensitivityGridService.prepare(request), output);
+
+        List<SensitivityGridRow> rows = readRows(output.toString(StandardCharsets.UTF_8));
+        assertEquals(16, rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            BigDecimal percentage = new BigDecimal("-150").add(new BigDecimal("12.5").multiply(BigDecimal.valueOf(row)));
+            PercentageSnapshot snapshot = PercentageSnapshot.of(percentage, PercentageSources.SCENARIO, null, 0);
+            assertEquals(row, rows.get(row).index());
+            assertEquals(0, percentage.compareTo(rows.get(row).percentage()));
+
+            List<BigDecimal> finalResults = rows.get(row).finalResults();
+            for (int pair = 0; pair < pairs.size(); pair++) {
+                CalculationRequest calculation = pairs.get(pair);
+                BigDecimal expected = calculation.num2() == null ? null
+                        : snapshot.apply(calculation.num1().add(calculation.num2()));
+                assertEquals(expected, finalResults.get(pair), "fila " + row + ", par " + pair);
+            }
+        }
+
+        assertEquals(5, summary.pairs());
+        assertEquals(16, summary.percentages());
+        assertEquals(80, summary.cells());
+        assertEquals(1, summary.invalidPairs());
+        assertEquals(80.0, meterRegistry.get("calculation.grid.cells").counter().count());
+    }
+
+    @Test
+    @DisplayName("Con otra fórmula debe calcular cada celda con ella en lugar del kernel")
+    void shouldApplyConfiguredFormulaToEveryCell() throws IOException {
+        String expression = "round(min(sum * multiplier, sum + 5), 2)";
+        SensitivityGridService capped = new SensitivityGridService(new GridProperties(10, 50, 3, 1),
+                new CalculationFormula(new FormulaProperties(expression)), objectMapper, meterRegistry);
+        List<BigDecimal> percentages = List.of(BigDecimal.ZERO, BigDecimal.TEN, new BigDecimal("50"));
+        List<CalculationRequest> pairs = List.of(new CalculationRequest(BigDecimal.ONE, BigDecimal.TEN),
+                new CalculationRequest(new BigDecimal("99.99"), new BigDecimal("0.01")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        capped.calculate(capped.prepare(new SensitivityGridRequest(pairs, percentages, null)), output);
+
+        List<SensitivityGridRow> rows = readRows(output.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of(new BigDecimal("11.00"), new BigDecimal("100.00")), rows.get(0).finalResults());
+        assertEquals(List.of(new BigDecimal("12.10"), new BigDecimal("105.00")), rows.get(1).finalResults());
+        assertEquals(List.of(new BigDecimal("16.00"), new BigDecimal("105.00")), rows.get(2).finalResults());
+    }
+
+    @Test
+    @DisplayName("La versión reactiva debe producir las mismas filas y el mismo resumen")
+    void reactiveGridShouldMatchBlockingGrid() throws IOException {
+        SensitivityGridRequest request = new SensitivityGridRequest(
+                List.of(new CalculationRequest(BigDecimal.ONE, BigDecimal.TEN),
+                        new CalculationRequest(new BigDecimal("99.99"), new BigDecimal("0.01"))),
+                List.of(BigDecimal.ZERO, new BigDecimal("10"), new BigDecimal("15.5"), new BigDecimal("-3.25")),
+                null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        sensitivityGridService.calculate(sensitivityGridService.prepare(request), output);
+
+        AtomicReference<SensitivityGridSummary> summary = new AtomicReference<>();
+        List<DataBuffer> blocks = sensitivityGridService.calculate(sensitivityGridService.prepare(request),
+                        DefaultDataBufferFactory.sharedInstance, summary::set)
+                .collectList()
+                .block();
+
+        assertNotNull(blocks);
+        assertEquals(2, blocks.size());
+        StringBuilder reactive = new StringBuilder();
+        blocks.forEach(block -> reactive.append(block.toString(StandardCharsets.UTF_8)));
+        assertEquals(output.toString(StandardCharsets.UTF_8), reactive.toString());
+        assertEquals(8, summary.get().cells());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar grillas sin porcentajes, con rango inválido o mayores al máximo")
+    void shouldRejectInvalidGrids() {
+        List<CalculationRequest> pairs = List.of(new CalculationRequest(BigDecimal.ONE, BigDecimal.ONE));
+        SensitivityGridRequest.PercentageRange range =
+                new SensitivityGridRequest.PercentageRange(BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.ONE);
+
+        assertRejected(ErrorMessages.GRID_EMPTY_PAIRS, new SensitivityGridRequest(List.of(), List.of(BigDecimal.ONE), null));
+        assertRejected(ErrorMessages.GRID_PERCENTAGES_REQUIRED, new SensitivityGridRequest(pairs, null, null));
+        assertRejected(ErrorMessages.GRID_PERCENTAGES_REQUIRED, new SensitivityGridRequest(pairs, List.of(BigDecimal.ONE), range));
+        assertRejected(ErrorMessages.GRID_NULL_PERCENTAGE, new SensitivityGridRequest(pairs, Arrays.asList(BigDecimal.ONE, null), null));
+        assertRejected(ErrorMessages.GRID_INVALID_RANGE, new SensitivityGridRequest(pairs, null,
+                new SensitivityGridRequest.PercentageRange(BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.ONE)));
+        assertRejected(ErrorMessages.GRID_INVALID_RANGE, new SensitivityGridRequest(pairs, null,
+                new SensitivityGridRequest.PercentageRange(BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.ZERO)));
+        assertRejected(String.format(ErrorMessages.GRID_TOO_MANY_PERCENTAGES, 50), new SensitivityGridRequest(pairs, null,
+                new SensitivityGridRequest.PercentageRange(BigDecimal.ZERO, BigDecimal.TEN, new BigDecimal("0.2"))));
+        assertRejected(String.format(ErrorMessages.GRID_TOO_MANY_PAIRS, 10), new SensitivityGridRequest(
+                Collections.nCopies(11, pairs.get(0)), List.of(BigDecimal.ONE), null));
+
+        // 0 a 10 con paso 0.25 son exactamente 41 porcentajes, dentro del máximo
+        assertEquals(41, sensitivityGridService.prepare(new SensitivityGridRequest(pairs, null,
+                new SensitivityGridRequest.PercentageRange(BigDecimal.ZERO, BigDecimal.TEN, new BigDecimal("0.25")))).rows());
+    }
+
+    private void assertRejected(String message, SensitivityGridRequest request) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> sensitivityGridService.prepare(request));
+        assertEquals(message, exception.getMessage());
+    }
+
+    private List<SensitivityGridRow> readRows(String ndjson) throws IOException {
+        List<SensitivityGridRow> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readValue(line, SensitivityGridRow.class));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,127 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.StreamProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.BatchCalculationItem;
+import com.challenge.dto.StreamCalculationSummary;
+import com.challenge.formula.CompiledFormula;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para StreamingCalculationService
+ */
+@DisplayName("StreamingCalculationService Tests")
+class StreamingCalculationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CalculationService.PercentageResult percentageResult = new CalculationService.PercentageResult(
+            PercentageSnapshot.of(BigDecimal.valueOf(10), PercentageSources.EXTERNAL_SERVICE, Instant.now(), 3L),
+            PercentageSources.EXTERNAL_SERVICE, 0L);
+
+    private SimpleMeterRegistry meterRegistry;
+    private StreamingCalculationService streamingCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        // Solo se usa calculateItem, que depende únicamente de la fórmula
+        CalculationService calculationService = new CalculationService(null, null, null, null, null, null, null,
+                new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        streamingCalculationService = new StreamingCalculationService(calculationService,
+                new StreamProperties(2), objectMapper, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe calcular cada línea en orden e informar las inválidas sin cortar el stream")
+    void shouldCalculateEachLineAndReportInvalidOnes() throws IOException {
+        String input = """
+                {"num1": 5, "num2": 5}
+
+                {"num1": "abc", "num2": 1}
+                no es json
+                {"num1": 1}
+                {"num1": 100.5, "num2": 200.75}
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StreamCalculationSummary summary = streamingCalculationService.calculate(
+                new BufferedReader(new StringReader(input)), output, percentageResult);
+
+        List<BatchCalculationItem> items = readItems(output.toString(StandardCharsets.UTF_8));
+        assertEquals(5, items.size());
+        assertEquals(0, new BigDecimal("11").compareTo(items.get(0).finalResult()));
+        assertEquals(ErrorMessages.VALIDATION_INVALID_FORMAT, items.get(1).error());
+        assertEquals(ErrorMessages.VALIDATION_INVALID_JSON, items.get(2).error());
+        assertEquals(ErrorMessages.VALIDATION_REQUIRED_NUMBERS, items.get(3).error());
+        assertEquals(4, items.get(4).index());
+        assertEquals(0, new BigDecimal("331.38").compareTo(items.get(4).finalResult()));
+
+        assertEquals(5, summary.lines());
+        assertEquals(2, summary.succeeded());
+        assertEquals(3, summary.failed());
+        assertEquals(3L, summary.percentageEpoch());
+        assertEquals(2.0, meterRegistry.get("calculation.stream.lines").tag("outcome", "success").counter().count());
+        assertEquals(3.0, meterRegistry.get("calculation.stream.lines").tag("outcome", "error").counter().count());
+        assertEquals(1, meterRegistry.get("calculation.stream.throughput").summary().count());
+    }
+
+    @Test
+    @DisplayName("Debe entregar el stream reactivo en bloques y resumirlo al completarse")
+    void shouldStreamReactiveBlocksAndSummarize() {
+        Flux<String> lines = Flux.range(0, 5).map(i -> "{\"num1\": " + i + ", \"num2\": 0}");
+        AtomicReference<StreamCalculationSummary> summary = new AtomicReference<>();
+
+        List<DataBuffer> blocks = streamingCalculationService.calculate(lines, percentageResult,
+                DefaultDataBufferFactory.sharedInstance, summary::set).collectList().block();
+
+        // Bloques de flush-interval (2) líneas
+        assertNotNull(blocks);
+        assertEquals(3, blocks.size());
+        String output = blocks.stream()
+                .map(block -> block.toString(StandardCharsets.UTF_8))
+                .collect(Collectors.joining());
+        List<BatchCalculationItem> items = readItems(output);
+        assertEquals(IntStream.range(0, 5).boxed().toList(),
+                items.stream().map(item -> (int) item.index()).toList());
+        assertEquals(5, summary.get().lines());
+        assertEquals(0, summary.get().failed());
+    }
+
+    private List<BatchCalculationItem> readItems(String output) {
+        List<BatchCalculationItem> items = new ArrayList<>();
+        assertTrue(output.endsWith("\n"));
+        for (String line : output.split("\n")) {
+            try {
+                items.add(objectMapper.readValue(line, BatchCalculationItem.class));
+            } catch (IOException e) {
+                fail("Línea de salida inválida: " + line);
+            }
+        }
+        return items;
+    }
+}
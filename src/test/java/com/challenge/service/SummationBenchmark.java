@@ -0,0 +1,75 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.SummationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la suma de N operandos según la cantidad de operandos
+ *
+ * Compara la suma secuencial con la reducción fork-join de {@link SummationService} para listas
+ * de distinto tamaño, con la porción configurada por defecto. No forma parte de los tests. Se
+ * ejecuta con:
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.challenge.service.SummationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummationBenchmark {
+
+    static final int CHUNK_SIZE = 2048;
+
+    @Param({"100", "10000", "100000"})
+    private int operands;
+
+    private List<BigDecimal> values;
+    private SummationService sequential;
+    private SummationService parallel;
+
+    @Setup
+    public void setup() {
+        // Montos con centavos como los de una conciliación
+        Random random = new Random(42);
+        values = new ArrayList<>(operands);
+        for (int i = 0; i < operands; i++) {
+            values.add(BigDecimal.valueOf(random.nextInt(100_000_000), 2));
+        }
+        sequential = new SummationService(null, new SummationProperties(operands, Integer.MAX_VALUE, CHUNK_SIZE),
+                null, null, new SimpleMeterRegistry());
+        parallel = new SummationService(null, new SummationProperties(operands, 0, CHUNK_SIZE),
+                null, null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public BigDecimal sequentialSum() {
+        return sequential.sum(values);
+    }
+
+    @Benchmark
+    public BigDecimal parallelSum() {
+        return parallel.sum(values);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SummationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.challenge.service;
+
+import com.challenge.config.properties.FormulaProperties;
+import com.challenge.config.properties.SummationProperties;
+import com.challenge.constants.ErrorMessages;
+import com.challenge.constants.PercentageSources;
+import com.challenge.dto.SummationRequest;
+import com.challenge.dto.SummationResponse;
+import com.challenge.formula.CompiledFormula;
+import com.challenge.mapper.CalculationMapper;
+import com.challenge.resilience.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para SummationService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SummationService Tests")
+class SummationServiceTest {
+
+    @Mock
+    private CalculationService calculationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SummationService summationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Umbral y porciones pequeños para repartir incluso listas cortas entre varias tareas
+        summationService = new SummationService(calculationService, new SummationProperties(20_000, 256, 64),
+                new CalculationMapper(), new CalculationFormula(new FormulaProperties(CompiledFormula.STANDARD)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("La suma en paralelo debe ser idéntica a la secuencial, en valor y en escala")
+    void parallelSumShouldMatchSequentialSum() {
+        Random random = new Random(42);
+        List<BigDecimal> operands = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            // Escalas de 0 a 6 y signos mezclados: el resultado tiene la mayor escala
+            operands.add(BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000L, random.nextInt(7)));
+        }
+        BigDecimal expected = BigDecimal.ZERO;
+        for (BigDecimal operand : operands) {
+            expected = expected.add(operand);
+        }
+
+        assertEquals(expected, summationService.sum(operands));
+        assertEquals(expected, summationService.sum(new LinkedList<>(operands)));
+        assertEquals(new BigDecimal("0.000"), summationService.sum(
+                Collections.nCopies(1000, new BigDecimal("0.000"))));
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el porcentaje una sola vez a la suma y medir la latencia por tamaño de lista")
+    void shouldApplyPercentageOnceAndRecordLatencyBySize() {
+        PercentageSnapshot snapshot = PercentageSnapshot.of(new BigDecimal("15.5"),
+                PercentageSources.EXTERNAL_SERVICE, Instant.now(), 2L);
+        when(calculationService.resolveDeadline(any())).thenReturn(Deadline.none());
+        when(calculationService.getPercentageWithSource(any())).thenReturn(
+                new CalculationService.PercentageResult(snapshot, PercentageSources.EXTERNAL_SERVICE, 0L));
+        List<BigDecimal> operands = Collections.nCopies(5000, new BigDecimal("0.0101"));
+
+        SummationResponse response = summationService.calculate(new SummationRequest(operands), null);
+
+        assertEquals(5000, response.operands());
+        assertEquals(new BigDecimal("50.5000"), response.sum());
+        // 50.5 * 1.155 = 58.3275, redondeado a 2 decimales
+        assertEquals(new BigDecimal("58.33"), response.finalResult());
+        assertEquals(2L, response.percentageEpoch());
+        assertNull(response.budgetMs());
+        verify(calculationService, times(1)).getPercentageWithSource(any());
+
+        assertEquals(1, meterRegistry.get("calculation.sum.latency").tag("operands", "10000").timer().count());
+        assertEquals(5000.0, meterRegistry.get("calculation.sum.operands").summary().totalAmount());
+        assertEquals("10", SummationService.sizeClass(1));
+        assertEquals("100", SummationService.sizeClass(100));
+        assertEquals("1000", SummationService.sizeClass(101));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar sumas vacías, con operandos nulos o mayores al máximo sin consultar el porcentaje")
+    void shouldRejectInvalidSums() {
+        when(calculationService.resolveDeadline(any())).thenReturn(Deadline.none());
+
+        assertRejected(ErrorMessages.SUM_EMPTY_OPERANDS, new SummationRequest(null));
+        assertRejected(ErrorMessages.SUM_EMPTY_OPERANDS, new SummationRequest(List.of()));
+        assertRejected(ErrorMessages.SUM_NULL_OPERAND, new SummationRequest(Arrays.asList(BigDecimal.ONE, null)));
+        assertRejected(String.format(ErrorMessages.SUM_TOO_MANY_OPERANDS, 20_000),
+                new SummationRequest(Collections.nCopies(20_001, BigDecimal.ONE)));
+
+        verify(calculationService, never()).getPercentageWithSource(any());
+    }
+
+    private void assertRejected(String message, SummationRequest request) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> summationService.calculate(request, null));
+        assertEquals(message, exception.getMessage());
+    }
+}